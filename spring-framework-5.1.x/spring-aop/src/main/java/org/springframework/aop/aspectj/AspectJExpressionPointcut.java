@@ -18,6 +18,7 @@ package org.springframework.aop.aspectj;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
@@ -29,7 +30,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.aspectj.weaver.internal.tools.PointcutExpressionImpl;
+import org.aspectj.weaver.patterns.AndPointcut;
+import org.aspectj.weaver.patterns.AnnotationPointcut;
 import org.aspectj.weaver.patterns.NamePattern;
+import org.aspectj.weaver.patterns.Pointcut;
 import org.aspectj.weaver.reflect.ReflectionWorld.ReflectionWorldException;
 import org.aspectj.weaver.reflect.ShadowMatchImpl;
 import org.aspectj.weaver.tools.ContextBasedMatcher;
@@ -119,6 +124,9 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	@Nullable
 	private transient PointcutExpression pointcutExpression;
 
+	@Nullable
+	private transient String requiredAnnotationType;
+
 	private transient Map<Method, ShadowMatch> shadowMatchCache = new ConcurrentHashMap<>(32);
 
 
@@ -193,11 +201,14 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		if (getExpression() == null) {
 			throw new IllegalStateException("Must set property 'expression' before attempting to match");
 		}
-		if (this.pointcutExpression == null) {
+		PointcutExpression pointcutExpression = this.pointcutExpression;
+		if (pointcutExpression == null) {
 			this.pointcutClassLoader = determinePointcutClassLoader();
-			this.pointcutExpression = buildPointcutExpression(this.pointcutClassLoader);
+			pointcutExpression = buildPointcutExpression(this.pointcutClassLoader);
+			this.requiredAnnotationType = determineRequiredAnnotationType(pointcutExpression);
+			this.pointcutExpression = pointcutExpression;
 		}
-		return this.pointcutExpression;
+		return pointcutExpression;
 	}
 
 	/**
@@ -228,6 +239,33 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 				this.pointcutDeclarationScope, pointcutParameters);
 	}
 
+	/**
+	 * Determine the annotation type that any matching method needs to declare,
+	 * according to an {@code @annotation} designator in the static part of the
+	 * given expression. Methods without such an annotation can never match.
+	 * @return the fully-qualified annotation type name, or {@code null} if none
+	 */
+	@Nullable
+	private static String determineRequiredAnnotationType(PointcutExpression pointcutExpression) {
+		if (pointcutExpression instanceof PointcutExpressionImpl) {
+			return determineRequiredAnnotationType(((PointcutExpressionImpl) pointcutExpression).getUnderlyingPointcut());
+		}
+		return null;
+	}
+
+	@Nullable
+	private static String determineRequiredAnnotationType(Pointcut pointcut) {
+		if (pointcut instanceof AnnotationPointcut) {
+			return ((AnnotationPointcut) pointcut).getAnnotationTypePattern().getAnnotationType().getName();
+		}
+		if (pointcut instanceof AndPointcut) {
+			String annotationType = determineRequiredAnnotationType(((AndPointcut) pointcut).getLeft());
+			return (annotationType != null ? annotationType :
+					determineRequiredAnnotationType(((AndPointcut) pointcut).getRight()));
+		}
+		return null;
+	}
+
 	private String resolveExpression() {
 		String expression = getExpression();
 		Assert.state(expression != null, "No expression set");
@@ -451,69 +489,99 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		// Avoid lock contention for known Methods through concurrent access...
 		ShadowMatch shadowMatch = this.shadowMatchCache.get(targetMethod);
 		if (shadowMatch == null) {
-			synchronized (this.shadowMatchCache) {
-				// Not found - now check again with full lock...
-				PointcutExpression fallbackExpression = null;
-				shadowMatch = this.shadowMatchCache.get(targetMethod);
-				if (shadowMatch == null) {
-					Method methodToMatch = targetMethod;
+			// Not found - compute the match without holding a lock. Concurrent callers
+			// may compute the same match in parallel but end up with the first one stored.
+			if (mayMatch(targetMethod) || (targetMethod != originalMethod && mayMatch(originalMethod))) {
+				shadowMatch = computeShadowMatch(targetMethod, originalMethod);
+			}
+			else {
+				shadowMatch = new ShadowMatchImpl(org.aspectj.util.FuzzyBoolean.NO, null, null, null);
+			}
+			ShadowMatch existing = this.shadowMatchCache.putIfAbsent(targetMethod, shadowMatch);
+			if (existing != null) {
+				shadowMatch = existing;
+			}
+		}
+		return shadowMatch;
+	}
+
+	/**
+	 * Pre-filter the given method against the static part of the expression,
+	 * without going through the AspectJ weaver.
+	 * <p>Interface methods are not pre-filtered since AspectJ may defer their
+	 * annotation matching to the runtime test against the actual target.
+	 * @return {@code false} if the method cannot match, {@code true} if it may match
+	 */
+	private boolean mayMatch(Method method) {
+		String requiredAnnotationType = this.requiredAnnotationType;
+		if (requiredAnnotationType == null || method.getDeclaringClass().isInterface()) {
+			return true;
+		}
+		for (Annotation annotation : method.getDeclaredAnnotations()) {
+			if (annotation.annotationType().getName().equals(requiredAnnotationType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private ShadowMatch computeShadowMatch(Method targetMethod, Method originalMethod) {
+		ShadowMatch shadowMatch = null;
+		PointcutExpression fallbackExpression = null;
+		Method methodToMatch = targetMethod;
+		try {
+			try {
+				shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
+			}
+			catch (ReflectionWorldException ex) {
+				// Failed to introspect target method, probably because it has been loaded
+				// in a special ClassLoader. Let's try the declaring ClassLoader instead...
+				try {
+					fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
+					if (fallbackExpression != null) {
+						shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
+					}
+				}
+				catch (ReflectionWorldException ex2) {
+					fallbackExpression = null;
+				}
+			}
+			if (targetMethod != originalMethod && (shadowMatch == null ||
+					(shadowMatch.neverMatches() && Proxy.isProxyClass(targetMethod.getDeclaringClass())))) {
+				// Fall back to the plain original method in case of no resolvable match or a
+				// negative match on a proxy class (which doesn't carry any annotations on its
+				// redeclared methods).
+				methodToMatch = originalMethod;
+				try {
+					shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
+				}
+				catch (ReflectionWorldException ex) {
+					// Could neither introspect the target class nor the proxy class ->
+					// let's try the original method's declaring class before we give up...
 					try {
-						try {
-							shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
-						}
-						catch (ReflectionWorldException ex) {
-							// Failed to introspect target method, probably because it has been loaded
-							// in a special ClassLoader. Let's try the declaring ClassLoader instead...
-							try {
-								fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
-								if (fallbackExpression != null) {
-									shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
-								}
-							}
-							catch (ReflectionWorldException ex2) {
-								fallbackExpression = null;
-							}
-						}
-						if (targetMethod != originalMethod && (shadowMatch == null ||
-								(shadowMatch.neverMatches() && Proxy.isProxyClass(targetMethod.getDeclaringClass())))) {
-							// Fall back to the plain original method in case of no resolvable match or a
-							// negative match on a proxy class (which doesn't carry any annotations on its
-							// redeclared methods).
-							methodToMatch = originalMethod;
-							try {
-								shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
-							}
-							catch (ReflectionWorldException ex) {
-								// Could neither introspect the target class nor the proxy class ->
-								// let's try the original method's declaring class before we give up...
-								try {
-									fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
-									if (fallbackExpression != null) {
-										shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
-									}
-								}
-								catch (ReflectionWorldException ex2) {
-									fallbackExpression = null;
-								}
-							}
+						fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
+						if (fallbackExpression != null) {
+							shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
 						}
 					}
-					catch (Throwable ex) {
-						// Possibly AspectJ 1.8.10 encountering an invalid signature
-						logger.debug("PointcutExpression matching rejected target method", ex);
+					catch (ReflectionWorldException ex2) {
 						fallbackExpression = null;
 					}
-					if (shadowMatch == null) {
-						shadowMatch = new ShadowMatchImpl(org.aspectj.util.FuzzyBoolean.NO, null, null, null);
-					}
-					else if (shadowMatch.maybeMatches() && fallbackExpression != null) {
-						shadowMatch = new DefensiveShadowMatch(shadowMatch,
-								fallbackExpression.matchesMethodExecution(methodToMatch));
-					}
-					this.shadowMatchCache.put(targetMethod, shadowMatch);
 				}
 			}
 		}
+		catch (Throwable ex) {
+			// Possibly AspectJ 1.8.10 encountering an invalid signature
+			logger.debug("PointcutExpression matching rejected target method", ex);
+			fallbackExpression = null;
+		}
+		if (shadowMatch == null) {
+			shadowMatch = new ShadowMatchImpl(org.aspectj.util.FuzzyBoolean.NO, null, null, null);
+		}
+		else if (shadowMatch.maybeMatches() && fallbackExpression != null) {
+			shadowMatch = new DefensiveShadowMatch(shadowMatch,
+					fallbackExpression.matchesMethodExecution(methodToMatch));
+		}
 		return shadowMatch;
 	}
 
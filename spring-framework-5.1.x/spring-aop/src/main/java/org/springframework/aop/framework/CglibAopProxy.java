@@ -674,6 +674,12 @@ class CglibAopProxy implements AopProxy, Serializable {
 				// Get as late as possible to minimize the time we "own" the target, in case it comes from a pool...
 				target = targetSource.getTarget();
 				Class<?> targetClass = (target != null ? target.getClass() : null);
+				if (this.advised.compileInterceptorChains) {
+					// Proceed through the pre-bound chain, invoking the target method directly.
+					Object retVal = this.advised.getCompiledInterceptorChain(method, targetClass).invoke(
+							proxy, target, method, args, methodProxy);
+					return processReturnType(proxy, target, method, retVal);
+				}
 				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
 				Object retVal;
 				// Check whether we only have one InvokerInterceptor: that is,
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cglib.core.SpringNamingPolicy;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.lang.Nullable;
+
+/**
+ * Interceptor chain for a specific method, compiled for repeated invocation
+ * through an AOP proxy with {@link ProxyConfig#isCompileInterceptorChains()}
+ * enabled.
+ *
+ * <p>Static interceptors are pre-bound in an array which the method invocation
+ * walks without further checks. The target method gets invoked through the
+ * {@link MethodProxy} of a CGLIB proxy or otherwise through a CGLIB-generated
+ * {@link FastClass} accessor for the target class, instead of through reflection.
+ * Chains containing dynamic method matchers are evaluated like in a regular
+ * {@link ReflectiveMethodInvocation}, still with direct target invocation.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see AdvisedSupport#getCompiledInterceptorChain
+ */
+final class CompiledInterceptorChain {
+
+	private static final Log logger = LogFactory.getLog(CompiledInterceptorChain.class);
+
+
+	private final List<Object> interceptorsAndDynamicMethodMatchers;
+
+	/** The pre-bound interceptors, or {@code null} if the chain is dynamic. */
+	@Nullable
+	private final MethodInterceptor[] interceptors;
+
+	@Nullable
+	private final Class<?> targetClass;
+
+	private final boolean directInvocation;
+
+	@Nullable
+	private final FastClass fastClass;
+
+	private final int fastMethodIndex;
+
+
+	CompiledInterceptorChain(List<Object> interceptorsAndDynamicMethodMatchers,
+			Method method, @Nullable Class<?> targetClass) {
+
+		this.interceptorsAndDynamicMethodMatchers = interceptorsAndDynamicMethodMatchers;
+		this.interceptors = bindInterceptors(interceptorsAndDynamicMethodMatchers);
+		this.targetClass = targetClass;
+		// Same restrictions as for CGLIB method proxies: only public methods not derived from java.lang.Object
+		this.directInvocation = (Modifier.isPublic(method.getModifiers()) &&
+				method.getDeclaringClass() != Object.class && !AopUtils.isEqualsMethod(method) &&
+				!AopUtils.isHashCodeMethod(method) && !AopUtils.isToStringMethod(method));
+		FastClass fastClass = (this.directInvocation && targetClass != null ? createFastClass(targetClass) : null);
+		int fastMethodIndex = (fastClass != null ? fastClass.getIndex(method.getName(), method.getParameterTypes()) : -1);
+		this.fastClass = (fastMethodIndex >= 0 ? fastClass : null);
+		this.fastMethodIndex = fastMethodIndex;
+	}
+
+	@Nullable
+	private static MethodInterceptor[] bindInterceptors(List<Object> interceptorsAndDynamicMethodMatchers) {
+		MethodInterceptor[] interceptors = new MethodInterceptor[interceptorsAndDynamicMethodMatchers.size()];
+		for (int i = 0; i < interceptors.length; i++) {
+			Object interceptor = interceptorsAndDynamicMethodMatchers.get(i);
+			if (!(interceptor instanceof MethodInterceptor)) {
+				// InterceptorAndDynamicMethodMatcher: needs to be evaluated per invocation.
+				return null;
+			}
+			interceptors[i] = (MethodInterceptor) interceptor;
+		}
+		return interceptors;
+	}
+
+	@Nullable
+	private static FastClass createFastClass(Class<?> targetClass) {
+		if (Modifier.isPrivate(targetClass.getModifiers()) || targetClass.getClassLoader() == null ||
+				Proxy.isProxyClass(targetClass)) {
+			return null;
+		}
+		try {
+			FastClass.Generator generator = new FastClass.Generator();
+			generator.setType(targetClass);
+			generator.setContextClass(targetClass);
+			generator.setClassLoader(targetClass.getClassLoader());
+			generator.setNamingPolicy(SpringNamingPolicy.INSTANCE);
+			return generator.create();
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Falling back to reflective invocation of " + targetClass + ": " + ex);
+			}
+			return null;
+		}
+	}
+
+
+	/**
+	 * Determine whether this chain has been compiled for the given target class.
+	 */
+	boolean isCompiledFor(@Nullable Class<?> targetClass) {
+		return (this.targetClass == targetClass);
+	}
+
+	/**
+	 * Invoke the given method on the given target through this chain.
+	 * @param proxy the proxy that we're invoking the method on
+	 * @param target the target object to invoke
+	 * @param method the method to invoke
+	 * @param args the arguments for the method
+	 * @param methodProxy the CGLIB method proxy for the method, if available
+	 * @return the return value of the invocation
+	 * @throws Throwable if thrown by an interceptor or by the target method
+	 */
+	@Nullable
+	Object invoke(Object proxy, @Nullable Object target, Method method, Object[] args,
+			@Nullable MethodProxy methodProxy) throws Throwable {
+
+		if (this.interceptorsAndDynamicMethodMatchers.isEmpty()) {
+			// We can skip creating a MethodInvocation: just invoke the target directly.
+			return invokeJoinpoint(target, method, AopProxyUtils.adaptArgumentsIfNecessary(method, args), methodProxy);
+		}
+		return new CompiledMethodInvocation(proxy, target, method, args, methodProxy).proceed();
+	}
+
+	@Nullable
+	private Object invokeJoinpoint(@Nullable Object target, Method method, Object[] args,
+			@Nullable MethodProxy methodProxy) throws Throwable {
+
+		if (this.directInvocation && target != null) {
+			if (methodProxy != null) {
+				return methodProxy.invoke(target, args);
+			}
+			if (this.fastClass != null) {
+				try {
+					return this.fastClass.invoke(this.fastMethodIndex, target, args);
+				}
+				catch (InvocationTargetException ex) {
+					throw ex.getTargetException();
+				}
+			}
+		}
+		return AopUtils.invokeJoinpointUsingReflection(target, method, args);
+	}
+
+
+	/**
+	 * Method invocation which walks the pre-bound interceptors, if any,
+	 * and invokes the target method directly.
+	 */
+	private class CompiledMethodInvocation extends ReflectiveMethodInvocation {
+
+		@Nullable
+		private final MethodProxy methodProxy;
+
+		private int interceptorIndex;
+
+		public CompiledMethodInvocation(Object proxy, @Nullable Object target, Method method,
+				Object[] arguments, @Nullable MethodProxy methodProxy) {
+
+			super(proxy, target, method, arguments, CompiledInterceptorChain.this.targetClass,
+					CompiledInterceptorChain.this.interceptorsAndDynamicMethodMatchers);
+			this.methodProxy = methodProxy;
+		}
+
+		@Override
+		@Nullable
+		public Object proceed() throws Throwable {
+			MethodInterceptor[] interceptors = CompiledInterceptorChain.this.interceptors;
+			if (interceptors == null) {
+				return super.proceed();
+			}
+			if (this.interceptorIndex == interceptors.length) {
+				return invokeJoinpoint();
+			}
+			return interceptors[this.interceptorIndex++].invoke(this);
+		}
+
+		@Override
+		@Nullable
+		protected Object invokeJoinpoint() throws Throwable {
+			return CompiledInterceptorChain.this.invokeJoinpoint(this.target, this.method, this.arguments, this.methodProxy);
+		}
+	}
+
+}
@@ -42,6 +42,8 @@ public class ProxyConfig implements Serializable {
 
 	boolean exposeProxy = false;
 
+	boolean compileInterceptorChains = false;
+
 	private boolean frozen = false;
 
 
@@ -129,6 +131,28 @@ public class ProxyConfig implements Serializable {
 		return this.exposeProxy;
 	}
 
+	/**
+	 * Set whether the proxy should invoke advised methods through interceptor
+	 * chains compiled per method: with static interceptors pre-bound and the
+	 * target method invoked through a generated accessor instead of reflection.
+	 * <p>Default is "false". Switch this to "true" for proxies in front of
+	 * frequently invoked targets, e.g. a transactional service layer, where
+	 * the per-call overhead of the reflective invocation path is noticeable.
+	 * @since 5.1.18
+	 */
+	public void setCompileInterceptorChains(boolean compileInterceptorChains) {
+		this.compileInterceptorChains = compileInterceptorChains;
+	}
+
+	/**
+	 * Return whether the proxy invokes advised methods through compiled
+	 * interceptor chains.
+	 * @since 5.1.18
+	 */
+	public boolean isCompileInterceptorChains() {
+		return this.compileInterceptorChains;
+	}
+
 	/**
 	 * Set whether this config should be frozen.
 	 * <p>When a config is frozen, no advice changes can be made. This is
@@ -156,6 +180,7 @@ public class ProxyConfig implements Serializable {
 		this.proxyTargetClass = other.proxyTargetClass;
 		this.optimize = other.optimize;
 		this.exposeProxy = other.exposeProxy;
+		this.compileInterceptorChains = other.compileInterceptorChains;
 		this.frozen = other.frozen;
 		this.opaque = other.opaque;
 	}
@@ -167,6 +192,7 @@ public class ProxyConfig implements Serializable {
 		sb.append("optimize=").append(this.optimize).append("; ");
 		sb.append("opaque=").append(this.opaque).append("; ");
 		sb.append("exposeProxy=").append(this.exposeProxy).append("; ");
+		sb.append("compileInterceptorChains=").append(this.compileInterceptorChains).append("; ");
 		sb.append("frozen=").append(this.frozen);
 		return sb.toString();
 	}
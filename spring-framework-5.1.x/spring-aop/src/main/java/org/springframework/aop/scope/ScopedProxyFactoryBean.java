@@ -27,7 +27,10 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.FactoryBeanNotInitializedException;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.Scope;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -46,6 +49,10 @@ import org.springframework.util.ClassUtils;
  * <i>class-based</i> proxies by default. This can be customized
  * through switching the "proxyTargetClass" property to "false".
  *
+ * <p>As of 5.1.18, an existing target object is obtained from its registered
+ * {@link Scope} directly, without going through the full bean retrieval algorithm
+ * of the bean factory, if supported by the scope.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @since 2.0
@@ -56,7 +63,7 @@ public class ScopedProxyFactoryBean extends ProxyConfig
 		implements FactoryBean<Object>, BeanFactoryAware, AopInfrastructureBean {
 
 	/** The TargetSource that manages scoping. */
-	private final SimpleBeanTargetSource scopedTargetSource = new SimpleBeanTargetSource();
+	private final SimpleBeanTargetSource scopedTargetSource = new ScopedBeanTargetSource();
 
 	/** The name of the target bean. */
 	@Nullable
@@ -139,4 +146,60 @@ public class ScopedProxyFactoryBean extends ProxyConfig
 		return true;
 	}
 
+
+	/**
+	 * Target source which retrieves an existing target object from its registered
+	 * {@link Scope} directly, falling back to a regular {@code getBean} call for
+	 * creating it and for targets not managed by a custom scope.
+	 * @see Scope#getIfPresent
+	 */
+	private static class ScopedBeanTargetSource extends SimpleBeanTargetSource {
+
+		@Nullable
+		private transient volatile Scope scope;
+
+		private transient volatile boolean scopeResolved;
+
+		@Override
+		public Object getTarget() throws Exception {
+			Scope scope = resolveScope();
+			if (scope != null) {
+				try {
+					Object target = scope.getIfPresent(getTargetBeanName());
+					if (target != null) {
+						return target;
+					}
+				}
+				catch (IllegalStateException ex) {
+					// Scope not active: let the bean factory raise the corresponding exception
+				}
+			}
+			return super.getTarget();
+		}
+
+		@Nullable
+		private Scope resolveScope() {
+			if (!this.scopeResolved) {
+				ConfigurableBeanFactory cbf = (ConfigurableBeanFactory) getBeanFactory();
+				String targetBeanName = getTargetBeanName();
+				Scope scope = null;
+				try {
+					if (cbf.containsLocalBean(targetBeanName) && !cbf.isFactoryBean(targetBeanName)) {
+						BeanDefinition bd = cbf.getMergedBeanDefinition(targetBeanName);
+						String scopeName = bd.getScope();
+						if (scopeName != null && !bd.isSingleton() && !bd.isPrototype()) {
+							scope = cbf.getRegisteredScope(scopeName);
+						}
+					}
+				}
+				catch (NoSuchBeanDefinitionException ex) {
+					// Manually registered target object: always go through getBean
+				}
+				this.scope = scope;
+				this.scopeResolved = true;
+			}
+			return this.scope;
+		}
+	}
+
 }
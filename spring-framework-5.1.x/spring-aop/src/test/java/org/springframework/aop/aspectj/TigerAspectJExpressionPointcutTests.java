@@ -17,9 +17,13 @@
 package org.springframework.aop.aspectj;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -155,6 +159,46 @@ public class TigerAspectJExpressionPointcutTests {
 		assertFalse(ajexp.matches(BeanA.class.getMethod("setName", String.class), BeanA.class));
 	}
 
+	@Test
+	public void testAnnotationOnMethodCombinedWithExecution() throws Exception {
+		String expression = "execution(* *(..)) && @annotation(test.annotation.transaction.Tx)";
+		AspectJExpressionPointcut ajexp = new AspectJExpressionPointcut();
+		ajexp.setExpression(expression);
+
+		assertFalse(ajexp.matches(getAge, TestBean.class));
+		assertFalse(ajexp.matches(HasTransactionalAnnotation.class.getMethod("foo"), HasTransactionalAnnotation.class));
+		assertFalse(ajexp.matches(BeanA.class.getMethod("setName", String.class), BeanA.class));
+		assertTrue(ajexp.matches(BeanA.class.getMethod("getAge"), BeanA.class));
+	}
+
+	@Test
+	public void testAnnotationOnMethodWithConcurrentMatching() throws Exception {
+		String expression = "@annotation(test.annotation.transaction.Tx)";
+		AspectJExpressionPointcut ajexp = new AspectJExpressionPointcut();
+		ajexp.setExpression(expression);
+		Method annotatedMethod = BeanA.class.getMethod("getAge");
+		Method plainMethod = BeanA.class.getMethod("setName", String.class);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> annotatedMatches = new ArrayList<>();
+			List<Future<Boolean>> plainMatches = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				annotatedMatches.add(executor.submit(() -> ajexp.matches(annotatedMethod, BeanA.class)));
+				plainMatches.add(executor.submit(() -> ajexp.matches(plainMethod, BeanA.class)));
+			}
+			for (Future<Boolean> match : annotatedMatches) {
+				assertTrue(match.get());
+			}
+			for (Future<Boolean> match : plainMatches) {
+				assertFalse(match.get());
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
 	@Test
 	public void testAnnotationOnCglibProxyMethod() throws Exception {
 		String expression = "@annotation(test.annotation.transaction.Tx)";
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.lang.reflect.Method;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Test;
+
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.DynamicMethodMatcherPointcut;
+import org.springframework.tests.aop.interceptor.NopInterceptor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for AOP proxies with {@link ProxyConfig#setCompileInterceptorChains
+ * compiled interceptor chains}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class CompiledInterceptorChainTests {
+
+	@Test
+	public void staticChainWithJdkProxy() {
+		assertStaticChain(false);
+	}
+
+	@Test
+	public void staticChainWithCglibProxy() {
+		assertStaticChain(true);
+	}
+
+	@Test
+	public void dynamicChainWithJdkProxy() {
+		assertDynamicChain(false);
+	}
+
+	@Test
+	public void dynamicChainWithCglibProxy() {
+		assertDynamicChain(true);
+	}
+
+	@Test
+	public void emptyChain() {
+		RecordingGreeter target = new RecordingGreeter();
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setCompileInterceptorChains(true);
+		Greeter proxy = (Greeter) pf.getProxy();
+
+		assertEquals("Hello juergen", proxy.greet("juergen"));
+		assertTrue(target.invokedThroughGeneratedAccessor);
+	}
+
+	@Test
+	public void adviceChangeAfterCompilation() {
+		RecordingGreeter target = new RecordingGreeter();
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setCompileInterceptorChains(true);
+		Greeter proxy = (Greeter) pf.getProxy();
+		assertEquals("Hello juergen", proxy.greet("juergen"));
+
+		NopInterceptor nop = new NopInterceptor();
+		((Advised) proxy).addAdvice(nop);
+		assertEquals("Hello juergen", proxy.greet("juergen"));
+		assertEquals(1, nop.getCount());
+	}
+
+	@Test
+	public void exceptionFromTarget() {
+		NopInterceptor nop = new NopInterceptor();
+		ProxyFactory pf = new ProxyFactory(new RecordingGreeter());
+		pf.setCompileInterceptorChains(true);
+		pf.addAdvice(nop);
+		Greeter proxy = (Greeter) pf.getProxy();
+
+		try {
+			proxy.greet(null);
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			assertEquals("Name is required", ex.getMessage());
+		}
+		assertEquals(1, nop.getCount());
+	}
+
+	@Test
+	public void proceedMultipleTimesThroughInvocableClone() {
+		RecordingGreeter target = new RecordingGreeter();
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setCompileInterceptorChains(true);
+		pf.addAdvice((MethodInterceptor) invocation ->
+				((ProxyMethodInvocation) invocation).invocableClone().proceed() + " / " + invocation.proceed());
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvice(nop);
+		Greeter proxy = (Greeter) pf.getProxy();
+
+		assertEquals("Hello juergen / Hello juergen", proxy.greet("juergen"));
+		assertEquals(2, nop.getCount());
+		assertEquals(2, target.count);
+	}
+
+
+	private void assertStaticChain(boolean proxyTargetClass) {
+		RecordingGreeter target = new RecordingGreeter();
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setProxyTargetClass(proxyTargetClass);
+		pf.setCompileInterceptorChains(true);
+		NopInterceptor nop1 = new NopInterceptor();
+		NopInterceptor nop2 = new NopInterceptor();
+		pf.addAdvice(nop1);
+		pf.addAdvice(nop2);
+		Greeter proxy = (Greeter) pf.getProxy();
+
+		for (int i = 1; i <= 3; i++) {
+			assertEquals("Hello juergen", proxy.greet("juergen"));
+			assertEquals(i, nop1.getCount());
+			assertEquals(i, nop2.getCount());
+			assertEquals(i, target.count);
+			assertTrue(target.invokedThroughGeneratedAccessor);
+		}
+		assertSame(proxy, proxy.self());
+	}
+
+	private void assertDynamicChain(boolean proxyTargetClass) {
+		RecordingGreeter target = new RecordingGreeter();
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setProxyTargetClass(proxyTargetClass);
+		pf.setCompileInterceptorChains(true);
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvisor(new DefaultPointcutAdvisor(new DynamicMethodMatcherPointcut() {
+			@Override
+			public boolean matches(Method method, Class<?> targetClass, Object... args) {
+				return "juergen".equals(args[0]);
+			}
+		}, nop));
+		Greeter proxy = (Greeter) pf.getProxy();
+
+		assertEquals("Hello juergen", proxy.greet("juergen"));
+		assertEquals(1, nop.getCount());
+		assertEquals("Hello rod", proxy.greet("rod"));
+		assertEquals(1, nop.getCount());
+		assertEquals(2, target.count);
+		assertTrue(target.invokedThroughGeneratedAccessor);
+	}
+
+
+	public interface Greeter {
+
+		String greet(String name);
+
+		Greeter self();
+	}
+
+
+	public static class RecordingGreeter implements Greeter {
+
+		int count;
+
+		boolean invokedThroughGeneratedAccessor;
+
+		@Override
+		public String greet(String name) {
+			this.count++;
+			this.invokedThroughGeneratedAccessor =
+					new Throwable().getStackTrace()[1].getClassName().contains("FastClass");
+			if (name == null) {
+				throw new IllegalArgumentException("Name is required");
+			}
+			return "Hello " + name;
+		}
+
+		@Override
+		public Greeter self() {
+			return this;
+		}
+	}
+
+}
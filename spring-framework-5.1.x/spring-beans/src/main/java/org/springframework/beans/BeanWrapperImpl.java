@@ -24,6 +24,7 @@ import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 
+import org.springframework.cglib.reflect.FastMethod;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.Property;
 import org.springframework.core.convert.TypeDescriptor;
@@ -75,6 +76,11 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	@Nullable
 	private AccessControlContext acc;
 
+	/**
+	 * Whether to invoke write methods through generated accessors.
+	 */
+	private boolean useGeneratedAccessors = false;
+
 
 	/**
 	 * Create a new empty BeanWrapperImpl. Wrapped instance needs to be set afterwards.
@@ -132,6 +138,7 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	private BeanWrapperImpl(Object object, String nestedPath, BeanWrapperImpl parent) {
 		super(object, nestedPath, parent);
 		setSecurityContext(parent.acc);
+		setUseGeneratedAccessors(parent.useGeneratedAccessors);
 	}
 
 
@@ -193,6 +200,27 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		return this.acc;
 	}
 
+	/**
+	 * Set whether to invoke property write methods through CGLIB-generated
+	 * accessors instead of reflection. Default is "false".
+	 * <p>Worth switching on for bean classes that get populated very often.
+	 * Write methods which are not accessible from a generated class in the
+	 * same package (e.g. private methods) are still invoked reflectively,
+	 * as are all write methods when running with a SecurityManager.
+	 * @since 5.1.18
+	 */
+	public void setUseGeneratedAccessors(boolean useGeneratedAccessors) {
+		this.useGeneratedAccessors = useGeneratedAccessors;
+	}
+
+	/**
+	 * Return whether to invoke property write methods through generated accessors.
+	 * @since 5.1.18
+	 */
+	public boolean isUseGeneratedAccessors() {
+		return this.useGeneratedAccessors;
+	}
+
 
 	/**
 	 * Convert the given value for the specified property to the latter's type.
@@ -328,8 +356,15 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 				}
 			}
 			else {
-				ReflectionUtils.makeAccessible(writeMethod);
-				writeMethod.invoke(getWrappedInstance(), value);
+				FastMethod fastWriteMethod = (useGeneratedAccessors ?
+						getCachedIntrospectionResults().getFastMethod(writeMethod) : null);
+				if (fastWriteMethod != null) {
+					fastWriteMethod.invoke(getWrappedInstance(), new Object[] {value});
+				}
+				else {
+					ReflectionUtils.makeAccessible(writeMethod);
+					writeMethod.invoke(getWrappedInstance(), value);
+				}
 			}
 		}
 	}
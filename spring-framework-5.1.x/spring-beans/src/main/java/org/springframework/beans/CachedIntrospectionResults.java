@@ -20,6 +20,8 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -31,6 +33,9 @@ import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.cglib.core.SpringNamingPolicy;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.cglib.reflect.FastMethod;
 import org.springframework.core.SpringProperties;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.support.SpringFactoriesLoader;
@@ -102,6 +107,9 @@ public final class CachedIntrospectionResults {
 
 	private static final Log logger = LogFactory.getLog(CachedIntrospectionResults.class);
 
+	/** Marker for a member that cannot be accessed through a generated accessor. */
+	private static final Object NO_FAST_MEMBER = new Object();
+
 	/**
 	 * Set of ClassLoaders that this CachedIntrospectionResults class will always
 	 * accept classes from, even if the classes do not qualify as cache-safe.
@@ -258,6 +266,13 @@ public final class CachedIntrospectionResults {
 	/** TypeDescriptor objects keyed by PropertyDescriptor. */
 	private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> typeDescriptorCache;
 
+	/** Generated method accessors (or a marker if not available) keyed by Method. */
+	private final ConcurrentMap<Method, Object> fastMethodCache = new ConcurrentHashMap<>(8);
+
+	/** Generated accessor class for the bean class, lazily initialized. */
+	@Nullable
+	private volatile Object fastClass;
+
 
 	/**
 	 * Create a new CachedIntrospectionResults instance for the given class.
@@ -381,4 +396,53 @@ public final class CachedIntrospectionResults {
 		return this.typeDescriptorCache.get(pd);
 	}
 
+	/**
+	 * Obtain a CGLIB-generated accessor for the given method of the bean class,
+	 * generating the {@link FastClass} for the bean class on first access.
+	 * @param method the method to invoke (typically a property write method)
+	 * @return the generated accessor, or {@code null} if the method cannot be
+	 * invoked through a generated accessor (to be invoked reflectively then)
+	 * @since 5.1.18
+	 */
+	@Nullable
+	FastMethod getFastMethod(Method method) {
+		Object fastMethod = this.fastMethodCache.get(method);
+		if (fastMethod == null) {
+			fastMethod = NO_FAST_MEMBER;
+			FastClass fastClass = getFastClass();
+			if (fastClass != null && !Modifier.isPrivate(method.getModifiers()) &&
+					fastClass.getIndex(method.getName(), method.getParameterTypes()) >= 0) {
+				fastMethod = fastClass.getMethod(method);
+			}
+			this.fastMethodCache.put(method, fastMethod);
+		}
+		return (fastMethod != NO_FAST_MEMBER ? (FastMethod) fastMethod : null);
+	}
+
+	@Nullable
+	private FastClass getFastClass() {
+		Object fastClass = this.fastClass;
+		if (fastClass == null) {
+			fastClass = NO_FAST_MEMBER;
+			Class<?> beanClass = getBeanClass();
+			if (beanClass.getClassLoader() != null && !beanClass.isInterface()) {
+				try {
+					FastClass.Generator generator = new FastClass.Generator();
+					generator.setType(beanClass);
+					generator.setContextClass(beanClass);
+					generator.setClassLoader(beanClass.getClassLoader());
+					generator.setNamingPolicy(SpringNamingPolicy.INSTANCE);
+					fastClass = generator.create();
+				}
+				catch (Throwable ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Falling back to reflective method invocation on " + beanClass + ": " + ex);
+					}
+				}
+			}
+			this.fastClass = fastClass;
+		}
+		return (fastClass != NO_FAST_MEMBER ? (FastClass) fastClass : null);
+	}
+
 }
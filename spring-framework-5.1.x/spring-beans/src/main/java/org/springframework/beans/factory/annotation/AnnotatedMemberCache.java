@@ -0,0 +1,147 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.annotation;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Shared per-class store of the locally declared fields and methods which carry
+ * annotations, for use by annotation-driven post-processors such as
+ * {@link AutowiredAnnotationBeanPostProcessor}, {@link InitDestroyAnnotationBeanPostProcessor}
+ * and {@code CommonAnnotationBeanPostProcessor}.
+ *
+ * <p>All of those post-processors introspect the same bean classes for their
+ * respective annotations. Drawing from this store, each class is only scanned
+ * once, and all post-processors share the same {@link Field} and {@link Method}
+ * instances in their injection metadata. Members without any annotations (the
+ * vast majority) are not retained at all.
+ *
+ * <p>The store is weakly keyed and does not prevent classes from being unloaded;
+ * entries may be rebuilt at any time.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see ReflectionUtils#doWithLocalFields
+ * @see ReflectionUtils#doWithLocalMethods
+ */
+public abstract class AnnotatedMemberCache {
+
+	private static final Field[] EMPTY_FIELD_ARRAY = new Field[0];
+
+	private static final Method[] EMPTY_METHOD_ARRAY = new Method[0];
+
+	private static final Map<Class<?>, AnnotatedMembers> annotatedMembersCache =
+			new ConcurrentReferenceHashMap<>(256, ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
+
+	/**
+	 * Invoke the given callback on all locally declared fields in the given class
+	 * which carry at least one annotation.
+	 * @param clazz the target class to analyze
+	 * @param fc the callback to invoke for each field
+	 * @throws IllegalStateException if introspection fails
+	 * @see ReflectionUtils#doWithLocalFields
+	 */
+	public static void doWithLocalFields(Class<?> clazz, ReflectionUtils.FieldCallback fc) {
+		for (Field field : getAnnotatedMembers(clazz).fields) {
+			try {
+				fc.doWith(field);
+			}
+			catch (IllegalAccessException ex) {
+				throw new IllegalStateException("Not allowed to access field '" + field.getName() + "': " + ex);
+			}
+		}
+	}
+
+	/**
+	 * Invoke the given callback on all locally declared methods in the given class
+	 * (including interface default methods) which carry at least one annotation,
+	 * either on the method itself or on the method bridged by it.
+	 * @param clazz the target class to analyze
+	 * @param mc the callback to invoke for each method
+	 * @throws IllegalStateException if introspection fails
+	 * @see ReflectionUtils#doWithLocalMethods
+	 */
+	public static void doWithLocalMethods(Class<?> clazz, ReflectionUtils.MethodCallback mc) {
+		for (Method method : getAnnotatedMembers(clazz).methods) {
+			try {
+				mc.doWith(method);
+			}
+			catch (IllegalAccessException ex) {
+				throw new IllegalStateException("Not allowed to access method '" + method.getName() + "': " + ex);
+			}
+		}
+	}
+
+	/**
+	 * Clear the internal annotated member cache.
+	 */
+	public static void clearCache() {
+		annotatedMembersCache.clear();
+	}
+
+
+	private static AnnotatedMembers getAnnotatedMembers(Class<?> clazz) {
+		AnnotatedMembers members = annotatedMembersCache.get(clazz);
+		if (members == null) {
+			members = new AnnotatedMembers(clazz);
+			AnnotatedMembers existing = annotatedMembersCache.putIfAbsent(clazz, members);
+			if (existing != null) {
+				members = existing;
+			}
+		}
+		return members;
+	}
+
+
+	/**
+	 * Annotated fields and methods declared in a specific class.
+	 */
+	private static final class AnnotatedMembers {
+
+		final Field[] fields;
+
+		final Method[] methods;
+
+		AnnotatedMembers(Class<?> clazz) {
+			List<Field> fields = new ArrayList<>();
+			ReflectionUtils.doWithLocalFields(clazz, field -> {
+				if (field.getDeclaredAnnotations().length > 0) {
+					fields.add(field);
+				}
+			});
+			List<Method> methods = new ArrayList<>();
+			ReflectionUtils.doWithLocalMethods(clazz, method -> {
+				if (method.getDeclaredAnnotations().length > 0 || (method.isBridge() &&
+						BridgeMethodResolver.findBridgedMethod(method).getDeclaredAnnotations().length > 0)) {
+					methods.add(method);
+				}
+			});
+			this.fields = (fields.isEmpty() ? EMPTY_FIELD_ARRAY : fields.toArray(EMPTY_FIELD_ARRAY));
+			this.methods = (methods.isEmpty() ? EMPTY_METHOD_ARRAY : methods.toArray(EMPTY_METHOD_ARRAY));
+		}
+	}
+
+}
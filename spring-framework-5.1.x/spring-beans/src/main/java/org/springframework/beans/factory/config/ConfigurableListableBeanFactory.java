@@ -159,4 +159,21 @@ public interface ConfigurableListableBeanFactory
 	 */
 	void preInstantiateSingletons() throws BeansException;
 
+	/**
+	 * Release metadata which is only needed for creating bean instances, for all
+	 * singleton beans which have been created already: e.g. resolved constructor
+	 * arguments and the injection metadata cached by post-processors.
+	 * <p>Such metadata gets rebuilt on demand in case of a bean getting created
+	 * again, while metadata for other beans (e.g. prototypes) is kept around.
+	 * Typically invoked after {@link #preInstantiateSingletons()}.
+	 * <p>Note that merged bean definitions themselves are retained since they are
+	 * needed for type matching, as are class-level introspection results such as
+	 * {@link org.springframework.beans.CachedIntrospectionResults}.
+	 * <p>The default implementation is empty.
+	 * @since 5.1.18
+	 * @see org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor#releaseConstructionMetadata
+	 */
+	default void releaseConstructionMetadata() {
+	}
+
 }
@@ -73,6 +73,25 @@ public interface Scope {
 	 */
 	Object get(String name, ObjectFactory<?> objectFactory);
 
+	/**
+	 * Return the object with the given name from the underlying scope if it
+	 * is present already, without creating it otherwise.
+	 * <p>This allows callers such as scoped proxies to access an existing target
+	 * object without going through the bean factory, falling back to a regular
+	 * {@code getBean} call in case of {@code null}. The default implementation
+	 * always returns {@code null}, i.e. does not expose existing objects.
+	 * @param name the name of the object to retrieve
+	 * @return the existing object, or {@code null} if not present
+	 * (or if not supported by the underlying storage mechanism)
+	 * @throws IllegalStateException if the underlying scope is not currently active
+	 * @since 5.1.18
+	 * @see #get(String, ObjectFactory)
+	 */
+	@Nullable
+	default Object getIfPresent(String name) {
+		return null;
+	}
+
 	/**
 	 * Remove the object with the given {@code name} from the underlying scope.
 	 * <p>Returns {@code null} if no object was found; otherwise
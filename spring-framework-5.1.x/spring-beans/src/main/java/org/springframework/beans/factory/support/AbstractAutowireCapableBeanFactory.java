@@ -76,6 +76,7 @@ import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.PriorityOrdered;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -410,7 +411,15 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
 		Object result = existingBean;
 		for (BeanPostProcessor processor : getBeanPostProcessors()) {
-			Object current = processor.postProcessBeforeInitialization(result, beanName);
+			Object current;
+			StartupStep postProcess = getApplicationStartup().start("spring.beans.post-process.before-initialization")
+					.tag("postProcessor", processor.getClass().getName());
+			try {
+				current = processor.postProcessBeforeInitialization(result, beanName);
+			}
+			finally {
+				postProcess.end();
+			}
 			if (current == null) {
 				return result;
 			}
@@ -426,7 +435,15 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		Object result = existingBean;
 		//执行了所有直接实现了BeanPostProcessor实现类的postProcessAfterInitialization
 		for (BeanPostProcessor processor : getBeanPostProcessors()) {
-			Object current = processor.postProcessAfterInitialization(result, beanName);
+			Object current;
+			StartupStep postProcess = getApplicationStartup().start("spring.beans.post-process.after-initialization")
+					.tag("postProcessor", processor.getClass().getName());
+			try {
+				current = processor.postProcessAfterInitialization(result, beanName);
+			}
+			finally {
+				postProcess.end();
+			}
 			if (current == null) {
 				return result;
 			}
@@ -477,6 +494,23 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	protected Object createBean(String beanName, RootBeanDefinition mbd, @Nullable Object[] args)
 			throws BeanCreationException {
 
+		StartupStep beanCreation = getApplicationStartup().start("spring.beans.instantiate")
+				.tag("beanName", beanName);
+		try {
+			return resolveAndCreateBean(beanName, mbd, args);
+		}
+		finally {
+			beanCreation.end();
+		}
+	}
+
+	/**
+	 * Resolve the bean class, prepare method overrides and create the bean instance,
+	 * as recorded by {@link #createBean} within a startup step.
+	 */
+	private Object resolveAndCreateBean(String beanName, RootBeanDefinition mbd, @Nullable Object[] args)
+			throws BeanCreationException {
+
 		if (logger.isTraceEnabled()) {
 			logger.trace("Creating instance of bean '" + beanName + "'");
 		}
@@ -1327,6 +1361,19 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		}
 	}
 
+	/**
+	 * This implementation additionally switches on generated write method
+	 * accessors in case of a {@link FastClassInstantiationStrategy}.
+	 * @see BeanWrapperImpl#setUseGeneratedAccessors
+	 */
+	@Override
+	protected void initBeanWrapper(BeanWrapper bw) {
+		super.initBeanWrapper(bw);
+		if (bw instanceof BeanWrapperImpl && getInstantiationStrategy() instanceof FastClassInstantiationStrategy) {
+			((BeanWrapperImpl) bw).setUseGeneratedAccessors(true);
+		}
+	}
+
 	/**
 	 * Instantiate the bean using a named factory method. The method may be static, if the
 	 * mbd parameter specifies a class, rather than a factoryBean, or an instance variable
@@ -1427,7 +1474,15 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			for (BeanPostProcessor bp : getBeanPostProcessors()) {
 				if (bp instanceof InstantiationAwareBeanPostProcessor) {
 					InstantiationAwareBeanPostProcessor ibp = (InstantiationAwareBeanPostProcessor) bp;
-					PropertyValues pvsToUse = ibp.postProcessProperties(pvs, bw.getWrappedInstance(), beanName);
+					PropertyValues pvsToUse;
+					StartupStep postProcess = getApplicationStartup().start("spring.beans.post-process.properties")
+							.tag("postProcessor", bp.getClass().getName());
+					try {
+						pvsToUse = ibp.postProcessProperties(pvs, bw.getWrappedInstance(), beanName);
+					}
+					finally {
+						postProcess.end();
+					}
 					if (pvsToUse == null) {
 						if (filteredPds == null) {
 							filteredPds = filterPropertyDescriptorsForDependencyCheck(bw, mbd.allowCaching);
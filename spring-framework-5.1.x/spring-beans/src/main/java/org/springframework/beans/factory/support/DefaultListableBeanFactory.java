@@ -29,8 +29,11 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -40,6 +43,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -48,6 +56,7 @@ import javax.inject.Provider;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -71,8 +80,10 @@ import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -184,6 +195,16 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans. */
 	private volatile boolean configurationFrozen = false;
 
+	/** Index of bean definition names by type in case of frozen configuration. */
+	@Nullable
+	private volatile BeanTypeIndex beanTypeIndex;
+
+	/** Number of threads to pre-instantiate singletons with, 1 for sequential pre-instantiation. */
+	private int preInstantiationParallelism = 1;
+
+	/** Pre-instantiation times of the last parallel pre-instantiation: bean name to milliseconds. */
+	private volatile Map<String, Long> preInstantiationTimes = Collections.emptyMap();
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -268,6 +289,54 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Set the number of threads to pre-instantiate non-lazy singletons with.
+	 * <p>Default is 1, creating all singletons one at a time on the calling thread.
+	 * Specify a higher value in order to create independent singletons in parallel on
+	 * a bounded {@link ForkJoinPool}, with each singleton only being instantiated once
+	 * the singletons it declares a dependency on (through "depends-on", its factory bean
+	 * and direct bean references in its constructor arguments and property values) have
+	 * been instantiated. Dependencies that are only resolved at creation time (such as
+	 * autowired ones) are created on demand, as usual.
+	 * <p>A parallelism greater than 1 implies
+	 * {@linkplain #setConcurrentSingletonCreation concurrent singleton creation}.
+	 * {@link SmartInitializingSingleton} callbacks are still invoked on the calling
+	 * thread, in registration order, once all singletons have been instantiated.
+	 * @since 5.1.18
+	 * @see #preInstantiateSingletons()
+	 * @see #getPreInstantiationTimes()
+	 */
+	public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+		Assert.isTrue(preInstantiationParallelism > 0, "Pre-instantiation parallelism must be greater than 0");
+		this.preInstantiationParallelism = preInstantiationParallelism;
+		if (preInstantiationParallelism > 1) {
+			setConcurrentSingletonCreation(true);
+		}
+	}
+
+	/**
+	 * Return the number of threads to pre-instantiate non-lazy singletons with.
+	 * @since 5.1.18
+	 */
+	public int getPreInstantiationParallelism() {
+		return this.preInstantiationParallelism;
+	}
+
+	/**
+	 * Return the time it took to pre-instantiate each non-lazy singleton during the
+	 * last parallel pre-instantiation, in registration order of the bean definitions.
+	 * <p>The time for each bean includes the creation of any dependencies that had
+	 * not been instantiated before; a dependency that got created on demand for
+	 * another bean therefore reports a time close to zero.
+	 * @return a Map from bean name to pre-instantiation time in milliseconds
+	 * (empty if no parallel pre-instantiation happened yet)
+	 * @since 5.1.18
+	 * @see #setPreInstantiationParallelism
+	 */
+	public Map<String, Long> getPreInstantiationTimes() {
+		return this.preInstantiationTimes;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @since 4.0
@@ -324,6 +393,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.preInstantiationParallelism = otherListableFactory.preInstantiationParallelism;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(
 					BeanUtils.instantiateClass(otherListableFactory.getAutowireCandidateResolver().getClass()));
@@ -501,8 +571,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
 		List<String> result = new ArrayList<>();
 
-		// Check all bean definitions.
-		for (String beanName : this.beanDefinitionNames) {
+		// Check all bean definitions, or just the candidates for the given type in case of a type index.
+		BeanTypeIndex typeIndex = this.beanTypeIndex;
+		Class<?> rawType = type.resolve();
+		Iterable<String> beanDefinitionNames = (typeIndex != null && rawType != null ?
+				typeIndex.getCandidateNames(rawType) : this.beanDefinitionNames);
+		for (String beanName : beanDefinitionNames) {
 			// Only consider bean as eligible if the bean name is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
 				try {
@@ -809,6 +883,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void freezeConfiguration() {
 		this.configurationFrozen = true;
 		this.frozenBeanDefinitionNames = StringUtils.toStringArray(this.beanDefinitionNames);
+		buildBeanTypeIndex(this.frozenBeanDefinitionNames);
 	}
 
 	@Override
@@ -838,33 +913,16 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		//遍历所有的beanDefinition根据名字，继而验证beanDefinition
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			//判断这个bean是不是isAbstract，是不是单例的，是不是懒加载的
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {//判断是不是factoryBean,一般情况是不会进的，除非提供了factoryBean
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged(
-									(PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				}
-				else {
-					//开始实例普通的Bean
-					getBean(beanName);
+		if (this.preInstantiationParallelism > 1) {
+			preInstantiateSingletonsInParallel(beanNames);
+		}
+		else {
+			//遍历所有的beanDefinition根据名字，继而验证beanDefinition
+			for (String beanName : beanNames) {
+				RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+				//判断这个bean是不是isAbstract，是不是单例的，是不是懒加载的
+				if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -887,6 +945,215 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	@Override
+	public void releaseConstructionMetadata() {
+		List<MergedBeanDefinitionPostProcessor> postProcessors = new ArrayList<>();
+		for (BeanPostProcessor bp : getBeanPostProcessors()) {
+			if (bp instanceof MergedBeanDefinitionPostProcessor) {
+				postProcessors.add((MergedBeanDefinitionPostProcessor) bp);
+			}
+		}
+		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
+		for (String beanName : beanNames) {
+			if (containsSingleton(beanName) && !isCurrentlyInCreation(beanName)) {
+				RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+				if (mbd.isSingleton()) {
+					for (MergedBeanDefinitionPostProcessor processor : postProcessors) {
+						processor.releaseConstructionMetadata(mbd, beanName);
+					}
+					mbd.releaseConstructionMetadata();
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Instantiate the specified non-lazy singleton, or the object exposed by it
+	 * in case of an eagerly initializing {@link SmartFactoryBean}.
+	 * @param beanName the name of the bean
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {//判断是不是factoryBean,一般情况是不会进的，除非提供了factoryBean
+			Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+			if (bean instanceof FactoryBean) {
+				FactoryBean<?> factory = (FactoryBean<?>) bean;
+				boolean isEagerInit;
+				if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+					isEagerInit = AccessController.doPrivileged(
+							(PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
+							getAccessControlContext());
+				}
+				else {
+					isEagerInit = (factory instanceof SmartFactoryBean &&
+							((SmartFactoryBean<?>) factory).isEagerInit());
+				}
+				if (isEagerInit) {
+					getBean(beanName);
+				}
+			}
+		}
+		else {
+			//开始实例普通的Bean
+			getBean(beanName);
+		}
+	}
+
+	/**
+	 * Instantiate the non-lazy singletons among the given bean names on a bounded
+	 * {@link ForkJoinPool}, following the dependencies declared in their merged
+	 * bean definitions. Singletons that are part of a declared dependency cycle
+	 * are instantiated on the calling thread afterwards, in registration order.
+	 * @param beanNames the names of all bean definitions, in registration order
+	 * @see #setPreInstantiationParallelism
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames) {
+		Map<String, PreInstantiation> preInstantiations = new LinkedHashMap<>();
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				preInstantiations.put(beanName, new PreInstantiation(beanName));
+			}
+		}
+		for (PreInstantiation preInstantiation : preInstantiations.values()) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(preInstantiation.beanName);
+			for (String dependency : getDeclaredDependencies(bd)) {
+				PreInstantiation dependencyInstantiation = preInstantiations.get(transformedBeanName(dependency));
+				if (dependencyInstantiation != null && dependencyInstantiation != preInstantiation &&
+						!dependencyInstantiation.dependents.contains(preInstantiation)) {
+					dependencyInstantiation.dependents.add(preInstantiation);
+					preInstantiation.pendingDependencies.incrementAndGet();
+				}
+			}
+		}
+
+		Map<String, Long> times = new ConcurrentHashMap<>(preInstantiations.size());
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		long startTime = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(this.preInstantiationParallelism, forkJoinPool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+			thread.setName("preInstantiation-" + thread.getPoolIndex());
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		}, null, false);
+		try {
+			for (PreInstantiation preInstantiation : preInstantiations.values()) {
+				if (preInstantiation.pendingDependencies.get() == 0) {
+					pool.execute(() -> preInstantiateSingleton(preInstantiation, pool, times, failure));
+				}
+			}
+			// Waits for all tasks, including the ones submitted by completed tasks.
+			pool.awaitQuiescence(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		Throwable ex = failure.get();
+		if (ex instanceof Error) {
+			throw (Error) ex;
+		}
+		if (ex != null) {
+			throw (RuntimeException) ex;
+		}
+
+		// Remaining singletons are part of a declared dependency cycle: leave their
+		// resolution (or the corresponding exception) to the regular creation process.
+		for (PreInstantiation preInstantiation : preInstantiations.values()) {
+			if (!times.containsKey(preInstantiation.beanName)) {
+				long beanStartTime = System.nanoTime();
+				preInstantiateSingleton(preInstantiation.beanName);
+				times.put(preInstantiation.beanName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - beanStartTime));
+			}
+		}
+
+		Map<String, Long> orderedTimes = new LinkedHashMap<>(preInstantiations.size());
+		for (String beanName : preInstantiations.keySet()) {
+			orderedTimes.put(beanName, times.get(beanName));
+		}
+		this.preInstantiationTimes = Collections.unmodifiableMap(orderedTimes);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiated " + orderedTimes.size() + " singletons with parallelism " +
+					this.preInstantiationParallelism + " in " +
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+		}
+	}
+
+	/**
+	 * Instantiate the given singleton within a parallel pre-instantiation,
+	 * scheduling any dependents whose declared dependencies are complete then.
+	 */
+	private void preInstantiateSingleton(PreInstantiation preInstantiation, ForkJoinPool pool,
+			Map<String, Long> times, AtomicReference<Throwable> failure) {
+
+		if (failure.get() != null) {
+			return;
+		}
+		try {
+			long startTime = System.nanoTime();
+			preInstantiateSingleton(preInstantiation.beanName);
+			long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+			times.put(preInstantiation.beanName, time);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Pre-instantiated singleton '" + preInstantiation.beanName + "' in " + time + " ms");
+			}
+		}
+		catch (RuntimeException | Error ex) {
+			failure.compareAndSet(null, ex);
+			return;
+		}
+		catch (Throwable ex) {
+			failure.compareAndSet(null, new BeanCreationException(
+					preInstantiation.beanName, "Parallel pre-instantiation of singleton failed", ex));
+			return;
+		}
+		for (PreInstantiation dependent : preInstantiation.dependents) {
+			if (dependent.pendingDependencies.decrementAndGet() == 0) {
+				pool.execute(() -> preInstantiateSingleton(dependent, pool, times, failure));
+			}
+		}
+	}
+
+	/**
+	 * Determine the names of the beans that the given bean definition declares
+	 * a dependency on: its "depends-on" beans, its factory bean and direct bean
+	 * references among its constructor arguments and property values.
+	 * @param mbd the merged bean definition
+	 * @return the (untransformed) names of the declared dependencies
+	 */
+	private Set<String> getDeclaredDependencies(RootBeanDefinition mbd) {
+		Set<String> dependencies = new LinkedHashSet<>();
+		String[] dependsOn = mbd.getDependsOn();
+		if (dependsOn != null) {
+			Collections.addAll(dependencies, dependsOn);
+		}
+		if (mbd.getFactoryBeanName() != null) {
+			dependencies.add(mbd.getFactoryBeanName());
+		}
+		if (mbd.hasConstructorArgumentValues()) {
+			ConstructorArgumentValues cargs = mbd.getConstructorArgumentValues();
+			for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getIndexedArgumentValues().values()) {
+				addBeanReference(valueHolder.getValue(), dependencies);
+			}
+			for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getGenericArgumentValues()) {
+				addBeanReference(valueHolder.getValue(), dependencies);
+			}
+		}
+		if (mbd.hasPropertyValues()) {
+			for (PropertyValue pv : mbd.getPropertyValues().getPropertyValues()) {
+				addBeanReference(pv.getValue(), dependencies);
+			}
+		}
+		return dependencies;
+	}
+
+	private void addBeanReference(@Nullable Object value, Set<String> dependencies) {
+		if (value instanceof RuntimeBeanReference && !((RuntimeBeanReference) value).isToParent()) {
+			dependencies.add(((RuntimeBeanReference) value).getBeanName());
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
@@ -957,6 +1224,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 				removeManualSingletonName(beanName);
 			}
 			this.frozenBeanDefinitionNames = null;
+			this.beanTypeIndex = null;
 		}
 
 		if (existingDefinition != null || containsSingleton(beanName)) {
@@ -992,6 +1260,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.beanDefinitionNames.remove(beanName);
 		}
 		this.frozenBeanDefinitionNames = null;
+		this.beanTypeIndex = null;
 
 		resetBeanDefinition(beanName);
 	}
@@ -1055,6 +1324,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		super.destroySingletons();
 		updateManualSingletonNames(Set::clear, set -> !set.isEmpty());
 		clearByTypeCache();
+		this.beanTypeIndex = null;
 	}
 
 	@Override
@@ -1064,6 +1334,24 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		clearByTypeCache();
 	}
 
+	@Override
+	protected void addSingleton(String beanName, Object singletonObject) {
+		super.addSingleton(beanName, singletonObject);
+		BeanTypeIndex typeIndex = this.beanTypeIndex;
+		if (typeIndex != null) {
+			indexSingleton(typeIndex, beanName, singletonObject);
+		}
+	}
+
+	@Override
+	protected void removeSingleton(String beanName) {
+		BeanTypeIndex typeIndex = this.beanTypeIndex;
+		if (typeIndex != null) {
+			typeIndex.unresolve(beanName);
+		}
+		super.removeSingleton(beanName);
+	}
+
 	private void removeManualSingletonName(String beanName) {
 		updateManualSingletonNames(set -> set.remove(beanName), set -> set.contains(beanName));
 	}
@@ -1101,6 +1389,105 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		this.singletonBeanNamesByType.clear();
 	}
 
+	/**
+	 * Build an index of the given bean definition names by type, based on
+	 * the singleton instances which exist already and on the predicted types
+	 * of all other beans, and make it available for by-type lookups.
+	 * @param beanNames the bean definition names, in registration order
+	 * @see #freezeConfiguration()
+	 */
+	private void buildBeanTypeIndex(String[] beanNames) {
+		Map<String, Class<?>> predictedTypes = new HashMap<>(beanNames.length * 2);
+		for (String beanName : beanNames) {
+			if (!containsSingleton(beanName)) {
+				Class<?> predictedType = predictIndexedType(beanName);
+				if (predictedType != null) {
+					predictedTypes.put(beanName, predictedType);
+				}
+			}
+		}
+		synchronized (getSingletonMutex()) {
+			BeanTypeIndex typeIndex = new BeanTypeIndex(beanNames);
+			predictedTypes.forEach(typeIndex::index);
+			for (String beanName : beanNames) {
+				Object singletonObject = getSingleton(beanName, false);
+				if (singletonObject != null && containsSingleton(beanName)) {
+					indexSingleton(typeIndex, beanName, singletonObject);
+				}
+			}
+			this.beanTypeIndex = typeIndex;
+		}
+	}
+
+	/**
+	 * Predict the type to index the given bean under before it gets instantiated,
+	 * provided that {@link #isTypeMatch} decides on that predicted type alone:
+	 * that is, for beans without decorated definition which are neither abstract
+	 * nor FactoryBeans, and whose type can be predicted without initializing
+	 * other beans or loading lazy bean classes.
+	 * @param beanName the name of the bean
+	 * @return the type to index the bean under, or {@code null} if the bean
+	 * needs to be checked against every type
+	 */
+	@Nullable
+	private Class<?> predictIndexedType(String beanName) {
+		try {
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			if (mbd.isAbstract() || mbd.getDecoratedDefinition() != null ||
+					(!mbd.hasBeanClass() && mbd.isLazyInit() && !isAllowEagerClassLoading()) ||
+					requiresEagerInitForType(mbd.getFactoryBeanName())) {
+				return null;
+			}
+			Class<?> beanType = predictBeanType(beanName, mbd);
+			if (beanType == null || FactoryBean.class.isAssignableFrom(beanType) || beanType.isArray()) {
+				return null;
+			}
+			return beanType;
+		}
+		catch (BeansException ex) {
+			// Probably an unresolvable bean class: leave it to regular type matching.
+			return null;
+		}
+	}
+
+	/**
+	 * Index the given bean under the type of its singleton instance if that
+	 * instance is authoritative for by-type matching, or check the bean
+	 * against every type otherwise.
+	 */
+	private void indexSingleton(BeanTypeIndex typeIndex, String beanName, Object singletonObject) {
+		if (isTypeDeterminedByInstance(beanName, singletonObject)) {
+			typeIndex.index(beanName, singletonObject.getClass());
+		}
+		else {
+			typeIndex.unresolve(beanName);
+		}
+	}
+
+	/**
+	 * Determine whether the given singleton instance is authoritative for by-type
+	 * matching of the given bean, that is, whether the bean cannot match any type
+	 * that the instance is not an instance of.
+	 * @param beanName the name of the bean
+	 * @param singletonObject the singleton instance of the bean
+	 * @see #isTypeMatch(String, ResolvableType)
+	 */
+	private boolean isTypeDeterminedByInstance(String beanName, Object singletonObject) {
+		if (singletonObject instanceof NullBean || singletonObject instanceof FactoryBean ||
+				singletonObject.getClass().isArray()) {
+			return false;
+		}
+		try {
+			// A declared target type might match generic types beyond the exposed instance
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			ResolvableType declaredType = (mbd.targetType != null ? mbd.targetType : mbd.factoryMethodReturnType);
+			return (declaredType == null || declaredType.toClass().isInstance(singletonObject));
+		}
+		catch (BeansException ex) {
+			return false;
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Dependency resolution functionality
@@ -2029,4 +2416,141 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+
+	/**
+	 * Node in the dependency graph of a parallel singleton pre-instantiation.
+	 */
+	private static final class PreInstantiation {
+
+		final String beanName;
+
+		/** Singletons to pre-instantiate once this one has been instantiated. */
+		final List<PreInstantiation> dependents = new ArrayList<>();
+
+		/** Number of declared dependencies not instantiated yet. */
+		final AtomicInteger pendingDependencies = new AtomicInteger();
+
+		PreInstantiation(String beanName) {
+			this.beanName = beanName;
+		}
+	}
+
+
+	/**
+	 * Index of bean definition names by type, built on {@link #freezeConfiguration()}.
+	 * <p>Beans with a singleton instance are indexed under every superclass and
+	 * interface of that instance, since {@link #isTypeMatch} checks the instance
+	 * then. Other beans are indexed under the hierarchy of their predicted type
+	 * where {@link #isTypeMatch} decides on that type alone. All remaining beans
+	 * (e.g. FactoryBeans, scoped proxies or beans with unpredictable types) are
+	 * candidates for every type and go through regular type matching.
+	 * Candidates are returned in bean definition registration order.
+	 */
+	private final class BeanTypeIndex {
+
+		private final String[] beanNames;
+
+		private final Map<String, Integer> positions;
+
+		/** Positions of indexed beans, keyed by each type they might match. */
+		private final Map<Class<?>, BitSet> positionsByType = new HashMap<>(256);
+
+		/** Types that indexed beans are indexed under (along with their hierarchy), keyed by bean name. */
+		private final Map<String, Class<?>> indexedTypes = new HashMap<>(256);
+
+		/** Positions of beans to check against every type. */
+		private final BitSet unresolved;
+
+		BeanTypeIndex(String[] beanNames) {
+			this.beanNames = beanNames;
+			this.positions = new HashMap<>(beanNames.length * 2);
+			for (int i = 0; i < beanNames.length; i++) {
+				this.positions.put(beanNames[i], i);
+			}
+			this.unresolved = new BitSet(beanNames.length);
+			this.unresolved.set(0, beanNames.length);
+		}
+
+		/**
+		 * Return the names of all beans that might match the given raw type.
+		 */
+		public List<String> getCandidateNames(Class<?> type) {
+			BitSet candidates;
+			synchronized (this) {
+				candidates = (BitSet) this.unresolved.clone();
+				BitSet matches = this.positionsByType.get(ClassUtils.resolvePrimitiveIfNecessary(type));
+				if (matches != null) {
+					candidates.or(matches);
+				}
+			}
+			List<String> result = new ArrayList<>(candidates.cardinality());
+			for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+				result.add(this.beanNames[i]);
+			}
+			return result;
+		}
+
+		/**
+		 * Index the given bean under the given type and all of its supertypes,
+		 * replacing any previous index entries for the bean.
+		 */
+		public synchronized void index(String beanName, Class<?> beanType) {
+			Integer position = this.positions.get(beanName);
+			if (position == null) {
+				return;
+			}
+			removeIndexedType(beanName, position);
+			// Primitive types (e.g. from factory method return types) match their wrapper hierarchy
+			beanType = ClassUtils.resolvePrimitiveIfNecessary(beanType);
+			for (Class<?> type : getTypeHierarchy(beanType)) {
+				this.positionsByType.computeIfAbsent(type, key -> new BitSet()).set(position);
+			}
+			this.indexedTypes.put(beanName, beanType);
+			this.unresolved.clear(position);
+		}
+
+		/**
+		 * Turn the given bean into a candidate for every type.
+		 */
+		public synchronized void unresolve(String beanName) {
+			Integer position = this.positions.get(beanName);
+			if (position != null) {
+				removeIndexedType(beanName, position);
+				this.unresolved.set(position);
+			}
+		}
+
+		private void removeIndexedType(String beanName, int position) {
+			Class<?> indexedType = this.indexedTypes.remove(beanName);
+			if (indexedType != null) {
+				for (Class<?> type : getTypeHierarchy(indexedType)) {
+					BitSet matches = this.positionsByType.get(type);
+					if (matches != null) {
+						matches.clear(position);
+						if (matches.isEmpty()) {
+							this.positionsByType.remove(type);
+						}
+					}
+				}
+			}
+		}
+
+		private Set<Class<?>> getTypeHierarchy(Class<?> type) {
+			Set<Class<?>> hierarchy = new LinkedHashSet<>();
+			addTypeHierarchy(type, hierarchy);
+			// Interfaces do not extend Object but every bean instance is an Object
+			hierarchy.add(Object.class);
+			return hierarchy;
+		}
+
+		private void addTypeHierarchy(@Nullable Class<?> type, Set<Class<?>> hierarchy) {
+			if (type != null && hierarchy.add(type)) {
+				addTypeHierarchy(type.getSuperclass(), hierarchy);
+				for (Class<?> ifc : type.getInterfaces()) {
+					addTypeHierarchy(ifc, hierarchy);
+				}
+			}
+		}
+	}
+
 }
@@ -32,6 +32,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -82,7 +83,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
 
 	/** Cache of early singleton objects: bean name to bean instance. */
-	private final Map<String, Object> earlySingletonObjects = new HashMap<>(16);
+	private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
 
 	/** Set of registered singletons, containing the bean names in registration order. */
 	private final Set<String> registeredSingletons = new LinkedHashSet<>(256);
@@ -100,7 +101,20 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private Set<Exception> suppressedExceptions;
 
 	/** Flag that indicates whether we're currently within destroySingletons. */
-	private boolean singletonsCurrentlyInDestruction = false;
+	private volatile boolean singletonsCurrentlyInDestruction = false;
+
+	/** Whether independent singletons may be created concurrently by different threads. */
+	private volatile boolean concurrentSingletonCreation = false;
+
+	/** Singletons currently in creation in concurrent mode: bean name to creation handle. */
+	private final Map<String, SingletonCreation> singletonCreations = new ConcurrentHashMap<>(16);
+
+	/** Threads waiting for another thread's singleton creation: thread to awaited creation. */
+	private final Map<Thread, SingletonCreation> singletonCreationWaits = new HashMap<>(16);
+
+	/** Suppressed Exceptions of the current thread's outermost singleton creation in concurrent mode. */
+	private final ThreadLocal<Set<Exception>> concurrentSuppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions in concurrent singleton creation");
 
 	/** Disposable bean instances: bean name to disposable instance. */
 	private final Map<String, Object> disposableBeans = new LinkedHashMap<>();
@@ -115,6 +129,35 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
 
+	/**
+	 * Set whether independent singletons may be created concurrently by different
+	 * threads. Default is "false", serializing all singleton creation on the
+	 * {@linkplain #getSingletonMutex() singleton mutex}.
+	 * <p>Switch this flag to "true" in order to create each singleton under its own
+	 * creation handle instead: fully initialized singletons are still obtained without
+	 * any locking, callers for a singleton in creation wait for the creating thread only,
+	 * and early references to a singleton in creation are only exposed to the creating
+	 * thread. Threads waiting for each other's singletons resolve their circular wait
+	 * through early references, analogous to circular reference resolution within a
+	 * single thread.
+	 * <p>To be set before any singletons are being created.
+	 * @since 5.1.18
+	 * @see #getSingleton(String, ObjectFactory)
+	 */
+	public void setConcurrentSingletonCreation(boolean concurrentSingletonCreation) {
+		this.concurrentSingletonCreation = concurrentSingletonCreation;
+	}
+
+	/**
+	 * Return whether independent singletons may be created concurrently by different threads.
+	 * @since 5.1.18
+	 * @see #setConcurrentSingletonCreation
+	 */
+	public boolean isConcurrentSingletonCreation() {
+		return this.concurrentSingletonCreation;
+	}
+
+
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		Assert.notNull(beanName, "Bean name must not be null");
@@ -183,22 +226,46 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		Object singletonObject = this.singletonObjects.get(beanName);
 		//isSingletonCurrentlyInCreation正在创建
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
+			if (this.concurrentSingletonCreation) {
+				// Early references are only exposed to the creating thread, without locking
+				// as long as the early reference has been created already.
+				if (!isSingletonCreatedByCurrentThread(beanName)) {
+					return null;
+				}
+				singletonObject = this.earlySingletonObjects.get(beanName);
+				if (singletonObject != null || !allowEarlyReference) {
+					return singletonObject;
+				}
+			}
 			synchronized (this.singletonObjects) {
 				singletonObject = this.earlySingletonObjects.get(beanName);
 				if (singletonObject == null && allowEarlyReference) {
-					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-					if (singletonFactory != null) {
-						singletonObject = singletonFactory.getObject();
-						//放到三级缓存
-						this.earlySingletonObjects.put(beanName, singletonObject);
-						this.singletonFactories.remove(beanName);
-					}
+					singletonObject = createEarlySingletonReference(beanName);
 				}
 			}
 		}
 		return singletonObject;
 	}
 
+	/**
+	 * Create an early reference for the specified singleton through its registered
+	 * singleton factory, if any. To be called within the singleton mutex.
+	 * @param beanName the name of the bean
+	 * @return the early singleton reference, or {@code null} if none available
+	 */
+	@Nullable
+	private Object createEarlySingletonReference(String beanName) {
+		ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+		if (singletonFactory == null) {
+			return null;
+		}
+		Object singletonObject = singletonFactory.getObject();
+		//放到三级缓存
+		this.earlySingletonObjects.put(beanName, singletonObject);
+		this.singletonFactories.remove(beanName);
+		return singletonObject;
+	}
+
 	/**
 	 * Return the (raw) singleton object registered under the given name,
 	 * creating and registering a new one if none registered yet.
@@ -209,6 +276,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		if (this.concurrentSingletonCreation) {
+			return getSingletonConcurrently(beanName, singletonFactory);
+		}
 		synchronized (this.singletonObjects) {
 			Object singletonObject = this.singletonObjects.get(beanName);
 			if (singletonObject == null) {
@@ -260,6 +330,184 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 	}
 
+	/**
+	 * Concurrent variant of {@link #getSingleton(String, ObjectFactory)}: creates the
+	 * singleton under its own creation handle, waiting for other threads only if they
+	 * are creating the very same singleton.
+	 * @param beanName the name of the bean
+	 * @param singletonFactory the ObjectFactory to lazily create the singleton
+	 * with, if necessary
+	 * @return the registered singleton object
+	 * @see #setConcurrentSingletonCreation
+	 */
+	private Object getSingletonConcurrently(String beanName, ObjectFactory<?> singletonFactory) {
+		while (true) {
+			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			SingletonCreation creation = new SingletonCreation(Thread.currentThread());
+			SingletonCreation existingCreation = this.singletonCreations.putIfAbsent(beanName, creation);
+			if (existingCreation == null) {
+				try {
+					// Re-check: a concurrent creation might have completed in the meantime.
+					singletonObject = this.singletonObjects.get(beanName);
+					if (singletonObject != null) {
+						return singletonObject;
+					}
+					return createSingletonConcurrently(beanName, singletonFactory);
+				}
+				finally {
+					synchronized (this.singletonObjects) {
+						this.singletonCreations.remove(beanName, creation);
+						creation.done = true;
+						this.singletonObjects.notifyAll();
+					}
+				}
+			}
+			if (existingCreation.thread == Thread.currentThread()) {
+				// Re-entrant request from the creating thread: unresolvable circular reference
+				// unless explicitly excluded from in-creation checks.
+				return createSingletonConcurrently(beanName, singletonFactory);
+			}
+			singletonObject = awaitSingletonCreation(beanName, existingCreation);
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			// Creation in other thread completed or failed -> check again.
+		}
+	}
+
+	/**
+	 * Actually create the specified singleton in concurrent mode, with the
+	 * current thread holding the singleton's creation handle.
+	 * @param beanName the name of the bean
+	 * @param singletonFactory the ObjectFactory to create the singleton with
+	 * @return the registered singleton object
+	 */
+	private Object createSingletonConcurrently(String beanName, ObjectFactory<?> singletonFactory) {
+		if (this.singletonsCurrentlyInDestruction) {
+			throw new BeanCreationNotAllowedException(beanName,
+					"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+					"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+		}
+		beforeSingletonCreation(beanName);
+		Object singletonObject;
+		boolean newSingleton = false;
+		Set<Exception> suppressedExceptions = this.concurrentSuppressedExceptions.get();
+		boolean recordSuppressedExceptions = (suppressedExceptions == null);
+		if (recordSuppressedExceptions) {
+			suppressedExceptions = new LinkedHashSet<>();
+			this.concurrentSuppressedExceptions.set(suppressedExceptions);
+		}
+		try {
+			singletonObject = singletonFactory.getObject();
+			newSingleton = true;
+		}
+		catch (IllegalStateException ex) {
+			// Has the singleton object implicitly appeared in the meantime ->
+			// if yes, proceed with it since the exception indicates that state.
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				throw ex;
+			}
+		}
+		catch (BeanCreationException ex) {
+			if (recordSuppressedExceptions) {
+				for (Exception suppressedException : suppressedExceptions) {
+					ex.addRelatedCause(suppressedException);
+				}
+			}
+			throw ex;
+		}
+		finally {
+			if (recordSuppressedExceptions) {
+				this.concurrentSuppressedExceptions.remove();
+			}
+			afterSingletonCreation(beanName);
+		}
+		if (newSingleton) {
+			addSingleton(beanName, singletonObject);
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Wait for the given creation of the specified singleton in another thread.
+	 * <p>If the creating thread is (transitively) waiting for a singleton in creation
+	 * by the current thread, an early reference to the specified singleton is returned
+	 * right away, since waiting would never complete otherwise.
+	 * @param beanName the name of the bean
+	 * @param creation the creation handle held by the other thread
+	 * @return an early reference to the singleton in case of a circular wait,
+	 * or {@code null} once the other thread completed its creation attempt
+	 * @throws BeanCurrentlyInCreationException in case of a circular wait
+	 * without early reference available
+	 */
+	@Nullable
+	private Object awaitSingletonCreation(String beanName, SingletonCreation creation) {
+		Thread currentThread = Thread.currentThread();
+		synchronized (this.singletonObjects) {
+			if (isCircularWait(creation, currentThread)) {
+				Object singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
+					singletonObject = this.earlySingletonObjects.get(beanName);
+					if (singletonObject == null) {
+						singletonObject = createEarlySingletonReference(beanName);
+						if (singletonObject == null) {
+							throw new BeanCurrentlyInCreationException(beanName);
+						}
+					}
+				}
+				return singletonObject;
+			}
+			this.singletonCreationWaits.put(currentThread, creation);
+			try {
+				while (!creation.done) {
+					this.singletonObjects.wait();
+				}
+			}
+			catch (InterruptedException ex) {
+				currentThread.interrupt();
+				throw new BeanCreationException(beanName,
+						"Interrupted while waiting for singleton creation in another thread", ex);
+			}
+			finally {
+				this.singletonCreationWaits.remove(currentThread);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Determine whether the thread holding the given creation handle is (transitively)
+	 * waiting for a singleton in creation by the given thread. To be called within the
+	 * singleton mutex.
+	 */
+	private boolean isCircularWait(SingletonCreation creation, Thread currentThread) {
+		Set<Thread> visitedThreads = new HashSet<>();
+		SingletonCreation creationToCheck = creation;
+		while (creationToCheck != null && !creationToCheck.done && visitedThreads.add(creationToCheck.thread)) {
+			if (creationToCheck.thread == currentThread) {
+				return true;
+			}
+			creationToCheck = this.singletonCreationWaits.get(creationToCheck.thread);
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether the specified singleton is currently in creation
+	 * by the current thread, in concurrent mode.
+	 */
+	private boolean isSingletonCreatedByCurrentThread(String beanName) {
+		SingletonCreation creation = this.singletonCreations.get(beanName);
+		return (creation == null || creation.thread == Thread.currentThread());
+	}
+
 	/**
 	 * Register an exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
@@ -270,6 +518,13 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see BeanCreationException#getRelatedCauses()
 	 */
 	protected void onSuppressedException(Exception ex) {
+		if (this.concurrentSingletonCreation) {
+			Set<Exception> suppressedExceptions = this.concurrentSuppressedExceptions.get();
+			if (suppressedExceptions != null && suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
+				suppressedExceptions.add(ex);
+			}
+			return;
+		}
 		synchronized (this.singletonObjects) {
 			if (this.suppressedExceptions != null && this.suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
 				this.suppressedExceptions.add(ex);
@@ -629,4 +884,21 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return this.singletonObjects;
 	}
 
+
+	/**
+	 * Handle for a singleton creation in concurrent mode,
+	 * held by the creating thread until completion.
+	 */
+	private static final class SingletonCreation {
+
+		final Thread thread;
+
+		/** Guarded by the singleton mutex. */
+		boolean done;
+
+		SingletonCreation(Thread thread) {
+			this.thread = thread;
+		}
+	}
+
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cglib.core.SpringNamingPolicy;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.cglib.reflect.FastConstructor;
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+
+/**
+ * Instantiation strategy which invokes bean constructors through CGLIB-generated
+ * {@link FastClass} accessors instead of reflection, for beans that are created
+ * very often (e.g. prototype or request-scoped beans).
+ *
+ * <p>The generated accessor gets cached per {@link RootBeanDefinition}, along with
+ * the resolved constructor. Constructors which are not accessible from a generated
+ * class in the same package (e.g. private constructors), Kotlin constructors and
+ * classes that cannot be enhanced in their ClassLoader fall back to the reflective
+ * instantiation of the superclass. Method Injection is still supported through
+ * {@link CglibSubclassingInstantiationStrategy}.
+ *
+ * <p>When used in an {@link AbstractAutowireCapableBeanFactory}, bean properties are
+ * also applied through generated write method accessors.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see AbstractAutowireCapableBeanFactory#setInstantiationStrategy
+ * @see org.springframework.beans.BeanWrapperImpl#setUseGeneratedAccessors
+ */
+public class FastClassInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+	private static final Log logger = LogFactory.getLog(FastClassInstantiationStrategy.class);
+
+
+	@Override
+	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner) {
+		if (!bd.hasMethodOverrides()) {
+			FastConstructor instantiator = getInstantiator(bd, null);
+			if (instantiator != null) {
+				return instantiate(instantiator);
+			}
+		}
+		return super.instantiate(bd, beanName, owner);
+	}
+
+	@Override
+	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner,
+			Constructor<?> ctor, Object... args) {
+
+		if (!bd.hasMethodOverrides()) {
+			FastConstructor instantiator = getInstantiator(bd, ctor);
+			if (instantiator != null) {
+				return instantiate(instantiator, args);
+			}
+		}
+		return super.instantiate(bd, beanName, owner, ctor, args);
+	}
+
+	/**
+	 * Obtain the generated instantiator for the given constructor, or for the
+	 * default constructor of the bean class if no constructor has been specified.
+	 * @return the instantiator, or {@code null} if not available
+	 */
+	@Nullable
+	private FastConstructor getInstantiator(RootBeanDefinition bd, @Nullable Constructor<?> ctor) {
+		Object resolved = bd.resolvedInstantiator;
+		if (resolved instanceof ResolvedInstantiator) {
+			ResolvedInstantiator instantiator = (ResolvedInstantiator) resolved;
+			if (ctor != null ? instantiator.constructor.equals(ctor) :
+					instantiator.constructor.getParameterCount() == 0) {
+				return instantiator.fastConstructor;
+			}
+		}
+
+		Constructor<?> ctorToUse = ctor;
+		if (ctorToUse == null) {
+			try {
+				ctorToUse = bd.getBeanClass().getDeclaredConstructor();
+			}
+			catch (NoSuchMethodException | SecurityException ex) {
+				// Let the superclass throw the corresponding BeanInstantiationException
+				return null;
+			}
+			synchronized (bd.constructorArgumentLock) {
+				if (bd.resolvedConstructorOrFactoryMethod == null) {
+					bd.resolvedConstructorOrFactoryMethod = ctorToUse;
+				}
+			}
+		}
+		FastConstructor fastConstructor = createFastConstructor(ctorToUse);
+		bd.resolvedInstantiator = new ResolvedInstantiator(ctorToUse, fastConstructor);
+		return fastConstructor;
+	}
+
+	@Nullable
+	private FastConstructor createFastConstructor(Constructor<?> ctor) {
+		Class<?> clazz = ctor.getDeclaringClass();
+		if (Modifier.isPrivate(ctor.getModifiers()) || Modifier.isAbstract(clazz.getModifiers()) ||
+				clazz.isInterface() || clazz.getClassLoader() == null ||
+				(KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(clazz))) {
+			return null;
+		}
+		try {
+			FastClass.Generator generator = new FastClass.Generator();
+			generator.setType(clazz);
+			generator.setContextClass(clazz);
+			generator.setClassLoader(clazz.getClassLoader());
+			generator.setNamingPolicy(SpringNamingPolicy.INSTANCE);
+			FastClass fastClass = generator.create();
+			if (fastClass.getIndex(ctor.getParameterTypes()) < 0) {
+				return null;
+			}
+			return fastClass.getConstructor(ctor);
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Falling back to reflective instantiation of " + clazz + ": " + ex);
+			}
+			return null;
+		}
+	}
+
+	private Object instantiate(FastConstructor instantiator, Object... args) {
+		Constructor<?> ctor = instantiator.getJavaConstructor();
+		try {
+			return instantiator.newInstance(args);
+		}
+		catch (InvocationTargetException ex) {
+			throw new BeanInstantiationException(ctor, "Constructor threw exception", ex.getTargetException());
+		}
+	}
+
+
+	/**
+	 * Constructor resolved for a bean definition, along with its generated accessor.
+	 */
+	private static final class ResolvedInstantiator {
+
+		final Constructor<?> constructor;
+
+		/** The generated accessor, or {@code null} if not available for the constructor. */
+		@Nullable
+		final FastConstructor fastConstructor;
+
+		ResolvedInstantiator(Constructor<?> constructor, @Nullable FastConstructor fastConstructor) {
+			this.constructor = constructor;
+			this.fastConstructor = fastConstructor;
+		}
+	}
+
+}
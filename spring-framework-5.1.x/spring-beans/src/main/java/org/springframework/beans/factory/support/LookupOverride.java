@@ -72,6 +72,15 @@ public class LookupOverride extends MethodOverride {
 		return this.beanName;
 	}
 
+	/**
+	 * Return the specific method to override, if any.
+	 * @since 5.1.18
+	 */
+	@Nullable
+	Method getMethod() {
+		return this.method;
+	}
+
 	/**
 	 * Match the specified method by {@link Method} reference or method name.
 	 * <p>For backwards compatibility reasons, in a scenario with overloaded
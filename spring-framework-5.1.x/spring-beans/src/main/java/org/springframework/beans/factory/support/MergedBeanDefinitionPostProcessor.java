@@ -57,4 +57,18 @@ public interface MergedBeanDefinitionPostProcessor extends BeanPostProcessor {
 	default void resetBeanDefinition(String beanName) {
 	}
 
+	/**
+	 * A notification that the specified singleton bean has been fully created,
+	 * and that this post-processor may release any metadata for the affected bean
+	 * which is only needed for creating the bean instance. Such metadata is expected
+	 * to be rebuilt on demand in case of the bean getting created again.
+	 * <p>The default implementation is empty.
+	 * @param beanDefinition the merged bean definition for the bean
+	 * @param beanName the name of the bean
+	 * @since 5.1.18
+	 * @see org.springframework.beans.factory.config.ConfigurableListableBeanFactory#releaseConstructionMetadata()
+	 */
+	default void releaseConstructionMetadata(RootBeanDefinition beanDefinition, String beanName) {
+	}
+
 }
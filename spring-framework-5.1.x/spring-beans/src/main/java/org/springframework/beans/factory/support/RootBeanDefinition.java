@@ -103,6 +103,10 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 	@Nullable
 	Object[] preparedConstructorArguments;
 
+	/** Package-visible field for caching a generated instantiator for the resolved constructor. */
+	@Nullable
+	volatile Object resolvedInstantiator;
+
 	/** Common lock for the two post-processing fields below. */
 	final Object postProcessingLock = new Object();
 
@@ -384,6 +388,28 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 		return this.factoryMethodToIntrospect;
 	}
 
+	/**
+	 * Release cached state which is only needed for creating an instance of
+	 * this bean: the resolved constructor or factory method, resolved constructor
+	 * arguments, generated instantiators and the outcome of merged bean definition
+	 * post-processing. This state gets re-resolved on demand.
+	 */
+	void releaseConstructionMetadata() {
+		synchronized (this.constructorArgumentLock) {
+			this.resolvedConstructorOrFactoryMethod = null;
+			this.constructorArgumentsResolved = false;
+			this.resolvedConstructorArguments = null;
+			this.preparedConstructorArguments = null;
+		}
+		this.resolvedInstantiator = null;
+		synchronized (this.postProcessingLock) {
+			this.postProcessed = false;
+			this.externallyManagedConfigMembers = null;
+			this.externallyManagedInitMethods = null;
+			this.externallyManagedDestroyMethods = null;
+		}
+	}
+
 	public void registerExternallyManagedConfigMember(Member configMember) {
 		synchronized (this.postProcessingLock) {
 			if (this.externallyManagedConfigMembers == null) {
@@ -0,0 +1,542 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Bean definition reader for the binary snapshot format written by
+ * {@link SnapshotBeanDefinitionWriter}.
+ *
+ * <p>Restores the captured bean definitions and aliases as-is, without
+ * any parsing, scanning or condition evaluation. Bean definitions which
+ * are already registered under the same name get replaced by their
+ * snapshot counterpart.
+ *
+ * <p>Class-based {@link AnnotatedBeanDefinition AnnotatedBeanDefinitions} are
+ * restored as {@link AnnotatedGenericBeanDefinition AnnotatedGenericBeanDefinitions},
+ * with their annotation metadata read through the configured
+ * {@link #setMetadataReaderFactory MetadataReaderFactory}.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see SnapshotBeanDefinitionWriter
+ */
+public class SnapshotBeanDefinitionReader extends AbstractBeanDefinitionReader {
+
+	static final int MAGIC = 0x53424453;
+
+	static final short VERSION = 2;
+
+	static final byte GENERIC_BEAN_DEFINITION = 0;
+
+	static final byte ROOT_BEAN_DEFINITION = 1;
+
+	static final byte ANNOTATED_BEAN_DEFINITION = 2;
+
+	static final int FLAG_ABSTRACT = 1;
+
+	static final int FLAG_LAZY_INIT = 1 << 1;
+
+	static final int FLAG_AUTOWIRE_CANDIDATE = 1 << 2;
+
+	static final int FLAG_PRIMARY = 1 << 3;
+
+	static final int FLAG_NON_PUBLIC_ACCESS = 1 << 4;
+
+	static final int FLAG_LENIENT_CONSTRUCTOR = 1 << 5;
+
+	static final int FLAG_ENFORCE_INIT = 1 << 6;
+
+	static final int FLAG_ENFORCE_DESTROY = 1 << 7;
+
+	static final int FLAG_SYNTHETIC = 1 << 8;
+
+	static final int FLAG_FACTORY_METHOD_UNIQUE = 1 << 9;
+
+	static final byte LOOKUP_OVERRIDE = 1;
+
+	static final byte REPLACE_OVERRIDE = 2;
+
+	static final byte NULL_VALUE = 0;
+
+	static final byte STRING_VALUE = 1;
+
+	static final byte TYPED_STRING_VALUE = 2;
+
+	static final byte BEAN_REFERENCE_VALUE = 3;
+
+	static final byte BEAN_NAME_REFERENCE_VALUE = 4;
+
+	static final byte BOOLEAN_VALUE = 5;
+
+	static final byte INTEGER_VALUE = 6;
+
+	static final byte LONG_VALUE = 7;
+
+	static final byte DOUBLE_VALUE = 8;
+
+	static final byte CLASS_VALUE = 9;
+
+	static final byte ENUM_VALUE = 10;
+
+	static final byte BEAN_DEFINITION_HOLDER_VALUE = 11;
+
+	static final byte BEAN_DEFINITION_VALUE = 12;
+
+	static final byte ARRAY_VALUE = 13;
+
+	static final byte LIST_VALUE = 14;
+
+	static final byte SET_VALUE = 15;
+
+	static final byte MAP_VALUE = 16;
+
+	static final byte PROPERTIES_VALUE = 17;
+
+
+	@Nullable
+	private MetadataReaderFactory metadataReaderFactory;
+
+
+	/**
+	 * Create a new SnapshotBeanDefinitionReader for the given bean factory.
+	 * @param registry the BeanFactory to load bean definitions into,
+	 * in the form of a BeanDefinitionRegistry
+	 */
+	public SnapshotBeanDefinitionReader(BeanDefinitionRegistry registry) {
+		super(registry);
+	}
+
+
+	/**
+	 * Set the MetadataReaderFactory to read the annotation metadata of
+	 * restored {@link AnnotatedBeanDefinition AnnotatedBeanDefinitions} with.
+	 * <p>Default is a {@link CachingMetadataReaderFactory} for this reader's
+	 * ResourceLoader or bean ClassLoader, respectively.
+	 */
+	public void setMetadataReaderFactory(@Nullable MetadataReaderFactory metadataReaderFactory) {
+		this.metadataReaderFactory = metadataReaderFactory;
+	}
+
+	/**
+	 * Return the MetadataReaderFactory to read annotation metadata with,
+	 * creating a default one if necessary.
+	 */
+	protected MetadataReaderFactory getMetadataReaderFactory() {
+		if (this.metadataReaderFactory == null) {
+			ResourceLoader resourceLoader = getResourceLoader();
+			this.metadataReaderFactory = (resourceLoader != null ?
+					new CachingMetadataReaderFactory(resourceLoader) :
+					new CachingMetadataReaderFactory(getBeanClassLoader()));
+		}
+		return this.metadataReaderFactory;
+	}
+
+
+	/**
+	 * Read the fingerprint that the given snapshot has been tagged with.
+	 * @param resource the snapshot resource
+	 * @return the fingerprint, or {@code null} if none has been specified
+	 * @throws BeanDefinitionStoreException if the resource is not a valid snapshot
+	 * @see SnapshotBeanDefinitionWriter#setFingerprint
+	 */
+	@Nullable
+	public String readFingerprint(Resource resource) throws BeanDefinitionStoreException {
+		try (InputStream is = resource.getInputStream()) {
+			return openSnapshot(resource, is).fingerprint;
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException(
+					"IOException reading bean definition snapshot from " + resource, ex);
+		}
+	}
+
+	/**
+	 * Load bean definitions from the specified snapshot resource.
+	 * @param resource the snapshot resource
+	 * @return the number of bean definitions found
+	 * @throws BeanDefinitionStoreException in case of loading errors
+	 */
+	@Override
+	public int loadBeanDefinitions(Resource resource) throws BeanDefinitionStoreException {
+		if (logger.isTraceEnabled()) {
+			logger.trace("Loading bean definition snapshot from " + resource);
+		}
+		try (InputStream is = resource.getInputStream()) {
+			SnapshotInput input = openSnapshot(resource, is);
+			BeanDefinitionRegistry registry = getRegistry();
+			int count = input.in.readInt();
+			for (int i = 0; i < count; i++) {
+				String beanName = input.readRequiredString();
+				String[] aliases = input.readStrings();
+				AbstractBeanDefinition bd = input.readBeanDefinition();
+				if (registry.containsBeanDefinition(beanName)) {
+					registry.removeBeanDefinition(beanName);
+				}
+				registry.registerBeanDefinition(beanName, bd);
+				if (aliases != null) {
+					for (String alias : aliases) {
+						registry.registerAlias(beanName, alias);
+					}
+				}
+			}
+			return count;
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException(
+					"IOException reading bean definition snapshot from " + resource, ex);
+		}
+		catch (ClassNotFoundException ex) {
+			throw new BeanDefinitionStoreException(
+					"Cannot restore bean definition snapshot from " + resource, ex);
+		}
+	}
+
+	private SnapshotInput openSnapshot(Resource resource, InputStream is) throws IOException {
+		SnapshotInput input = new SnapshotInput(new DataInputStream(new BufferedInputStream(is)));
+		if (input.in.readInt() != MAGIC || input.in.readShort() != VERSION) {
+			throw new BeanDefinitionStoreException("Not a valid bean definition snapshot: " + resource);
+		}
+		input.fingerprint = input.readString();
+		return input;
+	}
+
+
+	/**
+	 * Input for a single snapshot, resolving shared Strings through a string table.
+	 */
+	private class SnapshotInput {
+
+		final DataInputStream in;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		private final List<String> stringTable = new ArrayList<>(256);
+
+		@Nullable
+		String fingerprint;
+
+		SnapshotInput(DataInputStream in) {
+			this.in = in;
+			this.classLoader = getBeanClassLoader();
+		}
+
+		@Nullable
+		String readString() throws IOException {
+			int index = this.in.readInt();
+			if (index == -1) {
+				return null;
+			}
+			if (index == -2) {
+				String value = this.in.readUTF();
+				this.stringTable.add(value);
+				return value;
+			}
+			return this.stringTable.get(index);
+		}
+
+		String readRequiredString() throws IOException {
+			String value = readString();
+			if (value == null) {
+				throw new IOException("Corrupt bean definition snapshot: unexpected null value");
+			}
+			return value;
+		}
+
+		@Nullable
+		String[] readStrings() throws IOException {
+			int length = this.in.readInt();
+			if (length == -1) {
+				return null;
+			}
+			String[] values = new String[length];
+			for (int i = 0; i < length; i++) {
+				values[i] = readString();
+			}
+			return values;
+		}
+
+		AbstractBeanDefinition readBeanDefinition() throws IOException, ClassNotFoundException {
+			byte kind = this.in.readByte();
+			boolean root = (kind == ROOT_BEAN_DEFINITION);
+			AbstractBeanDefinition bd;
+			if (root) {
+				bd = new RootBeanDefinition();
+			}
+			else if (kind == ANNOTATED_BEAN_DEFINITION) {
+				String className = readRequiredString();
+				bd = new AnnotatedGenericBeanDefinition(
+						getMetadataReaderFactory().getMetadataReader(className).getAnnotationMetadata());
+			}
+			else if (kind == GENERIC_BEAN_DEFINITION) {
+				bd = new GenericBeanDefinition();
+			}
+			else {
+				throw new IOException("Corrupt bean definition snapshot: unknown bean definition kind " + kind);
+			}
+			bd.setBeanClassName(readString());
+			String parentName = readString();
+			if (parentName != null) {
+				bd.setParentName(parentName);
+			}
+			bd.setScope(readString());
+			int flags = this.in.readInt();
+			bd.setAbstract((flags & FLAG_ABSTRACT) != 0);
+			bd.setLazyInit((flags & FLAG_LAZY_INIT) != 0);
+			bd.setAutowireCandidate((flags & FLAG_AUTOWIRE_CANDIDATE) != 0);
+			bd.setPrimary((flags & FLAG_PRIMARY) != 0);
+			bd.setNonPublicAccessAllowed((flags & FLAG_NON_PUBLIC_ACCESS) != 0);
+			bd.setLenientConstructorResolution((flags & FLAG_LENIENT_CONSTRUCTOR) != 0);
+			bd.setEnforceInitMethod((flags & FLAG_ENFORCE_INIT) != 0);
+			bd.setEnforceDestroyMethod((flags & FLAG_ENFORCE_DESTROY) != 0);
+			bd.setSynthetic((flags & FLAG_SYNTHETIC) != 0);
+			bd.setAutowireMode(this.in.readInt());
+			bd.setDependencyCheck(this.in.readInt());
+			bd.setRole(this.in.readInt());
+			bd.setDependsOn(readStrings());
+			bd.setFactoryBeanName(readString());
+			bd.setFactoryMethodName(readString());
+			bd.setInitMethodName(readString());
+			bd.setDestroyMethodName(readString());
+			bd.setDescription(readString());
+			bd.setResourceDescription(readString());
+
+			ConstructorArgumentValues cargs = bd.getConstructorArgumentValues();
+			int indexedCount = this.in.readInt();
+			for (int i = 0; i < indexedCount; i++) {
+				int index = this.in.readInt();
+				cargs.addIndexedArgumentValue(index, readValueHolder());
+			}
+			int genericCount = this.in.readInt();
+			for (int i = 0; i < genericCount; i++) {
+				cargs.addGenericArgumentValue(readValueHolder());
+			}
+
+			MutablePropertyValues pvs = bd.getPropertyValues();
+			int pvCount = this.in.readInt();
+			for (int i = 0; i < pvCount; i++) {
+				pvs.add(readRequiredString(), readValue());
+			}
+
+			int overrideCount = this.in.readInt();
+			for (int i = 0; i < overrideCount; i++) {
+				byte overrideKind = this.in.readByte();
+				String methodName = readRequiredString();
+				if (overrideKind == LOOKUP_OVERRIDE) {
+					bd.getMethodOverrides().addOverride(new LookupOverride(methodName, readString()));
+				}
+				else if (overrideKind == REPLACE_OVERRIDE) {
+					ReplaceOverride override = new ReplaceOverride(methodName, readRequiredString());
+					String[] typeIdentifiers = readStrings();
+					if (typeIdentifiers != null) {
+						for (String typeIdentifier : typeIdentifiers) {
+							override.addTypeIdentifier(typeIdentifier);
+						}
+					}
+					bd.getMethodOverrides().addOverride(override);
+				}
+				else {
+					throw new IOException("Corrupt bean definition snapshot: unknown method override kind " + overrideKind);
+				}
+			}
+
+			int qualifierCount = this.in.readInt();
+			for (int i = 0; i < qualifierCount; i++) {
+				AutowireCandidateQualifier qualifier = new AutowireCandidateQualifier(readRequiredString());
+				int attributeCount = this.in.readInt();
+				for (int j = 0; j < attributeCount; j++) {
+					qualifier.setAttribute(readRequiredString(), readValue());
+				}
+				bd.addQualifier(qualifier);
+			}
+
+			int attributeCount = this.in.readInt();
+			for (int i = 0; i < attributeCount; i++) {
+				bd.setAttribute(readRequiredString(), readValue());
+			}
+
+			if (root) {
+				RootBeanDefinition rbd = (RootBeanDefinition) bd;
+				rbd.isFactoryMethodUnique = ((flags & FLAG_FACTORY_METHOD_UNIQUE) != 0);
+				if (this.in.readBoolean()) {
+					rbd.setDecoratedDefinition(readBeanDefinitionHolder());
+				}
+			}
+			return bd;
+		}
+
+		private BeanDefinitionHolder readBeanDefinitionHolder() throws IOException, ClassNotFoundException {
+			String beanName = readRequiredString();
+			String[] aliases = readStrings();
+			return new BeanDefinitionHolder(readBeanDefinition(), beanName, aliases);
+		}
+
+		private ConstructorArgumentValues.ValueHolder readValueHolder() throws IOException, ClassNotFoundException {
+			Object value = readValue();
+			String type = readString();
+			String name = readString();
+			return new ConstructorArgumentValues.ValueHolder(value, type, name);
+		}
+
+		@Nullable
+		private Object readValue() throws IOException, ClassNotFoundException {
+			byte tag = this.in.readByte();
+			switch (tag) {
+				case NULL_VALUE:
+					return null;
+				case STRING_VALUE:
+					return readString();
+				case TYPED_STRING_VALUE:
+					return readTypedStringValue();
+				case BEAN_REFERENCE_VALUE:
+					return new RuntimeBeanReference(readRequiredString(), this.in.readBoolean());
+				case BEAN_NAME_REFERENCE_VALUE:
+					return new RuntimeBeanNameReference(readRequiredString());
+				case BOOLEAN_VALUE:
+					return this.in.readBoolean();
+				case INTEGER_VALUE:
+					return this.in.readInt();
+				case LONG_VALUE:
+					return this.in.readLong();
+				case DOUBLE_VALUE:
+					return this.in.readDouble();
+				case CLASS_VALUE:
+					return ClassUtils.forName(readRequiredString(), this.classLoader);
+				case ENUM_VALUE:
+					return readEnumValue();
+				case BEAN_DEFINITION_HOLDER_VALUE:
+					return readBeanDefinitionHolder();
+				case BEAN_DEFINITION_VALUE:
+					return readBeanDefinition();
+				case ARRAY_VALUE:
+					return readArray();
+				case LIST_VALUE:
+					return readList();
+				case SET_VALUE:
+					return readSet();
+				case MAP_VALUE:
+					return readMap();
+				case PROPERTIES_VALUE:
+					return readProperties();
+				default:
+					throw new IOException("Corrupt bean definition snapshot: unknown value tag " + tag);
+			}
+		}
+
+		private TypedStringValue readTypedStringValue() throws IOException {
+			TypedStringValue value = new TypedStringValue(readString());
+			value.setTargetTypeName(readString());
+			value.setSpecifiedTypeName(readString());
+			if (this.in.readBoolean()) {
+				value.setDynamic();
+			}
+			return value;
+		}
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private Object readEnumValue() throws IOException, ClassNotFoundException {
+			Class enumType = ClassUtils.forName(readRequiredString(), this.classLoader);
+			return Enum.valueOf(enumType, readRequiredString());
+		}
+
+		private ManagedArray readArray() throws IOException, ClassNotFoundException {
+			String elementTypeName = readRequiredString();
+			int size = this.in.readInt();
+			ManagedArray array = new ManagedArray(elementTypeName, size);
+			readElements(array, size);
+			return array;
+		}
+
+		private ManagedList<Object> readList() throws IOException, ClassNotFoundException {
+			String elementTypeName = readString();
+			boolean mergeEnabled = this.in.readBoolean();
+			int size = this.in.readInt();
+			ManagedList<Object> list = new ManagedList<>(size);
+			list.setElementTypeName(elementTypeName);
+			list.setMergeEnabled(mergeEnabled);
+			readElements(list, size);
+			return list;
+		}
+
+		private ManagedSet<Object> readSet() throws IOException, ClassNotFoundException {
+			String elementTypeName = readString();
+			boolean mergeEnabled = this.in.readBoolean();
+			int size = this.in.readInt();
+			ManagedSet<Object> set = new ManagedSet<>(size);
+			set.setElementTypeName(elementTypeName);
+			set.setMergeEnabled(mergeEnabled);
+			readElements(set, size);
+			return set;
+		}
+
+		private ManagedMap<Object, Object> readMap() throws IOException, ClassNotFoundException {
+			ManagedMap<Object, Object> map = new ManagedMap<>();
+			map.setKeyTypeName(readString());
+			map.setValueTypeName(readString());
+			map.setMergeEnabled(this.in.readBoolean());
+			readEntries(map);
+			return map;
+		}
+
+		private ManagedProperties readProperties() throws IOException, ClassNotFoundException {
+			ManagedProperties props = new ManagedProperties();
+			props.setMergeEnabled(this.in.readBoolean());
+			readEntries(props);
+			return props;
+		}
+
+		private void readElements(Collection<Object> target, int size) throws IOException, ClassNotFoundException {
+			for (int i = 0; i < size; i++) {
+				target.add(readValue());
+			}
+		}
+
+		private void readEntries(Map<Object, Object> target) throws IOException, ClassNotFoundException {
+			int size = this.in.readInt();
+			for (int i = 0; i < size; i++) {
+				Object key = readValue();
+				target.put(key, readValue());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Writer for a compact binary snapshot of the bean definitions in a
+ * {@link BeanDefinitionRegistry}, to be restored through a
+ * {@link SnapshotBeanDefinitionReader} without re-running the original
+ * bean definition parsing, scanning and condition evaluation.
+ *
+ * <p>A snapshot captures bean class names, parent names, scopes, constructor
+ * arguments, property values, method overrides, qualifiers, init and destroy
+ * methods, factory bean and factory method names, all other definition flags,
+ * definition attributes as well as aliases. The type of each bean definition is
+ * preserved as far as possible: root bean definitions are restored as such, and
+ * class-based {@link AnnotatedBeanDefinition AnnotatedBeanDefinitions} get restored
+ * with annotation metadata for their bean class. Supported values are Strings,
+ * {@link TypedStringValue TypedStringValues}, bean references, primitive
+ * wrappers, classes, enums, inner bean definitions and managed collections
+ * thereof; any other value (as well as any instance supplier) cannot be
+ * represented in a snapshot and leads to a {@link BeanDefinitionStoreException}.
+ *
+ * <p>The snapshot is tagged with a caller-specified fingerprint, e.g. derived
+ * from the classpath, which a reader can check before restoring the snapshot.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see SnapshotBeanDefinitionReader
+ */
+public class SnapshotBeanDefinitionWriter {
+
+	private final BeanDefinitionRegistry registry;
+
+	@Nullable
+	private String fingerprint;
+
+	private Set<String> excludedBeanNames = Collections.emptySet();
+
+
+	/**
+	 * Create a new SnapshotBeanDefinitionWriter for the given registry.
+	 * @param registry the BeanDefinitionRegistry to take the snapshot from
+	 */
+	public SnapshotBeanDefinitionWriter(BeanDefinitionRegistry registry) {
+		Assert.notNull(registry, "BeanDefinitionRegistry must not be null");
+		this.registry = registry;
+	}
+
+
+	/**
+	 * Specify the fingerprint to tag the snapshot with.
+	 * @see SnapshotBeanDefinitionReader#readFingerprint
+	 */
+	public void setFingerprint(@Nullable String fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * Specify the names of bean definitions to leave out of the snapshot,
+	 * e.g. bean definitions which will be registered again when restoring
+	 * the snapshot (such as by a post-processor that runs in any case).
+	 */
+	public void setExcludedBeanNames(String... excludedBeanNames) {
+		this.excludedBeanNames = new HashSet<>(Arrays.asList(excludedBeanNames));
+	}
+
+
+	/**
+	 * Write a snapshot of all bean definitions in the registry, including their aliases.
+	 * <p>The given stream will be flushed but not closed.
+	 * @param out the stream to write the snapshot to
+	 * @return the number of bean definitions written
+	 * @throws BeanDefinitionStoreException if a bean definition cannot be represented
+	 * in a snapshot, in which case the stream contents are not usable
+	 * @throws IOException in case of I/O errors
+	 */
+	public int writeBeanDefinitions(OutputStream out) throws BeanDefinitionStoreException, IOException {
+		String[] beanNames = this.registry.getBeanDefinitionNames();
+		if (!this.excludedBeanNames.isEmpty()) {
+			beanNames = Arrays.stream(beanNames)
+					.filter(beanName -> !this.excludedBeanNames.contains(beanName)).toArray(String[]::new);
+		}
+		SnapshotOutput output = new SnapshotOutput(new DataOutputStream(new BufferedOutputStream(out)));
+		output.out.writeInt(SnapshotBeanDefinitionReader.MAGIC);
+		output.out.writeShort(SnapshotBeanDefinitionReader.VERSION);
+		output.writeString(this.fingerprint);
+		output.out.writeInt(beanNames.length);
+		for (String beanName : beanNames) {
+			output.writeString(beanName);
+			output.writeStrings(this.registry.getAliases(beanName));
+			try {
+				output.writeBeanDefinition(this.registry.getBeanDefinition(beanName));
+			}
+			catch (IllegalArgumentException ex) {
+				throw new BeanDefinitionStoreException(null, beanName,
+						"Cannot represent bean definition in snapshot: " + ex.getMessage());
+			}
+		}
+		output.out.flush();
+		return beanNames.length;
+	}
+
+
+	/**
+	 * Output for a single snapshot, sharing repeated Strings through a string table.
+	 */
+	private static class SnapshotOutput {
+
+		final DataOutputStream out;
+
+		private final Map<String, Integer> stringTable = new HashMap<>(256);
+
+		SnapshotOutput(DataOutputStream out) {
+			this.out = out;
+		}
+
+		void writeString(@Nullable String value) throws IOException {
+			if (value == null) {
+				this.out.writeInt(-1);
+				return;
+			}
+			Integer index = this.stringTable.get(value);
+			if (index != null) {
+				this.out.writeInt(index);
+			}
+			else {
+				this.out.writeInt(-2);
+				this.out.writeUTF(value);
+				this.stringTable.put(value, this.stringTable.size());
+			}
+		}
+
+		void writeStrings(@Nullable String[] values) throws IOException {
+			if (values == null) {
+				this.out.writeInt(-1);
+				return;
+			}
+			this.out.writeInt(values.length);
+			for (String value : values) {
+				writeString(value);
+			}
+		}
+
+		void writeBeanDefinition(BeanDefinition beanDefinition) throws IOException {
+			if (!(beanDefinition instanceof AbstractBeanDefinition)) {
+				throw new IllegalArgumentException("Unsupported bean definition type [" +
+						beanDefinition.getClass().getName() + "]");
+			}
+			AbstractBeanDefinition bd = (AbstractBeanDefinition) beanDefinition;
+			if (bd.getInstanceSupplier() != null) {
+				throw new IllegalArgumentException("Instance supplier not supported");
+			}
+			RootBeanDefinition rbd = (bd instanceof RootBeanDefinition ? (RootBeanDefinition) bd : null);
+			if (rbd != null && rbd.getQualifiedElement() != null) {
+				throw new IllegalArgumentException("Qualified element not supported");
+			}
+
+			if (rbd != null) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.ROOT_BEAN_DEFINITION);
+			}
+			else if (bd instanceof AnnotatedBeanDefinition &&
+					((AnnotatedBeanDefinition) bd).getFactoryMethodMetadata() == null) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.ANNOTATED_BEAN_DEFINITION);
+				writeString(((AnnotatedBeanDefinition) bd).getMetadata().getClassName());
+			}
+			else {
+				this.out.writeByte(SnapshotBeanDefinitionReader.GENERIC_BEAN_DEFINITION);
+			}
+			writeString(bd.getBeanClassName());
+			writeString(bd.getParentName());
+			writeString(bd.getScope());
+			int flags = 0;
+			flags |= (bd.isAbstract() ? SnapshotBeanDefinitionReader.FLAG_ABSTRACT : 0);
+			flags |= (bd.isLazyInit() ? SnapshotBeanDefinitionReader.FLAG_LAZY_INIT : 0);
+			flags |= (bd.isAutowireCandidate() ? SnapshotBeanDefinitionReader.FLAG_AUTOWIRE_CANDIDATE : 0);
+			flags |= (bd.isPrimary() ? SnapshotBeanDefinitionReader.FLAG_PRIMARY : 0);
+			flags |= (bd.isNonPublicAccessAllowed() ? SnapshotBeanDefinitionReader.FLAG_NON_PUBLIC_ACCESS : 0);
+			flags |= (bd.isLenientConstructorResolution() ? SnapshotBeanDefinitionReader.FLAG_LENIENT_CONSTRUCTOR : 0);
+			flags |= (bd.isEnforceInitMethod() ? SnapshotBeanDefinitionReader.FLAG_ENFORCE_INIT : 0);
+			flags |= (bd.isEnforceDestroyMethod() ? SnapshotBeanDefinitionReader.FLAG_ENFORCE_DESTROY : 0);
+			flags |= (bd.isSynthetic() ? SnapshotBeanDefinitionReader.FLAG_SYNTHETIC : 0);
+			flags |= (rbd != null && rbd.isFactoryMethodUnique ? SnapshotBeanDefinitionReader.FLAG_FACTORY_METHOD_UNIQUE : 0);
+			this.out.writeInt(flags);
+			this.out.writeInt(bd.getAutowireMode());
+			this.out.writeInt(bd.getDependencyCheck());
+			this.out.writeInt(bd.getRole());
+			writeStrings(bd.getDependsOn());
+			writeString(bd.getFactoryBeanName());
+			writeString(bd.getFactoryMethodName());
+			writeString(bd.getInitMethodName());
+			writeString(bd.getDestroyMethodName());
+			writeString(bd.getDescription());
+			writeString(bd.getResourceDescription());
+
+			ConstructorArgumentValues cargs = bd.getConstructorArgumentValues();
+			Map<Integer, ConstructorArgumentValues.ValueHolder> indexedArgs = cargs.getIndexedArgumentValues();
+			this.out.writeInt(indexedArgs.size());
+			for (Map.Entry<Integer, ConstructorArgumentValues.ValueHolder> entry : indexedArgs.entrySet()) {
+				this.out.writeInt(entry.getKey());
+				writeValueHolder(entry.getValue());
+			}
+			List<ConstructorArgumentValues.ValueHolder> genericArgs = cargs.getGenericArgumentValues();
+			this.out.writeInt(genericArgs.size());
+			for (ConstructorArgumentValues.ValueHolder valueHolder : genericArgs) {
+				writeValueHolder(valueHolder);
+			}
+
+			PropertyValue[] pvs = bd.getPropertyValues().getPropertyValues();
+			this.out.writeInt(pvs.length);
+			for (PropertyValue pv : pvs) {
+				writeString(pv.getName());
+				writeValue(pv.getValue());
+			}
+
+			Collection<MethodOverride> overrides = bd.getMethodOverrides().getOverrides();
+			this.out.writeInt(overrides.size());
+			for (MethodOverride override : overrides) {
+				if (override instanceof LookupOverride && ((LookupOverride) override).getMethod() == null) {
+					this.out.writeByte(SnapshotBeanDefinitionReader.LOOKUP_OVERRIDE);
+					writeString(override.getMethodName());
+					writeString(((LookupOverride) override).getBeanName());
+				}
+				else if (override instanceof ReplaceOverride) {
+					this.out.writeByte(SnapshotBeanDefinitionReader.REPLACE_OVERRIDE);
+					writeString(override.getMethodName());
+					writeString(((ReplaceOverride) override).getMethodReplacerBeanName());
+					writeStrings(StringUtils.toStringArray(((ReplaceOverride) override).getTypeIdentifiers()));
+				}
+				else {
+					throw new IllegalArgumentException("Unsupported method override [" + override + "]");
+				}
+			}
+
+			this.out.writeInt(bd.getQualifiers().size());
+			for (AutowireCandidateQualifier qualifier : bd.getQualifiers()) {
+				writeString(qualifier.getTypeName());
+				String[] attributeNames = qualifier.attributeNames();
+				this.out.writeInt(attributeNames.length);
+				for (String attributeName : attributeNames) {
+					writeString(attributeName);
+					writeValue(qualifier.getAttribute(attributeName));
+				}
+			}
+
+			String[] attributeNames = bd.attributeNames();
+			this.out.writeInt(attributeNames.length);
+			for (String attributeName : attributeNames) {
+				writeString(attributeName);
+				writeValue(bd.getAttribute(attributeName));
+			}
+
+			if (rbd != null) {
+				BeanDefinitionHolder decoratedDefinition = rbd.getDecoratedDefinition();
+				this.out.writeBoolean(decoratedDefinition != null);
+				if (decoratedDefinition != null) {
+					writeBeanDefinitionHolder(decoratedDefinition);
+				}
+			}
+		}
+
+		private void writeBeanDefinitionHolder(BeanDefinitionHolder holder) throws IOException {
+			writeString(holder.getBeanName());
+			writeStrings(holder.getAliases());
+			writeBeanDefinition(holder.getBeanDefinition());
+		}
+
+		private void writeValueHolder(ConstructorArgumentValues.ValueHolder valueHolder) throws IOException {
+			writeValue(valueHolder.getValue());
+			writeString(valueHolder.getType());
+			writeString(valueHolder.getName());
+		}
+
+		private void writeValue(@Nullable Object value) throws IOException {
+			if (value == null) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.NULL_VALUE);
+			}
+			else if (value instanceof String) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.STRING_VALUE);
+				writeString((String) value);
+			}
+			else if (value instanceof TypedStringValue) {
+				TypedStringValue typedValue = (TypedStringValue) value;
+				this.out.writeByte(SnapshotBeanDefinitionReader.TYPED_STRING_VALUE);
+				writeString(typedValue.getValue());
+				writeString(typedValue.getTargetTypeName());
+				writeString(typedValue.getSpecifiedTypeName());
+				this.out.writeBoolean(typedValue.isDynamic());
+			}
+			else if (value instanceof RuntimeBeanReference) {
+				RuntimeBeanReference ref = (RuntimeBeanReference) value;
+				this.out.writeByte(SnapshotBeanDefinitionReader.BEAN_REFERENCE_VALUE);
+				writeString(ref.getBeanName());
+				this.out.writeBoolean(ref.isToParent());
+			}
+			else if (value instanceof RuntimeBeanNameReference) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.BEAN_NAME_REFERENCE_VALUE);
+				writeString(((RuntimeBeanNameReference) value).getBeanName());
+			}
+			else if (value instanceof Boolean) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.BOOLEAN_VALUE);
+				this.out.writeBoolean((Boolean) value);
+			}
+			else if (value instanceof Integer) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.INTEGER_VALUE);
+				this.out.writeInt((Integer) value);
+			}
+			else if (value instanceof Long) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.LONG_VALUE);
+				this.out.writeLong((Long) value);
+			}
+			else if (value instanceof Double) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.DOUBLE_VALUE);
+				this.out.writeDouble((Double) value);
+			}
+			else if (value instanceof Class) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.CLASS_VALUE);
+				writeString(((Class<?>) value).getName());
+			}
+			else if (value instanceof Enum) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.ENUM_VALUE);
+				writeString(((Enum<?>) value).getDeclaringClass().getName());
+				writeString(((Enum<?>) value).name());
+			}
+			else if (value instanceof BeanDefinitionHolder) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.BEAN_DEFINITION_HOLDER_VALUE);
+				writeBeanDefinitionHolder((BeanDefinitionHolder) value);
+			}
+			else if (value instanceof BeanDefinition) {
+				this.out.writeByte(SnapshotBeanDefinitionReader.BEAN_DEFINITION_VALUE);
+				writeBeanDefinition((BeanDefinition) value);
+			}
+			else if (value instanceof ManagedArray) {
+				ManagedArray array = (ManagedArray) value;
+				this.out.writeByte(SnapshotBeanDefinitionReader.ARRAY_VALUE);
+				writeString(array.getElementTypeName());
+				writeElements(array);
+			}
+			else if (value instanceof ManagedList) {
+				ManagedList<?> list = (ManagedList<?>) value;
+				this.out.writeByte(SnapshotBeanDefinitionReader.LIST_VALUE);
+				writeString(list.getElementTypeName());
+				this.out.writeBoolean(list.isMergeEnabled());
+				writeElements(list);
+			}
+			else if (value instanceof ManagedSet) {
+				ManagedSet<?> set = (ManagedSet<?>) value;
+				this.out.writeByte(SnapshotBeanDefinitionReader.SET_VALUE);
+				writeString(set.getElementTypeName());
+				this.out.writeBoolean(set.isMergeEnabled());
+				writeElements(set);
+			}
+			else if (value instanceof ManagedMap) {
+				ManagedMap<?, ?> map = (ManagedMap<?, ?>) value;
+				this.out.writeByte(SnapshotBeanDefinitionReader.MAP_VALUE);
+				writeString(map.getKeyTypeName());
+				writeString(map.getValueTypeName());
+				this.out.writeBoolean(map.isMergeEnabled());
+				writeEntries(map);
+			}
+			else if (value instanceof ManagedProperties) {
+				ManagedProperties props = (ManagedProperties) value;
+				this.out.writeByte(SnapshotBeanDefinitionReader.PROPERTIES_VALUE);
+				this.out.writeBoolean(props.isMergeEnabled());
+				writeEntries(props);
+			}
+			else {
+				throw new IllegalArgumentException("Unsupported value type [" + value.getClass().getName() + "]");
+			}
+		}
+
+		private void writeElements(Collection<?> elements) throws IOException {
+			this.out.writeInt(elements.size());
+			for (Object element : elements) {
+				writeValue(element);
+			}
+		}
+
+		private void writeEntries(Map<?, ?> map) throws IOException {
+			this.out.writeInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				writeValue(entry.getKey());
+				writeValue(entry.getValue());
+			}
+		}
+	}
+
+}
@@ -26,6 +26,7 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -37,6 +38,8 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -1394,6 +1397,107 @@ public class DefaultListableBeanFactoryTests {
 		}
 	}
 
+	@Test
+	public void testParallelPreInstantiation() {
+		lbf.setPreInstantiationParallelism(4);
+		for (int i = 0; i < 10; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			if (i > 0) {
+				bd.setDependsOn("tb" + (i - 1));
+				bd.getPropertyValues().add("spouse", new RuntimeBeanReference("tb0"));
+			}
+			lbf.registerBeanDefinition("tb" + i, bd);
+		}
+		RootBeanDefinition lazy = new RootBeanDefinition(TestBean.class);
+		lazy.setLazyInit(true);
+		lbf.registerBeanDefinition("lazy", lazy);
+		lbf.registerBeanDefinition("callback", new RootBeanDefinition(SingletonsInstantiatedCallback.class));
+		lbf.preInstantiateSingletons();
+
+		for (int i = 0; i < 10; i++) {
+			assertTrue(lbf.containsSingleton("tb" + i));
+		}
+		assertFalse(lbf.containsSingleton("lazy"));
+		assertSame(lbf.getBean("tb0"), lbf.getBean("tb9", TestBean.class).getSpouse());
+		assertEquals(11, lbf.getBean(SingletonsInstantiatedCallback.class).singletonCount);
+		assertEquals(Arrays.asList("tb0", "tb1", "tb2", "tb3", "tb4", "tb5", "tb6", "tb7", "tb8", "tb9", "callback"),
+				new ArrayList<>(lbf.getPreInstantiationTimes().keySet()));
+	}
+
+	@Test
+	public void testParallelPreInstantiationOfIndependentSingletons() {
+		lbf.setPreInstantiationParallelism(2);
+		CountDownLatch latch = new CountDownLatch(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(ConcurrentlyInitializingBean.class);
+		bd1.getPropertyValues().add("latch", latch);
+		lbf.registerBeanDefinition("bean1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(ConcurrentlyInitializingBean.class);
+		bd2.getPropertyValues().add("latch", latch);
+		lbf.registerBeanDefinition("bean2", bd2);
+		lbf.preInstantiateSingletons();
+
+		assertTrue(lbf.getBean("bean1", ConcurrentlyInitializingBean.class).initialized);
+		assertTrue(lbf.getBean("bean2", ConcurrentlyInitializingBean.class).initialized);
+		assertEquals(2, lbf.getPreInstantiationTimes().size());
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCircularReference() {
+		lbf.setPreInstantiationParallelism(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.getPropertyValues().add("spouse", new RuntimeBeanReference("tb2"));
+		lbf.registerBeanDefinition("tb1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.getPropertyValues().add("spouse", new RuntimeBeanReference("tb1"));
+		lbf.registerBeanDefinition("tb2", bd2);
+		lbf.preInstantiateSingletons();
+
+		TestBean tb1 = lbf.getBean("tb1", TestBean.class);
+		TestBean tb2 = lbf.getBean("tb2", TestBean.class);
+		assertSame(tb2, tb1.getSpouse());
+		assertSame(tb1, tb2.getSpouse());
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithDependsOnCycle() {
+		lbf.setPreInstantiationParallelism(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.setDependsOn("tb2");
+		lbf.registerBeanDefinition("tb1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.setDependsOn("tb1");
+		lbf.registerBeanDefinition("tb2", bd2);
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			// expected
+			assertTrue(ex.getMessage().contains("Circular"));
+		}
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithFailingSingleton() {
+		lbf.setPreInstantiationParallelism(2);
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.getPropertyValues().add("age", "not a number");
+		lbf.registerBeanDefinition("tb2", bd2);
+		RootBeanDefinition bd3 = new RootBeanDefinition(TestBean.class);
+		bd3.setDependsOn("tb2");
+		lbf.registerBeanDefinition("tb3", bd3);
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			// expected
+			assertEquals("tb2", ex.getBeanName());
+		}
+		assertFalse(lbf.containsSingleton("tb3"));
+	}
+
 	@Test(expected = NoSuchBeanDefinitionException.class)
 	public void testGetBeanByTypeWithNoneFound() {
 		lbf.getBean(TestBean.class);
@@ -1932,6 +2036,98 @@ public class DefaultListableBeanFactoryTests {
 		assertEquals("&factoryBean", beanNames[0]);
 	}
 
+	@Test
+	public void testGetBeanNamesForTypeWithTypeIndex() {
+		List<String> typeMatchChecks = new ArrayList<>();
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory() {
+			@Override
+			public boolean isTypeMatch(String name, ResolvableType typeToMatch) {
+				typeMatchChecks.add(name);
+				return super.isTypeMatch(name, typeToMatch);
+			}
+		};
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("ntb", new RootBeanDefinition(NestedTestBean.class));
+		RootBeanDefinition prototype = new RootBeanDefinition(DerivedTestBean.class);
+		prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("proto", prototype);
+		lbf.registerSingleton("manual", new TestBean());
+		lbf.freezeConfiguration();
+
+		// Predicted types before instantiation
+		typeMatchChecks.clear();
+		assertArrayEquals(new String[] {"proto"}, lbf.getBeanNamesForType(DerivedTestBean.class));
+		assertEquals(Arrays.asList("proto", "manual"), typeMatchChecks);
+
+		lbf.preInstantiateSingletons();
+
+		typeMatchChecks.clear();
+		assertArrayEquals(new String[] {"tb", "proto", "manual"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertEquals(Arrays.asList("tb", "proto", "manual"), typeMatchChecks);
+
+		typeMatchChecks.clear();
+		assertArrayEquals(new String[] {"ntb"}, lbf.getBeanNamesForType(ResolvableType.forClass(NestedTestBean.class)));
+		assertEquals(Arrays.asList("ntb", "manual"), typeMatchChecks);
+
+		assertArrayEquals(new String[] {"tb", "ntb", "proto", "manual"}, lbf.getBeanNamesForType(Object.class));
+		assertEquals(4, lbf.getBeansOfType(Object.class).size());
+	}
+
+	@Test
+	public void testGetBeanNamesForTypeWithTypeIndexAndInterfaceTypedBeans() {
+		RootBeanDefinition lazy = new RootBeanDefinition(ITestBean.class, TestBean::new);
+		lazy.setLazyInit(true);
+		lbf.registerBeanDefinition("svc", lazy);
+		RootBeanDefinition prototype = new RootBeanDefinition(ITestBean.class, TestBean::new);
+		prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("proto", prototype);
+		lbf.freezeConfiguration();
+
+		assertArrayEquals(new String[] {"svc", "proto"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertArrayEquals(new String[] {"svc", "proto"}, lbf.getBeanNamesForType(Object.class));
+		assertEquals(2, lbf.getBeansOfType(Object.class).size());
+	}
+
+	@Test
+	public void testGetBeanNamesForTypeWithTypeIndexAfterSingletonReplacement() {
+		lbf.registerBeanDefinition("bean", new RootBeanDefinition(TestBean.class));
+		lbf.freezeConfiguration();
+		lbf.preInstantiateSingletons();
+		assertArrayEquals(new String[] {"bean"}, lbf.getBeanNamesForType(TestBean.class));
+		assertArrayEquals(new String[0], lbf.getBeanNamesForType(NestedTestBean.class));
+
+		lbf.destroySingleton("bean");
+		lbf.registerSingleton("bean", new NestedTestBean());
+		assertArrayEquals(new String[0], lbf.getBeanNamesForType(TestBean.class));
+		assertArrayEquals(new String[] {"bean"}, lbf.getBeanNamesForType(NestedTestBean.class));
+
+		lbf.destroySingleton("bean");
+		assertArrayEquals(new String[] {"bean"}, lbf.getBeanNamesForType(TestBean.class));
+		assertArrayEquals(new String[0], lbf.getBeanNamesForType(NestedTestBean.class));
+	}
+
+	@Test
+	public void testReleaseConstructionMetadata() {
+		RootBeanDefinition bd = new RootBeanDefinition(ConstructorDependency.class);
+		bd.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("spouse"));
+		lbf.registerBeanDefinition("bean", bd);
+		RootBeanDefinition pbd = new RootBeanDefinition(ConstructorDependency.class);
+		pbd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		pbd.getConstructorArgumentValues().addGenericArgumentValue(33);
+		lbf.registerBeanDefinition("prototype", pbd);
+		lbf.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+		lbf.preInstantiateSingletons();
+		assertEquals(33, lbf.getBean("prototype", ConstructorDependency.class).spouseAge);
+
+		lbf.releaseConstructionMetadata();
+		assertEquals(33, lbf.getBean("prototype", ConstructorDependency.class).spouseAge);
+		TestBean spouse = lbf.getBean("spouse", TestBean.class);
+		assertSame(spouse, lbf.getBean("bean", ConstructorDependency.class).spouse);
+
+		lbf.destroySingleton("bean");
+		assertSame(spouse, lbf.getBean("bean", ConstructorDependency.class).spouse);
+	}
+
 	/**
 	 * Verifies that a dependency on a {@link FactoryBean} can <strong>not</strong>
 	 * be autowired <em>by name</em>, as &amp; is an illegal character in
@@ -3293,6 +3489,42 @@ public class DefaultListableBeanFactoryTests {
 	}
 
 
+	public static class ConcurrentlyInitializingBean implements InitializingBean {
+
+		private CountDownLatch latch;
+
+		boolean initialized;
+
+		public void setLatch(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public void afterPropertiesSet() throws Exception {
+			this.latch.countDown();
+			this.initialized = this.latch.await(10, TimeUnit.SECONDS);
+		}
+	}
+
+
+	public static class SingletonsInstantiatedCallback implements SmartInitializingSingleton, BeanFactoryAware {
+
+		private DefaultListableBeanFactory beanFactory;
+
+		int singletonCount;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = (DefaultListableBeanFactory) beanFactory;
+		}
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			this.singletonCount = this.beanFactory.getSingletonCount();
+		}
+	}
+
+
 	private static class CustomTypeConverter implements TypeConverter {
 
 		private final NumberFormat numberFormat;
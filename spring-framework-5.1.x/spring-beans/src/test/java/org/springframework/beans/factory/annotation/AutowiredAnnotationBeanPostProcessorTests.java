@@ -190,6 +190,37 @@ public class AutowiredAnnotationBeanPostProcessorTests {
 		assertSame(0, bf.getDependenciesForBean("annotatedBean").length);
 	}
 
+	@Test
+	public void testExtendedResourceInjectionAfterReleasingConstructionMetadata() {
+		bf.registerBeanDefinition("annotatedBean", new RootBeanDefinition(TypedExtendedResourceInjectionBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(TypedExtendedResourceInjectionBean.class);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		bf.registerBeanDefinition("prototypeBean", bd);
+		bf.registerBeanDefinition("testBean", new RootBeanDefinition(TestBean.class));
+		NestedTestBean ntb = new NestedTestBean();
+		bf.registerSingleton("nestedTestBean", ntb);
+
+		TestBean tb = bf.getBean("testBean", TestBean.class);
+		TypedExtendedResourceInjectionBean bean = (TypedExtendedResourceInjectionBean) bf.getBean("annotatedBean");
+		bf.getBean("prototypeBean");
+		bf.releaseConstructionMetadata();
+
+		TypedExtendedResourceInjectionBean prototype = (TypedExtendedResourceInjectionBean) bf.getBean("prototypeBean");
+		assertSame(tb, prototype.getTestBean());
+		assertSame(tb, prototype.getTestBean4());
+		assertSame(ntb, prototype.getNestedTestBean());
+
+		bf.destroySingleton("annotatedBean");
+		assertTrue(bean.destroyed);
+		bean = (TypedExtendedResourceInjectionBean) bf.getBean("annotatedBean");
+		assertSame(tb, bean.getTestBean());
+		assertSame(tb, bean.getTestBean2());
+		assertSame(tb, bean.getTestBean3());
+		assertSame(tb, bean.getTestBean4());
+		assertSame(ntb, bean.getNestedTestBean());
+		assertSame(bf, bean.getBeanFactory());
+	}
+
 	@Test
 	public void testExtendedResourceInjectionWithOverriding() {
 		RootBeanDefinition annotatedBd = new RootBeanDefinition(TypedExtendedResourceInjectionBean.class);
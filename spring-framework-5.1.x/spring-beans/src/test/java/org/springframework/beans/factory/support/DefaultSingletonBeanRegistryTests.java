@@ -16,9 +16,17 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.tests.sample.beans.DerivedTestBean;
 import org.springframework.tests.sample.beans.TestBean;
@@ -101,4 +109,110 @@ public class DefaultSingletonBeanRegistryTests {
 		assertTrue(beanRegistry.isDependent("c", "c"));
 	}
 
+	@Test
+	public void testConcurrentSingletonCreationOfIndependentSingletons() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setConcurrentSingletonCreation(true);
+		CountDownLatch bothInCreation = new CountDownLatch(2);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> tb1 = executor.submit(() -> beanRegistry.getSingleton("tb1", () -> {
+				bothInCreation.countDown();
+				return awaitAndCreate(bothInCreation);
+			}));
+			Future<Object> tb2 = executor.submit(() -> beanRegistry.getSingleton("tb2", () -> {
+				bothInCreation.countDown();
+				return awaitAndCreate(bothInCreation);
+			}));
+			assertSame(tb1.get(10, TimeUnit.SECONDS), beanRegistry.getSingleton("tb1"));
+			assertSame(tb2.get(10, TimeUnit.SECONDS), beanRegistry.getSingleton("tb2"));
+			assertEquals(2, beanRegistry.getSingletonCount());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testConcurrentSingletonCreationOfSameSingleton() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setConcurrentSingletonCreation(true);
+		AtomicInteger creationCount = new AtomicInteger();
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> tb1 = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				creationCount.incrementAndGet();
+				inCreation.countDown();
+				return awaitAndCreate(proceed);
+			}));
+			assertTrue(inCreation.await(10, TimeUnit.SECONDS));
+			assertNull(beanRegistry.getSingleton("tb"));
+			Future<Object> tb2 = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				creationCount.incrementAndGet();
+				return new TestBean();
+			}));
+			proceed.countDown();
+			assertSame(tb1.get(10, TimeUnit.SECONDS), tb2.get(10, TimeUnit.SECONDS));
+			assertEquals(1, creationCount.get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testConcurrentSingletonCreationWithCircularWait() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setConcurrentSingletonCreation(true);
+		TestBean tb1 = new TestBean("tb1");
+		TestBean tb2 = new TestBean("tb2");
+		CountDownLatch bothInCreation = new CountDownLatch(2);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> future1 = executor.submit(() -> beanRegistry.getSingleton("tb1", () -> {
+				beanRegistry.addSingletonFactory("tb1", () -> tb1);
+				bothInCreation.countDown();
+				awaitAndCreate(bothInCreation);
+				tb1.setSpouse((TestBean) beanRegistry.getSingleton("tb2", () -> new TestBean()));
+				return tb1;
+			}));
+			Future<Object> future2 = executor.submit(() -> beanRegistry.getSingleton("tb2", () -> {
+				beanRegistry.addSingletonFactory("tb2", () -> tb2);
+				bothInCreation.countDown();
+				awaitAndCreate(bothInCreation);
+				tb2.setSpouse((TestBean) beanRegistry.getSingleton("tb1", () -> new TestBean()));
+				return tb2;
+			}));
+			assertSame(tb1, future1.get(10, TimeUnit.SECONDS));
+			assertSame(tb2, future2.get(10, TimeUnit.SECONDS));
+			assertSame(tb2, tb1.getSpouse());
+			assertSame(tb1, tb2.getSpouse());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(expected = BeanCurrentlyInCreationException.class)
+	public void testConcurrentSingletonCreationWithCircularReference() {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		beanRegistry.setConcurrentSingletonCreation(true);
+		beanRegistry.getSingleton("tb", () -> beanRegistry.getSingleton("tb", TestBean::new));
+	}
+
+	private static TestBean awaitAndCreate(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+		return new TestBean();
+	}
+
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.MethodInvocationException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FastClassInstantiationStrategy}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class FastClassInstantiationStrategyTests {
+
+	private final DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+
+
+	@Before
+	public void setup() {
+		this.bf.setInstantiationStrategy(new FastClassInstantiationStrategy());
+	}
+
+
+	@Test
+	public void defaultConstructorAndProperties() {
+		RootBeanDefinition bd = new RootBeanDefinition(GeneratedAccessBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getPropertyValues().add("name", "juergen");
+		bd.getPropertyValues().add("age", "42");
+		bd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
+		this.bf.registerBeanDefinition("bean", bd);
+		this.bf.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+
+		for (int i = 0; i < 2; i++) {
+			GeneratedAccessBean bean = this.bf.getBean("bean", GeneratedAccessBean.class);
+			assertEquals("juergen", bean.getName());
+			assertEquals(42, bean.getAge());
+			assertSame(this.bf.getBean("spouse"), bean.getSpouse());
+			assertTrue(bean.constructedThroughGeneratedAccessor);
+			assertTrue(bean.nameSetThroughGeneratedAccessor);
+		}
+	}
+
+	@Test
+	public void constructorWithArguments() {
+		RootBeanDefinition bd = new RootBeanDefinition(GeneratedAccessBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getConstructorArgumentValues().addIndexedArgumentValue(0, "juergen");
+		bd.getConstructorArgumentValues().addIndexedArgumentValue(1, "42");
+		this.bf.registerBeanDefinition("bean", bd);
+
+		for (int i = 0; i < 2; i++) {
+			GeneratedAccessBean bean = this.bf.getBean("bean", GeneratedAccessBean.class);
+			assertEquals("juergen", bean.getName());
+			assertEquals(42, bean.getAge());
+			assertTrue(bean.constructedThroughGeneratedAccessor);
+		}
+	}
+
+	@Test
+	public void privateConstructorFallsBackToReflection() {
+		this.bf.registerBeanDefinition("bean", new RootBeanDefinition(PrivateConstructorBean.class));
+		assertNotNull(this.bf.getBean("bean", PrivateConstructorBean.class));
+	}
+
+	@Test
+	public void constructorThrowingException() {
+		this.bf.registerBeanDefinition("bean", new RootBeanDefinition(FailingConstructorBean.class));
+		try {
+			this.bf.getBean("bean");
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertTrue(ex.getCause() instanceof BeanInstantiationException);
+			assertTrue(ex.getMostSpecificCause() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void setterThrowingException() {
+		RootBeanDefinition bd = new RootBeanDefinition(GeneratedAccessBean.class);
+		bd.getPropertyValues().add("touchy", "value");
+		this.bf.registerBeanDefinition("bean", bd);
+		try {
+			this.bf.getBean("bean");
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertTrue(ex.contains(MethodInvocationException.class));
+			assertTrue(ex.contains(IllegalArgumentException.class));
+		}
+	}
+
+
+	private static boolean isCalledThroughGeneratedAccessor() {
+		return new Throwable().getStackTrace()[2].getClassName().contains("FastClass");
+	}
+
+
+	public static class GeneratedAccessBean extends TestBean {
+
+		boolean constructedThroughGeneratedAccessor = isCalledThroughGeneratedAccessor();
+
+		boolean nameSetThroughGeneratedAccessor;
+
+		public GeneratedAccessBean() {
+		}
+
+		public GeneratedAccessBean(String name, int age) {
+			super(name, age);
+		}
+
+		@Override
+		public void setName(String name) {
+			super.setName(name);
+			this.nameSetThroughGeneratedAccessor = isCalledThroughGeneratedAccessor();
+		}
+
+		public void setTouchy(String touchy) {
+			throw new IllegalArgumentException(touchy);
+		}
+	}
+
+
+	public static class PrivateConstructorBean {
+
+		private PrivateConstructorBean() {
+		}
+	}
+
+
+	public static class FailingConstructorBean {
+
+		public FailingConstructorBean() {
+			throw new IllegalStateException();
+		}
+	}
+
+}
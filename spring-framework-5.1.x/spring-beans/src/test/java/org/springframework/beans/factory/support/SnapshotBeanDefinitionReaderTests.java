@@ -0,0 +1,174 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SnapshotBeanDefinitionWriter} and {@link SnapshotBeanDefinitionReader}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class SnapshotBeanDefinitionReaderTests {
+
+	@Test
+	public void roundTrip() throws IOException {
+		DefaultListableBeanFactory source = new DefaultListableBeanFactory();
+		RootBeanDefinition spouse = new RootBeanDefinition(TestBean.class);
+		spouse.getConstructorArgumentValues().addIndexedArgumentValue(0, "Kerry");
+		spouse.getConstructorArgumentValues().addIndexedArgumentValue(1, new TypedStringValue("34", "int"));
+		spouse.setLazyInit(true);
+		spouse.setPrimary(true);
+		spouse.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		spouse.setAttribute("order", 5);
+		source.registerBeanDefinition("spouse", spouse);
+		source.registerAlias("spouse", "kerry");
+
+		GenericBeanDefinition rod = new GenericBeanDefinition();
+		rod.setBeanClassName(TestBean.class.getName());
+		rod.setDependsOn("spouse");
+		rod.setInitMethodName("toString");
+		rod.setDescription("Rod");
+		rod.addQualifier(new AutowireCandidateQualifier("myQualifier", "rod"));
+		rod.getPropertyValues().add("name", "Rod");
+		rod.getPropertyValues().add("spouse", new RuntimeBeanReference("kerry"));
+		rod.setAttribute("unit", TimeUnit.SECONDS);
+		rod.setAttribute("type", TestBean.class);
+		ManagedList<Object> friends = new ManagedList<>();
+		friends.add(new RuntimeBeanReference("spouse"));
+		friends.add(new BeanDefinitionHolder(new RootBeanDefinition(TestBean.class), "inner"));
+		rod.getPropertyValues().add("friends", friends);
+		ManagedMap<Object, Object> someMap = new ManagedMap<>();
+		someMap.put("key", new TypedStringValue("value"));
+		rod.getPropertyValues().add("someMap", someMap);
+		ManagedProperties someProperties = new ManagedProperties();
+		someProperties.put(new TypedStringValue("p"), new TypedStringValue("v"));
+		rod.getPropertyValues().add("someProperties", someProperties);
+		source.registerBeanDefinition("rod", rod);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SnapshotBeanDefinitionWriter writer = new SnapshotBeanDefinitionWriter(source);
+		writer.setFingerprint("myFingerprint");
+		assertEquals(2, writer.writeBeanDefinitions(out));
+
+		DefaultListableBeanFactory target = new DefaultListableBeanFactory();
+		SnapshotBeanDefinitionReader reader = new SnapshotBeanDefinitionReader(target);
+		ByteArrayResource snapshot = new ByteArrayResource(out.toByteArray());
+		assertEquals("myFingerprint", reader.readFingerprint(snapshot));
+		assertEquals(2, reader.loadBeanDefinitions(snapshot));
+
+		assertEquals(Arrays.asList("spouse", "rod"), Arrays.asList(target.getBeanDefinitionNames()));
+		assertEquals(Collections.singletonList("kerry"), Arrays.asList(target.getAliases("spouse")));
+		assertEquals(spouse, target.getBeanDefinition("spouse"));
+		assertEquals(rod, target.getBeanDefinition("rod"));
+		assertTrue(target.getBeanDefinition("spouse") instanceof RootBeanDefinition);
+		assertTrue(target.getBeanDefinition("rod") instanceof GenericBeanDefinition);
+
+		TestBean bean = (TestBean) target.getBean("rod");
+		assertEquals("Rod", bean.getName());
+		assertEquals("Kerry", bean.getSpouse().getName());
+		assertEquals(34, bean.getSpouse().getAge());
+		assertEquals(TimeUnit.SECONDS, target.getBeanDefinition("rod").getAttribute("unit"));
+		assertEquals(TestBean.class, target.getBeanDefinition("rod").getAttribute("type"));
+		assertEquals(2, bean.getFriends().size());
+		assertEquals("value", bean.getSomeMap().get("key"));
+		assertEquals("v", bean.getSomeProperties().getProperty("p"));
+	}
+
+	@Test
+	public void existingBeanDefinitionGetsReplaced() throws IOException {
+		DefaultListableBeanFactory source = new DefaultListableBeanFactory();
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.getPropertyValues().add("name", "fromSnapshot");
+		source.registerBeanDefinition("testBean", bd);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new SnapshotBeanDefinitionWriter(source).writeBeanDefinitions(out);
+
+		DefaultListableBeanFactory target = new DefaultListableBeanFactory();
+		target.setAllowBeanDefinitionOverriding(false);
+		target.registerBeanDefinition("testBean", new RootBeanDefinition(TestBean.class));
+		SnapshotBeanDefinitionReader reader = new SnapshotBeanDefinitionReader(target);
+		ByteArrayResource snapshot = new ByteArrayResource(out.toByteArray());
+		assertNull(reader.readFingerprint(snapshot));
+		reader.loadBeanDefinitions(snapshot);
+		assertEquals("fromSnapshot", target.getBean("testBean", TestBean.class).getName());
+	}
+
+	@Test
+	public void annotatedBeanDefinitionRestored() throws IOException {
+		DefaultListableBeanFactory source = new DefaultListableBeanFactory();
+		AnnotatedGenericBeanDefinition bd = new AnnotatedGenericBeanDefinition(TestBean.class);
+		bd.setLazyInit(true);
+		source.registerBeanDefinition("testBean", bd);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new SnapshotBeanDefinitionWriter(source).writeBeanDefinitions(out);
+
+		DefaultListableBeanFactory target = new DefaultListableBeanFactory();
+		new SnapshotBeanDefinitionReader(target).loadBeanDefinitions(new ByteArrayResource(out.toByteArray()));
+		BeanDefinition restored = target.getBeanDefinition("testBean");
+		assertTrue(restored instanceof AnnotatedBeanDefinition);
+		assertEquals(TestBean.class.getName(), ((AnnotatedBeanDefinition) restored).getMetadata().getClassName());
+		assertTrue(restored.isLazyInit());
+	}
+
+	@Test
+	public void excludedBeanNamesNotWritten() throws IOException {
+		DefaultListableBeanFactory source = new DefaultListableBeanFactory();
+		source.registerBeanDefinition("included", new RootBeanDefinition(TestBean.class));
+		source.registerBeanDefinition("excluded", new RootBeanDefinition(TestBean.class));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SnapshotBeanDefinitionWriter writer = new SnapshotBeanDefinitionWriter(source);
+		writer.setExcludedBeanNames("excluded");
+		assertEquals(1, writer.writeBeanDefinitions(out));
+
+		DefaultListableBeanFactory target = new DefaultListableBeanFactory();
+		new SnapshotBeanDefinitionReader(target).loadBeanDefinitions(new ByteArrayResource(out.toByteArray()));
+		assertEquals(Collections.singletonList("included"), Arrays.asList(target.getBeanDefinitionNames()));
+	}
+
+	@Test(expected = BeanDefinitionStoreException.class)
+	public void instanceSupplierNotSupported() throws IOException {
+		DefaultListableBeanFactory source = new DefaultListableBeanFactory();
+		source.registerBeanDefinition("testBean", new RootBeanDefinition(TestBean.class, TestBean::new));
+		new SnapshotBeanDefinitionWriter(source).writeBeanDefinitions(new ByteArrayOutputStream());
+	}
+
+	@Test(expected = BeanDefinitionStoreException.class)
+	public void invalidSnapshot() {
+		DefaultListableBeanFactory target = new DefaultListableBeanFactory();
+		new SnapshotBeanDefinitionReader(target).loadBeanDefinitions(new ByteArrayResource(new byte[16]));
+	}
+
+}
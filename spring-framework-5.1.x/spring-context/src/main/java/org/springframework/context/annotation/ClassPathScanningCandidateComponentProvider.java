@@ -18,11 +18,17 @@ package org.springframework.context.annotation;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,6 +41,7 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.index.CandidateComponentsIndex;
 import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
@@ -59,6 +66,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * A component provider that provides candidate components from a base package. Can
@@ -88,6 +96,18 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	static final String DEFAULT_RESOURCE_PATTERN = "**/*.class";
 
+	/**
+	 * System property that specifies the default number of threads to read
+	 * candidate classes with during classpath scanning: {@value}.
+	 * <p>The default is 1, reading all candidate classes on the calling thread.
+	 * @since 5.1.18
+	 * @see #setScanningParallelism
+	 */
+	public static final String SCANNING_PARALLELISM_PROPERTY_NAME = "spring.scanning.parallelism";
+
+	/** Default number of threads to scan with, as specified through a system property. */
+	private static final int defaultScanningParallelism = retrieveDefaultScanningParallelism();
+
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -112,6 +132,8 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Nullable
 	private CandidateComponentsIndex componentsIndex;
 
+	private int scanningParallelism = defaultScanningParallelism;
+
 
 	/**
 	 * Protected constructor for flexible subclass initialization.
@@ -301,6 +323,33 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return this.metadataReaderFactory;
 	}
 
+	/**
+	 * Set the number of threads to read candidate classes with during classpath scanning.
+	 * <p>Default is 1, reading all candidate classes one at a time on the calling thread,
+	 * unless specified otherwise through the {@value #SCANNING_PARALLELISM_PROPERTY_NAME}
+	 * system property. Specify a higher value in order to split the resources found for
+	 * a base package across a bounded {@link ForkJoinPool}: The resulting candidate
+	 * components are still returned in resource order, exactly as with sequential scanning.
+	 * <p><b>NOTE:</b> Parallel scanning requires the configured
+	 * {@link #setMetadataReaderFactory MetadataReaderFactory}, type filters and
+	 * {@link Conditional conditions} to be thread-safe, as is the case for the
+	 * default {@link CachingMetadataReaderFactory} and the common filter types.
+	 * @since 5.1.18
+	 * @see #findCandidateComponents
+	 */
+	public void setScanningParallelism(int scanningParallelism) {
+		Assert.isTrue(scanningParallelism > 0, "Scanning parallelism must be greater than 0");
+		this.scanningParallelism = scanningParallelism;
+	}
+
+	/**
+	 * Return the number of threads to read candidate classes with.
+	 * @since 5.1.18
+	 */
+	public int getScanningParallelism() {
+		return this.scanningParallelism;
+	}
+
 
 	/**
 	 * Scan the class path for candidate components.
@@ -418,52 +467,135 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 			String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
 					resolveBasePackage(basePackage) + '/' + this.resourcePattern;
 			Resource[] resources = getResourcePatternResolver().getResources(packageSearchPath);
-			boolean traceEnabled = logger.isTraceEnabled();
-			boolean debugEnabled = logger.isDebugEnabled();
-			for (Resource resource : resources) {
-				if (traceEnabled) {
-					logger.trace("Scanning " + resource);
+			if (this.scanningParallelism > 1 && resources.length > 1) {
+				candidates.addAll(scanCandidateComponentsInParallel(resources));
+			}
+			else {
+				for (Resource resource : resources) {
+					ScannedGenericBeanDefinition sbd = scanCandidateComponent(resource);
+					if (sbd != null) {
+						candidates.add(sbd);
+					}
 				}
-				if (resource.isReadable()) {
-					try {
-						MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
-						if (isCandidateComponent(metadataReader)) {
-							ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
-							sbd.setSource(resource);
-							if (isCandidateComponent(sbd)) {
-								if (debugEnabled) {
-									logger.debug("Identified candidate component class: " + resource);
-								}
-								candidates.add(sbd);
-							}
-							else {
-								if (debugEnabled) {
-									logger.debug("Ignored because not a concrete top-level class: " + resource);
-								}
-							}
-						}
-						else {
-							if (traceEnabled) {
-								logger.trace("Ignored because not matching any filter: " + resource);
-							}
+			}
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Read the given resources on a bounded {@link ForkJoinPool}, each thread
+	 * processing a contiguous slice of the resource array.
+	 * @param resources the resources found for a base package
+	 * @return the candidate components, in resource order
+	 * @see #setScanningParallelism
+	 */
+	private List<BeanDefinition> scanCandidateComponentsInParallel(Resource[] resources) {
+		// Initialize the shared MetadataReaderFactory upfront
+		getMetadataReaderFactory();
+		ScannedGenericBeanDefinition[] results = new ScannedGenericBeanDefinition[resources.length];
+		int sliceCount = Math.min(this.scanningParallelism * 4, resources.length);
+		List<Callable<Void>> slices = new ArrayList<>(sliceCount);
+		for (int i = 0; i < sliceCount; i++) {
+			int from = (int) ((long) resources.length * i / sliceCount);
+			int to = (int) ((long) resources.length * (i + 1) / sliceCount);
+			slices.add(() -> {
+				for (int index = from; index < to; index++) {
+					results[index] = scanCandidateComponent(resources[index]);
+				}
+				return null;
+			});
+		}
+
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinPool pool = new ForkJoinPool(this.scanningParallelism, forkJoinPool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+			thread.setName("classpathScanning-" + thread.getPoolIndex());
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		}, null, false);
+		try {
+			for (Future<Void> slice : pool.invokeAll(slices)) {
+				slice.get();
+			}
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new BeanDefinitionStoreException("Failure during parallel classpath scanning", cause);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanDefinitionStoreException("Interrupted during parallel classpath scanning", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		List<BeanDefinition> candidates = new ArrayList<>();
+		for (ScannedGenericBeanDefinition sbd : results) {
+			if (sbd != null) {
+				candidates.add(sbd);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Read the given resource and build a bean definition for it if it
+	 * qualifies as a candidate component.
+	 * @param resource the class file resource
+	 * @return the bean definition, or {@code null} if not a candidate component
+	 */
+	@Nullable
+	private ScannedGenericBeanDefinition scanCandidateComponent(Resource resource) {
+		boolean traceEnabled = logger.isTraceEnabled();
+		boolean debugEnabled = logger.isDebugEnabled();
+		if (traceEnabled) {
+			logger.trace("Scanning " + resource);
+		}
+		if (resource.isReadable()) {
+			try {
+				MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+				if (isCandidateComponent(metadataReader)) {
+					ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
+					sbd.setSource(resource);
+					if (isCandidateComponent(sbd)) {
+						if (debugEnabled) {
+							logger.debug("Identified candidate component class: " + resource);
 						}
+						return sbd;
 					}
-					catch (Throwable ex) {
-						throw new BeanDefinitionStoreException(
-								"Failed to read candidate component class: " + resource, ex);
+					else {
+						if (debugEnabled) {
+							logger.debug("Ignored because not a concrete top-level class: " + resource);
+						}
 					}
 				}
 				else {
 					if (traceEnabled) {
-						logger.trace("Ignored because not readable: " + resource);
+						logger.trace("Ignored because not matching any filter: " + resource);
 					}
 				}
 			}
+			catch (Throwable ex) {
+				throw new BeanDefinitionStoreException(
+						"Failed to read candidate component class: " + resource, ex);
+			}
 		}
-		catch (IOException ex) {
-			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+		else {
+			if (traceEnabled) {
+				logger.trace("Ignored because not readable: " + resource);
+			}
 		}
-		return candidates;
+		return null;
 	}
 
 
@@ -506,11 +638,12 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	 * @return whether the class qualifies as a candidate component
 	 */
 	private boolean isConditionMatch(MetadataReader metadataReader) {
-		if (this.conditionEvaluator == null) {
-			this.conditionEvaluator =
-					new ConditionEvaluator(getRegistry(), this.environment, this.resourcePatternResolver);
+		ConditionEvaluator conditionEvaluator = this.conditionEvaluator;
+		if (conditionEvaluator == null) {
+			conditionEvaluator = new ConditionEvaluator(getRegistry(), this.environment, this.resourcePatternResolver);
+			this.conditionEvaluator = conditionEvaluator;
 		}
-		return !this.conditionEvaluator.shouldSkip(metadataReader.getAnnotationMetadata());
+		return !conditionEvaluator.shouldSkip(metadataReader.getAnnotationMetadata());
 	}
 
 	/**
@@ -539,4 +672,17 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		}
 	}
 
+	private static int retrieveDefaultScanningParallelism() {
+		String parallelism = SpringProperties.getProperty(SCANNING_PARALLELISM_PROPERTY_NAME);
+		if (StringUtils.hasText(parallelism)) {
+			try {
+				return Math.max(Integer.parseInt(parallelism.trim()), 1);
+			}
+			catch (NumberFormatException ex) {
+				// ignore
+			}
+		}
+		return 1;
+	}
+
 }
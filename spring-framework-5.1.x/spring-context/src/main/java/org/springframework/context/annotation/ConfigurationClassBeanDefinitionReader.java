@@ -16,10 +16,12 @@
 
 package org.springframework.context.annotation;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -50,6 +52,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -156,6 +159,10 @@ class ConfigurationClassBeanDefinitionReader {
 		configBeanDef.setScope(scopeMetadata.getScopeName());
 		String configBeanName = this.importBeanNameGenerator.generateBeanName(configBeanDef, this.registry);
 		AnnotationConfigUtils.processCommonDefinitionAnnotations(configBeanDef, metadata);
+		AnnotationMetadata importingClass = this.importRegistry.getImportingClassFor(metadata.getClassName());
+		if (importingClass != null) {
+			ConfigurationClassUtils.setImportingClass(configBeanDef, importingClass.getClassName());
+		}
 
 		BeanDefinitionHolder definitionHolder = new BeanDefinitionHolder(configBeanDef, configBeanName);
 		definitionHolder = AnnotationConfigUtils.applyScopedProxyMode(scopeMetadata, definitionHolder, this.registry);
@@ -363,6 +370,57 @@ class ConfigurationClassBeanDefinitionReader {
 				registrar.registerBeanDefinitions(metadata, this.registry));
 	}
 
+	/**
+	 * Turn restored bean definitions for {@code @Bean} methods of the given, previously
+	 * processed configuration classes back into configuration class bean definitions,
+	 * e.g. after restoring them from a bean definition snapshot which only preserves
+	 * their state as plain root bean definitions.
+	 * @param registry the registry to restore bean definitions in
+	 * @param configBeanNames the names of the configuration class beans,
+	 * mapped to their configuration class names
+	 * @param metadataReaderFactory the factory to read configuration class metadata with
+	 * @since 5.1.18
+	 */
+	static void restoreBeanMethodDefinitions(BeanDefinitionRegistry registry,
+			Map<String, String> configBeanNames, MetadataReaderFactory metadataReaderFactory) {
+
+		if (configBeanNames.isEmpty()) {
+			return;
+		}
+		Set<String> configClassNames = new HashSet<>(configBeanNames.values());
+		Map<String, AnnotationMetadata> metadataCache = new HashMap<>();
+		for (String beanName : registry.getBeanDefinitionNames()) {
+			BeanDefinition beanDef = registry.getBeanDefinition(beanName);
+			String factoryMethodName = beanDef.getFactoryMethodName();
+			if (beanDef.getClass() != RootBeanDefinition.class || factoryMethodName == null) {
+				continue;
+			}
+			String factoryBeanName = beanDef.getFactoryBeanName();
+			String configClassName = (factoryBeanName != null ? configBeanNames.get(factoryBeanName) :
+					(configClassNames.contains(beanDef.getBeanClassName()) ? beanDef.getBeanClassName() : null));
+			if (configClassName == null) {
+				continue;
+			}
+			AnnotationMetadata metadata = metadataCache.computeIfAbsent(configClassName, className -> {
+				try {
+					return metadataReaderFactory.getMetadataReader(className).getAnnotationMetadata();
+				}
+				catch (IOException ex) {
+					throw new BeanDefinitionStoreException(
+							"Failed to read metadata of configuration class [" + className + "]", ex);
+				}
+			});
+			for (MethodMetadata beanMethod : metadata.getAnnotatedMethods(Bean.class.getName())) {
+				if (beanMethod.getMethodName().equals(factoryMethodName)) {
+					registry.removeBeanDefinition(beanName);
+					registry.registerBeanDefinition(beanName, new ConfigurationClassBeanDefinition(
+							(RootBeanDefinition) beanDef, metadata, beanMethod));
+					break;
+				}
+			}
+		}
+	}
+
 
 	/**
 	 * {@link RootBeanDefinition} marker subclass used to signify that a bean definition
@@ -391,6 +449,13 @@ class ConfigurationClassBeanDefinitionReader {
 			this.factoryMethodMetadata = beanMethodMetadata;
 		}
 
+		public ConfigurationClassBeanDefinition(
+				RootBeanDefinition original, AnnotationMetadata configClassMetadata, MethodMetadata beanMethodMetadata) {
+			super(original);
+			this.annotationMetadata = configClassMetadata;
+			this.factoryMethodMetadata = beanMethodMetadata;
+		}
+
 		private ConfigurationClassBeanDefinition(ConfigurationClassBeanDefinition original) {
 			super(original);
 			this.annotationMetadata = original.annotationMetadata;
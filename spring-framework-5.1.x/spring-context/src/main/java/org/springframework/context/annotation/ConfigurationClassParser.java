@@ -154,7 +154,7 @@ class ConfigurationClassParser {
 		this.resourceLoader = resourceLoader;
 		this.registry = registry;
 		this.componentScanParser = new ComponentScanAnnotationParser(
-				environment, resourceLoader, componentScanBeanNameGenerator, registry);
+				environment, resourceLoader, componentScanBeanNameGenerator, registry, metadataReaderFactory);
 		this.conditionEvaluator = new ConditionEvaluator(registry, environment, resourceLoader);
 	}
 
@@ -619,6 +619,39 @@ class ConfigurationClassParser {
 		return this.importStack;
 	}
 
+	/**
+	 * Restore the environment-facing state of an already processed configuration
+	 * class without parsing its configuration model again: that is, register its
+	 * {@code @PropertySource} declarations with the {@code Environment} and its
+	 * importing class (if any) with the {@link #getImportRegistry() ImportRegistry}.
+	 * @param className the name of the configuration class
+	 * @param importingClassName the name of the class which imported it, if any
+	 * @since 5.1.18
+	 */
+	void restoreProcessedConfigurationClass(String className, @Nullable String importingClassName) {
+		try {
+			SourceClass sourceClass = asSourceClass(className);
+			for (AnnotationAttributes propertySource : AnnotationConfigUtils.attributesForRepeatable(
+					sourceClass.getMetadata(), PropertySources.class,
+					org.springframework.context.annotation.PropertySource.class)) {
+				if (this.environment instanceof ConfigurableEnvironment) {
+					processPropertySource(propertySource);
+				}
+				else {
+					logger.info("Ignoring @PropertySource annotation on [" + className +
+							"]. Reason: Environment must implement ConfigurableEnvironment");
+				}
+			}
+			if (importingClassName != null) {
+				this.importStack.registerImport(asSourceClass(importingClassName).getMetadata(), className);
+			}
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException(
+					"Failed to restore configuration class [" + className + "]", ex);
+		}
+	}
+
 
 	/**
 	 * Factory method to obtain a {@link SourceClass} from a {@link ConfigurationClass}.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.context.annotation;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -260,6 +261,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	 */
 	public void processConfigBeanDefinitions(BeanDefinitionRegistry registry) {
 		List<BeanDefinitionHolder> configCandidates = new ArrayList<>();
+		List<BeanDefinitionHolder> processedCandidates = new ArrayList<>();
 		String[] candidateNames = registry.getBeanDefinitionNames();
 
 		for (String beanName : candidateNames) {
@@ -269,6 +271,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 				if (logger.isDebugEnabled()) {
 					logger.debug("Bean definition has already been processed as a configuration class: " + beanDef);
 				}
+				processedCandidates.add(new BeanDefinitionHolder(beanDef, beanName));
 			}
 			else if (ConfigurationClassUtils.checkConfigurationClassCandidate(beanDef, this.metadataReaderFactory)) {
 				configCandidates.add(new BeanDefinitionHolder(beanDef, beanName));
@@ -276,7 +279,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 
 		// Return immediately if no @Configuration classes were found
-		if (configCandidates.isEmpty()) {
+		if (configCandidates.isEmpty() && processedCandidates.isEmpty()) {
 			return;
 		}
 
@@ -309,9 +312,14 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 				this.metadataReaderFactory, this.problemReporter, this.environment,
 				this.resourceLoader, this.componentScanBeanNameGenerator, registry);
 
+		// Restore configuration classes processed before, unless processed against this registry
+		if (!processedCandidates.isEmpty() && sbr != null && !sbr.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
+			restoreProcessedConfigurationClasses(registry, parser, processedCandidates);
+		}
+
 		Set<BeanDefinitionHolder> candidates = new LinkedHashSet<>(configCandidates);
 		Set<ConfigurationClass> alreadyParsed = new HashSet<>(configCandidates.size());
-		do {
+		while (!candidates.isEmpty()) {
 			parser.parse(candidates);
 			parser.validate();
 
@@ -347,7 +355,6 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 				candidateNames = newCandidateNames;
 			}
 		}
-		while (!candidates.isEmpty());
 
 		// Register the ImportRegistry as a bean in order to support ImportAware @Configuration classes
 		if (sbr != null && !sbr.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
@@ -361,6 +368,32 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 	}
 
+	/**
+	 * Restore the state of configuration classes which have been processed before,
+	 * typically in a previous run that the bean definitions have been restored from
+	 * (e.g. through a bean definition snapshot): Their bean definitions are complete
+	 * already, so only {@code @PropertySource} declarations and the importing classes
+	 * for {@link ImportAware} callbacks need to be registered again, and bean definitions
+	 * for their {@code @Bean} methods need to regain their configuration class metadata.
+	 * @since 5.1.18
+	 */
+	private void restoreProcessedConfigurationClasses(BeanDefinitionRegistry registry,
+			ConfigurationClassParser parser, List<BeanDefinitionHolder> processedCandidates) {
+
+		Map<String, String> configBeanNames = new HashMap<>();
+		for (BeanDefinitionHolder holder : processedCandidates) {
+			BeanDefinition beanDef = holder.getBeanDefinition();
+			String className = beanDef.getBeanClassName();
+			if (className != null && beanDef.getFactoryMethodName() == null) {
+				parser.restoreProcessedConfigurationClass(
+						className, ConfigurationClassUtils.getImportingClass(beanDef));
+				configBeanNames.put(holder.getBeanName(), className);
+			}
+		}
+		ConfigurationClassBeanDefinitionReader.restoreBeanMethodDefinitions(
+				registry, configBeanNames, this.metadataReaderFactory);
+	}
+
 	/**
 	 * Post-processes a BeanFactory in search of Configuration class BeanDefinitions;
 	 * any candidates are then enhanced by a {@link ConfigurationClassEnhancer}.
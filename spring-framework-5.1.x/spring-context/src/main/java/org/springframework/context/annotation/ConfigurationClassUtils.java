@@ -57,6 +57,9 @@ abstract class ConfigurationClassUtils {
 	private static final String ORDER_ATTRIBUTE =
 			Conventions.getQualifiedAttributeName(ConfigurationClassPostProcessor.class, "order");
 
+	private static final String IMPORTING_CLASS_ATTRIBUTE =
+			Conventions.getQualifiedAttributeName(ConfigurationClassPostProcessor.class, "importingClass");
+
 
 	private static final Log logger = LogFactory.getLog(ConfigurationClassUtils.class);
 
@@ -228,4 +231,28 @@ abstract class ConfigurationClassUtils {
 		return (order != null ? order : Ordered.LOWEST_PRECEDENCE);
 	}
 
+	/**
+	 * Record the class which imported the given configuration class bean definition,
+	 * allowing for {@link ImportAware} callbacks without re-parsing the configuration
+	 * model (e.g. for bean definitions restored from a snapshot).
+	 * @param beanDef the bean definition of the imported configuration class
+	 * @param importingClassName the name of the importing class
+	 * @since 5.1.18
+	 */
+	public static void setImportingClass(BeanDefinition beanDef, String importingClassName) {
+		beanDef.setAttribute(IMPORTING_CLASS_ATTRIBUTE, importingClassName);
+	}
+
+	/**
+	 * Determine the class which imported the given configuration class bean definition,
+	 * as set by {@link #setImportingClass}.
+	 * @param beanDef the bean definition to check
+	 * @return the name of the importing class, or {@code null} if none recorded
+	 * @since 5.1.18
+	 */
+	@Nullable
+	public static String getImportingClass(BeanDefinition beanDef) {
+		return (String) beanDef.getAttribute(IMPORTING_CLASS_ATTRIBUTE);
+	}
+
 }
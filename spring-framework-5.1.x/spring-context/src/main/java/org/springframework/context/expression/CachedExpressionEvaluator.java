@@ -21,7 +21,9 @@ import java.util.Map;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.ExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
@@ -29,6 +31,10 @@ import org.springframework.util.ObjectUtils;
  * Shared utility class used to evaluate and cache SpEL expressions that
  * are defined on {@link java.lang.reflect.AnnotatedElement}.
  *
+ * <p>By default, expressions are parsed and cached per element. Alternatively,
+ * parsed expressions may be obtained from a given {@link ExpressionCache}, so
+ * that identical expressions on different elements share a single parsed form.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see AnnotatedElementKey
@@ -37,6 +43,9 @@ public abstract class CachedExpressionEvaluator {
 
 	private final SpelExpressionParser parser;
 
+	@Nullable
+	private final ExpressionCache expressionCache;
+
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
 
@@ -46,6 +55,21 @@ public abstract class CachedExpressionEvaluator {
 	protected CachedExpressionEvaluator(SpelExpressionParser parser) {
 		Assert.notNull(parser, "SpelExpressionParser must not be null");
 		this.parser = parser;
+		this.expressionCache = null;
+	}
+
+	/**
+	 * Create a new instance with the specified {@link SpelExpressionParser}
+	 * and {@link ExpressionCache} to share parsed expressions through.
+	 * <p>Note that shared expressions are handed out for every element with
+	 * the same expression text, including their compiled state.
+	 * @since 5.1.18
+	 */
+	protected CachedExpressionEvaluator(SpelExpressionParser parser, ExpressionCache expressionCache) {
+		Assert.notNull(parser, "SpelExpressionParser must not be null");
+		Assert.notNull(expressionCache, "ExpressionCache must not be null");
+		this.parser = parser;
+		this.expressionCache = expressionCache;
 	}
 
 	/**
@@ -63,6 +87,16 @@ public abstract class CachedExpressionEvaluator {
 		return this.parser;
 	}
 
+	/**
+	 * Return the {@link ExpressionCache} to obtain parsed expressions from,
+	 * if any.
+	 * @since 5.1.18
+	 */
+	@Nullable
+	protected ExpressionCache getExpressionCache() {
+		return this.expressionCache;
+	}
+
 	/**
 	 * Return a shared parameter name discoverer which caches data internally.
 	 * @since 4.3
@@ -85,7 +119,9 @@ public abstract class CachedExpressionEvaluator {
 		ExpressionKey expressionKey = createKey(elementKey, expression);
 		Expression expr = cache.get(expressionKey);
 		if (expr == null) {
-			expr = getParser().parseExpression(expression);
+			ExpressionCache expressionCache = getExpressionCache();
+			expr = (expressionCache != null ? expressionCache.getExpression(getParser(), expression) :
+					getParser().parseExpression(expression));
 			cache.put(expressionKey, expr);
 		}
 		return expr;
@@ -28,6 +28,7 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.ExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.support.StandardTypeConverter;
@@ -62,7 +63,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 
 	private ExpressionParser expressionParser;
 
-	private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>(256);
+	private ExpressionCache expressionCache = new ExpressionCache();
 
 	private final Map<BeanExpressionContext, StandardEvaluationContext> evaluationCache = new ConcurrentHashMap<>(8);
 
@@ -129,6 +130,19 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 		this.expressionParser = expressionParser;
 	}
 
+	/**
+	 * Specify the cache to obtain parsed expressions from.
+	 * <p>Default is a dedicated {@link ExpressionCache} for this resolver,
+	 * bounded to a fixed number of expressions. Specify the
+	 * {@linkplain ExpressionCache#getSharedInstance() shared instance}
+	 * for sharing parsed expressions with other resolvers.
+	 * @since 5.1.18
+	 */
+	public void setExpressionCache(ExpressionCache expressionCache) {
+		Assert.notNull(expressionCache, "ExpressionCache must not be null");
+		this.expressionCache = expressionCache;
+	}
+
 
 	@Override
 	@Nullable
@@ -137,11 +151,8 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 			return value;
 		}
 		try {
-			Expression expr = this.expressionCache.get(value);
-			if (expr == null) {
-				expr = this.expressionParser.parseExpression(value, this.beanExpressionParserContext);
-				this.expressionCache.put(value, expr);
-			}
+			Expression expr = this.expressionCache.getExpression(
+					this.expressionParser, value, this.beanExpressionParserContext);
 			StandardEvaluationContext sec = this.evaluationCache.get(evalContext);
 			if (sec == null) {
 				sec = new StandardEvaluationContext(evalContext);
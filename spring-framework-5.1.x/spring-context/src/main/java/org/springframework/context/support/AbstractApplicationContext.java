@@ -36,6 +36,7 @@ import org.springframework.beans.CachedIntrospectionResults;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.AnnotatedMemberCache;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
@@ -77,6 +78,9 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.expression.spel.standard.ExpressionCache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -179,6 +183,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	/** BeanFactoryPostProcessors to apply on refresh. */
 	private final List<BeanFactoryPostProcessor> beanFactoryPostProcessors = new ArrayList<>();
 
+	/** Application startup metrics. */
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 	/** System time in milliseconds when this context started. */
 	private long startupDate;
 
@@ -320,6 +327,17 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return this.environment;
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "ApplicationStartup must not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	@Override
+	public ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
 	/**
 	 * Create and return a new {@link StandardEnvironment}.
 	 * <p>Subclasses may override this method in order to supply
@@ -515,70 +533,101 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	@Override
 	public void refresh() throws BeansException, IllegalStateException {
 		synchronized (this.startupShutdownMonitor) {
-			// Prepare this context for refreshing.
-			prepareRefresh();
-
-			// Tell the subclass to refresh the internal bean factory.
-			ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
-
-			// Prepare the bean factory for use in this context.
-			prepareBeanFactory(beanFactory);
-
+			StartupStep contextRefresh = this.applicationStartup.start("spring.context.refresh");
 			try {
-				// Allows post-processing of the bean factory in context subclasses.(允许在上下文子类中对bean工厂进行后处理)
-				postProcessBeanFactory(beanFactory);
+				// Prepare this context for refreshing.
+				prepareRefresh();
 
-				// Invoke factory processors registered as beans in the context.
-				//完成了所谓的扫描 和 parse类的解析  解析完了放在beanDefintion当中
-				invokeBeanFactoryPostProcessors(beanFactory);
+				// Tell the subclass to refresh the internal bean factory.
+				ConfigurableListableBeanFactory beanFactory;
+				StartupStep beanFactoryRefresh = this.applicationStartup.start("spring.context.bean-factory.refresh");
+				try {
+					beanFactory = obtainFreshBeanFactory();
+				}
+				finally {
+					beanFactoryRefresh.end();
+				}
 
-				// Register bean processors that intercept bean creation.(注册拦截bean创建的bean处理器)
-				//注册BeanPostProcessors
-				registerBeanPostProcessors(beanFactory);
+				// Prepare the bean factory for use in this context.
+				prepareBeanFactory(beanFactory);
 
-				// Initialize message source for this context.(为此上下文初始化消息源)
-				//国际化的一些资源
-				initMessageSource();
+				try {
+					StartupStep beanPostProcess = this.applicationStartup.start("spring.context.beans.post-process");
+					try {
+						// Allows post-processing of the bean factory in context subclasses.(允许在上下文子类中对bean工厂进行后处理)
+						postProcessBeanFactory(beanFactory);
+
+						// Invoke factory processors registered as beans in the context.
+						//完成了所谓的扫描 和 parse类的解析  解析完了放在beanDefintion当中
+						invokeBeanFactoryPostProcessors(beanFactory);
+
+						// Register bean processors that intercept bean creation.(注册拦截bean创建的bean处理器)
+						//注册BeanPostProcessors
+						registerBeanPostProcessors(beanFactory);
+					}
+					finally {
+						beanPostProcess.end();
+					}
 
-				// Initialize event multicaster for this context.(为此上下文初始化事件多播器)
-				initApplicationEventMulticaster();
+					// Initialize message source for this context.(为此上下文初始化消息源)
+					//国际化的一些资源
+					initMessageSource();
 
-				// Initialize other special beans in specific context subclasses.
-				//初始化特定上下文子类中的其他特殊bean。
-				onRefresh();
+					// Initialize event multicaster for this context.(为此上下文初始化事件多播器)
+					initApplicationEventMulticaster();
 
-				// Check for listener beans and register them.(检查侦听器bean并注册它们)
-				registerListeners();
+					// Initialize other special beans in specific context subclasses.
+					//初始化特定上下文子类中的其他特殊bean。
+					StartupStep onRefresh = this.applicationStartup.start("spring.context.on-refresh");
+					try {
+						onRefresh();
+					}
+					finally {
+						onRefresh.end();
+					}
 
-				// Instantiate all remaining (non-lazy-init) singletons.(实例化所有剩余的(非延迟-init)单例)
-				//spring开始实例化单例的类
-				//开始实例化单例的类  需要validata 和 life
-				finishBeanFactoryInitialization(beanFactory);
+					// Check for listener beans and register them.(检查侦听器bean并注册它们)
+					registerListeners();
 
-				// Last step: publish corresponding event.(最后一步:发布相应的事件)
-				finishRefresh();
-			}
+					// Instantiate all remaining (non-lazy-init) singletons.(实例化所有剩余的(非延迟-init)单例)
+					//spring开始实例化单例的类
+					//开始实例化单例的类  需要validata 和 life
+					StartupStep singletonsInstantiation = this.applicationStartup.start("spring.context.singletons.instantiate");
+					try {
+						finishBeanFactoryInitialization(beanFactory);
+					}
+					finally {
+						singletonsInstantiation.end();
+					}
 
-			catch (BeansException ex) {
-				if (logger.isWarnEnabled()) {
-					logger.warn("Exception encountered during context initialization - " +
-							"cancelling refresh attempt: " + ex);
+					// Last step: publish corresponding event.(最后一步:发布相应的事件)
+					finishRefresh();
 				}
 
-				// Destroy already created singletons to avoid dangling resources.
-				destroyBeans();
+				catch (BeansException ex) {
+					if (logger.isWarnEnabled()) {
+						logger.warn("Exception encountered during context initialization - " +
+								"cancelling refresh attempt: " + ex);
+					}
+
+					// Destroy already created singletons to avoid dangling resources.
+					destroyBeans();
 
-				// Reset 'active' flag.
-				cancelRefresh(ex);
+					// Reset 'active' flag.
+					cancelRefresh(ex);
 
-				// Propagate exception to caller.
-				throw ex;
-			}
+					// Propagate exception to caller.
+					throw ex;
+				}
 
+				finally {
+					// Reset common introspection caches in Spring's core, since we
+					// might not ever need metadata for singleton beans anymore...
+					resetCommonCaches();
+				}
+			}
 			finally {
-				// Reset common introspection caches in Spring's core, since we
-				// might not ever need metadata for singleton beans anymore...
-				resetCommonCaches();
+				contextRefresh.end();
 			}
 		}
 	}
@@ -652,6 +701,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	protected void prepareBeanFactory(ConfigurableListableBeanFactory beanFactory) {
 		// Tell the internal bean factory to use the context's class loader etc.
 		beanFactory.setBeanClassLoader(getClassLoader());
+		beanFactory.setApplicationStartup(getApplicationStartup());
 		beanFactory.setBeanExpressionResolver(new StandardBeanExpressionResolver(beanFactory.getBeanClassLoader()));
 		beanFactory.addPropertyEditorRegistrar(new ResourceEditorRegistrar(this, getEnvironment()));
 
@@ -886,6 +936,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		// Instantiate all remaining (non-lazy-init) singletons.
 		//实例化所有剩余的(非延迟-init)单例。
 		beanFactory.preInstantiateSingletons();
+
+		// Release metadata that was only needed for creating the singletons above.
+		beanFactory.releaseConstructionMetadata();
 	}
 
 	/**
@@ -932,6 +985,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	protected void resetCommonCaches() {
 		ReflectionUtils.clearCache();
 		AnnotationUtils.clearCache();
+		AnnotatedMemberCache.clearCache();
 		ResolvableType.clearCache();
 		CachedIntrospectionResults.clearClassLoader(getClassLoader());
 	}
@@ -1042,6 +1096,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 			// Let subclasses do some final clean-up if they wish...
 			onClose();
 
+			// Release shared expressions compiled against this context's ClassLoader.
+			ExpressionCache.clearSharedInstance(getClassLoader());
+
 			// Reset local application listeners to pre-refresh state.
 			if (this.earlyApplicationListeners != null) {
 				this.applicationListeners.clear();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,18 @@
 
 package org.springframework.context.support;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
@@ -30,14 +40,24 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionCustomizer;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.beans.factory.support.SnapshotBeanDefinitionReader;
+import org.springframework.beans.factory.support.SnapshotBeanDefinitionWriter;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.WritableResource;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * Generic ApplicationContext implementation that holds a single internal
@@ -100,6 +120,12 @@ public class GenericApplicationContext extends AbstractApplicationContext implem
 
 	private boolean customClassLoader = false;
 
+	@Nullable
+	private Resource beanDefinitionSnapshot;
+
+	@Nullable
+	private String beanDefinitionSnapshotFingerprint;
+
 	private final AtomicBoolean refreshed = new AtomicBoolean();
 
 
@@ -158,6 +184,18 @@ public class GenericApplicationContext extends AbstractApplicationContext implem
 		this.beanFactory.setParentBeanFactory(getInternalParentBeanFactory());
 	}
 
+	/**
+	 * Set the {@code ApplicationStartup} for this context,
+	 * also exposing it to the internal BeanFactory right away.
+	 * @since 5.1.18
+	 * @see org.springframework.beans.factory.config.ConfigurableBeanFactory#setApplicationStartup
+	 */
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		super.setApplicationStartup(applicationStartup);
+		this.beanFactory.setApplicationStartup(applicationStartup);
+	}
+
 	/**
 	 * Set whether it should be allowed to override bean definitions by registering
 	 * a different definition with the same name, automatically replacing the former.
@@ -204,6 +242,45 @@ public class GenericApplicationContext extends AbstractApplicationContext implem
 	}
 
 
+	/**
+	 * Specify a snapshot of this context's bean definitions, to be restored on
+	 * {@link #refresh()} instead of processing the registered bean definitions
+	 * through {@link org.springframework.beans.factory.config.BeanFactoryPostProcessor
+	 * BeanFactoryPostProcessors} again, in particular skipping classpath scanning,
+	 * configuration class parsing and condition evaluation.
+	 * <p>The snapshot is only restored if its fingerprint matches the one
+	 * {@link #determineBeanDefinitionSnapshotFingerprint() determined} for the
+	 * current refresh. Otherwise, the bean definitions get processed as usual
+	 * and, if the given resource is a {@link WritableResource} (e.g. a file
+	 * written at build time and shipped as a class path resource later on),
+	 * a fresh snapshot is taken once all bean definitions have been registered.
+	 * <p>Note that bean definitions registered outside of the post-processing
+	 * phase, e.g. through a {@code scan} call on an annotation config context,
+	 * are not covered by the snapshot: Their processing happens before refresh.
+	 * @param beanDefinitionSnapshot the snapshot resource (or {@code null} for none)
+	 * @since 5.1.18
+	 * @see SnapshotBeanDefinitionReader
+	 * @see SnapshotBeanDefinitionWriter
+	 */
+	public void setBeanDefinitionSnapshot(@Nullable Resource beanDefinitionSnapshot) {
+		this.beanDefinitionSnapshot = beanDefinitionSnapshot;
+	}
+
+	/**
+	 * Specify an explicit fingerprint for the {@link #setBeanDefinitionSnapshot
+	 * bean definition snapshot}, e.g. a build identifier or application version,
+	 * instead of deriving it from the class path on every refresh.
+	 * <p>The active and default profiles are taken into account in any case.
+	 * @param beanDefinitionSnapshotFingerprint the explicit fingerprint
+	 * (or {@code null} for a fingerprint derived from the class path)
+	 * @since 5.1.18
+	 * @see #determineBeanDefinitionSnapshotFingerprint()
+	 */
+	public void setBeanDefinitionSnapshotFingerprint(@Nullable String beanDefinitionSnapshotFingerprint) {
+		this.beanDefinitionSnapshotFingerprint = beanDefinitionSnapshotFingerprint;
+	}
+
+
 	//---------------------------------------------------------------------
 	// ResourceLoader / ResourcePatternResolver override if necessary
 	//---------------------------------------------------------------------
@@ -258,6 +335,8 @@ public class GenericApplicationContext extends AbstractApplicationContext implem
 	/**
 	 * Do nothing: We hold a single internal BeanFactory and rely on callers
 	 * to register beans through our public methods (or the BeanFactory's).
+	 * <p>The only exception is a {@link #setBeanDefinitionSnapshot bean definition
+	 * snapshot}, which is either restored or scheduled to be taken at this point.
 	 * @see #registerBeanDefinition
 	 */
 	@Override
@@ -267,6 +346,155 @@ public class GenericApplicationContext extends AbstractApplicationContext implem
 					"GenericApplicationContext does not support multiple refresh attempts: just call 'refresh' once");
 		}
 		this.beanFactory.setSerializationId(getId());
+		if (this.beanDefinitionSnapshot != null) {
+			prepareBeanDefinitionSnapshot(this.beanDefinitionSnapshot);
+		}
+	}
+
+	/**
+	 * Restore the given bean definition snapshot if it is up to date,
+	 * or register a post-processor for taking a fresh snapshot otherwise.
+	 * <p>The fingerprint is only determined if the snapshot actually exists
+	 * or is going to be written, before any bean definition processing which
+	 * might affect it (e.g. property sources activating further profiles).
+	 * A snapshot which cannot be read (e.g. written by a different version
+	 * or truncated) is treated like an outdated one.
+	 */
+	private void prepareBeanDefinitionSnapshot(Resource snapshot) {
+		String fingerprint = null;
+		if (snapshot.exists()) {
+			fingerprint = obtainBeanDefinitionSnapshotFingerprint();
+			try {
+				if (restoreBeanDefinitionSnapshot(snapshot, fingerprint)) {
+					return;
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring outdated bean definition snapshot " + snapshot);
+				}
+			}
+			catch (BeanDefinitionStoreException ex) {
+				if (logger.isWarnEnabled()) {
+					logger.warn("Ignoring invalid bean definition snapshot " + snapshot + ": " + ex);
+				}
+			}
+		}
+
+		if (snapshot instanceof WritableResource) {
+			if (fingerprint == null) {
+				fingerprint = obtainBeanDefinitionSnapshotFingerprint();
+			}
+			addBeanFactoryPostProcessor(new SnapshotWritingPostProcessor(
+					(WritableResource) snapshot, fingerprint, this.beanFactory.getBeanDefinitionNames()));
+		}
+	}
+
+	/**
+	 * Restore the given snapshot if its fingerprint matches, reading it completely
+	 * before registering any of its bean definitions with the bean factory.
+	 */
+	private boolean restoreBeanDefinitionSnapshot(Resource snapshot, String fingerprint) {
+		// Staging registry which preserves the registration order of the snapshot
+		DefaultListableBeanFactory snapshotRegistry = new DefaultListableBeanFactory();
+		SnapshotBeanDefinitionReader reader = new SnapshotBeanDefinitionReader(snapshotRegistry);
+		reader.setBeanClassLoader(getClassLoader());
+		reader.setResourceLoader(this);
+		reader.setEnvironment(getEnvironment());
+		if (!fingerprint.equals(reader.readFingerprint(snapshot))) {
+			return false;
+		}
+		int count = reader.loadBeanDefinitions(snapshot);
+		for (String beanName : snapshotRegistry.getBeanDefinitionNames()) {
+			if (this.beanFactory.containsBeanDefinition(beanName)) {
+				this.beanFactory.removeBeanDefinition(beanName);
+			}
+			this.beanFactory.registerBeanDefinition(beanName, snapshotRegistry.getBeanDefinition(beanName));
+			for (String alias : snapshotRegistry.getAliases(beanName)) {
+				this.beanFactory.registerAlias(beanName, alias);
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Restored " + count + " bean definitions from snapshot " + snapshot);
+		}
+		return true;
+	}
+
+	private String obtainBeanDefinitionSnapshotFingerprint() {
+		try {
+			return determineBeanDefinitionSnapshotFingerprint();
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException("Failed to determine bean definition snapshot fingerprint", ex);
+		}
+	}
+
+	/**
+	 * Determine the fingerprint for the bean definition snapshot of the current
+	 * refresh: A restored snapshot is only considered as up to date if its
+	 * fingerprint matches.
+	 * <p>The default implementation derives the fingerprint from the active and
+	 * default profiles as well as from the {@link #setBeanDefinitionSnapshotFingerprint
+	 * explicit fingerprint}, if specified. Otherwise, it includes the location,
+	 * size and last-modified timestamp of all class path entries visible to this
+	 * context's ClassLoader: a single file check per archive, whereas class path
+	 * directories get traversed. Subclasses may override this in order to include
+	 * further state that bean definition processing depends on.
+	 * @return the fingerprint (never {@code null})
+	 * @throws IOException if class path entries cannot be accessed
+	 * @since 5.1.18
+	 * @see #setBeanDefinitionSnapshot
+	 */
+	protected String determineBeanDefinitionSnapshotFingerprint() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append(StringUtils.arrayToCommaDelimitedString(getEnvironment().getActiveProfiles())).append(';');
+		sb.append(StringUtils.arrayToCommaDelimitedString(getEnvironment().getDefaultProfiles())).append(';');
+		if (this.beanDefinitionSnapshotFingerprint != null) {
+			sb.append(this.beanDefinitionSnapshotFingerprint);
+			return DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8));
+		}
+		Set<String> classPathEntries = new LinkedHashSet<>();
+		ClassLoader classLoader = getClassLoader();
+		while (classLoader != null) {
+			if (classLoader instanceof URLClassLoader) {
+				for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+					classPathEntries.add(url.toString());
+				}
+			}
+			classLoader = classLoader.getParent();
+		}
+		String javaClassPath = System.getProperty("java.class.path");
+		if (javaClassPath != null) {
+			for (String entry : StringUtils.tokenizeToStringArray(javaClassPath, File.pathSeparator)) {
+				classPathEntries.add(new File(entry).toURI().toString());
+			}
+		}
+		// Leave out the snapshot itself, in case of it being written to a class path directory
+		File snapshotFile = (this.beanDefinitionSnapshot != null && this.beanDefinitionSnapshot.isFile() ?
+				this.beanDefinitionSnapshot.getFile().getAbsoluteFile() : null);
+		for (String entry : classPathEntries) {
+			sb.append(entry).append(';');
+			if (entry.startsWith(ResourceUtils.FILE_URL_PREFIX)) {
+				appendFileFingerprint(ResourceUtils.getFile(entry).getAbsoluteFile(), snapshotFile, sb);
+			}
+		}
+		return DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void appendFileFingerprint(File file, @Nullable File excludedFile, StringBuilder sb) {
+		if (file.isDirectory()) {
+			File[] files = file.listFiles();
+			if (files != null) {
+				Arrays.sort(files);
+				for (File child : files) {
+					if (!child.equals(excludedFile)) {
+						sb.append(child.getName()).append('/');
+						appendFileFingerprint(child, excludedFile, sb);
+					}
+				}
+			}
+		}
+		else {
+			sb.append(file.length()).append(':').append(file.lastModified()).append(';');
+		}
 	}
 
 	@Override
@@ -474,4 +702,114 @@ public class GenericApplicationContext extends AbstractApplicationContext implem
 		}
 	}
 
+
+	/**
+	 * Post-processor taking a bean definition snapshot once the bean definitions
+	 * have been registered, before any further post-processing such as enhancement
+	 * of configuration classes or resolution of placeholders has happened.
+	 * <p>Bean definitions registered by post-processors which get applied again on
+	 * restore (i.e. context-level post-processors as well as {@link Ordered} and
+	 * regular registry post-processors) are excluded from the snapshot: The snapshot
+	 * gets taken after {@link PriorityOrdered} registry post-processors such as
+	 * {@link org.springframework.context.annotation.ConfigurationClassPostProcessor}.
+	 */
+	private class SnapshotWritingPostProcessor implements BeanDefinitionRegistryPostProcessor {
+
+		private final WritableResource snapshot;
+
+		private final String fingerprint;
+
+		private final Set<String> initialBeanNames;
+
+		public SnapshotWritingPostProcessor(WritableResource snapshot, String fingerprint, String[] initialBeanNames) {
+			this.snapshot = snapshot;
+			this.fingerprint = fingerprint;
+			this.initialBeanNames = new HashSet<>(Arrays.asList(initialBeanNames));
+		}
+
+		@Override
+		public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+			// Registered by context-level post-processors which will run again on restore
+			Set<String> excludedBeanNames = new LinkedHashSet<>();
+			for (String beanName : registry.getBeanDefinitionNames()) {
+				if (!this.initialBeanNames.contains(beanName)) {
+					excludedBeanNames.add(beanName);
+				}
+			}
+			RootBeanDefinition capturingDef = new RootBeanDefinition(SnapshotCapturingPostProcessor.class,
+					() -> new SnapshotCapturingPostProcessor(excludedBeanNames));
+			capturingDef.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+			registry.registerBeanDefinition(SnapshotCapturingPostProcessor.BEAN_NAME, capturingDef);
+		}
+
+		@Override
+		public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+		}
+
+		private void writeSnapshot(Set<String> excludedBeanNames) {
+			SnapshotBeanDefinitionWriter writer = new SnapshotBeanDefinitionWriter(
+					GenericApplicationContext.this.beanFactory);
+			writer.setFingerprint(this.fingerprint);
+			writer.setExcludedBeanNames(StringUtils.toStringArray(excludedBeanNames));
+			try (OutputStream out = this.snapshot.getOutputStream()) {
+				int count = writer.writeBeanDefinitions(out);
+				if (logger.isDebugEnabled()) {
+					logger.debug("Written " + count + " bean definitions to snapshot " + this.snapshot);
+				}
+			}
+			catch (IOException | BeanDefinitionStoreException ex) {
+				if (logger.isInfoEnabled()) {
+					logger.info("Failed to write bean definition snapshot " + this.snapshot + ": " + ex);
+				}
+				deleteSnapshot();
+			}
+		}
+
+		private void deleteSnapshot() {
+			try {
+				if (this.snapshot.isFile()) {
+					Files.deleteIfExists(this.snapshot.getFile().toPath());
+				}
+			}
+			catch (IOException ex) {
+				logger.debug("Failed to delete incomplete bean definition snapshot", ex);
+			}
+		}
+
+
+		/**
+		 * Takes the snapshot as the first {@code Ordered} registry post-processor,
+		 * i.e. after all {@code PriorityOrdered} registry post-processors and in
+		 * particular after configuration class processing. Removes its own bean
+		 * definition once the snapshot has been taken.
+		 */
+		private class SnapshotCapturingPostProcessor implements BeanDefinitionRegistryPostProcessor, Ordered {
+
+			static final String BEAN_NAME =
+					"org.springframework.context.support.GenericApplicationContext.snapshotCapturingPostProcessor";
+
+			private final Set<String> excludedBeanNames;
+
+			public SnapshotCapturingPostProcessor(Set<String> excludedBeanNames) {
+				this.excludedBeanNames = excludedBeanNames;
+			}
+
+			@Override
+			public int getOrder() {
+				return Ordered.HIGHEST_PRECEDENCE;
+			}
+
+			@Override
+			public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+				this.excludedBeanNames.add(BEAN_NAME);
+				writeSnapshot(this.excludedBeanNames);
+				registry.removeBeanDefinition(BEAN_NAME);
+			}
+
+			@Override
+			public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+			}
+		}
+	}
+
 }
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.beans.factory.support.SnapshotBeanDefinitionReader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for restoring configuration class processing results from a
+ * bean definition snapshot.
+ *
+ * @author Tobias Lindqvist
+ */
+public class BeanDefinitionSnapshotTests {
+
+	private File snapshotFile;
+
+
+	@Before
+	public void setup() throws IOException {
+		this.snapshotFile = File.createTempFile("beanDefinitions", ".snapshot");
+		assertTrue(this.snapshotFile.delete());
+		CountingCondition.count.set(0);
+	}
+
+	@After
+	public void cleanup() {
+		this.snapshotFile.delete();
+	}
+
+
+	@Test
+	public void snapshotWrittenAndRestored() {
+		AnnotationConfigApplicationContext ctx = createContext();
+		ctx.refresh();
+		assertConfigurationApplied(ctx);
+		Set<String> beanNames = new HashSet<>(Arrays.asList(ctx.getBeanDefinitionNames()));
+		ctx.close();
+		assertTrue(this.snapshotFile.exists());
+		assertEquals(1, CountingCondition.count.get());
+
+		ctx = createContext();
+		ctx.refresh();
+		assertConfigurationApplied(ctx);
+		assertEquals(beanNames, new HashSet<>(Arrays.asList(ctx.getBeanDefinitionNames())));
+		ctx.close();
+		assertEquals("Conditions must not be evaluated again", 1, CountingCondition.count.get());
+	}
+
+	@Test
+	public void outdatedSnapshotIgnored() {
+		AnnotationConfigApplicationContext ctx = createContext();
+		ctx.refresh();
+		ctx.close();
+
+		ctx = createContext();
+		ctx.getEnvironment().setActiveProfiles("other");
+		ctx.refresh();
+		assertConfigurationApplied(ctx);
+		ctx.close();
+		assertEquals(2, CountingCondition.count.get());
+	}
+
+	@Test
+	public void snapshotOfOtherVersionRewritten() throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(this.snapshotFile))) {
+			out.writeInt(0x53424453);  // snapshot magic number
+			out.writeShort(1);
+		}
+
+		AnnotationConfigApplicationContext ctx = createContext();
+		ctx.refresh();
+		assertConfigurationApplied(ctx);
+		ctx.close();
+		assertEquals(1, CountingCondition.count.get());
+
+		ctx = createContext();
+		ctx.refresh();
+		assertConfigurationApplied(ctx);
+		ctx.close();
+		assertEquals("Conditions must not be evaluated again", 1, CountingCondition.count.get());
+	}
+
+	@Test
+	public void truncatedSnapshotRewritten() throws IOException {
+		AnnotationConfigApplicationContext ctx = createContext();
+		ctx.refresh();
+		Set<String> beanNames = new HashSet<>(Arrays.asList(ctx.getBeanDefinitionNames()));
+		ctx.close();
+		byte[] content = Files.readAllBytes(this.snapshotFile.toPath());
+		Files.write(this.snapshotFile.toPath(), Arrays.copyOf(content, content.length / 2));
+
+		ctx = createContext();
+		ctx.refresh();
+		assertConfigurationApplied(ctx);
+		assertEquals(beanNames, new HashSet<>(Arrays.asList(ctx.getBeanDefinitionNames())));
+		ctx.close();
+		assertEquals(2, CountingCondition.count.get());
+		assertArrayEquals(content, Files.readAllBytes(this.snapshotFile.toPath()));
+	}
+
+	@Test
+	public void definitionTypesRestored() {
+		AnnotationConfigApplicationContext ctx = createContext();
+		ctx.refresh();
+		ctx.close();
+
+		ctx = createContext();
+		ctx.refresh();
+		assertTrue(ctx.getBeanDefinition("beanDefinitionSnapshotTests.SnapshotConfig") instanceof AnnotatedBeanDefinition);
+		AnnotatedBeanDefinition beanMethodDefinition = (AnnotatedBeanDefinition) ctx.getBeanDefinition("testBean");
+		assertNotNull(beanMethodDefinition.getFactoryMethodMetadata());
+		assertEquals("testBean", beanMethodDefinition.getFactoryMethodMetadata().getMethodName());
+		ctx.close();
+	}
+
+	@Test
+	public void snapshotRestoredWithAdditionalConfigurationClass() {
+		AnnotationConfigApplicationContext ctx = createContext();
+		ctx.refresh();
+		ctx.close();
+
+		ctx = createContext();
+		ctx.register(AdditionalConfig.class);
+		ctx.refresh();
+		assertConfigurationApplied(ctx);
+		assertEquals("additional", ctx.getBean("additionalBean", TestBean.class).getName());
+		ctx.close();
+		assertEquals("Conditions must not be evaluated again", 1, CountingCondition.count.get());
+	}
+
+	@Test
+	public void registrationsByPostProcessorsExcluded() {
+		AnnotationConfigApplicationContext ctx = createContext();
+		ctx.register(RegistrarConfig.class);
+		ctx.refresh();
+		assertTrue(ctx.containsBeanDefinition("registeredBean"));
+		ctx.close();
+
+		DefaultListableBeanFactory bf = new DefaultListableBeanFactory();
+		new SnapshotBeanDefinitionReader(bf).loadBeanDefinitions(new FileSystemResource(this.snapshotFile));
+		assertTrue(bf.containsBeanDefinition("testBean"));
+		assertTrue(bf.containsBeanDefinition("registeringPostProcessor"));
+		assertFalse(bf.containsBeanDefinition("registeredBean"));
+
+		ctx = createContext();
+		ctx.register(RegistrarConfig.class);
+		ctx.refresh();
+		assertConfigurationApplied(ctx);
+		assertNotNull(ctx.getBean("registeredBean", TestBean.class));
+		ctx.close();
+	}
+
+	private AnnotationConfigApplicationContext createContext() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(SnapshotConfig.class);
+		ctx.setBeanDefinitionSnapshot(new FileSystemResource(this.snapshotFile));
+		return ctx;
+	}
+
+	private void assertConfigurationApplied(AnnotationConfigApplicationContext ctx) {
+		assertEquals("p1TestBean", ctx.getBean("testBean", TestBean.class).getName());
+		assertEquals("p1Value", ctx.getBean(SnapshotConfig.class).fromP1);
+		assertSame(ctx.getBean("testBean"), ctx.getBean(SnapshotConfig.class).testBean("other"));
+		assertNotNull(ctx.getBean("conditionalBean"));
+		AnnotationMetadata importMetadata = ctx.getBean(ImportedConfig.class).importMetadata;
+		assertNotNull(importMetadata);
+		assertEquals(SnapshotConfig.class.getName(), importMetadata.getClassName());
+	}
+
+
+	@Configuration
+	@Import(ImportedConfig.class)
+	@PropertySource("classpath:org/springframework/context/annotation/p1.properties")
+	static class SnapshotConfig {
+
+		@Value("${from.p1}")
+		String fromP1;
+
+		@Bean
+		public TestBean testBean(@Value("${testbean.name}") String name) {
+			return new TestBean(name);
+		}
+
+		@Bean
+		@Conditional(CountingCondition.class)
+		public Object conditionalBean() {
+			return new Object();
+		}
+	}
+
+
+	@Configuration
+	static class ImportedConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+	}
+
+
+	@Configuration
+	static class AdditionalConfig {
+
+		@Bean
+		public TestBean additionalBean() {
+			return new TestBean("additional");
+		}
+	}
+
+
+	@Configuration
+	static class RegistrarConfig {
+
+		@Bean
+		public static BeanDefinitionRegistryPostProcessor registeringPostProcessor() {
+			return new BeanDefinitionRegistryPostProcessor() {
+				@Override
+				public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+					registry.registerBeanDefinition("registeredBean", new RootBeanDefinition(TestBean.class));
+				}
+				@Override
+				public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+				}
+			};
+		}
+	}
+
+
+	static class CountingCondition implements Condition {
+
+		static final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			count.incrementAndGet();
+			return true;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,7 +23,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.junit.Test;
 
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.ReflectionUtils;
 
 import static org.junit.Assert.*;
@@ -64,6 +67,42 @@ public class CachedExpressionEvaluatorTests {
 		assertEquals("Cached expression should be based on type", 2, expressionEvaluator.testCache.size());
 	}
 
+	@Test
+	public void parseExpressionPerElement() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		Method otherMethod = ReflectionUtils.findMethod(getClass(), "hashCode");
+		Expression expression = expressionEvaluator.getTestExpression("true", method, getClass());
+		assertNotSame(expression, expressionEvaluator.getTestExpression("true", otherMethod, getClass()));
+		verify(expressionEvaluator.getParser(), times(2)).parseExpression("true");
+	}
+
+	@Test
+	public void compileExpressionPerElement() {
+		TestExpressionEvaluator evaluator = new TestExpressionEvaluator(new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader())));
+		Method method = ReflectionUtils.findMethod(getClass(), "a", String.class);
+		Method otherMethod = ReflectionUtils.findMethod(getClass(), "b", StringBuilder.class);
+		StandardEvaluationContext context = new StandardEvaluationContext();
+
+		context.setVariable("x", "ab");
+		Expression expression = evaluator.getTestExpression("#x.length()", method, getClass());
+		assertEquals(2, expression.getValue(context));
+		assertEquals(2, expression.getValue(context));
+
+		context.setVariable("x", new StringBuilder("ab"));
+		Expression otherExpression = evaluator.getTestExpression("#x.length()", otherMethod, getClass());
+		assertEquals(2, otherExpression.getValue(context));
+		assertEquals(2, otherExpression.getValue(context));
+	}
+
+	int a(String x) {
+		return x.length();
+	}
+
+	int b(StringBuilder x) {
+		return x.length();
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
@@ -73,7 +112,11 @@ public class CachedExpressionEvaluatorTests {
 		private final Map<ExpressionKey, Expression> testCache = new ConcurrentHashMap<>();
 
 		public TestExpressionEvaluator() {
-			super(mockSpelExpressionParser());
+			this(mockSpelExpressionParser());
+		}
+
+		public TestExpressionEvaluator(SpelExpressionParser parser) {
+			super(parser);
 		}
 
 		public Expression getTestExpression(String expression, Method method, Class<?> type) {
@@ -16,12 +16,18 @@
 
 package org.springframework.context.support;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.Test;
 
+import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.metrics.FlameGraphApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.ObjectUtils;
 
 import static org.junit.Assert.*;
@@ -215,6 +221,62 @@ public class GenericApplicationContextTests {
 		assertSame(context.getBean(BeanC.class), context.getBeansOfType(BeanC.class).values().iterator().next());
 	}
 
+	@Test
+	public void refreshWithApplicationStartup() {
+		FlameGraphApplicationStartup startup = new FlameGraphApplicationStartup();
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.setApplicationStartup(startup);
+		context.registerBean("a", BeanA.class);
+		context.registerBean("b", BeanB.class);
+		context.registerBean("c", BeanC.class);
+		context.refresh();
+
+		assertSame(startup, context.getBeanFactory().getApplicationStartup());
+		Map<String, StartupStep> stepsByBeanName = new HashMap<>();
+		StartupStep contextRefresh = null;
+		for (StartupStep step : startup.getRecordedSteps()) {
+			if (step.getName().equals("spring.context.refresh")) {
+				contextRefresh = step;
+			}
+			else if (step.getName().equals("spring.beans.instantiate")) {
+				stepsByBeanName.put(step.getTags().iterator().next().getValue(), step);
+			}
+		}
+		assertNotNull(contextRefresh);
+		assertEquals(stepsByBeanName.get("a").getId(), stepsByBeanName.get("b").getParentId().longValue());
+		assertEquals(stepsByBeanName.get("a").getId(), stepsByBeanName.get("c").getParentId().longValue());
+		assertTrue(startup.getRecordedSteps().stream().anyMatch(step ->
+				step.getName().equals("spring.beans.post-process.before-initialization") &&
+				step.getTags().iterator().next().getValue().equals(ApplicationContextAwareProcessor.class.getName())));
+	}
+
+	@Test
+	public void failedRefreshWithApplicationStartup() {
+		FlameGraphApplicationStartup startup = new FlameGraphApplicationStartup();
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.setApplicationStartup(startup);
+		context.registerBean("failing", FailingBean.class);
+		try {
+			context.refresh();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			// expected
+		}
+
+		assertTrue(startup.getRecordedSteps().stream().anyMatch(step ->
+				step.getName().equals("spring.context.refresh")));
+		assertNull("All steps need to be ended", startup.start("next").getParentId());
+	}
+
+
+	static class FailingBean {
+
+		public FailingBean() {
+			throw new IllegalStateException("Expected");
+		}
+	}
+
 
 	static class BeanA {
 
@@ -261,7 +261,8 @@ public abstract class AnnotatedElementUtils {
 		if (element.isAnnotationPresent(annotationType)) {
 			return true;
 		}
-		return Boolean.TRUE.equals(searchWithGetSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
+		return Boolean.TRUE.equals(MergedAnnotationIndex.get(element, MergedAnnotationIndex.Lookup.IS_ANNOTATED,
+				annotationType, (ae, type) -> searchWithGetSemantics(ae, type, null, alwaysTrueAnnotationProcessor)));
 	}
 
 	/**
@@ -301,6 +302,15 @@ public abstract class AnnotatedElementUtils {
 	public static AnnotationAttributes getMergedAnnotationAttributes(
 			AnnotatedElement element, Class<? extends Annotation> annotationType) {
 
+		return MergedAnnotationIndex.copyAttributes(MergedAnnotationIndex.get(element,
+				MergedAnnotationIndex.Lookup.GET_MERGED_ATTRIBUTES, annotationType,
+				AnnotatedElementUtils::doGetMergedAnnotationAttributes));
+	}
+
+	@Nullable
+	private static AnnotationAttributes doGetMergedAnnotationAttributes(
+			AnnotatedElement element, Class<? extends Annotation> annotationType) {
+
 		AnnotationAttributes attributes = searchWithGetSemantics(element, annotationType, null,
 				new MergedAnnotationAttributesProcessor());
 		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, false, false);
@@ -384,8 +394,15 @@ public abstract class AnnotatedElementUtils {
 	 * @see #findMergedAnnotation(AnnotatedElement, Class)
 	 * @see AnnotationUtils#synthesizeAnnotation(Map, Class, AnnotatedElement)
 	 */
+	@SuppressWarnings("unchecked")
 	@Nullable
 	public static <A extends Annotation> A getMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
+		return (A) MergedAnnotationIndex.get(element, MergedAnnotationIndex.Lookup.GET_MERGED_ANNOTATION,
+				annotationType, AnnotatedElementUtils::doGetMergedAnnotation);
+	}
+
+	@Nullable
+	private static <A extends Annotation> A doGetMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		// Shortcut: directly present on the element, with no merging needed?
 		A annotation = element.getDeclaredAnnotation(annotationType);
 		if (annotation != null) {
@@ -398,7 +415,7 @@ public abstract class AnnotatedElementUtils {
 		}
 
 		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = getMergedAnnotationAttributes(element, annotationType);
+		AnnotationAttributes attributes = doGetMergedAnnotationAttributes(element, annotationType);
 		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
 	}
 
@@ -599,7 +616,8 @@ public abstract class AnnotatedElementUtils {
 		if (element.isAnnotationPresent(annotationType)) {
 			return true;
 		}
-		return Boolean.TRUE.equals(searchWithFindSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
+		return Boolean.TRUE.equals(MergedAnnotationIndex.get(element, MergedAnnotationIndex.Lookup.HAS_ANNOTATION,
+				annotationType, (ae, type) -> searchWithFindSemantics(ae, type, null, alwaysTrueAnnotationProcessor)));
 	}
 
 	/**
@@ -633,6 +651,18 @@ public abstract class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
+		if (!classValuesAsString && !nestedAnnotationsAsMap) {
+			return MergedAnnotationIndex.copyAttributes(MergedAnnotationIndex.get(element,
+					MergedAnnotationIndex.Lookup.FIND_MERGED_ATTRIBUTES, annotationType,
+					(ae, type) -> doFindMergedAnnotationAttributes(ae, type, false, false)));
+		}
+		return doFindMergedAnnotationAttributes(element, annotationType, classValuesAsString, nestedAnnotationsAsMap);
+	}
+
+	@Nullable
+	private static AnnotationAttributes doFindMergedAnnotationAttributes(AnnotatedElement element,
+			Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+
 		AnnotationAttributes attributes = searchWithFindSemantics(element, annotationType, null,
 				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
 		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
@@ -694,8 +724,15 @@ public abstract class AnnotatedElementUtils {
 	 * @see #findMergedAnnotationAttributes(AnnotatedElement, String, boolean, boolean)
 	 * @see #getMergedAnnotationAttributes(AnnotatedElement, Class)
 	 */
+	@SuppressWarnings("unchecked")
 	@Nullable
 	public static <A extends Annotation> A findMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
+		return (A) MergedAnnotationIndex.get(element, MergedAnnotationIndex.Lookup.FIND_MERGED_ANNOTATION,
+				annotationType, AnnotatedElementUtils::doFindMergedAnnotation);
+	}
+
+	@Nullable
+	private static <A extends Annotation> A doFindMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		// Shortcut: directly present on the element, with no merging needed?
 		A annotation = element.getDeclaredAnnotation(annotationType);
 		if (annotation != null) {
@@ -708,7 +745,7 @@ public abstract class AnnotatedElementUtils {
 		}
 
 		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = findMergedAnnotationAttributes(element, annotationType, false, false);
+		AnnotationAttributes attributes = doFindMergedAnnotationAttributes(element, annotationType, false, false);
 		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
 	}
 
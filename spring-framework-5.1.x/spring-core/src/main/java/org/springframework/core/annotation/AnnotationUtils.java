@@ -119,12 +119,6 @@ public abstract class AnnotationUtils {
 	 */
 	public static final String VALUE = "value";
 
-	private static final Map<AnnotationCacheKey, Annotation> findAnnotationCache =
-			new ConcurrentReferenceHashMap<>(256);
-
-	private static final Map<AnnotationCacheKey, Boolean> metaPresentCache =
-			new ConcurrentReferenceHashMap<>(256);
-
 	private static final Map<AnnotatedElement, Annotation[]> declaredAnnotationsCache =
 			new ConcurrentReferenceHashMap<>(256);
 
@@ -519,46 +513,42 @@ public abstract class AnnotationUtils {
 			return null;
 		}
 
-		AnnotationCacheKey cacheKey = new AnnotationCacheKey(method, annotationType);
-		A result = (A) findAnnotationCache.get(cacheKey);
+		return (A) MergedAnnotationIndex.get(method, MergedAnnotationIndex.Lookup.FIND_ANNOTATION, annotationType,
+				(element, type) -> doFindAnnotation((Method) element, type));
+	}
 
+	@Nullable
+	private static Annotation doFindAnnotation(Method method, Class<? extends Annotation> annotationType) {
+		Method resolvedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		Annotation result = findAnnotation((AnnotatedElement) resolvedMethod, annotationType);
 		if (result == null) {
-			Method resolvedMethod = BridgeMethodResolver.findBridgedMethod(method);
-			result = findAnnotation((AnnotatedElement) resolvedMethod, annotationType);
-			if (result == null) {
-				result = searchOnInterfaces(method, annotationType, method.getDeclaringClass().getInterfaces());
-			}
+			result = searchOnInterfaces(method, annotationType, method.getDeclaringClass().getInterfaces());
+		}
 
-			Class<?> clazz = method.getDeclaringClass();
-			while (result == null) {
-				clazz = clazz.getSuperclass();
-				if (clazz == null || clazz == Object.class) {
-					break;
-				}
-				Set<Method> annotatedMethods = getAnnotatedMethodsInBaseType(clazz);
-				if (!annotatedMethods.isEmpty()) {
-					for (Method annotatedMethod : annotatedMethods) {
-						if (isOverride(method, annotatedMethod)) {
-							Method resolvedSuperMethod = BridgeMethodResolver.findBridgedMethod(annotatedMethod);
-							result = findAnnotation((AnnotatedElement) resolvedSuperMethod, annotationType);
-							if (result != null) {
-								break;
-							}
+		Class<?> clazz = method.getDeclaringClass();
+		while (result == null) {
+			clazz = clazz.getSuperclass();
+			if (clazz == null || clazz == Object.class) {
+				break;
+			}
+			Set<Method> annotatedMethods = getAnnotatedMethodsInBaseType(clazz);
+			if (!annotatedMethods.isEmpty()) {
+				for (Method annotatedMethod : annotatedMethods) {
+					if (isOverride(method, annotatedMethod)) {
+						Method resolvedSuperMethod = BridgeMethodResolver.findBridgedMethod(annotatedMethod);
+						result = findAnnotation((AnnotatedElement) resolvedSuperMethod, annotationType);
+						if (result != null) {
+							break;
 						}
 					}
 				}
-				if (result == null) {
-					result = searchOnInterfaces(method, annotationType, clazz.getInterfaces());
-				}
 			}
-
-			if (result != null) {
-				result = synthesizeAnnotation(result, method);
-				findAnnotationCache.put(cacheKey, result);
+			if (result == null) {
+				result = searchOnInterfaces(method, annotationType, clazz.getInterfaces());
 			}
 		}
 
-		return result;
+		return (result != null ? synthesizeAnnotation(result, method) : null);
 	}
 
 	@Nullable
@@ -727,16 +717,14 @@ public abstract class AnnotationUtils {
 			return null;
 		}
 
-		AnnotationCacheKey cacheKey = new AnnotationCacheKey(clazz, annotationType);
-		A result = (A) findAnnotationCache.get(cacheKey);
-		if (result == null) {
-			result = findAnnotation(clazz, annotationType, new HashSet<>());
-			if (result != null && synthesize) {
-				result = synthesizeAnnotation(result, clazz);
-				findAnnotationCache.put(cacheKey, result);
-			}
+		if (!synthesize) {
+			return findAnnotation(clazz, annotationType, new HashSet<>());
 		}
-		return result;
+		return (A) MergedAnnotationIndex.get(clazz, MergedAnnotationIndex.Lookup.FIND_ANNOTATION, annotationType,
+				(element, type) -> {
+					Annotation result = findAnnotation((Class<?>) element, type, new HashSet<>());
+					return (result != null ? synthesizeAnnotation(result, element) : null);
+				});
 	}
 
 	/**
@@ -923,17 +911,9 @@ public abstract class AnnotationUtils {
 			return false;
 		}
 
-		AnnotationCacheKey cacheKey = new AnnotationCacheKey(annotationType, metaAnnotationType);
-		Boolean metaPresent = metaPresentCache.get(cacheKey);
-		if (metaPresent != null) {
-			return metaPresent;
-		}
-		metaPresent = Boolean.FALSE;
-		if (findAnnotation(annotationType, metaAnnotationType, false) != null) {
-			metaPresent = Boolean.TRUE;
-		}
-		metaPresentCache.put(cacheKey, metaPresent);
-		return metaPresent;
+		return Boolean.TRUE.equals(MergedAnnotationIndex.get(
+				annotationType, MergedAnnotationIndex.Lookup.META_PRESENT, metaAnnotationType,
+				(element, type) -> (findAnnotation((Class<?>) element, type, false) != null)));
 	}
 
 	/**
@@ -1980,8 +1960,7 @@ public abstract class AnnotationUtils {
 	 * @since 4.3.15
 	 */
 	public static void clearCache() {
-		findAnnotationCache.clear();
-		metaPresentCache.clear();
+		MergedAnnotationIndex.clearCache();
 		declaredAnnotationsCache.clear();
 		annotatedBaseTypeCache.clear();
 		synthesizableCache.clear();
@@ -1991,53 +1970,6 @@ public abstract class AnnotationUtils {
 	}
 
 
-	/**
-	 * Cache key for the AnnotatedElement cache.
-	 */
-	private static final class AnnotationCacheKey implements Comparable<AnnotationCacheKey> {
-
-		private final AnnotatedElement element;
-
-		private final Class<? extends Annotation> annotationType;
-
-		public AnnotationCacheKey(AnnotatedElement element, Class<? extends Annotation> annotationType) {
-			this.element = element;
-			this.annotationType = annotationType;
-		}
-
-		@Override
-		public boolean equals(Object other) {
-			if (this == other) {
-				return true;
-			}
-			if (!(other instanceof AnnotationCacheKey)) {
-				return false;
-			}
-			AnnotationCacheKey otherKey = (AnnotationCacheKey) other;
-			return (this.element.equals(otherKey.element) && this.annotationType.equals(otherKey.annotationType));
-		}
-
-		@Override
-		public int hashCode() {
-			return (this.element.hashCode() * 29 + this.annotationType.hashCode());
-		}
-
-		@Override
-		public String toString() {
-			return "@" + this.annotationType + " on " + this.element;
-		}
-
-		@Override
-		public int compareTo(AnnotationCacheKey other) {
-			int result = this.element.toString().compareTo(other.element.toString());
-			if (result == 0) {
-				result = this.annotationType.getName().compareTo(other.annotationType.getName());
-			}
-			return result;
-		}
-	}
-
-
 	private static class AnnotationCollector<A extends Annotation> {
 
 		private final Class<A> annotationType;
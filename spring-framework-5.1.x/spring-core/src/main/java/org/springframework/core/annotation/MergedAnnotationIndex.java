@@ -0,0 +1,193 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Per-element index of annotation lookup results, shared by {@link AnnotationUtils}
+ * and {@link AnnotatedElementUtils}.
+ *
+ * <p>For each {@link AnnotatedElement}, the index holds the outcome of each kind of
+ * {@link Lookup} per annotation type: the found or merged annotation (synthesized
+ * once, with {@link AliasFor @AliasFor} attributes resolved), the merged attributes,
+ * or the presence of the annotation in the element's hierarchy. Once resolved,
+ * a lookup is a plain map read without walking the annotation hierarchy again,
+ * for found as well as for absent annotations.
+ *
+ * <p>Only classes, methods, fields, constructors and parameters are indexed:
+ * Other kinds of elements (e.g. ad-hoc adapters with identity-based or costly
+ * {@code equals}/{@code hashCode} implementations) are resolved on every call.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see AnnotationUtils#clearCache()
+ */
+final class MergedAnnotationIndex {
+
+	/** Cache marker for an annotation not found on an element. */
+	private static final Object NOT_FOUND = new Object();
+
+	private static final Lookup[] LOOKUPS = Lookup.values();
+
+	private static final Map<AnnotatedElement, MergedAnnotationIndex> indexCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+
+	private final AtomicReferenceArray<Map<Class<? extends Annotation>, Object>> results =
+			new AtomicReferenceArray<>(LOOKUPS.length);
+
+
+	private MergedAnnotationIndex() {
+	}
+
+
+	/**
+	 * Return the result of the given lookup on the given element, resolving
+	 * it through the given function on first access.
+	 * @param element the annotated element
+	 * @param lookup the kind of lookup
+	 * @param annotationType the annotation type to look for
+	 * @param resolver the function performing the actual lookup, to be invoked
+	 * with the given element and annotation type if not resolved before
+	 * @return the lookup result, or {@code null} if not found
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	static <T> T get(AnnotatedElement element, Lookup lookup, Class<? extends Annotation> annotationType,
+			BiFunction<AnnotatedElement, Class<? extends Annotation>, T> resolver) {
+
+		if (!isIndexable(element)) {
+			return resolver.apply(element, annotationType);
+		}
+		MergedAnnotationIndex index = indexCache.get(element);
+		if (index == null) {
+			index = new MergedAnnotationIndex();
+			MergedAnnotationIndex existing = indexCache.putIfAbsent(element, index);
+			if (existing != null) {
+				index = existing;
+			}
+		}
+		Map<Class<? extends Annotation>, Object> results = index.getResults(lookup);
+		Object result = results.get(annotationType);
+		if (result == null) {
+			result = resolver.apply(element, annotationType);
+			results.put(annotationType, (result != null ? result : NOT_FOUND));
+		}
+		return (result != NOT_FOUND ? (T) result : null);
+	}
+
+	/**
+	 * Return a copy of the given merged attributes as held in the index,
+	 * for a caller to use and potentially modify independently.
+	 * @param attributes the merged attributes from the index
+	 * @return the copied attributes, or {@code null} if none given
+	 */
+	@Nullable
+	static AnnotationAttributes copyAttributes(@Nullable AnnotationAttributes attributes) {
+		if (attributes == null) {
+			return null;
+		}
+		AnnotationAttributes copy = new AnnotationAttributes(attributes);
+		for (Map.Entry<String, Object> entry : copy.entrySet()) {
+			Object value = entry.getValue();
+			if (ObjectUtils.isArray(value)) {
+				int length = Array.getLength(value);
+				Object array = Array.newInstance(value.getClass().getComponentType(), length);
+				System.arraycopy(value, 0, array, 0, length);
+				entry.setValue(array);
+			}
+		}
+		return copy;
+	}
+
+	/**
+	 * Determine whether lookup results for the given element may be indexed.
+	 * @param element the annotated element
+	 * @return {@code true} for a class, method, field, constructor or parameter
+	 */
+	static boolean isIndexable(AnnotatedElement element) {
+		return (element instanceof Class || element instanceof Method || element instanceof Field ||
+				element instanceof Constructor || element instanceof Parameter);
+	}
+
+	/**
+	 * Clear the index for all elements.
+	 */
+	static void clearCache() {
+		indexCache.clear();
+	}
+
+
+	private Map<Class<? extends Annotation>, Object> getResults(Lookup lookup) {
+		int slot = lookup.ordinal();
+		Map<Class<? extends Annotation>, Object> results = this.results.get(slot);
+		if (results == null) {
+			results = new ConcurrentHashMap<>(4);
+			if (!this.results.compareAndSet(slot, null, results)) {
+				results = this.results.get(slot);
+			}
+		}
+		return results;
+	}
+
+
+	/**
+	 * The kinds of lookups held in the index.
+	 */
+	enum Lookup {
+
+		/** {@link AnnotationUtils#findAnnotation} on a class or method. */
+		FIND_ANNOTATION,
+
+		/** {@link AnnotationUtils#isAnnotationMetaPresent}. */
+		META_PRESENT,
+
+		/** {@link AnnotatedElementUtils#isAnnotated(AnnotatedElement, Class)}. */
+		IS_ANNOTATED,
+
+		/** {@link AnnotatedElementUtils#hasAnnotation(AnnotatedElement, Class)}. */
+		HAS_ANNOTATION,
+
+		/** {@link AnnotatedElementUtils#getMergedAnnotationAttributes(AnnotatedElement, Class)}. */
+		GET_MERGED_ATTRIBUTES,
+
+		/** {@link AnnotatedElementUtils#getMergedAnnotation(AnnotatedElement, Class)}. */
+		GET_MERGED_ANNOTATION,
+
+		/** {@link AnnotatedElementUtils#findMergedAnnotationAttributes} with default flags. */
+		FIND_MERGED_ATTRIBUTES,
+
+		/** {@link AnnotatedElementUtils#findMergedAnnotation(AnnotatedElement, Class)}. */
+		FIND_MERGED_ANNOTATION
+	}
+
+}
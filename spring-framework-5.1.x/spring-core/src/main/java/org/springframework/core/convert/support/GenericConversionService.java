@@ -17,7 +17,9 @@
 package org.springframework.core.convert.support;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -27,7 +29,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.core.CollectionFactory;
 import org.springframework.core.DecoratingProxy;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionException;
@@ -78,6 +82,39 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+	/** Cache for plain class-based type pairs, keyed by source class and target class. */
+	private final Map<Class<?>, Map<Class<?>, GenericConverter>> plainTypeConverterCache =
+			new ConcurrentReferenceHashMap<>(64);
+
+	private volatile boolean compileConverters = false;
+
+
+	/**
+	 * Set whether converters should be compiled for each source/target type pair
+	 * that this conversion service encounters. Default is "false".
+	 * <p>Switch this flag to "true" in order to specialize array and collection
+	 * converters for their element types: with a known and final source element
+	 * type, the element converter gets resolved once per type pair instead of once
+	 * per element, without any {@link TypeDescriptor} allocation per element.
+	 * Conversions between plain class-based types are furthermore cached by class,
+	 * avoiding the creation of a cache key per conversion call.
+	 * <p>Compilation happens on first use of a type pair, with compiled converters
+	 * held in the converter cache for as long as the pair remains in use.
+	 * @since 5.1.18
+	 */
+	public void setCompileConverters(boolean compileConverters) {
+		this.compileConverters = compileConverters;
+		invalidateCache();
+	}
+
+	/**
+	 * Return whether converters get compiled for each source/target type pair.
+	 * @since 5.1.18
+	 */
+	public boolean isCompileConverters() {
+		return this.compileConverters;
+	}
+
 
 	// ConverterRegistry implementation
 
@@ -251,24 +288,36 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 */
 	@Nullable
 	protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
-		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
-		GenericConverter converter = this.converterCache.get(key);
-		if (converter != null) {
-			return (converter != NO_MATCH ? converter : null);
+		Map<Class<?>, GenericConverter> plainTypeConverters = null;
+		if (this.compileConverters && isPlainType(sourceType) && isPlainType(targetType)) {
+			plainTypeConverters = this.plainTypeConverterCache.computeIfAbsent(
+					sourceType.getType(), type -> new ConcurrentHashMap<>(8));
+			GenericConverter converter = plainTypeConverters.get(targetType.getType());
+			if (converter != null) {
+				return (converter != NO_MATCH ? converter : null);
+			}
 		}
 
-		converter = this.converters.find(sourceType, targetType);
+		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
+		GenericConverter converter = this.converterCache.get(key);
 		if (converter == null) {
-			converter = getDefaultConverter(sourceType, targetType);
-		}
-
-		if (converter != null) {
+			converter = this.converters.find(sourceType, targetType);
+			if (converter == null) {
+				converter = getDefaultConverter(sourceType, targetType);
+			}
+			if (converter != null && this.compileConverters) {
+				converter = compileConverter(converter, sourceType, targetType);
+			}
+			if (converter == null) {
+				converter = NO_MATCH;
+			}
 			this.converterCache.put(key, converter);
-			return converter;
 		}
 
-		this.converterCache.put(key, NO_MATCH);
-		return null;
+		if (plainTypeConverters != null) {
+			plainTypeConverters.put(targetType.getType(), converter);
+		}
+		return (converter != NO_MATCH ? converter : null);
 	}
 
 	/**
@@ -304,6 +353,67 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private void invalidateCache() {
 		this.converterCache.clear();
+		this.plainTypeConverterCache.clear();
+	}
+
+	/**
+	 * Determine whether the given type descriptor is fully defined by its class,
+	 * i.e. neither declares generics (including an array's component type,
+	 * e.g. {@code List<Integer>[]}) nor carries annotations.
+	 */
+	private static boolean isPlainType(TypeDescriptor typeDescriptor) {
+		if (typeDescriptor.getAnnotations().length != 0) {
+			return false;
+		}
+		ResolvableType type = typeDescriptor.getResolvableType();
+		Class<?> clazz = typeDescriptor.getType();
+		while (type.getType() == clazz) {
+			if (!clazz.isArray()) {
+				return true;
+			}
+			type = type.getComponentType();
+			clazz = clazz.getComponentType();
+		}
+		return false;
+	}
+
+	/**
+	 * Compile the given converter for the given source/target type pair, if possible.
+	 * @return the compiled converter, or the given converter as-is
+	 */
+	private GenericConverter compileConverter(
+			GenericConverter converter, TypeDescriptor sourceType, TypeDescriptor targetType) {
+
+		boolean array = (converter instanceof ArrayToArrayConverter);
+		if (!array && !(converter instanceof CollectionToCollectionConverter)) {
+			return converter;
+		}
+		TypeDescriptor sourceElementType = sourceType.getElementTypeDescriptor();
+		TypeDescriptor targetElementType = targetType.getElementTypeDescriptor();
+		if (sourceElementType == null || targetElementType == null) {
+			return converter;
+		}
+		if (array && canBypassConvert(sourceElementType, targetElementType)) {
+			return new CompiledElementConverter(converter, true, true,
+					sourceElementType.getType(), sourceElementType, targetElementType, NO_OP_CONVERTER);
+		}
+
+		// Elements of a final type all narrow to the same element type descriptor
+		Class<?> sourceElementClass = sourceElementType.getType();
+		if (sourceElementClass.isPrimitive()) {
+			sourceElementClass = ClassUtils.resolvePrimitiveIfNecessary(sourceElementClass);
+			sourceElementType = new TypeDescriptor(ResolvableType.forClass(sourceElementClass),
+					sourceElementClass, sourceElementType.getAnnotations());
+		}
+		else if (!Modifier.isFinal(sourceElementClass.getModifiers())) {
+			return converter;
+		}
+		GenericConverter elementConverter = getConverter(sourceElementType, targetElementType);
+		if (elementConverter == null) {
+			return converter;
+		}
+		return new CompiledElementConverter(converter, array, false,
+				sourceElementClass, sourceElementType, targetElementType, elementConverter);
 	}
 
 	@Nullable
@@ -443,6 +553,107 @@ public class GenericConversionService implements ConfigurableConversionService {
 	}
 
 
+	/**
+	 * Array or collection converter compiled for a specific source/target type pair,
+	 * with the element converter resolved upfront.
+	 */
+	private final class CompiledElementConverter implements GenericConverter {
+
+		private final GenericConverter converter;
+
+		private final boolean array;
+
+		/** Whether the source can be returned as-is. */
+		private final boolean bypass;
+
+		private final Class<?> sourceElementClass;
+
+		private final TypeDescriptor sourceElementType;
+
+		private final TypeDescriptor targetElementType;
+
+		private final GenericConverter elementConverter;
+
+		public CompiledElementConverter(GenericConverter converter, boolean array, boolean bypass,
+				Class<?> sourceElementClass, TypeDescriptor sourceElementType,
+				TypeDescriptor targetElementType, GenericConverter elementConverter) {
+
+			this.converter = converter;
+			this.array = array;
+			this.bypass = bypass;
+			this.sourceElementClass = sourceElementClass;
+			this.sourceElementType = sourceElementType;
+			this.targetElementType = targetElementType;
+			this.elementConverter = elementConverter;
+		}
+
+		@Override
+		@Nullable
+		public Set<ConvertiblePair> getConvertibleTypes() {
+			return this.converter.getConvertibleTypes();
+		}
+
+		@Override
+		@Nullable
+		public Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			if (source == null) {
+				return this.converter.convert(null, sourceType, targetType);
+			}
+			if (this.bypass) {
+				return source;
+			}
+			return (this.array ? convertArray(source, sourceType) : convertCollection(source, sourceType, targetType));
+		}
+
+		private Object convertArray(Object source, TypeDescriptor sourceType) {
+			int length = Array.getLength(source);
+			Object target = Array.newInstance(this.targetElementType.getType(), length);
+			for (int i = 0; i < length; i++) {
+				Array.set(target, i, convertElement(Array.get(source, i), sourceType));
+			}
+			return target;
+		}
+
+		private Object convertCollection(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			Collection<?> sourceCollection = (Collection<?>) source;
+
+			// Shortcut if possible...
+			boolean copyRequired = !targetType.getType().isInstance(source);
+			if (!copyRequired && (sourceCollection.isEmpty() || this.elementConverter == NO_OP_CONVERTER)) {
+				return source;
+			}
+
+			Collection<Object> target = CollectionFactory.createCollection(targetType.getType(),
+					this.targetElementType.getType(), sourceCollection.size());
+			for (Object sourceElement : sourceCollection) {
+				Object targetElement = convertElement(sourceElement, sourceType);
+				target.add(targetElement);
+				if (sourceElement != targetElement) {
+					copyRequired = true;
+				}
+			}
+			return (copyRequired ? target : source);
+		}
+
+		@Nullable
+		private Object convertElement(@Nullable Object sourceElement, TypeDescriptor sourceType) {
+			if (sourceElement != null && sourceElement.getClass() != this.sourceElementClass) {
+				// Unexpected element type (e.g. through unchecked generics): regular conversion
+				return GenericConversionService.this.convert(
+						sourceElement, sourceType.elementTypeDescriptor(sourceElement), this.targetElementType);
+			}
+			Object result = ConversionUtils.invokeConverter(
+					this.elementConverter, sourceElement, this.sourceElementType, this.targetElementType);
+			return handleResult(this.sourceElementType, this.targetElementType, result);
+		}
+
+		@Override
+		public String toString() {
+			return "compiled " + this.converter;
+		}
+	}
+
+
 	/**
 	 * Key for use with the converter cache.
 	 */
@@ -109,8 +109,7 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
 
 	private final MutablePropertySources propertySources = new MutablePropertySources();
 
-	private final ConfigurablePropertyResolver propertyResolver =
-			new PropertySourcesPropertyResolver(this.propertySources);
+	private final ConfigurablePropertyResolver propertyResolver;
 
 
 	/**
@@ -121,10 +120,38 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
 	 * @see #customizePropertySources(MutablePropertySources)
 	 */
 	public AbstractEnvironment() {
+		this.propertyResolver = createPropertyResolver(this.propertySources);
 		customizePropertySources(this.propertySources);
 	}
 
 
+	/**
+	 * Factory method used to create the {@link ConfigurablePropertyResolver}
+	 * instance used by the Environment.
+	 * <p>The default implementation creates a {@link PropertySourcesPropertyResolver}.
+	 * Subclasses may return a {@link CachingPropertySourcesPropertyResolver} instead,
+	 * memoizing lookup results for a stable set of property sources.
+	 * <p>Note that this method is invoked during construction of the Environment:
+	 * implementations must not rely on any state of the subclass instance.
+	 * @param propertySources the property sources to resolve against
+	 * @since 5.1.18
+	 * @see #getPropertyResolver()
+	 */
+	protected ConfigurablePropertyResolver createPropertyResolver(MutablePropertySources propertySources) {
+		return new PropertySourcesPropertyResolver(propertySources);
+	}
+
+	/**
+	 * Return the {@link ConfigurablePropertyResolver} being used by the
+	 * Environment.
+	 * @since 5.1.18
+	 * @see #createPropertyResolver(MutablePropertySources)
+	 */
+	protected final ConfigurablePropertyResolver getPropertyResolver() {
+		return this.propertyResolver;
+	}
+
+
 	/**
 	 * Customize the set of {@link PropertySource} objects to be searched by this
 	 * {@code Environment} during calls to {@link #getProperty(String)} and related
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.env;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link PropertySourcesPropertyResolver} variant which memoizes its lookup
+ * results: resolved and converted property values as well as resolved
+ * placeholder texts. Property names contained in {@link MapPropertySource}
+ * instances are indexed on first access, so that a property lookup does not
+ * need to search through all property sources in order; other property sources
+ * (such as a {@link SystemEnvironmentPropertySource} with its name variants)
+ * are still asked individually, in their specified order.
+ *
+ * <p>Cached state is invalidated whenever the given property sources are
+ * structurally modified, as long as they are {@link MutablePropertySources}.
+ * Changes to the content of individual property sources (for example, a
+ * {@code Map} being modified in place), to the conversion service or to the
+ * placeholder syntax are not detected: {@link #clearCache()} needs to be
+ * called in such a case. This resolver is therefore meant to be used with
+ * a stable set of property sources, for example when the same properties
+ * get resolved for many prototype beans.
+ *
+ * <p>Converted values are only cached for immutable target types (strings,
+ * primitive wrappers and enums); other target types get converted from the
+ * cached property value on every access, not sharing a mutable result object.
+ *
+ * <p>An {@link AbstractEnvironment} can be set up with this resolver through
+ * overriding {@link AbstractEnvironment#createPropertyResolver}.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see #clearCache()
+ * @see #getHitCount()
+ * @see #getMissCount()
+ */
+public class CachingPropertySourcesPropertyResolver extends PropertySourcesPropertyResolver {
+
+	private static final Object NO_VALUE = new Object();
+
+
+	@Nullable
+	private final PropertySources propertySources;
+
+	@Nullable
+	private volatile CacheState cacheState;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+
+	/**
+	 * Create a new resolver against the given property sources.
+	 * @param propertySources the set of {@link PropertySource} objects to use
+	 */
+	public CachingPropertySourcesPropertyResolver(@Nullable PropertySources propertySources) {
+		super(propertySources);
+		this.propertySources = propertySources;
+	}
+
+
+	@Override
+	public void setConversionService(ConfigurableConversionService conversionService) {
+		super.setConversionService(conversionService);
+		clearCache();
+	}
+
+	@Override
+	public void setPlaceholderPrefix(String placeholderPrefix) {
+		super.setPlaceholderPrefix(placeholderPrefix);
+		clearCache();
+	}
+
+	@Override
+	public void setPlaceholderSuffix(String placeholderSuffix) {
+		super.setPlaceholderSuffix(placeholderSuffix);
+		clearCache();
+	}
+
+	@Override
+	public void setValueSeparator(@Nullable String valueSeparator) {
+		super.setValueSeparator(valueSeparator);
+		clearCache();
+	}
+
+	@Override
+	public void setIgnoreUnresolvableNestedPlaceholders(boolean ignoreUnresolvableNestedPlaceholders) {
+		super.setIgnoreUnresolvableNestedPlaceholders(ignoreUnresolvableNestedPlaceholders);
+		clearCache();
+	}
+
+
+	@Override
+	public boolean containsProperty(String key) {
+		return obtainCacheState().getIndex().containsProperty(key);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	protected <T> T getProperty(String key, Class<T> targetValueType, boolean resolveNestedPlaceholders) {
+		CacheState state = obtainCacheState();
+		PropertyCacheKey cacheKey = new PropertyCacheKey(key, targetValueType, resolveNestedPlaceholders);
+		Object cached = state.properties.get(cacheKey);
+		if (cached != null) {
+			this.hitCount.incrementAndGet();
+		}
+		else {
+			this.missCount.incrementAndGet();
+			cached = resolveProperty(state, key, targetValueType, resolveNestedPlaceholders);
+			state.properties.put(cacheKey, cached);
+		}
+		if (cached == NO_VALUE) {
+			return null;
+		}
+		if (cached instanceof UnconvertedValue) {
+			return convertValueIfNecessary(((UnconvertedValue) cached).value, targetValueType);
+		}
+		return (T) cached;
+	}
+
+	private Object resolveProperty(CacheState state, String key, Class<?> targetValueType,
+			boolean resolveNestedPlaceholders) {
+
+		PropertySource<?> propertySource = state.getIndex().findPropertySource(key);
+		Object value = (propertySource != null ? propertySource.getProperty(key) : null);
+		if (propertySource == null || value == null) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Could not find key '" + key + "' in any property source");
+			}
+			return NO_VALUE;
+		}
+		if (resolveNestedPlaceholders && value instanceof String) {
+			value = resolveNestedPlaceholders((String) value);
+		}
+		logKeyFound(key, propertySource, value);
+		if (!isImmutableType(targetValueType)) {
+			return new UnconvertedValue(value);
+		}
+		Object convertedValue = convertValueIfNecessary(value, targetValueType);
+		return (convertedValue != null ? convertedValue : NO_VALUE);
+	}
+
+	private static boolean isImmutableType(Class<?> type) {
+		return (type == String.class || ClassUtils.isPrimitiveOrWrapper(type) || type.isEnum());
+	}
+
+	@Override
+	public String resolvePlaceholders(String text) {
+		CacheState state = obtainCacheState();
+		String resolved = state.placeholders.get(text);
+		if (resolved != null) {
+			this.hitCount.incrementAndGet();
+			return resolved;
+		}
+		this.missCount.incrementAndGet();
+		resolved = super.resolvePlaceholders(text);
+		state.placeholders.put(text, resolved);
+		return resolved;
+	}
+
+	@Override
+	public String resolveRequiredPlaceholders(String text) throws IllegalArgumentException {
+		CacheState state = obtainCacheState();
+		String resolved = state.requiredPlaceholders.get(text);
+		if (resolved != null) {
+			this.hitCount.incrementAndGet();
+			return resolved;
+		}
+		this.missCount.incrementAndGet();
+		resolved = super.resolveRequiredPlaceholders(text);
+		state.requiredPlaceholders.put(text, resolved);
+		return resolved;
+	}
+
+
+	/**
+	 * Remove all cached lookup results, e.g. after a property source
+	 * has been modified in place.
+	 */
+	public void clearCache() {
+		this.cacheState = null;
+	}
+
+	/**
+	 * Return the number of property and placeholder lookups that have been
+	 * served from the cache.
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Return the number of property and placeholder lookups that had to be
+	 * resolved against the property sources.
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	/**
+	 * Return the current cached state, building a fresh one if none is present
+	 * yet or if the underlying property sources have been modified in the meantime.
+	 */
+	private CacheState obtainCacheState() {
+		int modificationCount = (this.propertySources instanceof MutablePropertySources ?
+				((MutablePropertySources) this.propertySources).getModificationCount() : 0);
+		CacheState state = this.cacheState;
+		if (state == null || state.modificationCount != modificationCount) {
+			state = new CacheState(this.propertySources, modificationCount);
+			this.cacheState = state;
+		}
+		return state;
+	}
+
+
+	/**
+	 * Cached lookup results for a specific arrangement of property sources.
+	 */
+	private static final class CacheState {
+
+		@Nullable
+		private final PropertySources propertySources;
+
+		private final int modificationCount;
+
+		final Map<PropertyCacheKey, Object> properties = new ConcurrentHashMap<>(256);
+
+		final Map<String, String> placeholders = new ConcurrentHashMap<>(64);
+
+		final Map<String, String> requiredPlaceholders = new ConcurrentHashMap<>(64);
+
+		@Nullable
+		private volatile PropertySourceIndex index;
+
+		CacheState(@Nullable PropertySources propertySources, int modificationCount) {
+			this.propertySources = propertySources;
+			this.modificationCount = modificationCount;
+		}
+
+		PropertySourceIndex getIndex() {
+			PropertySourceIndex index = this.index;
+			if (index == null) {
+				index = new PropertySourceIndex(this.propertySources);
+				this.index = index;
+			}
+			return index;
+		}
+	}
+
+
+	/**
+	 * Index of property names across all {@link MapPropertySource} instances,
+	 * pointing to the first such property source with a value for each name.
+	 * Names mapped to {@code null} values are only indexed for containment checks.
+	 */
+	private static final class PropertySourceIndex {
+
+		private final List<PropertySource<?>> propertySources = new ArrayList<>();
+
+		private final Map<String, Integer> indexedPositions = new HashMap<>(256);
+
+		private final Set<String> indexedNames = new HashSet<>(256);
+
+		private final List<Integer> directPositions = new ArrayList<>();
+
+		PropertySourceIndex(@Nullable PropertySources propertySources) {
+			if (propertySources != null) {
+				for (PropertySource<?> propertySource : propertySources) {
+					int position = this.propertySources.size();
+					this.propertySources.add(propertySource);
+					if (propertySource instanceof MapPropertySource &&
+							!(propertySource instanceof SystemEnvironmentPropertySource)) {
+						MapPropertySource mapPropertySource = (MapPropertySource) propertySource;
+						for (String name : mapPropertySource.getPropertyNames()) {
+							this.indexedNames.add(name);
+							if (!this.indexedPositions.containsKey(name) && mapPropertySource.getProperty(name) != null) {
+								this.indexedPositions.put(name, position);
+							}
+						}
+					}
+					else {
+						this.directPositions.add(position);
+					}
+				}
+			}
+		}
+
+		@Nullable
+		PropertySource<?> findPropertySource(String key) {
+			Integer indexedPosition = this.indexedPositions.get(key);
+			int limit = (indexedPosition != null ? indexedPosition : this.propertySources.size());
+			for (Integer position : this.directPositions) {
+				if (position >= limit) {
+					break;
+				}
+				PropertySource<?> propertySource = this.propertySources.get(position);
+				if (propertySource.getProperty(key) != null) {
+					return propertySource;
+				}
+			}
+			return (indexedPosition != null ? this.propertySources.get(indexedPosition) : null);
+		}
+
+		boolean containsProperty(String key) {
+			if (this.indexedNames.contains(key)) {
+				return true;
+			}
+			for (Integer position : this.directPositions) {
+				if (this.propertySources.get(position).containsProperty(key)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+
+	private static final class PropertyCacheKey {
+
+		private final String key;
+
+		private final Class<?> targetValueType;
+
+		private final boolean resolveNestedPlaceholders;
+
+		PropertyCacheKey(String key, Class<?> targetValueType, boolean resolveNestedPlaceholders) {
+			this.key = key;
+			this.targetValueType = targetValueType;
+			this.resolveNestedPlaceholders = resolveNestedPlaceholders;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof PropertyCacheKey)) {
+				return false;
+			}
+			PropertyCacheKey otherKey = (PropertyCacheKey) other;
+			return (this.key.equals(otherKey.key) && this.targetValueType == otherKey.targetValueType &&
+					this.resolveNestedPlaceholders == otherKey.resolveNestedPlaceholders);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.key.hashCode() * 29 + this.targetValueType.hashCode());
+		}
+	}
+
+
+	/**
+	 * Holder for a property value which needs to be converted on every access.
+	 */
+	private static final class UnconvertedValue {
+
+		final Object value;
+
+		UnconvertedValue(Object value) {
+			this.value = value;
+		}
+	}
+
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation which records all steps in memory,
+ * for writing them out in the "collapsed stack" format afterwards: one line per
+ * distinct stack of nested steps, followed by the time spent in the innermost
+ * step itself (in microseconds). Such a file can be rendered as a flame graph
+ * by common tools such as {@code flamegraph.pl} or speedscope.
+ *
+ * <p>Each frame consists of the step name and its tags, e.g.
+ * {@code spring.beans.instantiate(beanName=myService)}. Steps are nested per
+ * thread; steps started on a thread without an active step become root frames.
+ *
+ * <p>Typical usage for finding slow beans in a large application context:
+ * <pre class="code">
+ * FlameGraphApplicationStartup startup = new FlameGraphApplicationStartup();
+ * context.setApplicationStartup(startup);
+ * context.refresh();
+ * startup.writeTo(new File("startup.folded"));
+ * </pre>
+ *
+ * <p>Note that recording all steps of a large application context has a
+ * non-trivial memory footprint. Use {@link #clear()} to release recorded
+ * steps once they have been written out.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see #writeTo(Writer)
+ * @see #getRecordedSteps()
+ */
+public class FlameGraphApplicationStartup implements ApplicationStartup {
+
+	private final AtomicLong idGenerator = new AtomicLong();
+
+	private final ThreadLocal<RecordedStep> currentStep = new NamedThreadLocal<>("Current startup step");
+
+	private final Queue<RecordedStep> recordedSteps = new ConcurrentLinkedQueue<>();
+
+
+	@Override
+	public StartupStep start(String name) {
+		RecordedStep step = new RecordedStep(this.idGenerator.incrementAndGet(), name, this.currentStep.get());
+		this.currentStep.set(step);
+		return step;
+	}
+
+	/**
+	 * Return all steps that have been ended so far, in the order of their end.
+	 */
+	public List<RecordedStep> getRecordedSteps() {
+		return new ArrayList<>(this.recordedSteps);
+	}
+
+	/**
+	 * Release all steps recorded so far.
+	 */
+	public void clear() {
+		this.recordedSteps.clear();
+	}
+
+	/**
+	 * Write all steps recorded so far to the given file, in the collapsed stack format.
+	 * @param file the file to write to (replacing any existing content)
+	 * @throws IOException in case of I/O errors
+	 * @see #writeTo(Writer)
+	 */
+	public void writeTo(File file) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writeTo(writer);
+		}
+	}
+
+	/**
+	 * Write all steps recorded so far to the given Writer, in the collapsed stack
+	 * format: one line per distinct stack of nested steps, with the frames separated
+	 * by ';' and followed by the self time of the innermost step in microseconds.
+	 * <p>Identical stacks are aggregated; stacks without measurable self time are skipped.
+	 * The given Writer is flushed but not closed.
+	 * @param writer the Writer to write to
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeTo(Writer writer) throws IOException {
+		Map<String, Long> stacks = new LinkedHashMap<>();
+		for (RecordedStep step : this.recordedSteps) {
+			stacks.merge(step.getStack(), TimeUnit.NANOSECONDS.toMicros(step.getSelfTime()), Long::sum);
+		}
+		for (Map.Entry<String, Long> entry : stacks.entrySet()) {
+			if (entry.getValue() > 0) {
+				writer.write(entry.getKey());
+				writer.write(' ');
+				writer.write(Long.toString(entry.getValue()));
+				writer.write('\n');
+			}
+		}
+		writer.flush();
+	}
+
+
+	/**
+	 * A {@link StartupStep} recorded by {@link FlameGraphApplicationStartup}.
+	 */
+	public final class RecordedStep implements StartupStep {
+
+		private final long id;
+
+		private final String name;
+
+		@Nullable
+		private final RecordedStep parent;
+
+		private final List<Tag> tags = new ArrayList<>(2);
+
+		private final long startTime = System.nanoTime();
+
+		private final AtomicLong childTime = new AtomicLong();
+
+		private volatile long duration = -1;
+
+		RecordedStep(long id, String name, @Nullable RecordedStep parent) {
+			this.id = id;
+			this.name = name;
+			this.parent = parent;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public long getId() {
+			return this.id;
+		}
+
+		@Override
+		@Nullable
+		public Long getParentId() {
+			return (this.parent != null ? this.parent.id : null);
+		}
+
+		@Override
+		public StartupStep tag(String key, String value) {
+			Assert.state(this.duration < 0, "StartupStep has already ended");
+			this.tags.add(new RecordedTag(key, value));
+			return this;
+		}
+
+		@Override
+		public StartupStep tag(String key, Supplier<String> value) {
+			return tag(key, value.get());
+		}
+
+		@Override
+		public Tags getTags() {
+			return Collections.unmodifiableList(this.tags)::iterator;
+		}
+
+		/**
+		 * Return the total duration of this step, including nested steps.
+		 * @throws IllegalStateException if the step has not ended yet
+		 */
+		public Duration getDuration() {
+			long duration = this.duration;
+			Assert.state(duration >= 0, "StartupStep has not ended yet");
+			return Duration.ofNanos(duration);
+		}
+
+		@Override
+		public void end() {
+			if (this.duration >= 0) {
+				return;
+			}
+			long duration = System.nanoTime() - this.startTime;
+			this.duration = duration;
+			if (this.parent != null) {
+				this.parent.childTime.addAndGet(duration);
+			}
+			// Also pop nested steps which have not been ended (e.g. due to an exception)
+			for (RecordedStep current = currentStep.get(); current != null; current = current.parent) {
+				if (current == this) {
+					if (this.parent != null) {
+						currentStep.set(this.parent);
+					}
+					else {
+						currentStep.remove();
+					}
+					break;
+				}
+			}
+			recordedSteps.add(this);
+		}
+
+		long getSelfTime() {
+			return Math.max(this.duration - this.childTime.get(), 0);
+		}
+
+		String getStack() {
+			StringBuilder sb = new StringBuilder();
+			if (this.parent != null) {
+				sb.append(this.parent.getStack()).append(';');
+			}
+			appendFrame(sb, this.name);
+			if (!this.tags.isEmpty()) {
+				sb.append('(');
+				for (int i = 0; i < this.tags.size(); i++) {
+					Tag tag = this.tags.get(i);
+					if (i > 0) {
+						sb.append(", ");
+					}
+					appendFrame(sb, tag.getKey());
+					sb.append('=');
+					appendFrame(sb, tag.getValue());
+				}
+				sb.append(')');
+			}
+			return sb.toString();
+		}
+
+		private void appendFrame(StringBuilder sb, String text) {
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				sb.append(c == ';' ? ',' : (Character.isWhitespace(c) ? ' ' : c));
+			}
+		}
+
+		@Override
+		public String toString() {
+			return getStack();
+		}
+	}
+
+
+	private static final class RecordedTag implements StartupStep.Tag {
+
+		private final String key;
+
+		private final String value;
+
+		RecordedTag(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + this.value;
+		}
+	}
+
+}
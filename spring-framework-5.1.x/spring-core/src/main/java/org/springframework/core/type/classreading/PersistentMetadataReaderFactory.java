@@ -0,0 +1,695 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * {@link CachingMetadataReaderFactory} subclass which additionally keeps the
+ * extracted class and annotation metadata in a cache file, allowing for
+ * skipping ASM-based class file parsing for unchanged classes across restarts.
+ *
+ * <p>Cache entries are keyed by resource URL plus CRC and size of the jar
+ * entry (for classes in jar files) or last-modified timestamp and size of
+ * the class file (for classes in directories). Other kinds of resources
+ * are not persisted. The cache file is read in one go on startup, with
+ * individual entries only being restored when requested. Restored as well as
+ * freshly parsed metadata is kept in the regular {@code MetadataReader} cache
+ * of this factory, subject to its {@link #setCacheLimit cache limit}.
+ *
+ * <p>New entries are written to the cache file on {@link #persistCache()},
+ * which is also implicitly triggered by {@link #clearCache()} (e.g. at the end
+ * of configuration class processing). Only entries requested since startup
+ * are retained, so entries for outdated class files expire on the next write.
+ *
+ * <p>Typically specified as the
+ * {@link org.springframework.context.annotation.ConfigurationClassPostProcessor#setMetadataReaderFactory
+ * MetadataReaderFactory for configuration class processing}, which is also
+ * used for component scanning then.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ */
+public class PersistentMetadataReaderFactory extends CachingMetadataReaderFactory {
+
+	private static final int MAGIC = 0x534d4443;
+
+	private static final short VERSION = 1;
+
+	private static final byte STRING_VALUE = 1;
+
+	private static final byte BOOLEAN_VALUE = 2;
+
+	private static final byte BYTE_VALUE = 3;
+
+	private static final byte CHAR_VALUE = 4;
+
+	private static final byte SHORT_VALUE = 5;
+
+	private static final byte INT_VALUE = 6;
+
+	private static final byte LONG_VALUE = 7;
+
+	private static final byte FLOAT_VALUE = 8;
+
+	private static final byte DOUBLE_VALUE = 9;
+
+	private static final byte TYPE_VALUE = 10;
+
+	private static final byte CLASS_VALUE = 11;
+
+	private static final byte ENUM_VALUE = 12;
+
+	private static final byte ANNOTATION_VALUE = 13;
+
+	private static final byte ARRAY_VALUE = 14;
+
+
+	private static final Log logger = LogFactory.getLog(PersistentMetadataReaderFactory.class);
+
+	private final File cacheFile;
+
+	/** Entries in the cache file, as loaded on startup. */
+	private final Map<String, ByteBuffer> storedEntries;
+
+	/** Entries requested since startup, to be written on the next persist call. */
+	private final Map<String, byte[]> requestedEntries = new ConcurrentHashMap<>(256);
+
+	private volatile boolean modified;
+
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given {@link ResourceLoader}.
+	 * @param resourceLoader the Spring ResourceLoader to use
+	 * (also determines the ClassLoader to use)
+	 * @param cacheFile the cache file to load metadata from and persist metadata to
+	 */
+	public PersistentMetadataReaderFactory(@Nullable ResourceLoader resourceLoader, File cacheFile) {
+		super(resourceLoader);
+		Assert.notNull(cacheFile, "Cache file must not be null");
+		this.cacheFile = cacheFile;
+		this.storedEntries = loadEntries(cacheFile);
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given {@link ClassLoader}.
+	 * @param classLoader the ClassLoader to use
+	 * @param cacheFile the cache file to load metadata from and persist metadata to
+	 */
+	public PersistentMetadataReaderFactory(@Nullable ClassLoader classLoader, File cacheFile) {
+		super(classLoader);
+		Assert.notNull(cacheFile, "Cache file must not be null");
+		this.cacheFile = cacheFile;
+		this.storedEntries = loadEntries(cacheFile);
+	}
+
+
+	/**
+	 * This implementation restores the metadata from the cache file if possible,
+	 * parsing the class file and storing its metadata for persisting otherwise.
+	 */
+	@Override
+	MetadataReader createMetadataReader(Resource resource) throws IOException {
+		String key = getCacheKey(resource);
+		if (key == null) {
+			return super.createMetadataReader(resource);
+		}
+		MetadataReader metadataReader = restoreMetadataReader(key, resource);
+		if (metadataReader == null) {
+			metadataReader = super.createMetadataReader(resource);
+			byte[] entry = storeMetadataReader(metadataReader);
+			if (entry != null) {
+				this.requestedEntries.put(key, entry);
+				this.modified = true;
+			}
+		}
+		return metadataReader;
+	}
+
+	/**
+	 * Write the entries requested since startup to the cache file,
+	 * if any of them has not been restored from the cache file.
+	 * @throws IOException in case of I/O errors
+	 */
+	public void persistCache() throws IOException {
+		if (!this.modified) {
+			return;
+		}
+		this.modified = false;
+		Map<String, byte[]> entries = new HashMap<>(this.requestedEntries);
+		File parent = this.cacheFile.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			Files.createDirectories(parent.toPath());
+		}
+		File tempFile = File.createTempFile(this.cacheFile.getName(), ".tmp", parent);
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+				out.writeInt(MAGIC);
+				out.writeShort(VERSION);
+				out.writeInt(entries.size());
+				int offset = 0;
+				for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeInt(offset);
+					out.writeInt(entry.getValue().length);
+					offset += entry.getValue().length;
+				}
+				for (byte[] data : entries.values()) {
+					out.write(data);
+				}
+			}
+			Files.move(tempFile.toPath(), this.cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Persisted " + entries.size() + " metadata cache entries to " + this.cacheFile);
+		}
+	}
+
+	/**
+	 * Persist the cache (if necessary) before clearing the in-memory cache.
+	 * @see #persistCache()
+	 */
+	@Override
+	public void clearCache() {
+		try {
+			persistCache();
+		}
+		catch (IOException ex) {
+			logger.info("Failed to persist metadata cache to " + this.cacheFile + ": " + ex);
+		}
+		super.clearCache();
+	}
+
+
+	/**
+	 * Determine the cache key for the given resource.
+	 * @return the cache key, or {@code null} if the resource is not eligible for caching
+	 */
+	@Nullable
+	private String getCacheKey(Resource resource) {
+		try {
+			URL url = resource.getURL();
+			if (ResourceUtils.isJarURL(url)) {
+				URLConnection con = url.openConnection();
+				if (con instanceof JarURLConnection) {
+					ResourceUtils.useCachesIfNecessary(con);
+					JarEntry entry = ((JarURLConnection) con).getJarEntry();
+					if (entry != null && entry.getCrc() != -1) {
+						return url + "#" + Long.toHexString(entry.getCrc()) + ':' + entry.getSize();
+					}
+				}
+			}
+			else if (ResourceUtils.isFileURL(url)) {
+				File file = resource.getFile();
+				return url + "#" + file.lastModified() + ':' + file.length();
+			}
+		}
+		catch (IOException ex) {
+			// Not eligible for caching
+		}
+		return null;
+	}
+
+	private static Map<String, ByteBuffer> loadEntries(File cacheFile) {
+		if (!cacheFile.isFile()) {
+			return new HashMap<>();
+		}
+		try {
+			// Read into memory rather than mapping the file, which would prevent it from being replaced
+			byte[] data = Files.readAllBytes(cacheFile.toPath());
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+			if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+				logger.debug("Ignoring metadata cache file of unknown format: " + cacheFile);
+				return new HashMap<>();
+			}
+			int count = in.readInt();
+			Map<String, int[]> ranges = new HashMap<>(count);
+			for (int i = 0; i < count; i++) {
+				ranges.put(in.readUTF(), new int[] {in.readInt(), in.readInt()});
+			}
+			int dataStart = data.length - in.available();
+			Map<String, ByteBuffer> entries = new HashMap<>(count);
+			for (Map.Entry<String, int[]> range : ranges.entrySet()) {
+				int[] offsetAndLength = range.getValue();
+				entries.put(range.getKey(),
+						ByteBuffer.wrap(data, dataStart + offsetAndLength[0], offsetAndLength[1]).slice());
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Loaded " + count + " metadata cache entries from " + cacheFile);
+			}
+			return entries;
+		}
+		catch (IOException | RuntimeException ex) {
+			logger.debug("Failed to load metadata cache file: " + cacheFile, ex);
+			return new HashMap<>();
+		}
+	}
+
+	@Nullable
+	private MetadataReader restoreMetadataReader(String key, Resource resource) {
+		ByteBuffer storedEntry = this.storedEntries.get(key);
+		if (storedEntry == null) {
+			return null;
+		}
+		byte[] entry = new byte[storedEntry.remaining()];
+		storedEntry.duplicate().get(entry);
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+			ClassLoader classLoader = getResourceLoader().getClassLoader();
+			MetadataReader metadataReader = new MetadataInput(in, classLoader).readMetadata(resource);
+			this.requestedEntries.put(key, entry);
+			return metadataReader;
+		}
+		catch (IOException | ClassNotFoundException | RuntimeException | LinkageError ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to restore cached metadata for " + resource + ": " + ex);
+			}
+			return null;
+		}
+	}
+
+	@Nullable
+	private byte[] storeMetadataReader(MetadataReader metadataReader) {
+		AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
+		if (!(metadata instanceof AnnotationMetadataReadingVisitor)) {
+			return null;
+		}
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+			new MetadataOutput(new DataOutputStream(bos)).writeMetadata((AnnotationMetadataReadingVisitor) metadata);
+			return bos.toByteArray();
+		}
+		catch (IOException | IllegalArgumentException ex) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Cannot cache metadata for " + metadataReader.getResource() + ": " + ex);
+			}
+			return null;
+		}
+	}
+
+
+	/**
+	 * Writes the state of an {@link AnnotationMetadataReadingVisitor}.
+	 */
+	private static class MetadataOutput {
+
+		private final DataOutputStream out;
+
+		MetadataOutput(DataOutputStream out) {
+			this.out = out;
+		}
+
+		void writeMetadata(AnnotationMetadataReadingVisitor metadata) throws IOException {
+			this.out.writeUTF(metadata.getClassName());
+			writeNullableString(metadata.getSuperClassName());
+			writeStrings(metadata.getInterfaceNames());
+			int access = (metadata.isInterface() ? Opcodes.ACC_INTERFACE : 0) |
+					(metadata.isAnnotation() ? Opcodes.ACC_ANNOTATION : 0) |
+					(metadata.isAbstract() ? Opcodes.ACC_ABSTRACT : 0) |
+					(metadata.isFinal() ? Opcodes.ACC_FINAL : 0);
+			this.out.writeInt(access);
+			writeNullableString(metadata.getEnclosingClassName());
+			this.out.writeBoolean(metadata.isIndependent());
+			writeStrings(metadata.getMemberClassNames());
+
+			writeStrings(metadata.annotationSet.toArray(new String[0]));
+			writeAnnotations(metadata.metaAnnotationMap, metadata.attributesMap);
+			this.out.writeInt(metadata.methodMetadataSet.size());
+			for (MethodMetadata methodMetadata : metadata.methodMetadataSet) {
+				if (!(methodMetadata instanceof MethodMetadataReadingVisitor)) {
+					throw new IllegalArgumentException("Unsupported MethodMetadata " + methodMetadata);
+				}
+				MethodMetadataReadingVisitor method = (MethodMetadataReadingVisitor) methodMetadata;
+				this.out.writeUTF(method.methodName);
+				this.out.writeInt(method.access);
+				this.out.writeUTF(method.declaringClassName);
+				this.out.writeUTF(method.returnTypeName);
+				writeAnnotations(method.metaAnnotationMap, method.attributesMap);
+			}
+		}
+
+		private void writeAnnotations(Map<String, Set<String>> metaAnnotationMap,
+				LinkedMultiValueMap<String, AnnotationAttributes> attributesMap) throws IOException {
+
+			this.out.writeInt(metaAnnotationMap.size());
+			for (Map.Entry<String, Set<String>> entry : metaAnnotationMap.entrySet()) {
+				this.out.writeUTF(entry.getKey());
+				writeStrings(entry.getValue().toArray(new String[0]));
+			}
+			this.out.writeInt(attributesMap.size());
+			for (Map.Entry<String, List<AnnotationAttributes>> entry : attributesMap.entrySet()) {
+				this.out.writeUTF(entry.getKey());
+				this.out.writeInt(entry.getValue().size());
+				for (AnnotationAttributes attributes : entry.getValue()) {
+					writeAnnotationAttributes(attributes);
+				}
+			}
+		}
+
+		private void writeAnnotationAttributes(AnnotationAttributes attributes) throws IOException {
+			if (attributes.annotationType() == null) {
+				throw new IllegalArgumentException("Unresolvable annotation type");
+			}
+			this.out.writeUTF(attributes.annotationType().getName());
+			// Default value placeholders get registered again on restore
+			Map<String, Object> explicitAttributes = new LinkedHashMap<>(attributes);
+			explicitAttributes.values().removeIf(value ->
+					value != null && value.getClass().getEnclosingClass() == AnnotationUtils.class);
+			this.out.writeInt(explicitAttributes.size());
+			for (Map.Entry<String, Object> entry : explicitAttributes.entrySet()) {
+				this.out.writeUTF(entry.getKey());
+				writeValue(entry.getValue());
+			}
+		}
+
+		private void writeValue(Object value) throws IOException {
+			if (value instanceof String) {
+				this.out.writeByte(STRING_VALUE);
+				this.out.writeUTF((String) value);
+			}
+			else if (value instanceof Boolean) {
+				this.out.writeByte(BOOLEAN_VALUE);
+				this.out.writeBoolean((Boolean) value);
+			}
+			else if (value instanceof Byte) {
+				this.out.writeByte(BYTE_VALUE);
+				this.out.writeByte((Byte) value);
+			}
+			else if (value instanceof Character) {
+				this.out.writeByte(CHAR_VALUE);
+				this.out.writeChar((Character) value);
+			}
+			else if (value instanceof Short) {
+				this.out.writeByte(SHORT_VALUE);
+				this.out.writeShort((Short) value);
+			}
+			else if (value instanceof Integer) {
+				this.out.writeByte(INT_VALUE);
+				this.out.writeInt((Integer) value);
+			}
+			else if (value instanceof Long) {
+				this.out.writeByte(LONG_VALUE);
+				this.out.writeLong((Long) value);
+			}
+			else if (value instanceof Float) {
+				this.out.writeByte(FLOAT_VALUE);
+				this.out.writeFloat((Float) value);
+			}
+			else if (value instanceof Double) {
+				this.out.writeByte(DOUBLE_VALUE);
+				this.out.writeDouble((Double) value);
+			}
+			else if (value instanceof Type) {
+				this.out.writeByte(TYPE_VALUE);
+				this.out.writeUTF(((Type) value).getDescriptor());
+			}
+			else if (value instanceof Class) {
+				this.out.writeByte(CLASS_VALUE);
+				this.out.writeUTF(((Class<?>) value).getName());
+			}
+			else if (value instanceof Enum) {
+				this.out.writeByte(ENUM_VALUE);
+				this.out.writeUTF(((Enum<?>) value).getDeclaringClass().getName());
+				this.out.writeUTF(((Enum<?>) value).name());
+			}
+			else if (value instanceof AnnotationAttributes) {
+				this.out.writeByte(ANNOTATION_VALUE);
+				writeAnnotationAttributes((AnnotationAttributes) value);
+			}
+			else if (value != null && value.getClass().isArray()) {
+				this.out.writeByte(ARRAY_VALUE);
+				this.out.writeUTF(value.getClass().getComponentType().getName());
+				int length = Array.getLength(value);
+				this.out.writeInt(length);
+				for (int i = 0; i < length; i++) {
+					writeValue(Array.get(value, i));
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Unsupported annotation attribute value [" + value + "]");
+			}
+		}
+
+		private void writeNullableString(@Nullable String value) throws IOException {
+			this.out.writeBoolean(value != null);
+			if (value != null) {
+				this.out.writeUTF(value);
+			}
+		}
+
+		private void writeStrings(String[] values) throws IOException {
+			this.out.writeInt(values.length);
+			for (String value : values) {
+				this.out.writeUTF(value);
+			}
+		}
+	}
+
+
+	/**
+	 * Restores an {@link AnnotationMetadataReadingVisitor}, replaying the class
+	 * structure through the regular visitor callbacks.
+	 */
+	private static class MetadataInput {
+
+		private final DataInputStream in;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		MetadataInput(DataInputStream in, @Nullable ClassLoader classLoader) {
+			this.in = in;
+			this.classLoader = classLoader;
+		}
+
+		MetadataReader readMetadata(Resource resource) throws IOException, ClassNotFoundException {
+			AnnotationMetadataReadingVisitor visitor = new AnnotationMetadataReadingVisitor(this.classLoader);
+			String className = this.in.readUTF();
+			String superClassName = readNullableString();
+			String[] interfaceNames = readStrings();
+			int access = this.in.readInt();
+			String[] interfaces = new String[interfaceNames.length];
+			for (int i = 0; i < interfaceNames.length; i++) {
+				interfaces[i] = ClassUtils.convertClassNameToResourcePath(interfaceNames[i]);
+			}
+			String internalName = ClassUtils.convertClassNameToResourcePath(className);
+			visitor.visit(0, access, internalName, null,
+					(superClassName != null ? ClassUtils.convertClassNameToResourcePath(superClassName) : null),
+					interfaces);
+			String enclosingClassName = readNullableString();
+			boolean independent = this.in.readBoolean();
+			if (enclosingClassName != null) {
+				visitor.visitInnerClass(internalName, ClassUtils.convertClassNameToResourcePath(enclosingClassName),
+						null, (independent ? Opcodes.ACC_STATIC : 0));
+			}
+			for (String memberClassName : readStrings()) {
+				visitor.visitInnerClass(ClassUtils.convertClassNameToResourcePath(memberClassName),
+						internalName, null, 0);
+			}
+
+			for (String annotationType : readStrings()) {
+				visitor.annotationSet.add(annotationType);
+			}
+			readAnnotations(visitor.metaAnnotationMap, visitor.attributesMap);
+			int methodCount = this.in.readInt();
+			for (int i = 0; i < methodCount; i++) {
+				MethodMetadataReadingVisitor method = new MethodMetadataReadingVisitor(
+						this.in.readUTF(), this.in.readInt(), this.in.readUTF(), this.in.readUTF(),
+						this.classLoader, visitor.methodMetadataSet);
+				readAnnotations(method.metaAnnotationMap, method.attributesMap);
+				visitor.methodMetadataSet.add(method);
+			}
+			return new RestoredMetadataReader(resource, visitor);
+		}
+
+		private void readAnnotations(Map<String, Set<String>> metaAnnotationMap,
+				LinkedMultiValueMap<String, AnnotationAttributes> attributesMap)
+				throws IOException, ClassNotFoundException {
+
+			int metaCount = this.in.readInt();
+			for (int i = 0; i < metaCount; i++) {
+				String annotationType = this.in.readUTF();
+				Set<String> metaAnnotationTypes = new LinkedHashSet<>();
+				for (String metaAnnotationType : readStrings()) {
+					metaAnnotationTypes.add(metaAnnotationType);
+				}
+				metaAnnotationMap.put(annotationType, metaAnnotationTypes);
+			}
+			int attributesCount = this.in.readInt();
+			for (int i = 0; i < attributesCount; i++) {
+				String annotationType = this.in.readUTF();
+				int size = this.in.readInt();
+				for (int j = 0; j < size; j++) {
+					attributesMap.add(annotationType, readAnnotationAttributes());
+				}
+			}
+		}
+
+		private AnnotationAttributes readAnnotationAttributes() throws IOException, ClassNotFoundException {
+			String annotationType = this.in.readUTF();
+			AnnotationAttributes attributes = new AnnotationAttributes(annotationType, this.classLoader);
+			if (attributes.annotationType() == null) {
+				throw new ClassNotFoundException(annotationType);
+			}
+			int size = this.in.readInt();
+			for (int i = 0; i < size; i++) {
+				attributes.put(this.in.readUTF(), readValue());
+			}
+			AnnotationUtils.registerDefaultValues(attributes);
+			return attributes;
+		}
+
+		private Object readValue() throws IOException, ClassNotFoundException {
+			byte tag = this.in.readByte();
+			switch (tag) {
+				case STRING_VALUE:
+					return this.in.readUTF();
+				case BOOLEAN_VALUE:
+					return this.in.readBoolean();
+				case BYTE_VALUE:
+					return this.in.readByte();
+				case CHAR_VALUE:
+					return this.in.readChar();
+				case SHORT_VALUE:
+					return this.in.readShort();
+				case INT_VALUE:
+					return this.in.readInt();
+				case LONG_VALUE:
+					return this.in.readLong();
+				case FLOAT_VALUE:
+					return this.in.readFloat();
+				case DOUBLE_VALUE:
+					return this.in.readDouble();
+				case TYPE_VALUE:
+					return Type.getType(this.in.readUTF());
+				case CLASS_VALUE:
+					return ClassUtils.forName(this.in.readUTF(), this.classLoader);
+				case ENUM_VALUE:
+					return readEnumValue();
+				case ANNOTATION_VALUE:
+					return readAnnotationAttributes();
+				case ARRAY_VALUE:
+					return readArrayValue();
+				default:
+					throw new IOException("Corrupt metadata cache entry: unknown value tag " + tag);
+			}
+		}
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private Object readEnumValue() throws IOException, ClassNotFoundException {
+			Class enumType = ClassUtils.forName(this.in.readUTF(), this.classLoader);
+			return Enum.valueOf(enumType, this.in.readUTF());
+		}
+
+		private Object readArrayValue() throws IOException, ClassNotFoundException {
+			Class<?> componentType = ClassUtils.forName(this.in.readUTF(), this.classLoader);
+			int length = this.in.readInt();
+			Object array = Array.newInstance(componentType, length);
+			for (int i = 0; i < length; i++) {
+				Array.set(array, i, readValue());
+			}
+			return array;
+		}
+
+		@Nullable
+		private String readNullableString() throws IOException {
+			return (this.in.readBoolean() ? this.in.readUTF() : null);
+		}
+
+		private String[] readStrings() throws IOException {
+			String[] values = new String[this.in.readInt()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = this.in.readUTF();
+			}
+			return values;
+		}
+	}
+
+
+	/**
+	 * {@link MetadataReader} for metadata restored from the cache file.
+	 */
+	private static class RestoredMetadataReader implements MetadataReader {
+
+		private final Resource resource;
+
+		private final AnnotationMetadataReadingVisitor metadata;
+
+		RestoredMetadataReader(Resource resource, AnnotationMetadataReadingVisitor metadata) {
+			this.resource = resource;
+			this.metadata = metadata;
+		}
+
+		@Override
+		public Resource getResource() {
+			return this.resource;
+		}
+
+		@Override
+		public AnnotationMetadataReadingVisitor getClassMetadata() {
+			return this.metadata;
+		}
+
+		@Override
+		public AnnotationMetadataReadingVisitor getAnnotationMetadata() {
+			return this.metadata;
+		}
+	}
+
+}
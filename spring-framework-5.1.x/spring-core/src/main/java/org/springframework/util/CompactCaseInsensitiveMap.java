@@ -0,0 +1,654 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Compact alternative to {@link LinkedCaseInsensitiveMap}, storing String keys
+ * in a case-insensitive manner based on {@link Locale#ENGLISH}, for example
+ * for HTTP header names or media type parameters.
+ *
+ * <p>Preserves the original order as well as the original casing of keys,
+ * while allowing for contains, get and remove calls with any case of key.
+ * As with {@link LinkedCaseInsensitiveMap}, putting an existing key with a
+ * different casing replaces the entry, moving it to the end of the map.
+ *
+ * <p>Keys and values are kept in plain arrays in insertion order, indexed through
+ * an open-addressing hash table: there are no per-entry node objects, and
+ * case-insensitive lookups of ASCII keys do not create lower-case key copies.
+ *
+ * <p>Does <i>not</i> support {@code null} keys. This Map implementation is not
+ * thread-safe. It gets serialized as a {@link LinkedCaseInsensitiveMap}, for
+ * compatibility with peers which do not have this class available.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @param <V> the value type
+ * @see LinkedCaseInsensitiveMap
+ */
+public class CompactCaseInsensitiveMap<V> extends AbstractMap<String, V> implements Serializable, Cloneable {
+
+	private static final long serialVersionUID = -1396187546318472871L;
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+	private static final int REMOVED = -1;
+
+
+	/** Keys in insertion order, with {@code null} for removed entries. */
+	private String[] keys;
+
+	private Object[] values;
+
+	private int[] hashes;
+
+	/** Open-addressing table: entry index + 1, 0 for a free slot, or REMOVED. */
+	private int[] table;
+
+	/** Number of used entry positions, including removed entries. */
+	private int end;
+
+	private int size;
+
+	private transient int modCount;
+
+	@Nullable
+	private transient volatile Set<String> keySetView;
+
+	@Nullable
+	private transient volatile Collection<V> valuesView;
+
+	@Nullable
+	private transient volatile Set<Entry<String, V>> entrySetView;
+
+
+	/**
+	 * Create a new CompactCaseInsensitiveMap with a default initial capacity.
+	 */
+	public CompactCaseInsensitiveMap() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Create a new CompactCaseInsensitiveMap with the given initial capacity.
+	 * @param initialCapacity the number of entries to reserve space for
+	 */
+	public CompactCaseInsensitiveMap(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "Initial capacity must not be negative");
+		allocate(Math.max(initialCapacity, 2));
+	}
+
+	/**
+	 * Copy constructor.
+	 */
+	private CompactCaseInsensitiveMap(CompactCaseInsensitiveMap<V> other) {
+		this.keys = other.keys.clone();
+		this.values = other.values.clone();
+		this.hashes = other.hashes.clone();
+		this.table = other.table.clone();
+		this.end = other.end;
+		this.size = other.size;
+	}
+
+
+	// Implementation of java.util.Map
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof String && findSlot((String) key, hash((String) key)) >= 0);
+	}
+
+	@Override
+	@Nullable
+	public V get(Object key) {
+		return getOrDefault(key, null);
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public V getOrDefault(Object key, V defaultValue) {
+		if (key instanceof String) {
+			int slot = findSlot((String) key, hash((String) key));
+			if (slot >= 0) {
+				return (V) this.values[this.table[slot] - 1];
+			}
+		}
+		return defaultValue;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public V put(String key, @Nullable V value) {
+		int hash = hash(key);
+		int slot = findSlot(key, hash);
+		if (slot >= 0) {
+			int index = this.table[slot] - 1;
+			V oldValue = (V) this.values[index];
+			if (this.keys[index].equals(key)) {
+				this.values[index] = value;
+				return oldValue;
+			}
+			// Different casing: re-add at the end, consistent with LinkedCaseInsensitiveMap
+			removeAt(slot, index);
+			addEntry(key, hash, value);
+			return oldValue;
+		}
+		addEntry(key, hash, value);
+		return null;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if (key instanceof String) {
+			int slot = findSlot((String) key, hash((String) key));
+			if (slot >= 0) {
+				int index = this.table[slot] - 1;
+				V oldValue = (V) this.values[index];
+				removeAt(slot, index);
+				return oldValue;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		if (this.end > 0) {
+			Arrays.fill(this.keys, 0, this.end, null);
+			Arrays.fill(this.values, 0, this.end, null);
+			Arrays.fill(this.table, 0);
+			this.end = 0;
+			this.size = 0;
+			this.modCount++;
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super String, ? super V> action) {
+		int expectedModCount = this.modCount;
+		for (int i = 0; i < this.end; i++) {
+			String key = this.keys[i];
+			if (key != null) {
+				action.accept(key, (V) this.values[i]);
+				if (this.modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+			}
+		}
+	}
+
+	@Override
+	public Set<String> keySet() {
+		Set<String> keySet = this.keySetView;
+		if (keySet == null) {
+			keySet = new KeySet();
+			this.keySetView = keySet;
+		}
+		return keySet;
+	}
+
+	@Override
+	public Collection<V> values() {
+		Collection<V> values = this.valuesView;
+		if (values == null) {
+			values = new Values();
+			this.valuesView = values;
+		}
+		return values;
+	}
+
+	@Override
+	public Set<Entry<String, V>> entrySet() {
+		Set<Entry<String, V>> entrySet = this.entrySetView;
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+			this.entrySetView = entrySet;
+		}
+		return entrySet;
+	}
+
+	@Override
+	public CompactCaseInsensitiveMap<V> clone() {
+		return new CompactCaseInsensitiveMap<>(this);
+	}
+
+
+	// Serialization support
+
+	/**
+	 * Serialize an equivalent {@link LinkedCaseInsensitiveMap} instead,
+	 * keeping the serialized form of maps such as HTTP headers unchanged.
+	 */
+	private Object writeReplace() {
+		LinkedCaseInsensitiveMap<V> map = new LinkedCaseInsensitiveMap<>(this.size, Locale.ENGLISH);
+		forEach(map::put);
+		return map;
+	}
+
+
+	// Internal structure
+
+	private void allocate(int capacity) {
+		this.keys = new String[capacity];
+		this.values = new Object[capacity];
+		this.hashes = new int[capacity];
+		int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+		this.table = new int[tableSize];
+	}
+
+	/**
+	 * Find the table slot for the given key.
+	 * @return the slot, or -1 if the key is not contained in this map
+	 */
+	private int findSlot(String key, int hash) {
+		int[] table = this.table;
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		int entry;
+		while ((entry = table[slot]) != 0) {
+			if (entry != REMOVED) {
+				int index = entry - 1;
+				if (this.hashes[index] == hash && keyEquals(this.keys[index], key)) {
+					return slot;
+				}
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void addEntry(String key, int hash, @Nullable V value) {
+		if (this.end == this.keys.length) {
+			restructure();
+		}
+		int index = this.end++;
+		this.keys[index] = key;
+		this.values[index] = value;
+		this.hashes[index] = hash;
+		insertIntoTable(hash, index);
+		this.size++;
+		this.modCount++;
+	}
+
+	private void insertIntoTable(int hash, int index) {
+		// The table is at most half full (including removed slots), so there always is a free slot
+		int mask = this.table.length - 1;
+		int slot = hash & mask;
+		while (this.table[slot] > 0) {
+			slot = (slot + 1) & mask;
+		}
+		this.table[slot] = index + 1;
+	}
+
+	private void removeAt(int slot, int index) {
+		this.keys[index] = null;
+		this.values[index] = null;
+		this.size--;
+		this.modCount++;
+		if (this.size == 0) {
+			Arrays.fill(this.table, 0);
+			this.end = 0;
+		}
+		else {
+			this.table[slot] = REMOVED;
+		}
+	}
+
+	/**
+	 * Compact the entry arrays (dropping removed entries) and rebuild the table,
+	 * doubling the capacity unless enough removed entries can be reclaimed.
+	 */
+	private void restructure() {
+		String[] oldKeys = this.keys;
+		Object[] oldValues = this.values;
+		int[] oldHashes = this.hashes;
+		int oldEnd = this.end;
+		allocate(this.size >= oldKeys.length / 2 ? oldKeys.length * 2 : oldKeys.length);
+		int index = 0;
+		for (int i = 0; i < oldEnd; i++) {
+			if (oldKeys[i] != null) {
+				this.keys[index] = oldKeys[i];
+				this.values[index] = oldValues[i];
+				this.hashes[index] = oldHashes[i];
+				insertIntoTable(oldHashes[i], index);
+				index++;
+			}
+		}
+		this.end = index;
+		this.modCount++;
+	}
+
+	private int slotForIndex(int index) {
+		return findSlot(this.keys[index], this.hashes[index]);
+	}
+
+	/**
+	 * Calculate the hash of the given key, consistent with the hash code of
+	 * its {@link Locale#ENGLISH} lower-case variant, without creating that
+	 * variant for ASCII keys.
+	 */
+	private static int hash(String key) {
+		int h = 0;
+		for (int i = 0; i < key.length(); i++) {
+			char c = key.charAt(i);
+			if (c >= 0x80) {
+				h = key.toLowerCase(Locale.ENGLISH).hashCode();
+				break;
+			}
+			h = 31 * h + toLowerCase(c);
+		}
+		return (h ^ (h >>> 16));
+	}
+
+	private static boolean keyEquals(String key, String other) {
+		if (key == other) {
+			return true;
+		}
+		int length = key.length();
+		if (length == other.length()) {
+			for (int i = 0; i < length; i++) {
+				char c1 = key.charAt(i);
+				char c2 = other.charAt(i);
+				if (c1 >= 0x80 || c2 >= 0x80) {
+					return key.toLowerCase(Locale.ENGLISH).equals(other.toLowerCase(Locale.ENGLISH));
+				}
+				if (c1 != c2 && toLowerCase(c1) != toLowerCase(c2)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if (isAscii(key) && isAscii(other)) {
+			return false;
+		}
+		return key.toLowerCase(Locale.ENGLISH).equals(other.toLowerCase(Locale.ENGLISH));
+	}
+
+	private static char toLowerCase(char c) {
+		return (c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+	}
+
+	private static boolean isAscii(String key) {
+		for (int i = 0; i < key.length(); i++) {
+			if (key.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	private class KeySet extends AbstractSet<String> {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsKey(o);
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			return new EntryIterator<String>() {
+				@Override
+				public String next() {
+					return keys[nextIndex()];
+				}
+			};
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if (containsKey(o)) {
+				CompactCaseInsensitiveMap.this.remove(o);
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void clear() {
+			CompactCaseInsensitiveMap.this.clear();
+		}
+	}
+
+
+	private class Values extends AbstractCollection<V> {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public Iterator<V> iterator() {
+			return new EntryIterator<V>() {
+				@Override
+				@SuppressWarnings("unchecked")
+				public V next() {
+					return (V) values[nextIndex()];
+				}
+			};
+		}
+
+		@Override
+		public void clear() {
+			CompactCaseInsensitiveMap.this.clear();
+		}
+	}
+
+
+	private class EntrySet extends AbstractSet<Entry<String, V>> {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return (o instanceof Map.Entry && indexOf((Map.Entry<?, ?>) o) >= 0);
+		}
+
+		@Override
+		public Iterator<Entry<String, V>> iterator() {
+			return new EntryIterator<Entry<String, V>>() {
+				@Override
+				public Entry<String, V> next() {
+					return new MapEntry(nextIndex());
+				}
+			};
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if (o instanceof Map.Entry) {
+				int index = indexOf((Map.Entry<?, ?>) o);
+				if (index >= 0) {
+					removeAt(slotForIndex(index), index);
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void clear() {
+			CompactCaseInsensitiveMap.this.clear();
+		}
+
+		private int indexOf(Map.Entry<?, ?> entry) {
+			Object key = entry.getKey();
+			if (key instanceof String) {
+				int slot = findSlot((String) key, hash((String) key));
+				if (slot >= 0) {
+					int index = table[slot] - 1;
+					if (ObjectUtils.nullSafeEquals(values[index], entry.getValue())) {
+						return index;
+					}
+				}
+			}
+			return -1;
+		}
+	}
+
+
+	private abstract class EntryIterator<T> implements Iterator<T> {
+
+		private int next;
+
+		private int last = -1;
+
+		private int expectedModCount = modCount;
+
+		EntryIterator() {
+			this.next = advance(0);
+		}
+
+		private int advance(int index) {
+			while (index < end && keys[index] == null) {
+				index++;
+			}
+			return index;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (this.next < end);
+		}
+
+		protected int nextIndex() {
+			if (modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (this.next >= end) {
+				throw new NoSuchElementException();
+			}
+			this.last = this.next;
+			this.next = advance(this.next + 1);
+			return this.last;
+		}
+
+		@Override
+		public void remove() {
+			if (this.last < 0) {
+				throw new IllegalStateException();
+			}
+			if (modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeAt(slotForIndex(this.last), this.last);
+			this.last = -1;
+			this.next = advance(this.next);
+			this.expectedModCount = modCount;
+		}
+	}
+
+
+	private class MapEntry implements Map.Entry<String, V> {
+
+		private final int index;
+
+		private final String key;
+
+		MapEntry(int index) {
+			this.index = index;
+			this.key = keys[index];
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		@Nullable
+		@SuppressWarnings("unchecked")
+		public V getValue() {
+			return (keys[this.index] == this.key ? (V) values[this.index] : null);
+		}
+
+		@Override
+		@Nullable
+		@SuppressWarnings("unchecked")
+		public V setValue(@Nullable V value) {
+			if (keys[this.index] != this.key) {
+				throw new IllegalStateException("Entry no longer present in map");
+			}
+			V oldValue = (V) values[this.index];
+			values[this.index] = value;
+			return oldValue;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> otherEntry = (Map.Entry<?, ?>) other;
+			return (this.key.equals(otherEntry.getKey()) &&
+					ObjectUtils.nullSafeEquals(getValue(), otherEntry.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.key.hashCode() ^ ObjectUtils.nullSafeHashCode(getValue()));
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + getValue();
+		}
+	}
+
+}
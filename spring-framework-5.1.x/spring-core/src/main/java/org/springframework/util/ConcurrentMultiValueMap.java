@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Thread-safe implementation of {@link MultiValueMap} that wraps a
+ * {@link ConcurrentHashMap}, storing multiple values in a
+ * {@link CopyOnWriteArrayList}.
+ *
+ * <p>Designed for registries which are read far more often than they are
+ * modified: lookups do not lock, and the value-holding List for a key may be
+ * iterated while other threads add further values. Lists passed into
+ * {@link #put} are copied into a {@code CopyOnWriteArrayList} as well.
+ *
+ * <p>Does <i>not</i> support {@code null} keys.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @param <K> the key type
+ * @param <V> the value element type
+ * @see LinkedMultiValueMap
+ */
+public class ConcurrentMultiValueMap<K, V> extends MultiValueMapAdapter<K, V> {
+
+	private static final long serialVersionUID = 7391265232845380458L;
+
+
+	private final ConcurrentHashMap<K, List<V>> targetMap;
+
+
+	/**
+	 * Create a new ConcurrentMultiValueMap with a default initial capacity.
+	 */
+	public ConcurrentMultiValueMap() {
+		this(new ConcurrentHashMap<>());
+	}
+
+	/**
+	 * Create a new ConcurrentMultiValueMap with the given initial capacity.
+	 * @param initialCapacity the initial capacity
+	 */
+	public ConcurrentMultiValueMap(int initialCapacity) {
+		this(new ConcurrentHashMap<>(initialCapacity));
+	}
+
+	private ConcurrentMultiValueMap(ConcurrentHashMap<K, List<V>> targetMap) {
+		super(targetMap);
+		this.targetMap = targetMap;
+	}
+
+
+	@Override
+	@Nullable
+	public V getFirst(K key) {
+		List<V> values = this.targetMap.get(key);
+		if (values != null) {
+			// Snapshot iterator: safe against concurrent modifications
+			Iterator<V> it = values.iterator();
+			if (it.hasNext()) {
+				return it.next();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void add(K key, @Nullable V value) {
+		this.targetMap.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(value);
+	}
+
+	@Override
+	public void addAll(K key, List<? extends V> values) {
+		this.targetMap.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).addAll(values);
+	}
+
+	@Override
+	public void set(K key, @Nullable V value) {
+		List<V> values = new CopyOnWriteArrayList<>();
+		values.add(value);
+		this.targetMap.put(key, values);
+	}
+
+	@Override
+	public Map<K, V> toSingleValueMap() {
+		Map<K, V> singleValueMap = new LinkedHashMap<>(this.targetMap.size());
+		this.targetMap.forEach((key, values) -> {
+			Iterator<V> it = values.iterator();
+			if (it.hasNext()) {
+				singleValueMap.put(key, it.next());
+			}
+		});
+		return singleValueMap;
+	}
+
+	@Override
+	@Nullable
+	public List<V> put(K key, List<V> value) {
+		return this.targetMap.put(key, asCopyOnWriteList(value));
+	}
+
+	@Override
+	public void putAll(Map<? extends K, ? extends List<V>> map) {
+		map.forEach(this::put);
+	}
+
+	private List<V> asCopyOnWriteList(List<V> list) {
+		return (list instanceof CopyOnWriteArrayList ? list : new CopyOnWriteArrayList<>(list));
+	}
+
+}
@@ -601,16 +601,13 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 						resizing = true;
 					}
 
-					// Either create a new table or reuse the existing one
-					Reference<K, V>[] restructured =
-							(resizing ? createReferenceArray(restructureSize) : this.references);
+					// Always populate a new table: lock-free readers may still be
+					// traversing the current one, so it must not be cleared in place
+					Reference<K, V>[] restructured = createReferenceArray(restructureSize);
 
 					// Restructure
 					for (int i = 0; i < this.references.length; i++) {
 						ref = this.references[i];
-						if (!resizing) {
-							restructured[i] = null;
-						}
 						while (ref != null) {
 							if (!toPurge.contains(ref)) {
 								Entry<K, V> entry = ref.get();
@@ -625,8 +622,8 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 					}
 
 					// Replace volatile members
+					this.references = restructured;
 					if (resizing) {
-						this.references = restructured;
 						this.resizeThreshold = (int) (this.references.length * getLoadFactor());
 					}
 					this.count = Math.max(countAfterRestructure, 0);
@@ -458,6 +458,61 @@ public class AnnotatedElementUtilsTests {
 		assertGetMergedAnnotation(SingleLocationTransitiveImplicitAliasesWithSkippedLevelContextConfigClass.class, "test.xml");
 	}
 
+	@Test
+	public void getMergedAnnotationReturnsSameSynthesizedInstanceOnRepeatedLookup() {
+		Class<?> element = AliasedValueComposedContextConfigClass.class;
+		ContextConfig contextConfig = getMergedAnnotation(element, ContextConfig.class);
+		assertNotNull(contextConfig);
+		assertSame(contextConfig, getMergedAnnotation(element, ContextConfig.class));
+		assertSame(findMergedAnnotation(element, ContextConfig.class), findMergedAnnotation(element, ContextConfig.class));
+	}
+
+	@Test
+	public void getMergedAnnotationAttributesReturnsIndependentCopyOnRepeatedLookup() {
+		Class<?> element = AliasedValueComposedContextConfigClass.class;
+		AnnotationAttributes attributes = getMergedAnnotationAttributes(element, ContextConfig.class);
+		assertNotNull(attributes);
+		attributes.getStringArray("locations")[0] = "modified.xml";
+		attributes.put("value", new String[] {"modified.xml"});
+
+		attributes = getMergedAnnotationAttributes(element, ContextConfig.class);
+		assertArrayEquals(new String[] {"test.xml"}, attributes.getStringArray("locations"));
+		assertArrayEquals(new String[] {"test.xml"}, attributes.getStringArray("value"));
+
+		attributes = AnnotatedElementUtils.findMergedAnnotationAttributes(element, ContextConfig.class, false, false);
+		attributes.getStringArray("locations")[0] = "modified.xml";
+		attributes = AnnotatedElementUtils.findMergedAnnotationAttributes(element, ContextConfig.class, false, false);
+		assertArrayEquals(new String[] {"test.xml"}, attributes.getStringArray("locations"));
+	}
+
+	@Test
+	public void mergedAnnotationLookupsForAbsentAnnotationAfterClearCache() {
+		Class<?> element = NonAnnotatedClass.class;
+		for (int i = 0; i < 2; i++) {
+			assertNull(getMergedAnnotation(element, ContextConfig.class));
+			assertNull(findMergedAnnotation(element, ContextConfig.class));
+			assertNull(getMergedAnnotationAttributes(element, ContextConfig.class));
+			assertNull(AnnotatedElementUtils.findMergedAnnotationAttributes(element, ContextConfig.class, false, false));
+			assertFalse(isAnnotated(element, ContextConfig.class));
+			assertFalse(hasAnnotation(element, ContextConfig.class));
+			AnnotationUtils.clearCache();
+		}
+	}
+
+	@Test
+	public void mergedAnnotationLookupsOnAdHocElementNotIndexed() throws Exception {
+		Method method = ConcreteClassWithInheritedAnnotation.class.getMethod("handleParameterized", String.class);
+		assertTrue(MergedAnnotationIndex.isIndexable(method));
+		assertTrue(MergedAnnotationIndex.isIndexable(method.getParameters()[0]));
+		assertTrue(MergedAnnotationIndex.isIndexable(ConcreteClassWithInheritedAnnotation.class));
+
+		AnnotatedElement element = AnnotatedElementUtils.forAnnotations(
+				TransactionalComponentClass.class.getAnnotations());
+		assertFalse(MergedAnnotationIndex.isIndexable(element));
+		assertTrue(hasAnnotation(element, Transactional.class));
+		assertNotNull(getMergedAnnotation(element, Transactional.class));
+	}
+
 	private void assertGetMergedAnnotation(Class<?> element, String... expected) {
 		String name = ContextConfig.class.getName();
 		ContextConfig contextConfig = getMergedAnnotation(element, ContextConfig.class);
@@ -640,6 +640,71 @@ public class GenericConversionServiceTests {
 				conversionService.convert("test", TypeDescriptor.valueOf(String.class), new TypeDescriptor(getClass().getField("integerCollection"))));
 	}
 
+	@Test
+	public void compiledConvertersForArrays() {
+		DefaultConversionService conversionService = new DefaultConversionService();
+		conversionService.setCompileConverters(true);
+		TypeDescriptor sourceType = TypeDescriptor.valueOf(String[].class);
+		TypeDescriptor targetType = TypeDescriptor.valueOf(int[].class);
+		assertThat(conversionService.getConverter(sourceType, targetType).toString(), startsWith("compiled "));
+
+		for (int i = 0; i < 2; i++) {
+			assertArrayEquals(new int[] {1, 2, 3}, conversionService.convert(new String[] {"1", "2", "3"}, int[].class));
+			assertArrayEquals(new String[] {"1", "2"}, conversionService.convert(new int[] {1, 2}, String[].class));
+			assertArrayEquals(new Long[] {1L, 2L}, conversionService.convert(new Integer[] {1, 2}, Long[].class));
+		}
+		String[] source = new String[] {"a"};
+		assertSame(source, conversionService.convert(source, Object[].class));
+		assertArrayEquals(new Integer[] {1, 2}, conversionService.convert(new Object[] {"1", 2}, Integer[].class));
+
+		try {
+			conversionService.convert(new String[] {"1", null}, int[].class);
+			fail("Should have thrown ConversionFailedException");
+		}
+		catch (ConversionFailedException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void compiledConvertersForArraysOfGenericType() {
+		DefaultConversionService conversionService = new DefaultConversionService();
+		conversionService.setCompileConverters(true);
+		TypeDescriptor sourceType = TypeDescriptor.valueOf(String[].class);
+		TypeDescriptor stringListArray = TypeDescriptor.array(
+				TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class)));
+		TypeDescriptor integerListArray = TypeDescriptor.array(
+				TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class)));
+
+		String[] source = new String[] {"1,2"};
+		List<?>[] strings = (List<?>[]) conversionService.convert(source, sourceType, stringListArray);
+		assertEquals(Arrays.asList("1", "2"), strings[0]);
+		List<?>[] integers = (List<?>[]) conversionService.convert(source, sourceType, integerListArray);
+		assertEquals(Arrays.asList(1, 2), integers[0]);
+	}
+
+	@Test
+	public void compiledConvertersForCollections() throws Exception {
+		DefaultConversionService conversionService = new DefaultConversionService();
+		conversionService.setCompileConverters(true);
+		TypeDescriptor sourceType = new TypeDescriptor(getClass().getField("stringCollection"));
+		TypeDescriptor targetType = new TypeDescriptor(getClass().getField("list"));
+		assertThat(conversionService.getConverter(sourceType, targetType).toString(), startsWith("compiled "));
+
+		for (int i = 0; i < 2; i++) {
+			assertEquals(Arrays.asList(1, 2), conversionService.convert(Arrays.asList("1", "2"), sourceType, targetType));
+		}
+		assertEquals(Arrays.asList(1, null), conversionService.convert(Arrays.asList("1", null), sourceType, targetType));
+
+		TypeDescriptor integerType = new TypeDescriptor(getClass().getField("integerCollection"));
+		List<Integer> integers = new ArrayList<>(Arrays.asList(1, 2));
+		assertSame(integers, conversionService.convert(integers, integerType, targetType));
+
+		conversionService.setCompileConverters(false);
+		assertThat(conversionService.getConverter(sourceType, targetType), instanceOf(CollectionToCollectionConverter.class));
+		assertEquals(Arrays.asList(1, 2), conversionService.convert(Arrays.asList("1", "2"), sourceType, targetType));
+	}
+
 
 	@ExampleAnnotation(active = true)
 	public String annotatedString;
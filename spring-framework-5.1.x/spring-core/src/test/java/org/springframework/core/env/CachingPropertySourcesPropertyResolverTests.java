@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.env;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.mock.env.MockPropertySource;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CachingPropertySourcesPropertyResolver}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class CachingPropertySourcesPropertyResolverTests {
+
+	private MutablePropertySources propertySources;
+
+	private CachingPropertySourcesPropertyResolver propertyResolver;
+
+
+	@Before
+	public void setUp() {
+		propertySources = new MutablePropertySources();
+		propertyResolver = new CachingPropertySourcesPropertyResolver(propertySources);
+		propertySources.addLast(new MockPropertySource("ps1").withProperty("pName", "ps1Value"));
+		propertySources.addLast(new MockPropertySource("ps2").withProperty("pName", "ps2Value")
+				.withProperty("number", "42").withProperty("ref", "${pName}-${number}"));
+	}
+
+
+	@Test
+	public void getPropertyMemoized() {
+		assertThat(propertyResolver.getProperty("pName"), equalTo("ps1Value"));
+		assertThat(propertyResolver.getProperty("number", Integer.class), equalTo(42));
+		assertThat(propertyResolver.getProperty("ref"), equalTo("ps1Value-42"));
+		assertThat(propertyResolver.getProperty("missing"), nullValue());
+		long misses = propertyResolver.getMissCount();
+
+		assertThat(propertyResolver.getProperty("pName"), equalTo("ps1Value"));
+		assertThat(propertyResolver.getProperty("number", Integer.class), equalTo(42));
+		assertThat(propertyResolver.getProperty("ref"), equalTo("ps1Value-42"));
+		assertThat(propertyResolver.getProperty("missing"), nullValue());
+		assertThat(propertyResolver.getMissCount(), equalTo(misses));
+		assertThat(propertyResolver.getHitCount(), greaterThanOrEqualTo(4L));
+	}
+
+	@Test
+	public void resolvePlaceholdersMemoized() {
+		assertThat(propertyResolver.resolvePlaceholders("${pName}:${missing}"), equalTo("ps1Value:${missing}"));
+		assertThat(propertyResolver.resolveRequiredPlaceholders("${ref}"), equalTo("ps1Value-42"));
+		long misses = propertyResolver.getMissCount();
+		assertThat(propertyResolver.resolvePlaceholders("${pName}:${missing}"), equalTo("ps1Value:${missing}"));
+		assertThat(propertyResolver.resolveRequiredPlaceholders("${ref}"), equalTo("ps1Value-42"));
+		assertThat(propertyResolver.getMissCount(), equalTo(misses));
+	}
+
+	@Test
+	public void mutableTargetTypeConvertedOnEveryAccess() {
+		propertySources.addFirst(new MockPropertySource("list").withProperty("items", "a,b"));
+		String[] items = propertyResolver.getProperty("items", String[].class);
+		assertThat(items, equalTo(new String[] {"a", "b"}));
+		assertNotSame(items, propertyResolver.getProperty("items", String[].class));
+	}
+
+	@Test
+	public void invalidatedOnPropertySourcesModification() {
+		assertThat(propertyResolver.getProperty("pName"), equalTo("ps1Value"));
+		assertThat(propertyResolver.containsProperty("other"), is(false));
+
+		propertySources.addFirst(new MockPropertySource("ps0").withProperty("pName", "ps0Value")
+				.withProperty("other", "value"));
+		assertThat(propertyResolver.getProperty("pName"), equalTo("ps0Value"));
+		assertThat(propertyResolver.containsProperty("other"), is(true));
+
+		propertySources.remove("ps0");
+		assertThat(propertyResolver.getProperty("pName"), equalTo("ps1Value"));
+
+		propertySources.replace("ps1", new MockPropertySource("ps1").withProperty("pName", "replaced"));
+		assertThat(propertyResolver.getProperty("pName"), equalTo("replaced"));
+	}
+
+	@Test
+	public void clearCacheAfterInPlaceModification() {
+		Map<String, Object> map = new HashMap<>();
+		propertySources.addFirst(new MapPropertySource("map", map));
+		assertThat(propertyResolver.getProperty("pName"), equalTo("ps1Value"));
+
+		map.put("pName", "mapValue");
+		assertThat(propertyResolver.getProperty("pName"), equalTo("ps1Value"));
+		propertyResolver.clearCache();
+		assertThat(propertyResolver.getProperty("pName"), equalTo("mapValue"));
+	}
+
+	@Test
+	public void nonIndexedPropertySourcesSearchedInOrder() {
+		Map<String, Object> env = Collections.singletonMap("P_NAME", "envValue");
+		propertySources.addAfter("ps1", new SystemEnvironmentPropertySource("env", env));
+		assertThat(propertyResolver.getProperty("pName"), equalTo("ps1Value"));
+		assertThat(propertyResolver.getProperty("p.name"), equalTo("envValue"));
+		assertThat(propertyResolver.containsProperty("p-name"), is(true));
+
+		propertySources.addFirst(new SystemEnvironmentPropertySource("env2",
+				Collections.singletonMap("PNAME", "env2Value")));
+		assertThat(propertyResolver.getProperty("pName"), equalTo("env2Value"));
+	}
+
+	@Test
+	public void containsPropertyWithNullValue() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("nullValue", null);
+		propertySources.addFirst(new MapPropertySource("map", map));
+		propertySources.addLast(new PropertySource<Object>("direct") {
+			@Override
+			public boolean containsProperty(String name) {
+				return "directNullValue".equals(name);
+			}
+			@Override
+			public Object getProperty(String name) {
+				return null;
+			}
+		});
+		assertThat(propertyResolver.containsProperty("nullValue"), is(true));
+		assertThat(propertyResolver.containsProperty("directNullValue"), is(true));
+		assertThat(propertyResolver.containsProperty("other"), is(false));
+		assertThat(propertyResolver.getProperty("nullValue"), nullValue());
+		assertThat(propertyResolver.getProperty("directNullValue"), nullValue());
+	}
+
+	@Test
+	public void environmentWithCachingResolver() {
+		StandardEnvironment environment = new StandardEnvironment() {
+			@Override
+			protected ConfigurablePropertyResolver createPropertyResolver(MutablePropertySources propertySources) {
+				return new CachingPropertySourcesPropertyResolver(propertySources);
+			}
+		};
+		environment.getPropertySources().addFirst(new MockPropertySource().withProperty("foo", "bar"));
+		assertThat(environment.getProperty("foo"), equalTo("bar"));
+		assertThat(environment.resolvePlaceholders("${foo}"), equalTo("bar"));
+		assertThat(environment.getPropertyResolver(), instanceOf(CachingPropertySourcesPropertyResolver.class));
+	}
+
+}
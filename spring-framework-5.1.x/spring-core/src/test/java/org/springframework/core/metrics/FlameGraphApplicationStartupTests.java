@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FlameGraphApplicationStartup}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class FlameGraphApplicationStartupTests {
+
+	private final FlameGraphApplicationStartup startup = new FlameGraphApplicationStartup();
+
+
+	@Test
+	public void nestedSteps() throws Exception {
+		StartupStep outer = this.startup.start("spring.outer");
+		StartupStep inner = this.startup.start("spring.inner").tag("beanName", "myBean");
+		Thread.sleep(2);
+		inner.end();
+		outer.end();
+
+		assertEquals(outer.getId(), inner.getParentId().longValue());
+		assertNull(outer.getParentId());
+		Iterator<StartupStep.Tag> tags = inner.getTags().iterator();
+		StartupStep.Tag tag = tags.next();
+		assertEquals("beanName", tag.getKey());
+		assertEquals("myBean", tag.getValue());
+		assertFalse(tags.hasNext());
+
+		List<FlameGraphApplicationStartup.RecordedStep> steps = this.startup.getRecordedSteps();
+		assertEquals(Arrays.asList(inner, outer), steps);
+		assertTrue(steps.get(1).getDuration().compareTo(steps.get(0).getDuration()) >= 0);
+		assertTrue(steps.get(0).getDuration().toMillis() >= 2);
+	}
+
+	@Test
+	public void collapsedStacks() throws Exception {
+		StartupStep outer = this.startup.start("spring.outer");
+		for (int i = 0; i < 2; i++) {
+			StartupStep inner = this.startup.start("spring.inner").tag("beanName", () -> "my;bean");
+			Thread.sleep(2);
+			inner.end();
+		}
+		StartupStep other = this.startup.start("spring.other");
+		Thread.sleep(2);
+		other.end();
+		outer.end();
+
+		StringWriter writer = new StringWriter();
+		this.startup.writeTo(writer);
+		String[] lines = writer.toString().split("\n");
+		assertTrue(lines.length >= 2);
+		assertTrue(lines[0].startsWith("spring.outer;spring.inner(beanName=my,bean) "));
+		assertTrue(Long.parseLong(lines[0].substring(lines[0].lastIndexOf(' ') + 1)) >= 4000);
+		assertTrue(lines[1].startsWith("spring.outer;spring.other "));
+	}
+
+	@Test
+	public void stepNotEndedDueToException() {
+		StartupStep outer = this.startup.start("spring.outer");
+		this.startup.start("spring.failed");
+		outer.end();
+		StartupStep next = this.startup.start("spring.next");
+		assertNull(next.getParentId());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void tagAfterEnd() {
+		StartupStep step = this.startup.start("spring.step");
+		step.end();
+		step.tag("key", "value");
+	}
+
+	@Test
+	public void defaultApplicationStartup() {
+		StartupStep step = ApplicationStartup.DEFAULT.start("spring.step").tag("key", "value");
+		step.end();
+		assertFalse(step.getTags().iterator().hasNext());
+	}
+
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.util.ObjectUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PersistentMetadataReaderFactory}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class PersistentMetadataReaderFactoryTests {
+
+	private File cacheFile;
+
+
+	@Before
+	public void setup() throws IOException {
+		this.cacheFile = File.createTempFile("metadata", ".cache");
+		assertTrue(this.cacheFile.delete());
+	}
+
+	@After
+	public void cleanup() {
+		this.cacheFile.delete();
+	}
+
+
+	@Test
+	public void metadataRestoredFromCacheFile() throws IOException {
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		MetadataReader parsed = factory.getMetadataReader(AnnotatedComponent.class.getName());
+		assertTrue(parsed instanceof SimpleMetadataReader);
+		factory.persistCache();
+		assertTrue(this.cacheFile.exists());
+
+		factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		MetadataReader restored = factory.getMetadataReader(AnnotatedComponent.class.getName());
+		assertFalse(restored instanceof SimpleMetadataReader);
+		assertEquals(parsed.getResource(), restored.getResource());
+		assertMetadataEquals(parsed.getAnnotationMetadata(), restored.getAnnotationMetadata());
+		assertSame(restored, factory.getMetadataReader(AnnotatedComponent.class.getName()));
+	}
+
+	@Test
+	public void cacheLimitApplied() throws IOException {
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		factory.getMetadataReader(AnnotatedComponent.class.getName());
+		factory.persistCache();
+
+		factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		factory.setCacheLimit(1);
+		MetadataReader restored = factory.getMetadataReader(AnnotatedComponent.class.getName());
+		factory.getMetadataReader(getClass().getName());
+		MetadataReader restoredAgain = factory.getMetadataReader(AnnotatedComponent.class.getName());
+		assertNotSame(restored, restoredAgain);
+		assertFalse(restoredAgain instanceof SimpleMetadataReader);
+	}
+
+	@Test
+	public void nestedClassMetadataRestored() throws IOException {
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		MetadataReader parsed = factory.getMetadataReader(AnnotatedComponent.class.getName());
+		MetadataReader parsedOuter = factory.getMetadataReader(getClass().getName());
+		factory.clearCache();
+
+		factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		AnnotationMetadata restored = factory.getMetadataReader(AnnotatedComponent.class.getName()).getAnnotationMetadata();
+		assertEquals(getClass().getName(), restored.getEnclosingClassName());
+		assertTrue(restored.isIndependent());
+		assertEquals(parsed.getClassMetadata().getSuperClassName(), restored.getSuperClassName());
+		assertArrayEquals(parsed.getClassMetadata().getInterfaceNames(), restored.getInterfaceNames());
+		AnnotationMetadata restoredOuter = factory.getMetadataReader(getClass().getName()).getAnnotationMetadata();
+		assertEquals(new HashSet<>(Arrays.asList(parsedOuter.getClassMetadata().getMemberClassNames())),
+				new HashSet<>(Arrays.asList(restoredOuter.getMemberClassNames())));
+	}
+
+	@Test
+	public void jarEntryMetadataRestored() throws IOException {
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		MetadataReader parsed = factory.getMetadataReader(Test.class.getName());
+		assertTrue(parsed.getResource().getURL().toString().startsWith("jar:"));
+		factory.persistCache();
+
+		factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		MetadataReader restored = factory.getMetadataReader(Test.class.getName());
+		assertFalse(restored instanceof SimpleMetadataReader);
+		assertMetadataEquals(parsed.getAnnotationMetadata(), restored.getAnnotationMetadata());
+	}
+
+	@Test
+	public void unusedEntriesExpireOnNextWrite() throws IOException {
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		factory.getMetadataReader(AnnotatedComponent.class.getName());
+		factory.persistCache();
+
+		factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		factory.getMetadataReader(getClass().getName());
+		factory.persistCache();
+
+		factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		assertFalse(factory.getMetadataReader(getClass().getName()) instanceof SimpleMetadataReader);
+		assertTrue(factory.getMetadataReader(AnnotatedComponent.class.getName()) instanceof SimpleMetadataReader);
+	}
+
+	@Test
+	public void corruptCacheFileIgnored() throws IOException {
+		Files.write(this.cacheFile.toPath(), new byte[] {1, 2, 3});
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(getClass().getClassLoader(), this.cacheFile);
+		MetadataReader reader = factory.getMetadataReader(AnnotatedComponent.class.getName());
+		assertTrue(reader.getAnnotationMetadata().hasAnnotation(DirectAnnotation.class.getName()));
+	}
+
+
+	private static void assertMetadataEquals(AnnotationMetadata expected, AnnotationMetadata actual) {
+		assertEquals(expected.getClassName(), actual.getClassName());
+		assertEquals(expected.isInterface(), actual.isInterface());
+		assertEquals(expected.isAnnotation(), actual.isAnnotation());
+		assertEquals(expected.isAbstract(), actual.isAbstract());
+		assertEquals(expected.isFinal(), actual.isFinal());
+		assertEquals(expected.getAnnotationTypes(), actual.getAnnotationTypes());
+		for (String annotationType : expected.getAnnotationTypes()) {
+			assertEquals(expected.getMetaAnnotationTypes(annotationType), actual.getMetaAnnotationTypes(annotationType));
+			assertAttributesEquals(expected.getAnnotationAttributes(annotationType),
+					actual.getAnnotationAttributes(annotationType));
+			assertAttributesEquals(expected.getAnnotationAttributes(annotationType, true),
+					actual.getAnnotationAttributes(annotationType, true));
+		}
+		assertEquals(expected.hasAnnotatedMethods(TestMarker.class.getName()),
+				actual.hasAnnotatedMethods(TestMarker.class.getName()));
+		assertEquals(expected.getAnnotatedMethods(TestMarker.class.getName()).size(),
+				actual.getAnnotatedMethods(TestMarker.class.getName()).size());
+		for (MethodMetadata method : actual.getAnnotatedMethods(TestMarker.class.getName())) {
+			assertEquals(expected.getClassName(), method.getDeclaringClassName());
+			assertEquals("value", method.getAnnotationAttributes(TestMarker.class.getName()).get("value"));
+		}
+	}
+
+	private static void assertAttributesEquals(Object expected, Object actual) {
+		if (expected instanceof Map) {
+			Map<?, ?> expectedMap = (Map<?, ?>) expected;
+			Map<?, ?> actualMap = (Map<?, ?>) actual;
+			assertEquals(expectedMap.keySet(), actualMap.keySet());
+			for (Object key : expectedMap.keySet()) {
+				assertAttributesEquals(expectedMap.get(key), actualMap.get(key));
+			}
+		}
+		else if (expected instanceof Object[]) {
+			Object[] expectedArray = (Object[]) expected;
+			Object[] actualArray = (Object[]) actual;
+			assertEquals(expectedArray.getClass(), actualArray.getClass());
+			assertEquals(expectedArray.length, actualArray.length);
+			for (int i = 0; i < expectedArray.length; i++) {
+				assertAttributesEquals(expectedArray[i], actualArray[i]);
+			}
+		}
+		else {
+			assertTrue(ObjectUtils.nullSafeEquals(expected, actual));
+		}
+	}
+
+
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface TestMarker {
+
+		String value() default "";
+	}
+
+
+	@Target(ElementType.ANNOTATION_TYPE)
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface NestedAnnotation {
+
+		String name();
+	}
+
+
+	@Target(ElementType.TYPE)
+	@Retention(RetentionPolicy.RUNTIME)
+	@TestMarker
+	public @interface DirectAnnotation {
+
+		TimeUnit unit();
+
+		Class<?>[] types();
+
+		int[] numbers();
+
+		NestedAnnotation nested();
+
+		NestedAnnotation[] nestedArray();
+	}
+
+
+	@DirectAnnotation(unit = TimeUnit.SECONDS, types = {String.class, Integer.class}, numbers = {1, 2},
+			nested = @NestedAnnotation(name = "n1"), nestedArray = {@NestedAnnotation(name = "n2")})
+	static class AnnotatedComponent implements Serializable {
+
+		@TestMarker("value")
+		public void doWork() {
+		}
+
+		@TestMarker("value")
+		public String getName() {
+			return "name";
+		}
+	}
+
+}
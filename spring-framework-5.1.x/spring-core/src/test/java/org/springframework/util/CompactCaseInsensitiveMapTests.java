@@ -0,0 +1,195 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CompactCaseInsensitiveMap}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class CompactCaseInsensitiveMapTests {
+
+	private final CompactCaseInsensitiveMap<String> map = new CompactCaseInsensitiveMap<>();
+
+
+	@Test
+	public void putAndGet() {
+		assertNull(map.put("key", "value1"));
+		assertEquals("value1", map.put("key", "value2"));
+		assertEquals("value2", map.put("key", "value3"));
+		assertEquals(1, map.size());
+		assertEquals("value3", map.get("key"));
+		assertEquals("value3", map.get("KEY"));
+		assertEquals("value3", map.get("Key"));
+		assertTrue(map.containsKey("key"));
+		assertTrue(map.containsKey("KEY"));
+		assertTrue(map.keySet().contains("Key"));
+		assertFalse(map.containsKey("keys"));
+		assertFalse(map.containsKey(new Object()));
+		assertNull(map.get("other"));
+	}
+
+	@Test
+	public void putWithOverlappingKeys() {
+		map.put("first", "value0");
+		assertNull(map.put("key", "value1"));
+		map.put("last", "value0");
+		assertEquals("value1", map.put("KEY", "value2"));
+		assertEquals("value2", map.put("Key", "value3"));
+		assertEquals(3, map.size());
+		assertEquals("value3", map.get("key"));
+		assertEquals(Arrays.asList("first", "last", "Key"), new ArrayList<>(map.keySet()));
+	}
+
+	@Test
+	public void orderConsistentWithLinkedCaseInsensitiveMap() {
+		LinkedCaseInsensitiveMap<String> linkedMap = new LinkedCaseInsensitiveMap<>(Locale.ENGLISH);
+		for (String key : new String[] {"Accept", "Host", "accept", "Content-Type", "HOST", "Host", "host"}) {
+			assertEquals(linkedMap.put(key, key + "-value"), map.put(key, key + "-value"));
+		}
+		assertEquals(new ArrayList<>(linkedMap.keySet()), new ArrayList<>(map.keySet()));
+		assertEquals(new ArrayList<>(linkedMap.values()), new ArrayList<>(map.values()));
+	}
+
+	@Test
+	public void getOrDefault() {
+		map.put("key", "value1");
+		assertEquals("value1", map.getOrDefault("KEY", "N"));
+		assertEquals("N", map.getOrDefault("keeeey", "N"));
+		assertEquals("N", map.getOrDefault(new Object(), "N"));
+	}
+
+	@Test
+	public void nonAsciiKeys() {
+		map.put("Straße", "value1");
+		map.put("Ärger", "value2");
+		assertEquals("value1", map.get("STRAßE"));
+		assertEquals("value2", map.get("äRGER"));
+		// Kelvin sign lower-cases to an ASCII 'k'
+		map.put("\u212Aey", "value3");
+		assertEquals("value3", map.get("KEY"));
+		assertEquals(3, map.size());
+	}
+
+	@Test
+	public void preservesInsertionOrderAcrossGrowthAndRemoval() {
+		Map<String, String> expected = new LinkedHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			map.put("Header-" + i, "v" + i);
+			expected.put("Header-" + i, "v" + i);
+		}
+		for (int i = 0; i < 100; i += 3) {
+			assertEquals("v" + i, map.remove("HEADER-" + i));
+			expected.remove("Header-" + i);
+		}
+		for (int i = 100; i < 150; i++) {
+			map.put("Header-" + i, "v" + i);
+			expected.put("Header-" + i, "v" + i);
+		}
+		assertEquals(expected.size(), map.size());
+		assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+		assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+		assertEquals(expected, map);
+		assertEquals(map, expected);
+		assertEquals(expected.hashCode(), map.hashCode());
+		assertEquals(expected.toString(), map.toString());
+	}
+
+	@Test
+	public void removeAndReAdd() {
+		for (int i = 0; i < 1000; i++) {
+			map.put("key", "value" + i);
+			assertEquals("value" + i, map.remove("KEY"));
+			map.put("other" + (i % 4), "value");
+			map.remove("OTHER" + (i % 4));
+		}
+		assertTrue(map.isEmpty());
+		map.put("key", "value");
+		assertEquals("value", map.get("Key"));
+	}
+
+	@Test
+	public void entrySetAndIteratorRemoval() {
+		map.put("a", "1");
+		map.put("b", "2");
+		map.put("c", "3");
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			entry.setValue(entry.getValue() + "!");
+		}
+		assertEquals("2!", map.get("B"));
+
+		Iterator<String> it = map.keySet().iterator();
+		it.next();
+		it.remove();
+		assertEquals("b", it.next());
+		assertFalse(map.containsKey("a"));
+		assertEquals(2, map.size());
+
+		assertTrue(map.entrySet().remove(new AbstractMap.SimpleEntry<>("c", "3!")));
+		assertFalse(map.entrySet().remove(new AbstractMap.SimpleEntry<>("b", "other")));
+		assertEquals(1, map.size());
+		assertTrue(map.values().contains("2!"));
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void concurrentModification() {
+		map.put("a", "1");
+		map.put("b", "2");
+		for (String key : map.keySet()) {
+			map.put(key + "x", "3");
+		}
+	}
+
+	@Test
+	public void clearAndClone() {
+		map.put("key", "value");
+		CompactCaseInsensitiveMap<String> copy = map.clone();
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get("key"));
+		assertEquals("value", copy.get("KEY"));
+		copy.put("KEY", "other");
+		assertEquals(1, copy.size());
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void serialization() throws Exception {
+		map.put("Content-Type", "text/plain");
+		map.put("Accept", "text/html");
+		LinkedCaseInsensitiveMap<String> copy =
+				(LinkedCaseInsensitiveMap<String>) SerializationTestUtils.serializeAndDeserialize(map);
+		assertEquals("text/plain", copy.get("content-type"));
+		assertEquals(map, copy);
+		assertEquals(Arrays.asList("Content-Type", "Accept"), new ArrayList<>(copy.keySet()));
+	}
+
+}
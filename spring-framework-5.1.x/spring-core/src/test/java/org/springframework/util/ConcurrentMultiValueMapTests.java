@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConcurrentMultiValueMap}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class ConcurrentMultiValueMapTests {
+
+	private final ConcurrentMultiValueMap<String, String> map = new ConcurrentMultiValueMap<>();
+
+
+	@Test
+	public void addAndSet() {
+		map.add("key", "value1");
+		map.addAll("key", Arrays.asList("value2", "value3"));
+		assertEquals(Arrays.asList("value1", "value2", "value3"), map.get("key"));
+		assertEquals("value1", map.getFirst("key"));
+		assertNull(map.getFirst("other"));
+
+		map.set("key", "value4");
+		assertEquals(Collections.singletonList("value4"), map.get("key"));
+		assertEquals(Collections.singletonMap("key", "value4"), map.toSingleValueMap());
+	}
+
+	@Test
+	public void putCopiesIntoCopyOnWriteList() {
+		List<String> values = new ArrayList<>();
+		values.add("value1");
+		map.put("key", values);
+		map.add("key", "value2");
+		assertEquals(1, values.size());
+		assertTrue(map.get("key") instanceof CopyOnWriteArrayList);
+		assertEquals(Arrays.asList("value1", "value2"), map.get("key"));
+	}
+
+	@Test
+	public void iterationWhileAdding() {
+		map.add("key", "value1");
+		map.add("key", "value2");
+		for (String value : map.get("key")) {
+			map.add("key", value + "x");
+		}
+		assertEquals(4, map.get("key").size());
+	}
+
+	@Test
+	public void concurrentAdd() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 1000; i++) {
+			String value = String.valueOf(i);
+			executor.execute(() -> map.add("key" + value.length(), value));
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(10, map.get("key1").size());
+		assertEquals(90, map.get("key2").size());
+		assertEquals(900, map.get("key3").size());
+	}
+
+}
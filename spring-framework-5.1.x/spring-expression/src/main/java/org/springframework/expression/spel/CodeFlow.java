@@ -85,9 +85,16 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the EvaluationContext).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * Local variables holding the active context object within nested scopes,
+	 * e.g. the current element while evaluating a projection or selection.
+	 */
+	private final Deque<Integer> contextObjectVariables = new ArrayDeque<>();
 
 
 	/**
@@ -105,11 +112,33 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * if within a nested scope (see {@link #enterContextObjectScope}).
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer variableId = this.contextObjectVariables.peek();
+		mv.visitVarInsn(ALOAD, (variableId != null ? variableId : 1));
+	}
+
+	/**
+	 * Enter a nested scope in which the active context object is held in the
+	 * given local variable, for example the current element of a projection.
+	 * Within that scope, {@link #loadTarget} loads that variable.
+	 * @param variableId the local variable holding the active context object
+	 * @since 5.1.18
+	 * @see #nextFreeVariableId()
+	 */
+	public void enterContextObjectScope(int variableId) {
+		this.contextObjectVariables.push(variableId);
+	}
+
+	/**
+	 * Exit the nested scope entered through {@link #enterContextObjectScope}.
+	 * @since 5.1.18
+	 */
+	public void exitContextObjectScope() {
+		this.contextObjectVariables.pop();
 	}
 
 	/**
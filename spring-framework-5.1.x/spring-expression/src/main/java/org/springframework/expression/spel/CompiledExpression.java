@@ -18,6 +18,8 @@ package org.springframework.expression.spel;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.common.ExpressionUtils;
 import org.springframework.lang.Nullable;
 
 /**
@@ -25,6 +27,11 @@ import org.springframework.lang.Nullable;
  * will extend this class and implement the {@link #getValue} method. It is not intended
  * to be subclassed by user code.
  *
+ * <p>Generated classes for expressions with a boolean, int, long or double result
+ * also override the corresponding primitive accessor method, returning the result
+ * without boxing it. The default implementations of those methods convert the
+ * result of {@link #getValue} instead.
+ *
  * @author Andy Clement
  * @since 4.1
  */
@@ -37,4 +44,56 @@ public abstract class CompiledExpression {
 	public abstract Object getValue(@Nullable Object target, @Nullable EvaluationContext context)
 			throws EvaluationException;
 
+	/**
+	 * Evaluate the compiled expression, returning its result as a {@code boolean}.
+	 * @since 5.1.18
+	 */
+	public boolean getBooleanValue(@Nullable Object target, @Nullable EvaluationContext context)
+			throws EvaluationException {
+
+		return convertValue(getValue(target, context), context, Boolean.class, "boolean");
+	}
+
+	/**
+	 * Evaluate the compiled expression, returning its result as an {@code int}.
+	 * @since 5.1.18
+	 */
+	public int getIntValue(@Nullable Object target, @Nullable EvaluationContext context)
+			throws EvaluationException {
+
+		return convertValue(getValue(target, context), context, Integer.class, "int");
+	}
+
+	/**
+	 * Evaluate the compiled expression, returning its result as a {@code long}.
+	 * @since 5.1.18
+	 */
+	public long getLongValue(@Nullable Object target, @Nullable EvaluationContext context)
+			throws EvaluationException {
+
+		return convertValue(getValue(target, context), context, Long.class, "long");
+	}
+
+	/**
+	 * Evaluate the compiled expression, returning its result as a {@code double}.
+	 * @since 5.1.18
+	 */
+	public double getDoubleValue(@Nullable Object target, @Nullable EvaluationContext context)
+			throws EvaluationException {
+
+		return convertValue(getValue(target, context), context, Double.class, "double");
+	}
+
+
+	private static <T> T convertValue(@Nullable Object value, @Nullable EvaluationContext context,
+			Class<T> targetType, String primitiveName) {
+
+		T result = (value != null ?
+				ExpressionUtils.convertTypedValue(context, new TypedValue(value), targetType) : null);
+		if (result == null) {
+			throw new SpelEvaluationException(SpelMessage.TYPE_CONVERSION_ERROR, "null", primitiveName);
+		}
+		return result;
+	}
+
 }
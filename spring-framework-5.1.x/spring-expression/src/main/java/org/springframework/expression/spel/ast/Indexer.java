@@ -258,6 +258,7 @@ public class Indexer extends SpelNodeImpl {
 			SpelNodeImpl index = this.children[0];
 			cf.enterCompilationScope();
 			index.generateCode(mv, cf);
+			insertUnboxIndexIfNecessary(mv, cf);
 			cf.exitCompilationScope();
 			mv.visitInsn(insn);
 		}
@@ -266,6 +267,7 @@ public class Indexer extends SpelNodeImpl {
 			mv.visitTypeInsn(CHECKCAST, "java/util/List");
 			cf.enterCompilationScope();
 			this.children[0].generateCode(mv, cf);
+			insertUnboxIndexIfNecessary(mv, cf);
 			cf.exitCompilationScope();
 			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;", true);
 		}
@@ -282,6 +284,8 @@ public class Indexer extends SpelNodeImpl {
 			else {
 				cf.enterCompilationScope();
 				this.children[0].generateCode(mv, cf);
+				// The key may be computed as a primitive, e.g. from an int literal
+				CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
 				cf.exitCompilationScope();
 			}
 			mv.visitMethodInsn(
@@ -318,6 +322,19 @@ public class Indexer extends SpelNodeImpl {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	/**
+	 * Unbox the index just computed if necessary, e.g. for an index taken from a variable.
+	 */
+	private static void insertUnboxIndexIfNecessary(MethodVisitor mv, CodeFlow cf) {
+		String indexDescriptor = cf.lastDescriptor();
+		if (!CodeFlow.isPrimitive(indexDescriptor)) {
+			CodeFlow.insertUnboxInsns(mv, 'I', indexDescriptor);
+		}
+		else if (!"I".equals(indexDescriptor)) {
+			throw new IllegalStateException("Unsupported index type: " + indexDescriptor);
+		}
+	}
+
 	@Override
 	public String toStringAST() {
 		StringBuilder sb = new StringBuilder("[");
@@ -176,7 +176,21 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
 		if (accessorToUse != null) {
-			if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
+			if (accessorToUse instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor) {
+				// Optimized reflective accessor: reusable for the same target type, with no need to
+				// go through the accessor lookup (and the general reflective accessor's cache) again
+				if (((ReflectivePropertyAccessor.OptimalPropertyAccessor) accessorToUse).isReusableFor(
+						evalContext, targetObject)) {
+					try {
+						return accessorToUse.read(evalContext, targetObject, name);
+					}
+					catch (Exception ex) {
+						throw new SpelEvaluationException(
+								ex, SpelMessage.EXCEPTION_DURING_PROPERTY_READ, name, ex.getMessage());
+					}
+				}
+			}
+			else if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
 				try {
 					return accessorToUse.read(evalContext, contextObject.getValue(), name);
 				}
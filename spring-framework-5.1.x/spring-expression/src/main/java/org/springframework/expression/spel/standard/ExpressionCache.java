@@ -0,0 +1,445 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Size-bounded cache for parsed {@link Expression} instances, keyed by
+ * expression string, parser context and parser configuration.
+ *
+ * <p>Expressions obtained from a {@link SpelExpressionParser} are shared between
+ * all parsers with an equivalent {@link SpelParserConfiguration}, including any
+ * compiled form that a {@link SpelExpression} reaches over time. Expressions
+ * from any other parser are only shared for the very same parser instance.
+ *
+ * <p>Expressions are held in one segment per compiler ClassLoader (or per parser
+ * instance for parsers other than {@link SpelExpressionParser}), each of them
+ * softly referenced so that cached expressions never keep their ClassLoader
+ * or parser alive. Once the cache limit is reached within a segment, its oldest
+ * entries are evicted. Hit, miss and eviction counts are tracked for monitoring
+ * purposes, next to the number of cached expressions that are currently running
+ * in compiled form.
+ *
+ * <p><b>NOTE:</b> Cached expressions are handed out to several callers, so they
+ * must not be mutated, e.g. through {@link SpelExpression#setEvaluationContext}.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see #getSharedInstance()
+ */
+public class ExpressionCache {
+
+	/** Default maximum number of entries per ClassLoader: 1024. */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+	@Nullable
+	private static volatile ExpressionCache sharedInstance;
+
+
+	private final int cacheLimit;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/** Segments of cached Expressions, keyed by compiler ClassLoader or by parser. */
+	private final ConcurrentMap<Object, Segment> segments = new ConcurrentReferenceHashMap<>(16);
+
+
+	/**
+	 * Create a new {@code ExpressionCache} with the default cache limit.
+	 * @see #DEFAULT_CACHE_LIMIT
+	 */
+	public ExpressionCache() {
+		this(DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a new {@code ExpressionCache} with the given cache limit.
+	 * @param cacheLimit the maximum number of entries to keep per ClassLoader
+	 * (0 for parsing every expression afresh)
+	 */
+	public ExpressionCache(int cacheLimit) {
+		Assert.isTrue(cacheLimit >= 0, "Cache limit must not be negative");
+		this.cacheLimit = cacheLimit;
+	}
+
+
+	/**
+	 * Return the maximum number of entries per ClassLoader for this cache.
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+	/**
+	 * Obtain the expression for the given expression string, parsing it
+	 * with the given parser unless already cached.
+	 * @param parser the parser to use in case of a cache miss
+	 * @param expressionString the raw expression string to parse
+	 * @return the (potentially shared) expression
+	 * @throws ParseException if parsing the expression string failed
+	 */
+	public Expression getExpression(ExpressionParser parser, String expressionString) throws ParseException {
+		return getExpression(parser, expressionString, null);
+	}
+
+	/**
+	 * Obtain the expression for the given expression string and parser context,
+	 * parsing it with the given parser unless already cached.
+	 * @param parser the parser to use in case of a cache miss
+	 * @param expressionString the raw expression string to parse
+	 * @param context a context for influencing the parsing routine (may be {@code null})
+	 * @return the (potentially shared) expression
+	 * @throws ParseException if parsing the expression string failed
+	 */
+	public Expression getExpression(ExpressionParser parser, String expressionString, @Nullable ParserContext context)
+			throws ParseException {
+
+		Assert.notNull(parser, "ExpressionParser must not be null");
+		Assert.notNull(expressionString, "Expression string must not be null");
+		if (this.cacheLimit == 0) {
+			this.missCount.incrementAndGet();
+			return parse(parser, expressionString, context);
+		}
+
+		SpelParserConfiguration configuration = null;
+		Object segmentKey = parser;
+		if (parser.getClass() == SpelExpressionParser.class) {
+			configuration = ((SpelExpressionParser) parser).getConfiguration();
+			segmentKey = configuration.getCompilerClassLoader();
+		}
+		Segment segment = this.segments.get(segmentKey);
+		if (segment == null) {
+			segment = new Segment();
+			Segment existing = this.segments.putIfAbsent(segmentKey, segment);
+			if (existing != null) {
+				segment = existing;
+			}
+		}
+
+		ExpressionKey cacheKey = new ExpressionKey(configuration, expressionString, context);
+		Expression expression = segment.accessCache.get(cacheKey);
+		if (expression != null) {
+			this.hitCount.incrementAndGet();
+			return expression;
+		}
+
+		// Parse outside of the lock: parsing an expression may take a while.
+		this.missCount.incrementAndGet();
+		expression = parse(parser, expressionString, context);
+		return segment.register(cacheKey, expression);
+	}
+
+	private Expression parse(ExpressionParser parser, String expressionString, @Nullable ParserContext context) {
+		return (context != null ? parser.parseExpression(expressionString, context) :
+				parser.parseExpression(expressionString));
+	}
+
+	/**
+	 * Return the current number of cached expressions.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : this.segments.values()) {
+			size += segment.accessCache.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Return the number of lookups that have been served from the cache.
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Return the number of lookups that required the expression to be parsed.
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	/**
+	 * Return the number of expressions that have been evicted from the cache
+	 * because of the cache limit.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.get();
+	}
+
+	/**
+	 * Return the number of cached expressions which are currently running
+	 * in compiled form.
+	 * @see SpelExpression#compileExpression()
+	 */
+	public int getCompiledCount() {
+		int count = 0;
+		for (Segment segment : this.segments.values()) {
+			for (Expression expression : segment.accessCache.values()) {
+				if (expression instanceof SpelExpression && ((SpelExpression) expression).isCompiled()) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Remove all expressions from the cache and reset the statistics.
+	 */
+	public void clear() {
+		this.segments.clear();
+		this.hitCount.set(0);
+		this.missCount.set(0);
+		this.evictionCount.set(0);
+	}
+
+	/**
+	 * Remove all expressions compiled against the given ClassLoader,
+	 * or against any ClassLoader underneath it, from the cache.
+	 * @param classLoader the ClassLoader to clear the cache for
+	 * @see #clearSharedInstance(ClassLoader)
+	 */
+	public void clear(@Nullable ClassLoader classLoader) {
+		this.segments.keySet().removeIf(key -> (key == classLoader ||
+				(key instanceof ClassLoader && isUnderneathClassLoader((ClassLoader) key, classLoader))));
+	}
+
+	private static boolean isUnderneathClassLoader(ClassLoader candidate, @Nullable ClassLoader parent) {
+		ClassLoader classLoaderToCheck = candidate;
+		while (classLoaderToCheck != null) {
+			if (classLoaderToCheck == parent) {
+				return true;
+			}
+			classLoaderToCheck = classLoaderToCheck.getParent();
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "ExpressionCache: size = " + size() + ", limit = " + this.cacheLimit +
+				", hits = " + getHitCount() + ", misses = " + getMissCount() +
+				", evictions = " + getEvictionCount() + ", compiled = " + getCompiledCount();
+	}
+
+
+	/**
+	 * Return a shared default {@code ExpressionCache} instance,
+	 * lazily building it once needed.
+	 * @return the shared {@code ExpressionCache} instance (never {@code null})
+	 * @see #clearSharedInstance(ClassLoader)
+	 */
+	public static ExpressionCache getSharedInstance() {
+		ExpressionCache cache = sharedInstance;
+		if (cache == null) {
+			synchronized (ExpressionCache.class) {
+				cache = sharedInstance;
+				if (cache == null) {
+					cache = new ExpressionCache();
+					sharedInstance = cache;
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Clear the shared default {@code ExpressionCache} instance, if already built,
+	 * releasing all of its expressions along with their parser configurations.
+	 * @see #getSharedInstance()
+	 */
+	public static void clearSharedInstance() {
+		ExpressionCache cache = sharedInstance;
+		if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * Clear the expressions compiled against the given ClassLoader from the
+	 * shared default {@code ExpressionCache} instance, if already built.
+	 * @param classLoader the ClassLoader to clear the cache for
+	 * @see #clear(ClassLoader)
+	 */
+	public static void clearSharedInstance(@Nullable ClassLoader classLoader) {
+		ExpressionCache cache = sharedInstance;
+		if (cache != null) {
+			cache.clear(classLoader);
+		}
+	}
+
+
+	/**
+	 * Expressions for one compiler ClassLoader or parser: a concurrent map for
+	 * lock-free access plus an access-ordered map for bounded registration.
+	 */
+	private class Segment {
+
+		/** Fast access cache for Expressions, returning already cached instances without a global lock. */
+		private final Map<ExpressionKey, Expression> accessCache = new ConcurrentHashMap<>(Math.min(cacheLimit, 256));
+
+		/** Map from expression key to Expression instance, synchronized for Expression registration. */
+		@SuppressWarnings("serial")
+		private final Map<ExpressionKey, Expression> creationCache =
+				new LinkedHashMap<ExpressionKey, Expression>(Math.min(cacheLimit, 256), 0.75f, true) {
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<ExpressionKey, Expression> eldest) {
+						if (size() > getCacheLimit()) {
+							accessCache.remove(eldest.getKey());
+							evictionCount.incrementAndGet();
+							return true;
+						}
+						else {
+							return false;
+						}
+					}
+				};
+
+		Expression register(ExpressionKey cacheKey, Expression expression) {
+			synchronized (this.creationCache) {
+				Expression existing = this.creationCache.get(cacheKey);
+				if (existing != null) {
+					// Registered by another thread in the meantime
+					return existing;
+				}
+				this.accessCache.put(cacheKey, expression);
+				this.creationCache.put(cacheKey, expression);
+			}
+			return expression;
+		}
+	}
+
+
+	/**
+	 * Cache key for an expression within a segment: the expression string plus
+	 * everything else that may influence the result of parsing it.
+	 */
+	private static final class ExpressionKey {
+
+		@Nullable
+		private final ConfigurationKey configurationKey;
+
+		private final String expressionString;
+
+		private final boolean template;
+
+		@Nullable
+		private final String prefix;
+
+		@Nullable
+		private final String suffix;
+
+		private final int hashCode;
+
+		public ExpressionKey(@Nullable SpelParserConfiguration configuration, String expressionString,
+				@Nullable ParserContext context) {
+
+			this.configurationKey = (configuration != null ? new ConfigurationKey(configuration) : null);
+			this.expressionString = expressionString;
+			this.template = (context != null && context.isTemplate());
+			this.prefix = (this.template ? context.getExpressionPrefix() : null);
+			this.suffix = (this.template ? context.getExpressionSuffix() : null);
+			this.hashCode = this.expressionString.hashCode() * 29 + ObjectUtils.nullSafeHashCode(this.configurationKey);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ExpressionKey)) {
+				return false;
+			}
+			ExpressionKey otherKey = (ExpressionKey) other;
+			return (this.expressionString.equals(otherKey.expressionString) &&
+					ObjectUtils.nullSafeEquals(this.configurationKey, otherKey.configurationKey) &&
+					this.template == otherKey.template &&
+					ObjectUtils.nullSafeEquals(this.prefix, otherKey.prefix) &&
+					ObjectUtils.nullSafeEquals(this.suffix, otherKey.suffix));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
+	/**
+	 * Value-based representation of a {@link SpelParserConfiguration},
+	 * apart from its compiler ClassLoader which identifies the segment.
+	 */
+	private static final class ConfigurationKey {
+
+		private final SpelCompilerMode compilerMode;
+
+		private final boolean autoGrowNullReferences;
+
+		private final boolean autoGrowCollections;
+
+		private final int maximumAutoGrowSize;
+
+		public ConfigurationKey(SpelParserConfiguration configuration) {
+			this.compilerMode = configuration.getCompilerMode();
+			this.autoGrowNullReferences = configuration.isAutoGrowNullReferences();
+			this.autoGrowCollections = configuration.isAutoGrowCollections();
+			this.maximumAutoGrowSize = configuration.getMaximumAutoGrowSize();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ConfigurationKey)) {
+				return false;
+			}
+			ConfigurationKey otherKey = (ConfigurationKey) other;
+			return (this.compilerMode == otherKey.compilerMode &&
+					this.autoGrowNullReferences == otherKey.autoGrowNullReferences &&
+					this.autoGrowCollections == otherKey.autoGrowCollections &&
+					this.maximumAutoGrowSize == otherKey.maximumAutoGrowSize);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.compilerMode.hashCode() * 29 + this.maximumAutoGrowSize;
+		}
+	}
+
+}
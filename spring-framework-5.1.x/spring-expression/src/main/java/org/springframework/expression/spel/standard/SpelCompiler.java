@@ -114,11 +114,50 @@ public final class SpelCompiler implements Opcodes {
 		}
 
 		if (logger.isDebugEnabled()) {
-			logger.debug("SpEL: unable to compile " + expression.toStringAST());
+			String reason = determineNonCompilableReason(expression);
+			logger.debug("SpEL: unable to compile " + expression.toStringAST() +
+					(reason != null ? ": " + reason : ""));
 		}
 		return null;
 	}
 
+	/**
+	 * Determine why the given expression is not compilable, pointing out the
+	 * innermost AST node which prevents compilation.
+	 * @param expression the expression to check
+	 * @return a description of the reason, or {@code null} if all AST nodes
+	 * are compilable (that is, code generation is going to be attempted)
+	 * @since 5.1.18
+	 */
+	@Nullable
+	static String determineNonCompilableReason(SpelNodeImpl expression) {
+		SpelNodeImpl node = findNonCompilableNode(expression);
+		if (node == null) {
+			return null;
+		}
+		StringBuilder reason = new StringBuilder(node.getClass().getSimpleName());
+		reason.append(" '").append(node.toStringAST()).append("' at position ");
+		reason.append(node.getStartPosition()).append(" is not compilable");
+		if (node.getExitDescriptor() == null) {
+			reason.append(": result type unknown (not evaluated yet, or not supported for this kind of value)");
+		}
+		return reason.toString();
+	}
+
+	@Nullable
+	private static SpelNodeImpl findNonCompilableNode(SpelNodeImpl node) {
+		if (node.isCompilable()) {
+			return null;
+		}
+		for (int i = 0; i < node.getChildCount(); i++) {
+			SpelNodeImpl nonCompilableChild = findNonCompilableNode((SpelNodeImpl) node.getChild(i));
+			if (nonCompilableChild != null) {
+				return nonCompilableChild;
+			}
+		}
+		return node;
+	}
+
 	private int getNextSuffix() {
 		return this.suffixId.incrementAndGet();
 	}
@@ -126,12 +165,34 @@ public final class SpelCompiler implements Opcodes {
 	/**
 	 * Generate the class that encapsulates the compiled expression and define it.
 	 * The  generated class will be a subtype of CompiledExpression.
+	 * <p>For expressions with a boolean, int, long or double result, the body is
+	 * generated into the corresponding primitive accessor method (for example
+	 * {@link CompiledExpression#getBooleanValue}), with {@code getValue} delegating
+	 * to it and boxing the result. If the generated code turns out not to leave
+	 * the expected primitive on the stack, the class is generated once more in
+	 * regular form.
 	 * @param expressionToCompile the expression to be compiled
 	 * @return the expression call, or {@code null} if the decision was to opt out of
 	 * compilation during code generation
 	 */
 	@Nullable
 	private Class<? extends CompiledExpression> createExpressionClass(SpelNodeImpl expressionToCompile) {
+		String exitDescriptor = expressionToCompile.getExitDescriptor();
+		String valueMethodName = getPrimitiveValueMethodName(exitDescriptor);
+		if (exitDescriptor != null && valueMethodName != null) {
+			Class<? extends CompiledExpression> clazz =
+					createExpressionClass(expressionToCompile, valueMethodName, exitDescriptor);
+			if (clazz != null) {
+				return clazz;
+			}
+		}
+		return createExpressionClass(expressionToCompile, null, null);
+	}
+
+	@Nullable
+	private Class<? extends CompiledExpression> createExpressionClass(SpelNodeImpl expressionToCompile,
+			@Nullable String valueMethodName, @Nullable String valueDescriptor) {
+
 		// Create class outline 'spel/ExNNN extends org.springframework.expression.spel.CompiledExpression'
 		String className = "spel/Ex" + getNextSuffix();
 		ClassWriter cw = new ExpressionClassWriter();
@@ -147,10 +208,17 @@ public final class SpelCompiler implements Opcodes {
 		mv.visitMaxs(1, 1);
 		mv.visitEnd();
 
-		// Create getValue() method
-		mv = cw.visitMethod(ACC_PUBLIC, "getValue",
-				"(Ljava/lang/Object;Lorg/springframework/expression/EvaluationContext;)Ljava/lang/Object;", null,
-				new String[ ]{"org/springframework/expression/EvaluationException"});
+		// Create getValue() method, or the primitive accessor method for the expression result
+		if (valueMethodName != null) {
+			mv = cw.visitMethod(ACC_PUBLIC, valueMethodName,
+					"(Ljava/lang/Object;Lorg/springframework/expression/EvaluationContext;)" + valueDescriptor, null,
+					new String[ ]{"org/springframework/expression/EvaluationException"});
+		}
+		else {
+			mv = cw.visitMethod(ACC_PUBLIC, "getValue",
+					"(Ljava/lang/Object;Lorg/springframework/expression/EvaluationContext;)Ljava/lang/Object;", null,
+					new String[ ]{"org/springframework/expression/EvaluationException"});
+		}
 		mv.visitCode();
 
 		CodeFlow cf = new CodeFlow(className, cw);
@@ -167,9 +235,32 @@ public final class SpelCompiler implements Opcodes {
 			return null;
 		}
 
-		CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
-		if ("V".equals(cf.lastDescriptor())) {
-			mv.visitInsn(ACONST_NULL);
+		if (valueMethodName != null) {
+			if (!valueDescriptor.equals(cf.lastDescriptor())) {
+				// Not the primitive result that we expected: try the regular form instead
+				return null;
+			}
+			mv.visitInsn(getReturnOpcode(valueDescriptor));
+			mv.visitMaxs(0, 0);  // not supplied due to COMPUTE_MAXS
+			mv.visitEnd();
+
+			// Create getValue() method, delegating to the primitive accessor method
+			mv = cw.visitMethod(ACC_PUBLIC, "getValue",
+					"(Ljava/lang/Object;Lorg/springframework/expression/EvaluationContext;)Ljava/lang/Object;", null,
+					new String[ ]{"org/springframework/expression/EvaluationException"});
+			mv.visitCode();
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitVarInsn(ALOAD, 1);
+			mv.visitVarInsn(ALOAD, 2);
+			mv.visitMethodInsn(INVOKEVIRTUAL, className, valueMethodName,
+					"(Ljava/lang/Object;Lorg/springframework/expression/EvaluationContext;)" + valueDescriptor, false);
+			CodeFlow.insertBoxIfNecessary(mv, valueDescriptor);
+		}
+		else {
+			CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
+			if ("V".equals(cf.lastDescriptor())) {
+				mv.visitInsn(ACONST_NULL);
+			}
 		}
 		mv.visitInsn(ARETURN);
 
@@ -185,6 +276,32 @@ public final class SpelCompiler implements Opcodes {
 		return loadClass(StringUtils.replace(className, "/", "."), data);
 	}
 
+	/**
+	 * Determine the {@link CompiledExpression} accessor method which returns
+	 * the given primitive type, if any.
+	 */
+	@Nullable
+	private static String getPrimitiveValueMethodName(@Nullable String descriptor) {
+		if (descriptor == null) {
+			return null;
+		}
+		switch (descriptor) {
+			case "Z": return "getBooleanValue";
+			case "I": return "getIntValue";
+			case "J": return "getLongValue";
+			case "D": return "getDoubleValue";
+			default: return null;
+		}
+	}
+
+	private static int getReturnOpcode(String descriptor) {
+		switch (descriptor) {
+			case "J": return LRETURN;
+			case "D": return DRETURN;
+			default: return IRETURN;
+		}
+	}
+
 	/**
 	 * Load a compiled expression class. Makes sure the classloaders aren't used too much
 	 * because they anchor compiled classes in memory and prevent GC.  If you have expressions
@@ -377,6 +377,115 @@ public class SpelExpression implements Expression {
 		return ExpressionUtils.convertTypedValue(context, typedResultValue, expectedResultType);
 	}
 
+	/**
+	 * Evaluate the expression against the specified root object in the given
+	 * context, returning the result as a {@code boolean}.
+	 * <p>Once compiled for a {@code boolean} result, the expression evaluates
+	 * without boxing any values or allocating an {@code ExpressionState},
+	 * which makes this variant suitable for evaluating many conditions in
+	 * quick succession. Other results are converted through the context's
+	 * {@link org.springframework.expression.TypeConverter}.
+	 * @param context the context in which to evaluate the expression
+	 * @param rootObject the root object against which to evaluate the expression
+	 * @return the evaluation result
+	 * @throws EvaluationException if there is a problem during evaluation,
+	 * including a {@code null} result
+	 * @since 5.1.18
+	 */
+	public boolean getBooleanValue(EvaluationContext context, @Nullable Object rootObject) throws EvaluationException {
+		Assert.notNull(context, "EvaluationContext is required");
+
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
+			try {
+				return compiledAst.getBooleanValue(rootObject, context);
+			}
+			catch (Throwable ex) {
+				revertToInterpretedOrRethrow(ex);
+			}
+		}
+
+		return interpretPrimitiveValue(context, rootObject, Boolean.class, "boolean");
+	}
+
+	/**
+	 * Evaluate the expression against the specified root object in the given
+	 * context, returning the result as an {@code int}.
+	 * @param context the context in which to evaluate the expression
+	 * @param rootObject the root object against which to evaluate the expression
+	 * @return the evaluation result
+	 * @throws EvaluationException if there is a problem during evaluation,
+	 * including a {@code null} result
+	 * @since 5.1.18
+	 */
+	public int getIntValue(EvaluationContext context, @Nullable Object rootObject) throws EvaluationException {
+		Assert.notNull(context, "EvaluationContext is required");
+
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
+			try {
+				return compiledAst.getIntValue(rootObject, context);
+			}
+			catch (Throwable ex) {
+				revertToInterpretedOrRethrow(ex);
+			}
+		}
+
+		return interpretPrimitiveValue(context, rootObject, Integer.class, "int");
+	}
+
+	/**
+	 * Evaluate the expression against the specified root object in the given
+	 * context, returning the result as a {@code long}.
+	 * @param context the context in which to evaluate the expression
+	 * @param rootObject the root object against which to evaluate the expression
+	 * @return the evaluation result
+	 * @throws EvaluationException if there is a problem during evaluation,
+	 * including a {@code null} result
+	 * @since 5.1.18
+	 */
+	public long getLongValue(EvaluationContext context, @Nullable Object rootObject) throws EvaluationException {
+		Assert.notNull(context, "EvaluationContext is required");
+
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
+			try {
+				return compiledAst.getLongValue(rootObject, context);
+			}
+			catch (Throwable ex) {
+				revertToInterpretedOrRethrow(ex);
+			}
+		}
+
+		return interpretPrimitiveValue(context, rootObject, Long.class, "long");
+	}
+
+	/**
+	 * Evaluate the expression against the specified root object in the given
+	 * context, returning the result as a {@code double}.
+	 * @param context the context in which to evaluate the expression
+	 * @param rootObject the root object against which to evaluate the expression
+	 * @return the evaluation result
+	 * @throws EvaluationException if there is a problem during evaluation,
+	 * including a {@code null} result
+	 * @since 5.1.18
+	 */
+	public double getDoubleValue(EvaluationContext context, @Nullable Object rootObject) throws EvaluationException {
+		Assert.notNull(context, "EvaluationContext is required");
+
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
+			try {
+				return compiledAst.getDoubleValue(rootObject, context);
+			}
+			catch (Throwable ex) {
+				revertToInterpretedOrRethrow(ex);
+			}
+		}
+
+		return interpretPrimitiveValue(context, rootObject, Double.class, "double");
+	}
+
 	@Override
 	@Nullable
 	public Class<?> getValueType() throws EvaluationException {
@@ -548,6 +657,40 @@ public class SpelExpression implements Expression {
 		this.failedAttempts.set(0);
 	}
 
+	/**
+	 * Return whether this expression is currently running in compiled form.
+	 * @since 5.1.18
+	 */
+	boolean isCompiled() {
+		return (this.compiledAst != null);
+	}
+
+	/**
+	 * Determine why this expression is not running in compiled form: pointing out
+	 * the part of the expression which cannot be compiled, or indicating that
+	 * bytecode generation has been attempted but failed.
+	 * <p>Useful for checking whether an expression evaluated in
+	 * {@link SpelCompilerMode#MIXED} mode is going to reach compiled form.
+	 * Note that sub-expressions only become compilable once they have been
+	 * evaluated, since compilation relies on the types encountered at runtime.
+	 * @return a description of the reason, or {@code null} if this expression
+	 * has been compiled or is compilable as far as can be determined
+	 * @since 5.1.18
+	 * @see #compileExpression()
+	 */
+	@Nullable
+	public String getNonCompilableReason() {
+		if (this.compiledAst != null) {
+			return null;
+		}
+		String reason = SpelCompiler.determineNonCompilableReason(this.ast);
+		if (reason == null && this.failedAttempts.get() > 0) {
+			reason = "Bytecode generation failed for '" + this.ast.toStringAST() + "' (" +
+					this.failedAttempts.get() + " attempts)";
+		}
+		return reason;
+	}
+
 	/**
 	 * Return the Abstract Syntax Tree for the expression.
 	 */
@@ -565,6 +708,31 @@ public class SpelExpression implements Expression {
 		return this.ast.toStringAST();
 	}
 
+	private void revertToInterpretedOrRethrow(Throwable ex) {
+		// If running in mixed mode, revert to interpreted
+		if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
+			this.compiledAst = null;
+			this.interpretedCount.set(0);
+		}
+		else {
+			// Running in SpelCompilerMode.immediate mode - propagate exception to caller
+			throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
+		}
+	}
+
+	private <T> T interpretPrimitiveValue(EvaluationContext context, @Nullable Object rootObject,
+			Class<T> targetType, String primitiveName) {
+
+		ExpressionState expressionState = new ExpressionState(context, toTypedValue(rootObject), this.configuration);
+		TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
+		checkCompile(expressionState);
+		T result = ExpressionUtils.convertTypedValue(context, typedResultValue, targetType);
+		if (result == null) {
+			throw new SpelEvaluationException(SpelMessage.TYPE_CONVERSION_ERROR, "null", primitiveName);
+		}
+		return result;
+	}
+
 	private TypedValue toTypedValue(@Nullable Object object) {
 		return (object != null ? new TypedValue(object) : TypedValue.NULL);
 	}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.support;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Generates a reader class per getter method or field, turning a property
+ * read into a direct invocation instead of a reflective one.
+ *
+ * <p>Each generated class implements {@link Function}, taking the target
+ * object and returning the (boxed) property value. Generated classes are
+ * defined in a child of the declaring class's class loader, so only public
+ * members of public classes are supported.
+ *
+ * <p>Readers are cached per member within the generator for the declaring
+ * class's class loader, so the same member never leads to several reader
+ * classes, no matter how many {@link ReflectivePropertyAccessor} instances
+ * ask for it. Generators themselves are only softly referenced, allowing
+ * for their class loaders (and all of their readers) to be released.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see ReflectivePropertyAccessor#setUseGeneratedReaders
+ */
+final class PropertyReaderGenerator implements Opcodes {
+
+	private static final Log logger = LogFactory.getLog(PropertyReaderGenerator.class);
+
+	// A generator is created for each class loader, defining its readers in a child class loader
+	private static final Map<ClassLoader, PropertyReaderGenerator> generators = new ConcurrentReferenceHashMap<>();
+
+	/** Cache marker for a member that no reader could be generated for. */
+	private static final Function<Object, Object> NO_READER = target -> null;
+
+
+	private final ChildClassLoader classLoader;
+
+	private final Map<Member, Function<Object, Object>> readerCache = new ConcurrentHashMap<>(64);
+
+	private int suffixId = 0;
+
+
+	private PropertyReaderGenerator(ClassLoader classLoader) {
+		this.classLoader = new ChildClassLoader(classLoader);
+	}
+
+
+	/**
+	 * Obtain a reader for the given getter method or field, generating it
+	 * on first access.
+	 * @param member the method or field to read from
+	 * @return the reader, or {@code null} if the member is not accessible
+	 * to generated code or generating the reader failed
+	 */
+	@Nullable
+	public static Function<Object, Object> generateReader(Member member) {
+		if (!Modifier.isPublic(member.getModifiers()) ||
+				!Modifier.isPublic(member.getDeclaringClass().getModifiers())) {
+			return null;
+		}
+		ClassLoader classLoader = member.getDeclaringClass().getClassLoader();
+		if (classLoader == null) {
+			// JDK class: visible from any class loader
+			classLoader = ClassUtils.getDefaultClassLoader();
+			if (classLoader == null) {
+				return null;
+			}
+		}
+		PropertyReaderGenerator generator;
+		synchronized (generators) {
+			generator = generators.get(classLoader);
+			if (generator == null) {
+				generator = new PropertyReaderGenerator(classLoader);
+				generators.put(classLoader, generator);
+			}
+		}
+		return generator.getReader(member);
+	}
+
+
+	@Nullable
+	private Function<Object, Object> getReader(Member member) {
+		Function<Object, Object> reader = this.readerCache.get(member);
+		if (reader == null) {
+			synchronized (this) {
+				reader = this.readerCache.get(member);
+				if (reader == null) {
+					try {
+						reader = generate(member);
+					}
+					catch (Throwable ex) {
+						if (logger.isDebugEnabled()) {
+							logger.debug("Failed to generate property reader for " + member, ex);
+						}
+						reader = NO_READER;
+					}
+					this.readerCache.put(member, reader);
+				}
+			}
+		}
+		return (reader != NO_READER ? reader : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Function<Object, Object> generate(Member member) throws Exception {
+		String className = "spel/PropertyReader" + (++this.suffixId);
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, "java/lang/Object",
+				new String[] {"java/util/function/Function"});
+
+		// Create default constructor
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);  // not supplied due to COMPUTE_MAXS
+		mv.visitEnd();
+
+		// Create apply(Object) method, reading the property from the given target
+		mv = cw.visitMethod(ACC_PUBLIC, "apply", "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+		mv.visitCode();
+		Class<?> declaringClass = member.getDeclaringClass();
+		String owner = Type.getInternalName(declaringClass);
+		boolean isStatic = Modifier.isStatic(member.getModifiers());
+		if (!isStatic) {
+			mv.visitVarInsn(ALOAD, 1);
+			mv.visitTypeInsn(CHECKCAST, owner);
+		}
+		Class<?> valueType;
+		if (member instanceof Method) {
+			Method method = (Method) member;
+			valueType = method.getReturnType();
+			String descriptor = Type.getMethodDescriptor(method);
+			if (isStatic) {
+				mv.visitMethodInsn(INVOKESTATIC, owner, method.getName(), descriptor, declaringClass.isInterface());
+			}
+			else if (declaringClass.isInterface()) {
+				mv.visitMethodInsn(INVOKEINTERFACE, owner, method.getName(), descriptor, true);
+			}
+			else {
+				mv.visitMethodInsn(INVOKEVIRTUAL, owner, method.getName(), descriptor, false);
+			}
+		}
+		else {
+			Field field = (Field) member;
+			valueType = field.getType();
+			mv.visitFieldInsn(isStatic ? GETSTATIC : GETFIELD, owner, field.getName(), Type.getDescriptor(valueType));
+		}
+		if (valueType == void.class) {
+			mv.visitInsn(ACONST_NULL);
+		}
+		else {
+			CodeFlow.insertBoxIfNecessary(mv, CodeFlow.toDescriptor(valueType));
+		}
+		mv.visitInsn(ARETURN);
+		mv.visitMaxs(0, 0);  // not supplied due to COMPUTE_MAXS
+		mv.visitEnd();
+		cw.visitEnd();
+
+		Class<?> readerClass = this.classLoader.defineClass(className.replace('/', '.'), cw.toByteArray());
+		return (Function<Object, Object>) readerClass.getDeclaredConstructor().newInstance();
+	}
+
+
+	private static class ChildClassLoader extends URLClassLoader {
+
+		private static final URL[] NO_URLS = new URL[0];
+
+		public ChildClassLoader(ClassLoader classLoader) {
+			super(NO_URLS, classLoader);
+		}
+
+		public Class<?> defineClass(String name, byte[] bytes) {
+			return super.defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
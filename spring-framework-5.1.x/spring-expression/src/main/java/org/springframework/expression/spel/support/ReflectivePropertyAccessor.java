@@ -27,6 +27,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.springframework.asm.MethodVisitor;
 import org.springframework.core.MethodParameter;
@@ -77,6 +78,8 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 	private final boolean allowWrite;
 
+	private volatile boolean useGeneratedReaders = false;
+
 	private final Map<PropertyCacheKey, InvokerPair> readerCache = new ConcurrentHashMap<>(64);
 
 	private final Map<PropertyCacheKey, Member> writerCache = new ConcurrentHashMap<>(64);
@@ -108,6 +111,30 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 	}
 
 
+	/**
+	 * Specify whether {@link #createOptimalAccessor optimized accessors} should
+	 * read properties through generated reader classes instead of reflection.
+	 * <p>Default is "false". Switch this to "true" for evaluating the same
+	 * property references many times in interpreted mode: a reader class gets
+	 * generated per getter method or field on first use, invoking the member
+	 * directly. Members which are not public or not declared in a public type
+	 * keep being accessed reflectively.
+	 * @since 5.1.18
+	 */
+	public void setUseGeneratedReaders(boolean useGeneratedReaders) {
+		this.useGeneratedReaders = useGeneratedReaders;
+	}
+
+	/**
+	 * Return whether optimized accessors read properties through generated
+	 * reader classes instead of reflection.
+	 * @since 5.1.18
+	 */
+	public boolean isUseGeneratedReaders() {
+		return this.useGeneratedReaders;
+	}
+
+
 	/**
 	 * Returns {@code null} which means this is a general purpose accessor.
 	 */
@@ -549,7 +576,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 				}
 			}
 			if (method != null) {
-				return new OptimalPropertyAccessor(invocationTarget);
+				return new OptimalPropertyAccessor(invocationTarget, this, clazz, target instanceof Class);
 			}
 		}
 
@@ -564,7 +591,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 				}
 			}
 			if (field != null) {
-				return new OptimalPropertyAccessor(invocationTarget);
+				return new OptimalPropertyAccessor(invocationTarget, this, clazz, target instanceof Class);
 			}
 		}
 
@@ -582,10 +609,28 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		final TypeDescriptor typeDescriptor;
 
+		@Nullable
+		private volatile Function<Object, Object> generatedReader;
+
+		private volatile boolean generatedReaderResolved;
+
 		public InvokerPair(Member member, TypeDescriptor typeDescriptor) {
 			this.member = member;
 			this.typeDescriptor = typeDescriptor;
 		}
+
+		@Nullable
+		Function<Object, Object> getGeneratedReader() {
+			if (!this.generatedReaderResolved) {
+				synchronized (this) {
+					if (!this.generatedReaderResolved) {
+						this.generatedReader = PropertyReaderGenerator.generateReader(this.member);
+						this.generatedReaderResolved = true;
+					}
+				}
+			}
+			return this.generatedReader;
+		}
 	}
 
 
@@ -655,9 +700,69 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		private final TypeDescriptor typeDescriptor;
 
-		OptimalPropertyAccessor(InvokerPair target) {
+		private final InvokerPair invokerPair;
+
+		private final ReflectivePropertyAccessor origin;
+
+		private final Class<?> targetType;
+
+		private final boolean targetIsClass;
+
+		OptimalPropertyAccessor(InvokerPair target, ReflectivePropertyAccessor origin,
+				Class<?> targetType, boolean targetIsClass) {
+
 			this.member = target.member;
 			this.typeDescriptor = target.typeDescriptor;
+			this.invokerPair = target;
+			this.origin = origin;
+			this.targetType = targetType;
+			this.targetIsClass = targetIsClass;
+		}
+
+		/**
+		 * Determine whether this accessor may be used for reading from the given
+		 * target again, without consulting the context's property accessors:
+		 * that is, whether the target is of the same type as the one that this
+		 * accessor has been created for, with the {@link ReflectivePropertyAccessor}
+		 * that created it still being registered in the given context and no other
+		 * accessor taking precedence over it for the target's type.
+		 * @param context the evaluation context to read in
+		 * @param target the target object to read from
+		 * @since 5.1.18
+		 */
+		public boolean isReusableFor(EvaluationContext context, @Nullable Object target) {
+			if (target == null || (target instanceof Class) != this.targetIsClass) {
+				return false;
+			}
+			Class<?> type = (this.targetIsClass ? (Class<?>) target : target.getClass());
+			if (type != this.targetType) {
+				return false;
+			}
+			// Same precedence as in PropertyOrFieldReference: accessors specific to the exact
+			// target class come first, then any applicable accessors in registration order
+			boolean originFound = false;
+			for (PropertyAccessor accessor : context.getPropertyAccessors()) {
+				if (accessor == this.origin) {
+					originFound = true;
+				}
+				else if (appliesBeforeOrigin(accessor, target.getClass(), originFound)) {
+					return false;
+				}
+			}
+			return originFound;
+		}
+
+		private boolean appliesBeforeOrigin(PropertyAccessor accessor, Class<?> targetClass, boolean originFound) {
+			Class<?>[] targets = accessor.getSpecificTargetClasses();
+			if (targets == null) {
+				return !originFound;
+			}
+			for (Class<?> clazz : targets) {
+				if (clazz == targetClass || (!originFound && clazz.isAssignableFrom(targetClass))) {
+					return true;
+				}
+			}
+			return false;
 		}
 
 		@Override
@@ -693,6 +798,19 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		@Override
 		public TypedValue read(EvaluationContext context, @Nullable Object target, String name) throws AccessException {
+			Function<Object, Object> reader = (this.origin.useGeneratedReaders ? this.invokerPair.getGeneratedReader() : null);
+			if (reader != null) {
+				try {
+					Object value = reader.apply(target);
+					return new TypedValue(value, this.typeDescriptor.narrow(value));
+				}
+				catch (Exception ex) {
+					throw new AccessException(this.member instanceof Method ?
+							"Unable to access property '" + name + "' through getter method" :
+							"Unable to access field '" + name + "'", ex);
+				}
+			}
+
 			if (this.member instanceof Method) {
 				Method method = (Method) this.member;
 				try {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.expression.spel;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,6 +29,7 @@ import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.tests.Assume;
 import org.springframework.tests.TestGroup;
@@ -64,6 +66,20 @@ public class MapAccessTests extends AbstractExpressionTests {
 		assertEquals("montag", value);
 	}
 
+	@Test
+	public void testCustomMapAccessorBeforeGetter() throws Exception {
+		ExpressionParser parser = new SpelExpressionParser();
+		NamedMap map = new NamedMap();
+		StandardEvaluationContext ctx = new StandardEvaluationContext(map);
+		ctx.setPropertyAccessors(Arrays.asList(new MapAccessor(), new ReflectivePropertyAccessor()));
+
+		Expression expr = parser.parseExpression("name");
+		assertEquals("getter", expr.getValue(ctx));
+		assertEquals("getter", expr.getValue(ctx));
+		map.put("name", "entry");
+		assertEquals("entry", expr.getValue(ctx));
+	}
+
 	@Test
 	public void testVariableMapAccess() throws Exception {
 		ExpressionParser parser = new SpelExpressionParser();
@@ -177,6 +193,15 @@ public class MapAccessTests extends AbstractExpressionTests {
 	}
 
 
+	@SuppressWarnings("serial")
+	public static class NamedMap extends HashMap<String, String> {
+
+		public String getName() {
+			return "getter";
+		}
+	}
+
+
 	public static class MapAccessor implements PropertyAccessor {
 
 		@Override
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -104,6 +105,8 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * FunctionReference
 	 * InlineList
 	 * OpModulus
+	 * Projection (on collections)
+	 * Selection (on collections)
 	 *
 	 * Not yet compiled (some may never need to be):
 	 * Assign
@@ -114,9 +117,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * OpMatches
 	 * OpPower
 	 * OpInc
-	 * Projection
 	 * QualifiedId
-	 * Selection
 	 */
 
 
@@ -1023,10 +1024,167 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		expression = parser.parseExpression("#negate(#ints.?[#this<2][0])");
 		assertEquals("-1", expression.getValue(context, Integer.class).toString());
-		// Selection isn't compilable.
+		// Selection on an array isn't compilable.
 		assertFalse(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable());
 	}
 
+	@Test
+	public void projectionAndSelectionOnCollection() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext(new ArrayList<>(Collections.singleton("root")));
+		context.setVariable("names", Arrays.asList("a", "bbb", "cc", "dddd"));
+
+		expression = parser.parseExpression("#names.![length()]");
+		assertEquals(Arrays.asList(1, 3, 2, 4), expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(1, 3, 2, 4), expression.getValue(context));
+
+		expression = parser.parseExpression("#names.![#this + #root[0]]");
+		assertEquals(Arrays.asList("aroot", "bbbroot", "ccroot", "ddddroot"), expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("aroot", "bbbroot", "ccroot", "ddddroot"), expression.getValue(context));
+
+		expression = parser.parseExpression("#names.?[length() > 1]");
+		assertEquals(Arrays.asList("bbb", "cc", "dddd"), expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("bbb", "cc", "dddd"), expression.getValue(context));
+
+		expression = parser.parseExpression("#names.^[length() > 1]");
+		assertEquals("bbb", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("bbb", expression.getValue(context));
+
+		expression = parser.parseExpression("#names.$[length() < 3]");
+		assertEquals("cc", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("cc", expression.getValue(context));
+
+		expression = parser.parseExpression("#names.?[length() > 1].![length()].size()");
+		assertEquals(3, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(3, expression.getValue(context));
+
+		expression = parser.parseExpression("#names.^[length() > 4]");
+		assertNull(expression.getValue(context));
+		assertCanCompile(expression);
+		assertNull(expression.getValue(context));
+
+		expression = parser.parseExpression("#names.?[#this.startsWith(#prefix)]");
+		context.setVariable("prefix", "c");
+		assertEquals(Collections.singletonList("cc"), expression.getValue(context));
+		assertCanCompile(expression);
+		context.setVariable("prefix", "d");
+		assertEquals(Collections.singletonList("dddd"), expression.getValue(context));
+
+		// Nested projection with different elements per level
+		context.setVariable("lists", Arrays.asList(Arrays.asList("a", "bb"), Collections.singletonList("ccc")));
+		expression = parser.parseExpression("#lists.![#this.![length()]]");
+		assertEquals(Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)), expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)), expression.getValue(context));
+
+		// Null-safe navigation
+		context.setVariable("none", null);
+		expression = parser.parseExpression("#none?.![length()]");
+		assertNull(expression.getValue(context));
+		context.setVariable("none", Collections.singletonList("x"));
+		expression.getValue(context);
+		assertCanCompile(expression);
+		context.setVariable("none", null);
+		assertNull(expression.getValue(context));
+	}
+
+	@Test
+	public void projectionAndSelectionNotCompilable() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("names", Arrays.asList("a", "bbb"));
+		Map<String, Integer> map = new HashMap<>();
+		map.put("a", 1);
+		context.setVariable("map", map);
+
+		expression = parser.parseExpression("#map.![value]");
+		assertEquals(Collections.singletonList(1), expression.getValue(context));
+		assertCantCompile(expression);
+
+		expression = parser.parseExpression("#names.?[length()]");
+		try {
+			expression.getValue(context);
+			fail("Should have failed with non-boolean selection criteria");
+		}
+		catch (SpelEvaluationException ex) {
+			assertEquals(SpelMessage.RESULT_OF_SELECTION_CRITERIA_IS_NOT_BOOLEAN, ex.getMessageCode());
+		}
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void inlineListWithNonLiteralElements() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext("root");
+		context.setVariable("a", "x");
+
+		expression = parser.parseExpression("{#a, length(), {#a, 'y'}}");
+		assertEquals(Arrays.asList("x", 4, Arrays.asList("x", "y")), expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("x", 4, Arrays.asList("x", "y")), expression.getValue(context));
+		context.setVariable("a", "z");
+		assertEquals(Arrays.asList("z", 4, Arrays.asList("z", "y")), expression.getValue(context));
+	}
+
+	@Test
+	public void indexerWithNonLiteralIndex() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("list", Arrays.asList("a", "b", "c"));
+		context.setVariable("array", new int[] {7, 8, 9});
+		Map<Integer, String> map = new HashMap<>();
+		map.put(1, "one");
+		context.setVariable("map", map);
+		context.setVariable("i", 2);
+
+		expression = parser.parseExpression("#list[#i]");
+		assertEquals("c", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("c", expression.getValue(context));
+
+		expression = parser.parseExpression("#array[#i]");
+		assertEquals(9, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(9, expression.getValue(context));
+
+		expression = parser.parseExpression("#map[1]");
+		assertEquals("one", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("one", expression.getValue(context));
+
+		expression = parser.parseExpression("#map[#i - 1]");
+		assertEquals("one", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("one", expression.getValue(context));
+	}
+
+	@Test
+	public void nonCompilableReason() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("names", Arrays.asList("a", "bbb"));
+		context.setVariable("array", new int[] {1, 2});
+
+		SpelExpression expression = (SpelExpression) parser.parseExpression("#names.![length()].size()");
+		String reason = expression.getNonCompilableReason();
+		assertNotNull(reason);
+		assertTrue(reason, reason.startsWith("VariableReference '#names' at position 0 is not compilable"));
+		assertTrue(reason, reason.contains("not evaluated yet"));
+
+		expression.getValue(context);
+		assertNull(expression.getNonCompilableReason());
+		assertTrue(expression.compileExpression());
+		assertNull(expression.getNonCompilableReason());
+
+		expression = (SpelExpression) parser.parseExpression("#array.![#this].length");
+		expression.getValue(context);
+		assertFalse(expression.compileExpression());
+		reason = expression.getNonCompilableReason();
+		assertNotNull(reason);
+		assertTrue(reason, reason.startsWith("Projection '![#this]' at position 7 is not compilable"));
+	}
+
 	@Test
 	public void functionReferenceVarargs_SPR12359() throws Exception {
 		StandardEvaluationContext context = new StandardEvaluationContext();
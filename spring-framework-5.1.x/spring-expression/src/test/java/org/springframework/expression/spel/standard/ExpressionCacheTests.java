@@ -0,0 +1,159 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ExpressionCache}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class ExpressionCacheTests {
+
+	private final ExpressionCache cache = new ExpressionCache(3);
+
+
+	@Test
+	public void hitsAndMisses() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		Expression expression = this.cache.getExpression(parser, "1 + 2");
+		assertEquals(3, expression.getValue());
+		assertSame(expression, this.cache.getExpression(parser, "1 + 2"));
+		assertSame(expression, this.cache.getExpression(new SpelExpressionParser(), "1 + 2"));
+		assertEquals(1, this.cache.size());
+		assertEquals(2, this.cache.getHitCount());
+		assertEquals(1, this.cache.getMissCount());
+
+		this.cache.clear();
+		assertEquals(0, this.cache.size());
+		assertEquals(0, this.cache.getHitCount());
+		assertNotSame(expression, this.cache.getExpression(parser, "1 + 2"));
+	}
+
+	@Test
+	public void keyedByParserConfiguration() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		SpelExpressionParser compilingParser = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader()));
+		Expression expression = this.cache.getExpression(parser, "'abc'.length()");
+		assertNotSame(expression, this.cache.getExpression(compilingParser, "'abc'.length()"));
+		assertSame(expression, this.cache.getExpression(
+				new SpelExpressionParser(new SpelParserConfiguration()), "'abc'.length()"));
+		assertEquals(2, this.cache.size());
+	}
+
+	@Test
+	public void keyedByCompilerClassLoader() {
+		ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+		SpelExpressionParser parser = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, classLoader));
+		Expression expression = this.cache.getExpression(parser, "'abc'.length()");
+		assertSame(expression, this.cache.getExpression(new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, classLoader)), "'abc'.length()"));
+		assertNotSame(expression, this.cache.getExpression(new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader())), "'abc'.length()"));
+		assertEquals(2, this.cache.size());
+	}
+
+	@Test
+	public void clearForClassLoader() {
+		ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+		ClassLoader childClassLoader = new URLClassLoader(new URL[0], classLoader);
+		this.cache.getExpression(new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, classLoader)), "1");
+		this.cache.getExpression(new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, childClassLoader)), "1");
+		Expression expression = this.cache.getExpression(new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader())), "1");
+		assertEquals(3, this.cache.size());
+
+		this.cache.clear(classLoader);
+		assertEquals(1, this.cache.size());
+		assertSame(expression, this.cache.getExpression(new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader())), "1"));
+	}
+
+	@Test
+	public void keyedByParserContext() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		Expression template = this.cache.getExpression(parser, "#{1}", ParserContext.TEMPLATE_EXPRESSION);
+		assertEquals("1", template.getValue(String.class));
+		assertSame(template, this.cache.getExpression(parser, "#{1}", new TemplateParserContext()));
+		assertNotSame(template, this.cache.getExpression(parser, "#{1}", new TemplateParserContext("${", "}")));
+		assertEquals(2, this.cache.size());
+	}
+
+	@Test
+	public void evictionOnceLimitReached() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		Expression first = this.cache.getExpression(parser, "1");
+		for (int i = 2; i <= 5; i++) {
+			this.cache.getExpression(parser, String.valueOf(i));
+		}
+		assertEquals(3, this.cache.size());
+		assertEquals(2, this.cache.getEvictionCount());
+		assertNotSame(first, this.cache.getExpression(parser, "1"));
+		assertEquals(3, this.cache.getEvictionCount());
+	}
+
+	@Test
+	public void compiledCount() {
+		SpelExpressionParser parser = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader()));
+		Expression expression = this.cache.getExpression(parser, "'abc'.length()");
+		this.cache.getExpression(parser, "T(java.lang.Math).random() > 2 ? 'x' : null");
+		assertEquals(0, this.cache.getCompiledCount());
+		assertEquals(3, expression.getValue());
+		assertEquals(3, expression.getValue());
+		assertEquals(1, this.cache.getCompiledCount());
+		assertSame(expression, this.cache.getExpression(parser, "'abc'.length()"));
+		assertEquals(1, this.cache.getCompiledCount());
+	}
+
+	@Test
+	public void noCaching() {
+		ExpressionCache cache = new ExpressionCache(0);
+		SpelExpressionParser parser = new SpelExpressionParser();
+		assertNotSame(cache.getExpression(parser, "1"), cache.getExpression(parser, "1"));
+		assertEquals(0, cache.size());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public void sharedInstance() {
+		assertSame(ExpressionCache.getSharedInstance(), ExpressionCache.getSharedInstance());
+		assertEquals(ExpressionCache.DEFAULT_CACHE_LIMIT, ExpressionCache.getSharedInstance().getCacheLimit());
+
+		ExpressionCache.getSharedInstance().getExpression(new SpelExpressionParser(), "1 + 2");
+		assertTrue(ExpressionCache.getSharedInstance().size() > 0);
+		ExpressionCache.clearSharedInstance();
+		assertEquals(0, ExpressionCache.getSharedInstance().size());
+	}
+
+}
@@ -16,16 +16,25 @@
 
 package org.springframework.expression.spel.standard;
 
+import java.lang.reflect.Field;
 import java.util.stream.IntStream;
 
 import org.junit.Test;
 
 import org.springframework.core.Ordered;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.CompiledExpression;
 import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.ReflectionUtils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Tests for the {@link SpelCompiler}.
@@ -47,6 +56,67 @@ public class SpelCompilerTests {
 		IntStream.rangeClosed(1, 5).forEach(i -> assertEquals(42, expression.getValue(component)));
 	}
 
+	@Test
+	public void primitiveResultsCompiledWithoutBoxing() throws Exception {
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+		EvaluationContext context = new StandardEvaluationContext();
+		OrderedComponent component = new OrderedComponent();
+
+		SpelExpression expression = parser.parseRaw("order > 40 and order < 50");
+		assertTrue(expression.getBooleanValue(context, component));
+		assertTrue(expression.getBooleanValue(context, component));
+		assertDeclaresValueMethod(expression, "getBooleanValue");
+		assertEquals(true, expression.getValue(context, component));
+
+		expression = parser.parseRaw("order + 1");
+		assertEquals(43, expression.getIntValue(context, component));
+		assertEquals(43, expression.getIntValue(context, component));
+		assertDeclaresValueMethod(expression, "getIntValue");
+		assertEquals(43, expression.getValue(context, component));
+		assertEquals(43L, expression.getLongValue(context, component));
+		assertEquals(43.0, expression.getDoubleValue(context, component), 0.0);
+
+		expression = parser.parseRaw("order * 2L");
+		assertEquals(84L, expression.getLongValue(context, component));
+		assertEquals(84L, expression.getLongValue(context, component));
+		assertDeclaresValueMethod(expression, "getLongValue");
+
+		expression = parser.parseRaw("order / 4.0");
+		assertEquals(10.5, expression.getDoubleValue(context, component), 0.0);
+		assertEquals(10.5, expression.getDoubleValue(context, component), 0.0);
+		assertDeclaresValueMethod(expression, "getDoubleValue");
+		assertEquals(10.5, expression.getValue(context, component));
+	}
+
+	@Test
+	public void primitiveResultsInterpreted() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		EvaluationContext context = new StandardEvaluationContext();
+		OrderedComponent component = new OrderedComponent();
+
+		assertTrue(parser.parseRaw("order == 42").getBooleanValue(context, component));
+		assertFalse(parser.parseRaw("'false'").getBooleanValue(context, component));
+		assertEquals(42, parser.parseRaw("order").getIntValue(context, component));
+		assertEquals(42L, parser.parseRaw("'42'").getLongValue(context, component));
+		assertEquals(21.0, parser.parseRaw("order / 2").getDoubleValue(context, component), 0.0);
+		try {
+			parser.parseRaw("null").getBooleanValue(context, component);
+			fail("Should have thrown SpelEvaluationException");
+		}
+		catch (SpelEvaluationException ex) {
+			// expected
+		}
+	}
+
+	private void assertDeclaresValueMethod(SpelExpression expression, String methodName) throws Exception {
+		assertTrue(expression.isCompiled());
+		Field field = ReflectionUtils.findField(SpelExpression.class, "compiledAst");
+		ReflectionUtils.makeAccessible(field);
+		CompiledExpression compiledAst = (CompiledExpression) field.get(expression);
+		compiledAst.getClass().getDeclaredMethod(methodName, Object.class, EvaluationContext.class);
+	}
+
 
 	static class OrderedComponent implements Ordered {
 
@@ -20,6 +20,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -402,6 +403,68 @@ public class ReflectionHelperTests extends AbstractExpressionTests {
 		}
 	}
 
+	@Test
+	public void generatedReaders() throws Exception {
+		ReflectivePropertyAccessor rpa = new ReflectivePropertyAccessor();
+		rpa.setUseGeneratedReaders(true);
+		GeneratedReaderTester t = new GeneratedReaderTester();
+		StandardEvaluationContext ctx = new StandardEvaluationContext(t);
+		ctx.setPropertyAccessors(Collections.singletonList(rpa));
+
+		PropertyAccessor optA = rpa.createOptimalAccessor(ctx, t, "name");
+		assertEquals("tester", optA.read(ctx, t, "name").getValue());
+		assertTrue(t.lastCaller.startsWith("spel.PropertyReader"));
+		assertEquals(42, rpa.createOptimalAccessor(ctx, t, "count").read(ctx, t, "count").getValue());
+		assertEquals(true, rpa.createOptimalAccessor(ctx, t, "active").read(ctx, t, "active").getValue());
+		assertEquals("constant", rpa.createOptimalAccessor(ctx, GeneratedReaderTester.class, "CONSTANT")
+				.read(ctx, GeneratedReaderTester.class, "CONSTANT").getValue());
+
+		// Non-public type: reflective access
+		Tester tester = new Tester();
+		tester.setProperty("hello");
+		assertEquals("hello", rpa.createOptimalAccessor(ctx, tester, "property").read(ctx, tester, "property").getValue());
+
+		SpelExpression expr = (SpelExpression) parser.parseExpression("name + count");
+		assertEquals("tester42", expr.getValue(ctx));
+		t.lastCaller = null;
+		assertEquals("tester42", expr.getValue(ctx));
+		assertTrue(t.lastCaller.startsWith("spel.PropertyReader"));
+	}
+
+	@Test
+	public void generatedReadersSharedAcrossAccessors() throws Exception {
+		GeneratedReaderTester t = new GeneratedReaderTester();
+		StandardEvaluationContext ctx = new StandardEvaluationContext(t);
+		String readerClassName = null;
+		for (int i = 0; i < 3; i++) {
+			ReflectivePropertyAccessor rpa = new ReflectivePropertyAccessor();
+			rpa.setUseGeneratedReaders(true);
+			ctx.setPropertyAccessors(Collections.singletonList(rpa));
+			assertEquals("tester", rpa.createOptimalAccessor(ctx, t, "name").read(ctx, t, "name").getValue());
+			assertTrue(t.lastCaller.startsWith("spel.PropertyReader"));
+			if (readerClassName == null) {
+				readerClassName = t.lastCaller;
+			}
+			assertEquals("Reader class must only be generated once", readerClassName, t.lastCaller);
+		}
+	}
+
+	@Test
+	public void optimalAccessorReuse() throws Exception {
+		ReflectivePropertyAccessor rpa = new ReflectivePropertyAccessor();
+		GeneratedReaderTester t = new GeneratedReaderTester();
+		StandardEvaluationContext ctx = new StandardEvaluationContext(t);
+		ReflectivePropertyAccessor.OptimalPropertyAccessor optA =
+				(ReflectivePropertyAccessor.OptimalPropertyAccessor) rpa.createOptimalAccessor(ctx, t, "name");
+		assertFalse(optA.isReusableFor(ctx, t));
+		ctx.setPropertyAccessors(Collections.singletonList(rpa));
+		assertTrue(optA.isReusableFor(ctx, t));
+		assertTrue(optA.isReusableFor(ctx, new GeneratedReaderTester()));
+		assertFalse(optA.isReusableFor(ctx, new Tester()));
+		assertFalse(optA.isReusableFor(ctx, GeneratedReaderTester.class));
+		assertFalse(optA.isReusableFor(ctx, null));
+	}
+
 
 	/**
 	 * Used to validate the match returned from a compareArguments call.
@@ -477,6 +540,25 @@ public class ReflectionHelperTests extends AbstractExpressionTests {
 	}
 
 
+	public static class GeneratedReaderTester {
+
+		public static final String CONSTANT = "constant";
+
+		public int count = 42;
+
+		String lastCaller;
+
+		public String getName() {
+			this.lastCaller = new Throwable().getStackTrace()[1].getClassName();
+			return "tester";
+		}
+
+		public boolean isActive() {
+			return true;
+		}
+	}
+
+
 	static class Super {
 	}
 
@@ -32,6 +32,7 @@ import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.standard.ExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.lang.Nullable;
@@ -81,6 +82,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	private final ExpressionParser expressionParser = new SpelExpressionParser();
 
+	private ExpressionCache selectorExpressionCache = new ExpressionCache();
+
 	private final DestinationCache destinationCache = new DestinationCache();
 
 	private final SessionSubscriptionRegistry subscriptionRegistry = new SessionSubscriptionRegistry();
@@ -133,6 +136,27 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		this.selectorHeaderName = (StringUtils.hasText(selectorHeaderName) ? selectorHeaderName : null);
 	}
 
+	/**
+	 * Specify the cache to obtain parsed selector expressions from.
+	 * <p>By default, a dedicated {@link ExpressionCache} with the default limit
+	 * is used: selectors come from clients, so they are not meant to displace
+	 * entries in the {@linkplain ExpressionCache#getSharedInstance() shared} cache.
+	 * @since 5.1.18
+	 * @see #setSelectorHeaderName
+	 */
+	public void setSelectorExpressionCache(ExpressionCache selectorExpressionCache) {
+		Assert.notNull(selectorExpressionCache, "ExpressionCache must not be null");
+		this.selectorExpressionCache = selectorExpressionCache;
+	}
+
+	/**
+	 * Return the cache to obtain parsed selector expressions from.
+	 * @since 5.1.18
+	 */
+	public ExpressionCache getSelectorExpressionCache() {
+		return this.selectorExpressionCache;
+	}
+
 	/**
 	 * Return the name for the selector header name.
 	 * @since 4.2
@@ -159,7 +183,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			String selector = SimpMessageHeaderAccessor.getFirstNativeHeader(getSelectorHeaderName(), headers);
 			if (selector != null) {
 				try {
-					expression = this.expressionParser.parseExpression(selector);
+					expression = this.selectorExpressionCache.getExpression(this.expressionParser, selector);
 					this.selectorHeaderInUse = true;
 					if (logger.isTraceEnabled()) {
 						logger.trace("Subscription selector: [" + selector + "]");
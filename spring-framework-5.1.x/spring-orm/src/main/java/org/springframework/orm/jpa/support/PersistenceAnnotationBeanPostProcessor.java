@@ -44,6 +44,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.annotation.AnnotatedMemberCache;
 import org.springframework.beans.factory.annotation.InjectionMetadata;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
@@ -66,7 +67,6 @@ import org.springframework.orm.jpa.SharedEntityManagerCreator;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -340,6 +340,14 @@ public class PersistenceAnnotationBeanPostProcessor
 		this.injectionMetadataCache.remove(beanName);
 	}
 
+	@Override
+	public void releaseConstructionMetadata(RootBeanDefinition beanDefinition, String beanName) {
+		InjectionMetadata metadata = this.injectionMetadataCache.remove(beanName);
+		if (metadata != null) {
+			metadata.clear(beanDefinition.getPropertyValues());
+		}
+	}
+
 	@Override
 	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
 		return null;
@@ -420,7 +428,7 @@ public class PersistenceAnnotationBeanPostProcessor
 			final LinkedList<InjectionMetadata.InjectedElement> currElements =
 					new LinkedList<>();
 
-			ReflectionUtils.doWithLocalFields(targetClass, field -> {
+			AnnotatedMemberCache.doWithLocalFields(targetClass, field -> {
 				if (field.isAnnotationPresent(PersistenceContext.class) ||
 						field.isAnnotationPresent(PersistenceUnit.class)) {
 					if (Modifier.isStatic(field.getModifiers())) {
@@ -430,7 +438,7 @@ public class PersistenceAnnotationBeanPostProcessor
 				}
 			});
 
-			ReflectionUtils.doWithLocalMethods(targetClass, method -> {
+			AnnotatedMemberCache.doWithLocalMethods(targetClass, method -> {
 				Method bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
 				if (!BridgeMethodResolver.isVisibilityBridgeMethodPair(method, bridgedMethod)) {
 					return;
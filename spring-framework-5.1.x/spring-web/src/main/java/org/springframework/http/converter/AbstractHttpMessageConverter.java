@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -58,6 +58,9 @@ public abstract class AbstractHttpMessageConverter<T> implements HttpMessageConv
 	@Nullable
 	private Charset defaultCharset;
 
+	@Nullable
+	private BufferPool bufferPool;
+
 
 	/**
 	 * Construct an {@code AbstractHttpMessageConverter} with no supported media types.
@@ -125,6 +128,27 @@ public abstract class AbstractHttpMessageConverter<T> implements HttpMessageConv
 		return this.defaultCharset;
 	}
 
+	/**
+	 * Set a pool of reusable buffers to draw from when reading message bodies,
+	 * instead of allocating fresh intermediate buffers for every message.
+	 * <p>Default is none. A pool is typically shared between converters.
+	 * Only applies to converters which copy the entire body, e.g.
+	 * {@link StringHttpMessageConverter} and {@link ByteArrayHttpMessageConverter}.
+	 * @since 5.1.18
+	 */
+	public void setBufferPool(@Nullable BufferPool bufferPool) {
+		this.bufferPool = bufferPool;
+	}
+
+	/**
+	 * Return the pool of reusable buffers to draw from, if any.
+	 * @since 5.1.18
+	 */
+	@Nullable
+	public BufferPool getBufferPool() {
+		return this.bufferPool;
+	}
+
 
 	/**
 	 * This implementation checks if the given class is {@linkplain #supports(Class) supported},
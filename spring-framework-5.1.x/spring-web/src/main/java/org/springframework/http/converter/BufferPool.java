@@ -0,0 +1,376 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.converter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Pool of reusable {@code byte[]} buffers for reading and writing HTTP message
+ * bodies, avoiding a fresh allocation of intermediate buffers per message.
+ *
+ * <p>Buffers are handed out in size classes: powers of two from
+ * {@link #MIN_BUFFER_SIZE} up to the configured maximum buffer size. Larger
+ * requests are served with non-pooled buffers. Released buffers are retained
+ * in stripes selected by the current thread, up to the configured number of
+ * buffers per size class and stripe, so that concurrent requests rarely
+ * contend for the same stripe while the retained memory remains bounded.
+ *
+ * <p>The number of bytes freshly allocated versus reused from the pool is
+ * exposed through {@link #getAllocatedBytes()} and {@link #getReusedBytes()}.
+ *
+ * <p>This class is thread-safe; a single instance is typically shared
+ * between several {@link HttpMessageConverter HttpMessageConverters}.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see AbstractHttpMessageConverter#setBufferPool
+ */
+public class BufferPool {
+
+	/**
+	 * The size of the smallest size class, in bytes.
+	 */
+	public static final int MIN_BUFFER_SIZE = 4096;
+
+	/**
+	 * The default maximum size of pooled buffers, in bytes.
+	 */
+	public static final int DEFAULT_MAX_BUFFER_SIZE = 256 * 1024;
+
+	/**
+	 * The default maximum number of buffers retained per size class and stripe.
+	 */
+	public static final int DEFAULT_MAX_RETAINED = 4;
+
+
+	private final int maxBufferSize;
+
+	private final int maxRetained;
+
+	private final Stripe[] stripes;
+
+	private final LongAdder allocatedBytes = new LongAdder();
+
+	private final LongAdder reusedBytes = new LongAdder();
+
+
+	/**
+	 * Create a new {@code BufferPool} with default settings.
+	 * @see #DEFAULT_MAX_BUFFER_SIZE
+	 * @see #DEFAULT_MAX_RETAINED
+	 */
+	public BufferPool() {
+		this(DEFAULT_MAX_BUFFER_SIZE, DEFAULT_MAX_RETAINED);
+	}
+
+	/**
+	 * Create a new {@code BufferPool} with the given limits.
+	 * @param maxBufferSize the maximum size of pooled buffers, in bytes
+	 * (rounded up to the next power of two)
+	 * @param maxRetained the maximum number of buffers retained per size class
+	 * and stripe (0 for not retaining any buffers)
+	 */
+	public BufferPool(int maxBufferSize, int maxRetained) {
+		Assert.isTrue(maxBufferSize >= MIN_BUFFER_SIZE, "Max buffer size must be at least " + MIN_BUFFER_SIZE);
+		Assert.isTrue(maxBufferSize <= (1 << 30), "Max buffer size must not exceed 1 GB");
+		Assert.isTrue(maxRetained >= 0, "Max retained must not be negative");
+		this.maxBufferSize = sizeClassCapacity(sizeClassIndex(maxBufferSize));
+		this.maxRetained = maxRetained;
+		int sizeClasses = sizeClassIndex(this.maxBufferSize) + 1;
+		int stripeCount = Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors(), 1) * 2 - 1);
+		this.stripes = new Stripe[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			this.stripes[i] = new Stripe(sizeClasses);
+		}
+	}
+
+
+	/**
+	 * Return the maximum size of pooled buffers, in bytes.
+	 */
+	public int getMaxBufferSize() {
+		return this.maxBufferSize;
+	}
+
+	/**
+	 * Return the maximum number of buffers retained per size class and stripe.
+	 */
+	public int getMaxRetained() {
+		return this.maxRetained;
+	}
+
+	/**
+	 * Return the total number of bytes of buffers allocated by this pool
+	 * since its creation, including non-pooled buffers beyond the max size.
+	 */
+	public long getAllocatedBytes() {
+		return this.allocatedBytes.sum();
+	}
+
+	/**
+	 * Return the total number of bytes of buffers reused from this pool
+	 * since its creation, i.e. not allocated afresh.
+	 */
+	public long getReusedBytes() {
+		return this.reusedBytes.sum();
+	}
+
+
+	/**
+	 * Obtain a buffer with at least the given capacity, to be handed back
+	 * through {@link #release} once not needed anymore.
+	 * <p>Note that the returned buffer may contain data from a previous use.
+	 * @param minCapacity the minimum capacity of the buffer
+	 * @return the buffer, possibly larger than requested
+	 */
+	public byte[] acquire(int minCapacity) {
+		Assert.isTrue(minCapacity >= 0, "Capacity must not be negative");
+		if (minCapacity > this.maxBufferSize) {
+			this.allocatedBytes.add(minCapacity);
+			return new byte[minCapacity];
+		}
+		int index = sizeClassIndex(minCapacity);
+		byte[] buffer = currentStripe().poll(index);
+		if (buffer != null) {
+			this.reusedBytes.add(buffer.length);
+			return buffer;
+		}
+		int capacity = sizeClassCapacity(index);
+		this.allocatedBytes.add(capacity);
+		return new byte[capacity];
+	}
+
+	/**
+	 * Hand back a buffer obtained from {@link #acquire}, making it available
+	 * for reuse. The buffer must not be used by the caller anymore.
+	 * <p>Buffers beyond the max size or not obtained from this pool are
+	 * silently discarded, as are buffers beyond the max number to retain.
+	 * @param buffer the buffer to release
+	 */
+	public void release(byte[] buffer) {
+		int capacity = buffer.length;
+		if (capacity < MIN_BUFFER_SIZE || capacity > this.maxBufferSize || Integer.bitCount(capacity) != 1) {
+			return;
+		}
+		currentStripe().offer(sizeClassIndex(capacity), buffer, this.maxRetained);
+	}
+
+	/**
+	 * Copy the contents of the given InputStream into a new byte array,
+	 * using pooled buffers for the intermediate content.
+	 * <p>Closes neither the given stream nor any other resources.
+	 * @param in the stream to copy from
+	 * @param expectedLength the expected number of bytes, or -1 if unknown
+	 * @return the new byte array that has been copied to (possibly empty)
+	 * @throws IOException in case of I/O errors
+	 */
+	public byte[] copyToByteArray(InputStream in, long expectedLength) throws IOException {
+		try (PooledOutputStream out = new PooledOutputStream(expectedLength)) {
+			out.readFrom(in);
+			return out.toByteArray();
+		}
+	}
+
+	/**
+	 * Copy the contents of the given InputStream into a String,
+	 * decoding the bytes from pooled buffers with the given charset.
+	 * <p>Closes neither the given stream nor any other resources.
+	 * @param in the stream to copy from
+	 * @param charset the charset to use to decode the bytes
+	 * @param expectedLength the expected number of bytes, or -1 if unknown
+	 * @return the String that has been copied to (possibly empty)
+	 * @throws IOException in case of I/O errors
+	 */
+	public String copyToString(InputStream in, Charset charset, long expectedLength) throws IOException {
+		try (PooledOutputStream out = new PooledOutputStream(expectedLength)) {
+			out.readFrom(in);
+			return out.toString(charset);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "BufferPool: max buffer size " + this.maxBufferSize + ", max retained " + this.maxRetained +
+				", allocated bytes " + getAllocatedBytes() + ", reused bytes " + getReusedBytes();
+	}
+
+
+	private Stripe currentStripe() {
+		int hash = Long.hashCode(Thread.currentThread().getId());
+		return this.stripes[(hash ^ (hash >>> 16)) & (this.stripes.length - 1)];
+	}
+
+	private static int sizeClassIndex(int capacity) {
+		if (capacity <= MIN_BUFFER_SIZE) {
+			return 0;
+		}
+		return 32 - Integer.numberOfLeadingZeros(capacity - 1) - Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+	}
+
+	private static int sizeClassCapacity(int index) {
+		return MIN_BUFFER_SIZE << index;
+	}
+
+
+	/**
+	 * Retained buffers for one stripe, one queue per size class.
+	 */
+	private static final class Stripe {
+
+		private final ArrayDeque<byte[]>[] buffers;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		public Stripe(int sizeClasses) {
+			this.buffers = new ArrayDeque[sizeClasses];
+			for (int i = 0; i < sizeClasses; i++) {
+				this.buffers[i] = new ArrayDeque<>();
+			}
+		}
+
+		public synchronized byte[] poll(int index) {
+			return this.buffers[index].pollFirst();
+		}
+
+		public synchronized void offer(int index, byte[] buffer, int maxRetained) {
+			ArrayDeque<byte[]> queue = this.buffers[index];
+			if (queue.size() < maxRetained) {
+				queue.offerFirst(buffer);
+			}
+		}
+	}
+
+
+	/**
+	 * An {@link OutputStream} collecting its content in a buffer obtained from
+	 * the pool, switching to larger buffers as needed. Closing the stream hands
+	 * its current buffer back to the pool; its content is not accessible anymore
+	 * afterwards.
+	 */
+	private final class PooledOutputStream extends OutputStream {
+
+		private byte[] buffer;
+
+		private int count;
+
+		private boolean closed;
+
+		public PooledOutputStream(long expectedLength) {
+			// Trust the expected length (e.g. a client-provided Content-Length)
+			// only up to the max buffer size, growing as actual content arrives
+			int initialCapacity = (expectedLength > MIN_BUFFER_SIZE ?
+					(int) Math.min(expectedLength, maxBufferSize) : MIN_BUFFER_SIZE);
+			this.buffer = acquire(initialCapacity);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			ensureCapacity(1);
+			this.buffer[this.count++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (off < 0 || len < 0 || len > b.length - off) {
+				throw new IndexOutOfBoundsException();
+			}
+			ensureCapacity(len);
+			System.arraycopy(b, off, this.buffer, this.count, len);
+			this.count += len;
+		}
+
+		/**
+		 * Return a copy of the content written so far, as a new byte array.
+		 */
+		public byte[] toByteArray() throws IOException {
+			assertOpen();
+			return Arrays.copyOf(this.buffer, this.count);
+		}
+
+		/**
+		 * Decode the content written so far into a String.
+		 * @param charset the charset to use to decode the bytes
+		 */
+		public String toString(Charset charset) throws IOException {
+			assertOpen();
+			return new String(this.buffer, 0, this.count, charset);
+		}
+
+		@Override
+		public void close() {
+			if (!this.closed) {
+				this.closed = true;
+				release(this.buffer);
+			}
+		}
+
+		/**
+		 * Read the given InputStream until its end, directly into the buffer.
+		 */
+		public void readFrom(InputStream in) throws IOException {
+			assertOpen();
+			while (true) {
+				if (this.count == this.buffer.length) {
+					// Buffer full: probe for the end of the stream before switching to a larger buffer
+					int b = in.read();
+					if (b == -1) {
+						return;
+					}
+					write(b);
+				}
+				int bytesRead = in.read(this.buffer, this.count, this.buffer.length - this.count);
+				if (bytesRead == -1) {
+					return;
+				}
+				this.count += bytesRead;
+			}
+		}
+
+		private void ensureCapacity(int additionalCapacity) throws IOException {
+			assertOpen();
+			int minCapacity = this.count + additionalCapacity;
+			if (minCapacity < 0) {
+				throw new OutOfMemoryError("Required buffer capacity exceeds maximum array size");
+			}
+			if (minCapacity > this.buffer.length) {
+				int newCapacity = (int) Math.min(Math.max((long) this.buffer.length * 2, minCapacity),
+						Integer.MAX_VALUE - 8);
+				if (newCapacity < minCapacity) {
+					throw new OutOfMemoryError("Required buffer capacity exceeds maximum array size");
+				}
+				byte[] newBuffer = acquire(newCapacity);
+				System.arraycopy(this.buffer, 0, newBuffer, 0, this.count);
+				release(this.buffer);
+				this.buffer = newBuffer;
+			}
+		}
+
+		private void assertOpen() throws IOException {
+			if (this.closed) {
+				throw new IOException("PooledOutputStream has been closed");
+			}
+		}
+	}
+
+}
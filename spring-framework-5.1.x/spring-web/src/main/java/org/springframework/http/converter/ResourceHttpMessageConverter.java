@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -87,7 +87,10 @@ public class ResourceHttpMessageConverter extends AbstractHttpMessageConverter<R
 			};
 		}
 		else if (Resource.class == clazz || ByteArrayResource.class.isAssignableFrom(clazz)) {
-			byte[] body = StreamUtils.copyToByteArray(inputMessage.getBody());
+			BufferPool bufferPool = getBufferPool();
+			byte[] body = (bufferPool != null ?
+					bufferPool.copyToByteArray(inputMessage.getBody(), inputMessage.getHeaders().getContentLength()) :
+					StreamUtils.copyToByteArray(inputMessage.getBody()));
 			return new ByteArrayResource(body) {
 				@Override
 				@Nullable
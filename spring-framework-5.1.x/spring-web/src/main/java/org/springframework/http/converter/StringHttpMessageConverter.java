@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -91,6 +91,11 @@ public class StringHttpMessageConverter extends AbstractHttpMessageConverter<Str
 	@Override
 	protected String readInternal(Class<? extends String> clazz, HttpInputMessage inputMessage) throws IOException {
 		Charset charset = getContentTypeCharset(inputMessage.getHeaders().getContentType());
+		BufferPool bufferPool = getBufferPool();
+		if (bufferPool != null) {
+			return bufferPool.copyToString(
+					inputMessage.getBody(), charset, inputMessage.getHeaders().getContentLength());
+		}
 		return StreamUtils.copyToString(inputMessage.getBody(), charset);
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,10 +25,13 @@ import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.PrettyPrinter;
@@ -39,6 +42,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
@@ -99,6 +103,8 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 	@Nullable
 	private PrettyPrinter ssePrettyPrinter;
 
+	private int streamingFlushThreshold = 0;
+
 
 	protected AbstractJackson2HttpMessageConverter(ObjectMapper objectMapper) {
 		this.objectMapper = objectMapper;
@@ -183,6 +189,31 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		return false;
 	}
 
+	/**
+	 * Set the number of elements after which to flush the underlying output
+	 * when writing a {@link java.util.stream.Stream} or {@link java.util.Iterator}
+	 * (e.g. a Jackson {@link com.fasterxml.jackson.databind.MappingIterator})
+	 * as a JSON array.
+	 * <p>Such values get written element by element rather than being collected
+	 * first, and intermediate flushing allows for sending the serialized content
+	 * in chunks instead of buffering it until the end of the array.
+	 * <p>Default is 0, not flushing until the entire value has been written.
+	 * @since 5.1.18
+	 */
+	public void setStreamingFlushThreshold(int streamingFlushThreshold) {
+		Assert.isTrue(streamingFlushThreshold >= 0, "Streaming flush threshold must not be negative");
+		this.streamingFlushThreshold = streamingFlushThreshold;
+	}
+
+	/**
+	 * Return the number of elements after which to flush the underlying output
+	 * when writing a {@code Stream} or {@code Iterator} as a JSON array.
+	 * @since 5.1.18
+	 */
+	public int getStreamingFlushThreshold() {
+		return this.streamingFlushThreshold;
+	}
+
 	@Override
 	public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
 		if (!canWrite(mediaType)) {
@@ -194,6 +225,9 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 				return false;
 			}
 		}
+		if (isStreamedAsJsonArray(clazz)) {
+			return true;
+		}
 		AtomicReference<Throwable> causeRef = new AtomicReference<>();
 		if (this.objectMapper.canSerialize(clazz, causeRef)) {
 			return true;
@@ -331,7 +365,12 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 					config.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
 				objectWriter = objectWriter.with(this.ssePrettyPrinter);
 			}
-			objectWriter.writeValue(generator, value);
+			if (isStreamedAsJsonArray(value.getClass())) {
+				writeElements(objectWriter, generator, value, javaType);
+			}
+			else {
+				objectWriter.writeValue(generator, value);
+			}
 
 			writeSuffix(generator, object);
 			generator.flush();
@@ -344,6 +383,56 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		}
 	}
 
+	/**
+	 * Whether values of the given class are {@code Stream} or {@code Iterator}
+	 * values to be written element by element, which is only supported for
+	 * an {@code ObjectMapper} producing JSON.
+	 */
+	private boolean isStreamedAsJsonArray(Class<?> clazz) {
+		return ((Stream.class.isAssignableFrom(clazz) || Iterator.class.isAssignableFrom(clazz)) &&
+				JsonFactory.FORMAT_NAME_JSON.equals(this.objectMapper.getFactory().getFormatName()));
+	}
+
+	/**
+	 * Write the elements of the given {@code Stream} or {@code Iterator} as a
+	 * JSON array, one at a time, closing the given value once done.
+	 */
+	private void writeElements(ObjectWriter objectWriter, JsonGenerator generator, Object value,
+			@Nullable JavaType javaType) throws IOException {
+
+		Iterator<?> iterator = (value instanceof Stream ? ((Stream<?>) value).iterator() : (Iterator<?>) value);
+		JavaType elementType = null;
+		if (javaType != null) {
+			JavaType[] typeParameters = javaType.findTypeParameters(value instanceof Stream ? Stream.class : Iterator.class);
+			if (typeParameters.length == 1 && typeParameters[0].isContainerType()) {
+				elementType = typeParameters[0];
+			}
+		}
+		ObjectWriter elementWriter = objectWriter.forType(elementType)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		try {
+			SequenceWriter sequenceWriter = elementWriter.writeValuesAsArray(generator);
+			int count = 0;
+			while (iterator.hasNext()) {
+				sequenceWriter.write(iterator.next());
+				if (this.streamingFlushThreshold > 0 && ++count % this.streamingFlushThreshold == 0) {
+					generator.flush();
+				}
+			}
+			sequenceWriter.close();
+		}
+		finally {
+			if (value instanceof AutoCloseable) {
+				try {
+					((AutoCloseable) value).close();
+				}
+				catch (Exception ex) {
+					logger.debug("Could not close streamed value", ex);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Write a prefix before the main content.
 	 * @param generator the generator to use for writing content.
@@ -27,6 +27,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.springframework.http.MediaType;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentMultiValueMap;
+import org.springframework.util.MultiValueMap;
 
 /**
  * An implementation of {@code MediaTypeFileExtensionResolver} that maintains
@@ -43,7 +45,7 @@ public class MappingMediaTypeFileExtensionResolver implements MediaTypeFileExten
 
 	private final ConcurrentMap<String, MediaType> mediaTypes = new ConcurrentHashMap<>(64);
 
-	private final ConcurrentMap<MediaType, List<String>> fileExtensions = new ConcurrentHashMap<>(64);
+	private final MultiValueMap<MediaType, String> fileExtensions = new ConcurrentMultiValueMap<>(64);
 
 	private final List<String> allFileExtensions = new CopyOnWriteArrayList<>();
 
@@ -85,9 +87,7 @@ public class MappingMediaTypeFileExtensionResolver implements MediaTypeFileExten
 	}
 
 	private void addFileExtension(MediaType mediaType, String extension) {
-		List<String> newList = new CopyOnWriteArrayList<>();
-		List<String> oldList = this.fileExtensions.putIfAbsent(mediaType, newList);
-		(oldList != null ? oldList : newList).add(extension);
+		this.fileExtensions.add(mediaType, extension);
 	}
 
 
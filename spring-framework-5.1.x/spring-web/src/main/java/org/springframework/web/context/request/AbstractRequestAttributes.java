@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.web.context.request;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -32,9 +33,18 @@ import org.springframework.util.Assert;
  */
 public abstract class AbstractRequestAttributes implements RequestAttributes {
 
+	private static final Object[] EMPTY_RESOLVED_SCOPED_OBJECTS = new Object[0];
+
+
 	/** Map from attribute name String to destruction callback Runnable. */
 	protected final Map<String, Runnable> requestDestructionCallbacks = new LinkedHashMap<>(8);
 
+	/**
+	 * Request-scoped objects resolved through {@link AbstractRequestAttributesScope},
+	 * as alternating name/object entries (replaced on write, never modified).
+	 */
+	private volatile Object[] resolvedScopedObjects = EMPTY_RESOLVED_SCOPED_OBJECTS;
+
 	private volatile boolean requestActive = true;
 
 
@@ -46,6 +56,7 @@ public abstract class AbstractRequestAttributes implements RequestAttributes {
 	public void requestCompleted() {
 		executeRequestDestructionCallbacks();
 		updateAccessedSessionAttributes();
+		this.resolvedScopedObjects = EMPTY_RESOLVED_SCOPED_OBJECTS;
 		this.requestActive = false;
 	}
 
@@ -81,6 +92,90 @@ public abstract class AbstractRequestAttributes implements RequestAttributes {
 		}
 	}
 
+	/**
+	 * Return whether request-scoped objects resolved through
+	 * {@link AbstractRequestAttributesScope} may be remembered for fast access
+	 * within the same request.
+	 * <p>The default implementation returns {@code false}. Subclasses may return
+	 * {@code true} if they call {@link #removeResolvedScopedObject} whenever a
+	 * request attribute gets replaced or removed.
+	 * @since 5.1.18
+	 */
+	protected boolean supportsResolvedScopedObjects() {
+		return false;
+	}
+
+	/**
+	 * Return the request-scoped object previously resolved for the given name
+	 * through {@link AbstractRequestAttributesScope}, if any.
+	 * @param name the name of the scoped object
+	 * @return the resolved object, or {@code null} if not resolved in this request yet
+	 * @since 5.1.18
+	 */
+	@Nullable
+	final Object getResolvedScopedObject(String name) {
+		Object[] resolved = this.resolvedScopedObjects;
+		for (int i = 0; i < resolved.length; i += 2) {
+			if (name.equals(resolved[i])) {
+				return resolved[i + 1];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Remember the given request-scoped object for fast access on subsequent
+	 * calls to {@link #getResolvedScopedObject} within the same request.
+	 * @param name the name of the scoped object
+	 * @param scopedObject the resolved object
+	 * @since 5.1.18
+	 */
+	final void addResolvedScopedObject(String name, Object scopedObject) {
+		synchronized (this.requestDestructionCallbacks) {
+			Object[] resolved = this.resolvedScopedObjects;
+			for (int i = 0; i < resolved.length; i += 2) {
+				if (name.equals(resolved[i])) {
+					if (resolved[i + 1] != scopedObject) {
+						Object[] updated = resolved.clone();
+						updated[i + 1] = scopedObject;
+						this.resolvedScopedObjects = updated;
+					}
+					return;
+				}
+			}
+			Object[] updated = new Object[resolved.length + 2];
+			System.arraycopy(resolved, 0, updated, 0, resolved.length);
+			updated[resolved.length] = name;
+			updated[resolved.length + 1] = scopedObject;
+			this.resolvedScopedObjects = updated;
+		}
+	}
+
+	/**
+	 * Forget the request-scoped object resolved for the given name, if any.
+	 * <p>To be called whenever the corresponding request attribute gets
+	 * replaced or removed.
+	 * @param name the name of the scoped object
+	 * @since 5.1.18
+	 */
+	protected final void removeResolvedScopedObject(String name) {
+		if (this.resolvedScopedObjects.length == 0) {
+			return;
+		}
+		synchronized (this.requestDestructionCallbacks) {
+			Object[] resolved = this.resolvedScopedObjects;
+			for (int i = 0; i < resolved.length; i += 2) {
+				if (name.equals(resolved[i])) {
+					Object[] updated = new Object[resolved.length - 2];
+					System.arraycopy(resolved, 0, updated, 0, i);
+					System.arraycopy(resolved, i + 2, updated, i, resolved.length - i - 2);
+					this.resolvedScopedObjects = updated;
+					return;
+				}
+			}
+		}
+	}
+
 	/**
 	 * Execute all callbacks that have been registered for execution
 	 * after request completion.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,13 @@ import org.springframework.lang.Nullable;
  * <p>Subclasses may wish to override the {@link #get} and {@link #remove}
  * methods to add synchronization around the call back into this super class.
  *
+ * <p>As of 5.1.18, objects in {@link RequestAttributes#SCOPE_REQUEST request scope}
+ * are remembered per {@link AbstractRequestAttributes} instance once resolved,
+ * so repeated access within the same request (e.g. through a scoped proxy) does
+ * not have to go through the underlying request attributes again. Note that this
+ * assumes scoped objects to be replaced or removed through the
+ * {@link RequestAttributes} abstraction rather than the native request.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @author Rob Harrop
@@ -40,6 +47,15 @@ public abstract class AbstractRequestAttributesScope implements Scope {
 	@Override
 	public Object get(String name, ObjectFactory<?> objectFactory) {
 		RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+		AbstractRequestAttributes resolvingAttributes = null;
+		if (getScope() == RequestAttributes.SCOPE_REQUEST && attributes instanceof AbstractRequestAttributes &&
+				((AbstractRequestAttributes) attributes).supportsResolvedScopedObjects()) {
+			resolvingAttributes = (AbstractRequestAttributes) attributes;
+			Object resolvedObject = resolvingAttributes.getResolvedScopedObject(name);
+			if (resolvedObject != null) {
+				return resolvedObject;
+			}
+		}
 		Object scopedObject = attributes.getAttribute(name, getScope());
 		if (scopedObject == null) {
 			scopedObject = objectFactory.getObject();
@@ -53,6 +69,29 @@ public abstract class AbstractRequestAttributesScope implements Scope {
 				scopedObject = retrievedObject;
 			}
 		}
+		if (resolvingAttributes != null) {
+			resolvingAttributes.addResolvedScopedObject(name, scopedObject);
+		}
+		return scopedObject;
+	}
+
+	@Override
+	@Nullable
+	public Object getIfPresent(String name) {
+		RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+		AbstractRequestAttributes resolvingAttributes = null;
+		if (getScope() == RequestAttributes.SCOPE_REQUEST && attributes instanceof AbstractRequestAttributes &&
+				((AbstractRequestAttributes) attributes).supportsResolvedScopedObjects()) {
+			resolvingAttributes = (AbstractRequestAttributes) attributes;
+			Object resolvedObject = resolvingAttributes.getResolvedScopedObject(name);
+			if (resolvedObject != null) {
+				return resolvedObject;
+			}
+		}
+		Object scopedObject = attributes.getAttribute(name, getScope());
+		if (scopedObject != null && resolvingAttributes != null) {
+			resolvingAttributes.addResolvedScopedObject(name, scopedObject);
+		}
 		return scopedObject;
 	}
 
@@ -60,6 +99,9 @@ public abstract class AbstractRequestAttributesScope implements Scope {
 	@Nullable
 	public Object remove(String name) {
 		RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+		if (attributes instanceof AbstractRequestAttributes) {
+			((AbstractRequestAttributes) attributes).removeResolvedScopedObject(name);
+		}
 		Object scopedObject = attributes.getAttribute(name, getScope());
 		if (scopedObject != null) {
 			attributes.removeAttribute(name, getScope());
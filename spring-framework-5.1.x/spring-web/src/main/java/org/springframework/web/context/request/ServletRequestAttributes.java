@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -176,6 +176,7 @@ public class ServletRequestAttributes extends AbstractRequestAttributes {
 				throw new IllegalStateException(
 						"Cannot set request attribute - request is not active anymore!");
 			}
+			removeResolvedScopedObject(name);
 			this.request.setAttribute(name, value);
 		}
 		else {
@@ -190,6 +191,7 @@ public class ServletRequestAttributes extends AbstractRequestAttributes {
 		if (scope == SCOPE_REQUEST) {
 			if (isRequestActive()) {
 				removeRequestDestructionCallback(name);
+				removeResolvedScopedObject(name);
 				this.request.removeAttribute(name);
 			}
 		}
@@ -265,6 +267,17 @@ public class ServletRequestAttributes extends AbstractRequestAttributes {
 	}
 
 
+	/**
+	 * This implementation returns {@code true}, since request attributes
+	 * replaced or removed through this instance are also dropped from the
+	 * resolved request-scoped objects.
+	 * @since 5.1.18
+	 */
+	@Override
+	protected boolean supportsResolvedScopedObjects() {
+		return true;
+	}
+
 	/**
 	 * Update all accessed session attributes through {@code session.setAttribute}
 	 * calls, explicitly indicating to the container that they might have been modified.
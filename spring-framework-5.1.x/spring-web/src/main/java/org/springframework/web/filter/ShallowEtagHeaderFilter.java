@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,16 +18,20 @@ package org.springframework.web.filter;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.ServletRequest;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.DigestUtils;
 import org.springframework.web.util.ContentCachingResponseWrapper;
@@ -67,6 +71,8 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 	private boolean writeWeakETag = false;
 
+	private int contentCacheLimit = -1;
+
 
 	/**
 	 * Set whether the ETag value written to the response should be weak, as per RFC 7232.
@@ -87,6 +93,33 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		return this.writeWeakETag;
 	}
 
+	/**
+	 * Set the maximum number of bytes of response content to cache for
+	 * ETag generation.
+	 * <p>Content beyond this limit is not held in memory: the cached content
+	 * gets written to the response at that point and any further content is
+	 * streamed through, with no ETag generated for the response. This keeps
+	 * memory consumption bounded for large or streamed responses (e.g. JSON
+	 * arrays written element by element), while smaller responses still
+	 * receive an ETag and may result in a {@code 304 "Not Modified"}.
+	 * <p>Default is -1, caching the entire response content.
+	 * Should be configured using an {@code <init-param>} for parameter name
+	 * "contentCacheLimit" in the filter definition in {@code web.xml}.
+	 * @since 5.1.18
+	 */
+	public void setContentCacheLimit(int contentCacheLimit) {
+		this.contentCacheLimit = contentCacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of bytes of response content to cache
+	 * for ETag generation, or -1 if the entire content gets cached.
+	 * @since 5.1.18
+	 */
+	public int getContentCacheLimit() {
+		return this.contentCacheLimit;
+	}
+
 
 	/**
 	 * The default value is {@code false} so that the filter may delay the generation
@@ -103,7 +136,8 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 		HttpServletResponse responseToUse = response;
 		if (!isAsyncDispatch(request) && !(response instanceof ContentCachingResponseWrapper)) {
-			responseToUse = new HttpStreamingAwareContentCachingResponseWrapper(response, request);
+			responseToUse = new HttpStreamingAwareContentCachingResponseWrapper(
+					response, request, this.contentCacheLimit);
 		}
 
 		filterChain.doFilter(request, responseToUse);
@@ -119,8 +153,9 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		Assert.notNull(responseWrapper, "ContentCachingResponseWrapper not found");
 		HttpServletResponse rawResponse = (HttpServletResponse) responseWrapper.getResponse();
 		int statusCode = responseWrapper.getStatusCode();
+		flushContentCacheLimitWriter(responseWrapper);
 
-		if (rawResponse.isCommitted()) {
+		if (rawResponse.isCommitted() || isContentCacheLimitExceeded(responseWrapper)) {
 			responseWrapper.copyBodyToResponse();
 		}
 		else if (isEligibleForEtag(request, responseWrapper, statusCode, responseWrapper.getContentInputStream())) {
@@ -211,29 +246,189 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		return (request.getAttribute(STREAMING_ATTRIBUTE) != null);
 	}
 
+	private static boolean isContentCacheLimitExceeded(ContentCachingResponseWrapper responseWrapper) {
+		return (responseWrapper instanceof HttpStreamingAwareContentCachingResponseWrapper &&
+				((HttpStreamingAwareContentCachingResponseWrapper) responseWrapper).contentCacheLimitExceeded);
+	}
+
+	private static void flushContentCacheLimitWriter(ContentCachingResponseWrapper responseWrapper) {
+		if (responseWrapper instanceof HttpStreamingAwareContentCachingResponseWrapper) {
+			((HttpStreamingAwareContentCachingResponseWrapper) responseWrapper).flushLimitedWriter();
+		}
+	}
+
 
 	private static class HttpStreamingAwareContentCachingResponseWrapper extends ContentCachingResponseWrapper {
 
 		private final HttpServletRequest request;
 
-		public HttpStreamingAwareContentCachingResponseWrapper(HttpServletResponse response, HttpServletRequest request) {
+		private final int contentCacheLimit;
+
+		@Nullable
+		private ServletOutputStream limitedOutputStream;
+
+		@Nullable
+		private PrintWriter limitedWriter;
+
+		private boolean contentCacheLimitExceeded;
+
+		public HttpStreamingAwareContentCachingResponseWrapper(
+				HttpServletResponse response, HttpServletRequest request, int contentCacheLimit) {
+
 			super(response);
 			this.request = request;
+			this.contentCacheLimit = contentCacheLimit;
 		}
 
 		@Override
 		public ServletOutputStream getOutputStream() throws IOException {
-			return (useRawResponse() ? getResponse().getOutputStream() : super.getOutputStream());
+			if (useRawResponse()) {
+				return getResponse().getOutputStream();
+			}
+			if (this.contentCacheLimit < 0) {
+				return super.getOutputStream();
+			}
+			if (this.limitedOutputStream == null) {
+				this.limitedOutputStream = new ContentCacheLimitOutputStream(super.getOutputStream());
+			}
+			return this.limitedOutputStream;
 		}
 
 		@Override
 		public PrintWriter getWriter() throws IOException {
-			return (useRawResponse() ? getResponse().getWriter() : super.getWriter());
+			if (useRawResponse()) {
+				return getResponse().getWriter();
+			}
+			if (this.contentCacheLimit < 0) {
+				return super.getWriter();
+			}
+			if (this.limitedWriter == null) {
+				String characterEncoding = getCharacterEncoding();
+				this.limitedWriter = new ContentCacheLimitPrintWriter(getOutputStream(),
+						characterEncoding != null ? characterEncoding : WebUtils.DEFAULT_CHARACTER_ENCODING);
+			}
+			return this.limitedWriter;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			flushLimitedWriter();
+			if (this.contentCacheLimitExceeded) {
+				getResponse().flushBuffer();
+			}
+		}
+
+		@Override
+		public void setContentLength(int len) {
+			if (exceedsContentCacheLimit(len)) {
+				getResponse().setContentLength(len);
+			}
+			else {
+				super.setContentLength(len);
+			}
+		}
+
+		@Override
+		public void setContentLengthLong(long len) {
+			if (exceedsContentCacheLimit(len)) {
+				getResponse().setContentLengthLong(len);
+			}
+			else {
+				super.setContentLengthLong(len);
+			}
+		}
+
+		/**
+		 * Whether a declared content length is to be passed on to the response
+		 * as-is, rather than pre-sizing the content cache beyond its limit.
+		 */
+		private boolean exceedsContentCacheLimit(long contentLength) {
+			return (this.contentCacheLimitExceeded ||
+					(this.contentCacheLimit >= 0 && contentLength > this.contentCacheLimit));
+		}
+
+		/**
+		 * Push characters buffered by the writer's encoder to the content cache,
+		 * or through to the response once the content cache limit is exceeded.
+		 */
+		private void flushLimitedWriter() {
+			if (this.limitedWriter != null) {
+				this.limitedWriter.flush();
+			}
 		}
 
 		private boolean useRawResponse() {
 			return isContentCachingDisabled(this.request);
 		}
+
+		/**
+		 * Write cached content to the response and stream through from then on,
+		 * if the given number of additional bytes would exceed the limit.
+		 */
+		private boolean checkContentCacheLimit(int additionalBytes) throws IOException {
+			if (!this.contentCacheLimitExceeded && getContentSize() + additionalBytes > this.contentCacheLimit) {
+				copyBodyToResponse(false);
+				this.contentCacheLimitExceeded = true;
+			}
+			return this.contentCacheLimitExceeded;
+		}
+
+
+		private class ContentCacheLimitOutputStream extends ServletOutputStream {
+
+			private final ServletOutputStream cachingStream;
+
+			public ContentCacheLimitOutputStream(ServletOutputStream cachingStream) {
+				this.cachingStream = cachingStream;
+			}
+
+			@Override
+			public void write(int b) throws IOException {
+				if (checkContentCacheLimit(1)) {
+					getResponse().getOutputStream().write(b);
+				}
+				else {
+					this.cachingStream.write(b);
+				}
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				if (checkContentCacheLimit(len)) {
+					getResponse().getOutputStream().write(b, off, len);
+				}
+				else {
+					this.cachingStream.write(b, off, len);
+				}
+			}
+
+			@Override
+			public void flush() throws IOException {
+				if (contentCacheLimitExceeded) {
+					getResponse().getOutputStream().flush();
+				}
+			}
+
+			@Override
+			public boolean isReady() {
+				return this.cachingStream.isReady();
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				this.cachingStream.setWriteListener(writeListener);
+			}
+		}
+
+
+		private class ContentCacheLimitPrintWriter extends PrintWriter {
+
+			public ContentCacheLimitPrintWriter(ServletOutputStream outputStream, String characterEncoding)
+					throws UnsupportedEncodingException {
+
+				super(new OutputStreamWriter(outputStream, characterEncoding));
+			}
+		}
 	}
 
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.method.support;
+
+import java.lang.reflect.Method;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.lang.Nullable;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Immutable plan for resolving the arguments of a specific handler method,
+ * holding the {@link HandlerMethodArgumentResolver} bound to each of its
+ * parameters. Computed once per handler method and then reused for every
+ * invocation, turning argument resolution into a walk over the bound
+ * resolvers instead of looking up a resolver per parameter and request.
+ *
+ * <p>A plan applies to any {@link HandlerMethod} for the same method and
+ * bean type, since resolvers are selected per {@link MethodParameter}
+ * which in turn is identified by its method, index and containing class.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @see InvocableHandlerMethod#setArgumentResolutionPlan
+ */
+public final class HandlerMethodArgumentResolutionPlan {
+
+	private final Method method;
+
+	private final HandlerMethodArgumentResolver[] resolvers;
+
+
+	/**
+	 * Create a plan for the given handler method, binding each of its
+	 * parameters to the first of the given resolvers that supports it.
+	 * @param handlerMethod the handler method to create a plan for
+	 * @param resolvers the argument resolvers to choose from
+	 * @param parameterNameDiscoverer the ParameterNameDiscoverer to initialize
+	 * the method parameters with (as used for resolving them later on)
+	 */
+	public HandlerMethodArgumentResolutionPlan(HandlerMethod handlerMethod,
+			HandlerMethodArgumentResolverComposite resolvers, ParameterNameDiscoverer parameterNameDiscoverer) {
+
+		MethodParameter[] parameters = handlerMethod.getMethodParameters();
+		this.method = handlerMethod.getMethod();
+		this.resolvers = new HandlerMethodArgumentResolver[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			MethodParameter parameter = parameters[i];
+			parameter.initParameterNameDiscovery(parameterNameDiscoverer);
+			this.resolvers[i] = resolvers.getArgumentResolver(parameter);
+		}
+	}
+
+
+	/**
+	 * Return whether this plan applies to the given handler method,
+	 * i.e. whether it has been created for the same method.
+	 */
+	public boolean isApplicableTo(HandlerMethod handlerMethod) {
+		return (this.method.equals(handlerMethod.getMethod()) &&
+				this.resolvers.length == handlerMethod.getMethodParameters().length);
+	}
+
+	/**
+	 * Return the resolver bound to the parameter at the given index.
+	 * @param parameterIndex the index of the method parameter
+	 * @return the bound resolver, or {@code null} if none of the resolvers
+	 * supports the parameter (which then needs to be a provided argument)
+	 */
+	@Nullable
+	public HandlerMethodArgumentResolver getArgumentResolver(int parameterIndex) {
+		return this.resolvers[parameterIndex];
+	}
+
+	/**
+	 * Return the number of parameters covered by this plan.
+	 */
+	public int getParameterCount() {
+		return this.resolvers.length;
+	}
+
+}
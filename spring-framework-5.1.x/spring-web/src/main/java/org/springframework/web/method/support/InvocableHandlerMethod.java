@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -51,6 +51,9 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
 	private HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
 
+	@Nullable
+	private HandlerMethodArgumentResolutionPlan argumentResolutionPlan;
+
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
 
@@ -98,6 +101,18 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		this.resolvers = argumentResolvers;
 	}
 
+	/**
+	 * Set a precomputed {@link HandlerMethodArgumentResolutionPlan} for this
+	 * handler method, binding its parameters to resolvers upfront.
+	 * <p>The plan is expected to be derived from the configured
+	 * {@link #setHandlerMethodArgumentResolvers argument resolvers}.
+	 * It is ignored if created for a different method.
+	 * @since 5.1.18
+	 */
+	public void setArgumentResolutionPlan(@Nullable HandlerMethodArgumentResolutionPlan argumentResolutionPlan) {
+		this.argumentResolutionPlan = argumentResolutionPlan;
+	}
+
 	/**
 	 * Set the ParameterNameDiscoverer for resolving parameter names when needed
 	 * (e.g. default request attribute name).
@@ -152,6 +167,11 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			return EMPTY_ARGS;
 		}
 
+		HandlerMethodArgumentResolutionPlan plan = this.argumentResolutionPlan;
+		if (plan != null && !plan.isApplicableTo(this)) {
+			plan = null;
+		}
+
 		Object[] args = new Object[parameters.length];
 		for (int i = 0; i < parameters.length; i++) {
 			MethodParameter parameter = parameters[i];
@@ -160,11 +180,15 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			if (args[i] != null) {
 				continue;
 			}
-			if (!this.resolvers.supportsParameter(parameter)) {
-				throw new IllegalStateException(formatArgumentError(parameter, "No suitable resolver"));
+			HandlerMethodArgumentResolver resolver = (plan != null ? plan.getArgumentResolver(i) : null);
+			if (resolver == null) {
+				if (!this.resolvers.supportsParameter(parameter)) {
+					throw new IllegalStateException(formatArgumentError(parameter, "No suitable resolver"));
+				}
+				resolver = this.resolvers;
 			}
 			try {
-				args[i] = this.resolvers.resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
+				args[i] = resolver.resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
 			}
 			catch (Exception ex) {
 				// Leave stack trace for later, exception may actually be resolved and handled...
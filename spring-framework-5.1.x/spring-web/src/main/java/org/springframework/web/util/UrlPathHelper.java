@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import javax.servlet.http.HttpServletRequest;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -49,6 +50,14 @@ import org.springframework.util.StringUtils;
  */
 public class UrlPathHelper {
 
+	/**
+	 * Name of the request attribute that holds the lookup path of the request,
+	 * parsed into a {@link PathContainer}.
+	 * @since 5.1.18
+	 * @see #getParsedLookupPath
+	 */
+	public static final String PARSED_LOOKUP_PATH_ATTRIBUTE = UrlPathHelper.class.getName() + ".PARSED_LOOKUP_PATH";
+
 	/**
 	 * Special WebSphere request attribute, indicating the original request URI.
 	 * Preferable over the standard Servlet 2.4 forward attribute on WebSphere,
@@ -70,6 +79,9 @@ public class UrlPathHelper {
 
 	private String defaultEncoding = WebUtils.DEFAULT_CHARACTER_ENCODING;
 
+	@Nullable
+	private volatile UrlPathHelper rawPathHelper;
+
 
 	/**
 	 * Whether URL lookups should always use the full path within the current
@@ -82,6 +94,7 @@ public class UrlPathHelper {
 	 */
 	public void setAlwaysUseFullPath(boolean alwaysUseFullPath) {
 		this.alwaysUseFullPath = alwaysUseFullPath;
+		this.rawPathHelper = null;
 	}
 
 	/**
@@ -144,6 +157,7 @@ public class UrlPathHelper {
 	 */
 	public void setDefaultEncoding(String defaultEncoding) {
 		this.defaultEncoding = defaultEncoding;
+		this.rawPathHelper = null;
 	}
 
 	/**
@@ -178,6 +192,56 @@ public class UrlPathHelper {
 		}
 	}
 
+	/**
+	 * Return the lookup path for the given request parsed into a {@link PathContainer},
+	 * for matching against parsed {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns}, reusing a previously parsed path for the request if available.
+	 * <p>In contrast to {@link #getLookupPathForRequest}, the lookup path is resolved
+	 * in its raw form, neither decoded nor stripped of ";" content: a
+	 * {@code PathContainer} decodes its path segments (as UTF-8) and separates
+	 * path parameters by itself.
+	 * @param request current HTTP request
+	 * @return the parsed lookup path
+	 * @since 5.1.18
+	 * @see #parseAndCacheLookupPath
+	 */
+	public PathContainer getParsedLookupPath(HttpServletRequest request) {
+		Object path = request.getAttribute(PARSED_LOOKUP_PATH_ATTRIBUTE);
+		return (path instanceof PathContainer ? (PathContainer) path : parseAndCacheLookupPath(request));
+	}
+
+	/**
+	 * Parse the lookup path for the given request into a {@link PathContainer}
+	 * and expose it as {@link #PARSED_LOOKUP_PATH_ATTRIBUTE}, replacing any path
+	 * parsed before (e.g. for the request before a forward).
+	 * @param request current HTTP request
+	 * @return the parsed lookup path
+	 * @since 5.1.18
+	 * @see #getParsedLookupPath
+	 */
+	public PathContainer parseAndCacheLookupPath(HttpServletRequest request) {
+		PathContainer path = PathContainer.parsePath(getRawPathHelper().getLookupPathForRequest(request));
+		request.setAttribute(PARSED_LOOKUP_PATH_ATTRIBUTE, path);
+		return path;
+	}
+
+	/**
+	 * Return a helper with the same settings for resolving the raw lookup path,
+	 * created once per configuration of this helper.
+	 */
+	private UrlPathHelper getRawPathHelper() {
+		UrlPathHelper rawPathHelper = this.rawPathHelper;
+		if (rawPathHelper == null) {
+			rawPathHelper = new UrlPathHelper();
+			rawPathHelper.setAlwaysUseFullPath(this.alwaysUseFullPath);
+			rawPathHelper.setUrlDecode(false);
+			rawPathHelper.setRemoveSemicolonContent(false);
+			rawPathHelper.setDefaultEncoding(this.defaultEncoding);
+			this.rawPathHelper = rawPathHelper;
+		}
+		return rawPathHelper;
+	}
+
 	/**
 	 * Return the path within the servlet mapping for the given request,
 	 * i.e. the part of the request's URL beyond the part that called the servlet,
@@ -16,6 +16,10 @@
 
 package org.springframework.http;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -38,6 +42,9 @@ import java.util.TimeZone;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 
+import org.springframework.util.CompactCaseInsensitiveMap;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -686,4 +693,27 @@ public class HttpHeadersTests {
 		assertEquals(headers1, headers2);
 		assertEquals(headers2, headers1);
 	}
+
+	@Test
+	public void serializedAsLinkedCaseInsensitiveMap() throws Exception {
+		headers.add("Content-Type", "text/plain");
+		headers.add("Accept", "text/html");
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(headers);
+		}
+		byte[] bytes = bos.toByteArray();
+		String serialized = new String(bytes, StandardCharsets.ISO_8859_1);
+		assertThat(serialized, containsString(LinkedCaseInsensitiveMap.class.getName()));
+		assertThat(serialized, not(containsString(CompactCaseInsensitiveMap.class.getName())));
+
+		HttpHeaders copy;
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			copy = (HttpHeaders) ois.readObject();
+		}
+		assertEquals(headers, copy);
+		assertEquals("text/plain", copy.getFirst("content-type"));
+		assertEquals(Arrays.asList("Content-Type", "Accept"), new ArrayList<>(copy.keySet()));
+	}
+
 }
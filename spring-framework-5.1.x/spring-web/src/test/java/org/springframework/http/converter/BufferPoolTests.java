@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link BufferPool}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class BufferPoolTests {
+
+	private final BufferPool pool = new BufferPool(16 * 1024, 2);
+
+
+	@Test
+	public void acquireWithSizeClasses() {
+		assertEquals(4096, this.pool.acquire(0).length);
+		assertEquals(4096, this.pool.acquire(4096).length);
+		assertEquals(8192, this.pool.acquire(4097).length);
+		assertEquals(16384, this.pool.acquire(10000).length);
+		assertEquals(20000, this.pool.acquire(20000).length);
+		assertEquals(4096 + 4096 + 8192 + 16384 + 20000, this.pool.getAllocatedBytes());
+		assertEquals(0, this.pool.getReusedBytes());
+	}
+
+	@Test
+	public void releaseAndReuse() {
+		byte[] buffer = this.pool.acquire(5000);
+		this.pool.release(buffer);
+		assertSame(buffer, this.pool.acquire(6000));
+		assertNotSame(buffer, this.pool.acquire(6000));
+		assertEquals(16384, this.pool.getAllocatedBytes());
+		assertEquals(8192, this.pool.getReusedBytes());
+	}
+
+	@Test
+	public void releaseWithMaxRetained() {
+		byte[] buffer1 = this.pool.acquire(4096);
+		byte[] buffer2 = this.pool.acquire(4096);
+		byte[] buffer3 = this.pool.acquire(4096);
+		this.pool.release(buffer1);
+		this.pool.release(buffer2);
+		this.pool.release(buffer3);
+		this.pool.release(new byte[100]);
+		this.pool.release(new byte[20000]);
+
+		assertSame(buffer2, this.pool.acquire(4096));
+		assertSame(buffer1, this.pool.acquire(4096));
+		assertNotSame(buffer3, this.pool.acquire(4096));
+		assertEquals(16384, this.pool.getAllocatedBytes());
+		assertEquals(8192, this.pool.getReusedBytes());
+	}
+
+	@Test
+	public void copyToByteArray() throws IOException {
+		byte[] content = new byte[10000];
+		Arrays.fill(content, (byte) 'a');
+
+		assertArrayEquals(content, this.pool.copyToByteArray(new ByteArrayInputStream(content), -1));
+		assertEquals(4096 + 8192 + 16384, this.pool.getAllocatedBytes());
+
+		assertArrayEquals(content, this.pool.copyToByteArray(new ByteArrayInputStream(content), content.length));
+		assertEquals(4096 + 8192 + 16384, this.pool.getAllocatedBytes());
+		assertEquals(16384, this.pool.getReusedBytes());
+
+		assertArrayEquals(new byte[0], this.pool.copyToByteArray(new ByteArrayInputStream(new byte[0]), 0));
+	}
+
+	@Test
+	public void copyToByteArrayWithExactExpectedLength() throws IOException {
+		byte[] content = new byte[4096];
+		assertArrayEquals(content, this.pool.copyToByteArray(new ByteArrayInputStream(content), content.length));
+		assertEquals(4096, this.pool.getAllocatedBytes());
+	}
+
+	@Test
+	public void copyToByteArrayWithExcessiveExpectedLength() throws IOException {
+		byte[] content = new byte[100];
+		assertArrayEquals(content, this.pool.copyToByteArray(new ByteArrayInputStream(content), 1024 * 1024 * 1024));
+		assertEquals(16384, this.pool.getAllocatedBytes());
+
+		content = new byte[20000];
+		assertArrayEquals(content, this.pool.copyToByteArray(new ByteArrayInputStream(content), Long.MAX_VALUE));
+		assertEquals(16384 + 32768, this.pool.getAllocatedBytes());
+		assertEquals(16384, this.pool.getReusedBytes());
+	}
+
+	@Test
+	public void copyToString() throws IOException {
+		String content = "Héllo Wörld";
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		assertEquals(content, this.pool.copyToString(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, -1));
+		assertEquals(content, this.pool.copyToString(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, -1));
+		assertEquals(4096, this.pool.getAllocatedBytes());
+		assertEquals(4096, this.pool.getReusedBytes());
+	}
+
+}
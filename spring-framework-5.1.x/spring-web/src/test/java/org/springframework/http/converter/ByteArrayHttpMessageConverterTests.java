@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2009 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -57,6 +57,20 @@ public class ByteArrayHttpMessageConverterTests {
 		assertArrayEquals("Invalid result", body, result);
 	}
 
+	@Test
+	public void readWithBufferPool() throws IOException {
+		BufferPool bufferPool = new BufferPool();
+		converter.setBufferPool(bufferPool);
+		byte[] body = new byte[]{0x1, 0x2};
+		MockHttpInputMessage inputMessage = new MockHttpInputMessage(body);
+		inputMessage.getHeaders().setContentType(new MediaType("application", "octet-stream"));
+		assertArrayEquals("Invalid result", body, converter.read(byte[].class, inputMessage));
+		inputMessage = new MockHttpInputMessage(body);
+		assertArrayEquals("Invalid result", body, converter.read(byte[].class, inputMessage));
+		assertEquals(BufferPool.MIN_BUFFER_SIZE, bufferPool.getAllocatedBytes());
+		assertEquals(BufferPool.MIN_BUFFER_SIZE, bufferPool.getReusedBytes());
+	}
+
 	@Test
 	public void write() throws IOException {
 		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -70,6 +70,17 @@ public class StringHttpMessageConverterTests {
 		assertEquals("Invalid result", body, result);
 	}
 
+	@Test
+	public void readWithBufferPool() throws IOException {
+		this.converter.setBufferPool(new BufferPool());
+		String body = "H\u00e9llo W\u00f6rld";
+		MockHttpInputMessage inputMessage = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+		inputMessage.getHeaders().setContentType(TEXT_PLAIN_UTF_8);
+		String result = this.converter.read(String.class, inputMessage);
+
+		assertEquals("Invalid result", body, result);
+	}
+
 	@Test
 	public void writeDefaultCharset() throws IOException {
 		String body = "H\u00e9llo W\u00f6rld";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,14 +16,21 @@
 
 package org.springframework.http.converter.json;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonView;
@@ -445,6 +452,56 @@ public class MappingJackson2HttpMessageConverterTests {
 		assertTrue(result.contains("\"number\":123"));
 	}
 
+	@Test
+	public void writeStream() throws Exception {
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		MyBean foo = new MyBean();
+		foo.setString("Foo");
+		MyBean bar = new MyBean();
+		bar.setString("Bar");
+		AtomicBoolean closed = new AtomicBoolean();
+		Stream<MyBean> stream = Stream.of(foo, bar).onClose(() -> closed.set(true));
+		ParameterizedTypeReference<Stream<MyBean>> typeReference = new ParameterizedTypeReference<Stream<MyBean>>() {};
+
+		assertTrue(this.converter.canWrite(typeReference.getType(), stream.getClass(), MediaType.APPLICATION_JSON));
+		this.converter.write(stream, typeReference.getType(), MediaType.APPLICATION_JSON, outputMessage);
+
+		String result = outputMessage.getBodyAsString(StandardCharsets.UTF_8);
+		assertTrue(result.startsWith("[{"));
+		assertTrue(result.contains("\"string\":\"Foo\""));
+		assertTrue(result.contains("\"string\":\"Bar\""));
+		assertTrue(result.endsWith("}]"));
+		assertTrue(closed.get());
+	}
+
+	@Test
+	public void writeIteratorWithFlushThreshold() throws Exception {
+		List<Integer> flushedSizes = new ArrayList<>();
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage() {
+			@Override
+			public OutputStream getBody() throws IOException {
+				OutputStream body = super.getBody();
+				return new FilterOutputStream(body) {
+					@Override
+					public void flush() throws IOException {
+						super.flush();
+						flushedSizes.add(getBodyAsBytes().length);
+					}
+				};
+			}
+		};
+		List<List<String>> values = Arrays.asList(
+				Collections.singletonList("a"), Collections.singletonList("b"), Collections.singletonList("c"));
+		ParameterizedTypeReference<Iterator<List<String>>> typeReference =
+				new ParameterizedTypeReference<Iterator<List<String>>>() {};
+
+		this.converter.setStreamingFlushThreshold(2);
+		this.converter.writeInternal(values.iterator(), typeReference.getType(), outputMessage);
+
+		assertEquals("[[\"a\"],[\"b\"],[\"c\"]]", outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+		assertEquals(Arrays.asList(12, 19), flushedSizes);
+	}
+
 	@Test
 	public void readWithNoDefaultConstructor() throws Exception {
 		String body = "{\"property1\":\"foo\",\"property2\":\"bar\"}";
@@ -18,6 +18,7 @@ package org.springframework.http.converter.smile;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.smile.SmileFactory;
@@ -58,6 +59,14 @@ public class MappingJackson2SmileHttpMessageConverterTests {
 		assertFalse(converter.canWrite(MyBean.class, new MediaType("application", "xml")));
 	}
 
+	@Test
+	public void writeIterator() throws IOException {
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		converter.write(Arrays.asList("Foo", "Bar").iterator(), null, outputMessage);
+		String[] result = mapper.readValue(outputMessage.getBodyAsBytes(), String[].class);
+		assertArrayEquals(new String[] {"Foo", "Bar"}, result);
+	}
+
 	@Test
 	public void read() throws IOException {
 		MyBean body = new MyBean();
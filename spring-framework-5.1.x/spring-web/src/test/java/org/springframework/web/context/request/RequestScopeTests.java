@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.web.context.request;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -30,6 +33,7 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.tests.sample.beans.DerivedTestBean;
 import org.springframework.tests.sample.beans.TestBean;
+import org.springframework.util.StringUtils;
 
 import static org.junit.Assert.*;
 
@@ -163,4 +167,76 @@ public class RequestScopeTests {
 		assertFalse(outer1.wasDestroyed());
 	}
 
+	@Test
+	public void getFromScopeWithCustomRequestAttributes() throws Exception {
+		MapRequestAttributes requestAttributes = new MapRequestAttributes();
+		RequestContextHolder.setRequestAttributes(requestAttributes);
+
+		String name = "requestScopedDisposableObject";
+		DerivedTestBean bean = (DerivedTestBean) this.beanFactory.getBean(name);
+		assertSame(bean, this.beanFactory.getBean(name));
+
+		DerivedTestBean replacement = new DerivedTestBean();
+		requestAttributes.setAttribute(name, replacement, RequestAttributes.SCOPE_REQUEST);
+		assertSame(replacement, this.beanFactory.getBean(name));
+
+		requestAttributes.removeAttribute(name, RequestAttributes.SCOPE_REQUEST);
+		DerivedTestBean recreated = (DerivedTestBean) this.beanFactory.getBean(name);
+		assertNotSame(replacement, recreated);
+		assertSame(recreated, requestAttributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST));
+	}
+
+
+	/**
+	 * Request attributes which do not track scoped objects on attribute changes.
+	 */
+	private static class MapRequestAttributes extends AbstractRequestAttributes {
+
+		private final Map<String, Object> attributes = new HashMap<>();
+
+		@Override
+		public Object getAttribute(String name, int scope) {
+			return this.attributes.get(name);
+		}
+
+		@Override
+		public void setAttribute(String name, Object value, int scope) {
+			this.attributes.put(name, value);
+		}
+
+		@Override
+		public void removeAttribute(String name, int scope) {
+			this.attributes.remove(name);
+		}
+
+		@Override
+		public String[] getAttributeNames(int scope) {
+			return StringUtils.toStringArray(this.attributes.keySet());
+		}
+
+		@Override
+		public void registerDestructionCallback(String name, Runnable callback, int scope) {
+			registerRequestDestructionCallback(name, callback);
+		}
+
+		@Override
+		public Object resolveReference(String key) {
+			return null;
+		}
+
+		@Override
+		public String getSessionId() {
+			return "";
+		}
+
+		@Override
+		public Object getSessionMutex() {
+			return this;
+		}
+
+		@Override
+		protected void updateAccessedSessionAttributes() {
+		}
+	}
+
 }
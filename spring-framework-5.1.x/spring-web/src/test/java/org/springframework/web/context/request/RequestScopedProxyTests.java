@@ -19,6 +19,7 @@ package org.springframework.web.context.request;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.springframework.aop.scope.ScopedObject;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
@@ -100,6 +101,40 @@ public class RequestScopedProxyTests {
 		}
 	}
 
+	@Test
+	public void testTargetResolvedOncePerRequest() throws Exception {
+		String name = "requestScopedObject";
+		TestBean bean = (TestBean) this.beanFactory.getBean(name);
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		ServletRequestAttributes requestAttributes = new ServletRequestAttributes(request);
+		RequestContextHolder.setRequestAttributes(requestAttributes);
+
+		try {
+			bean.setAge(42);
+			TestBean target = (TestBean) request.getAttribute("scopedTarget." + name);
+			assertEquals(42, bean.getAge());
+			assertSame(target, this.beanFactory.getBean("scopedTarget." + name));
+
+			requestAttributes.removeAttribute("scopedTarget." + name, RequestAttributes.SCOPE_REQUEST);
+			assertEquals(0, bean.getAge());
+			assertNotSame(target, request.getAttribute("scopedTarget." + name));
+
+			((ScopedObject) bean).removeFromScope();
+			assertNull(request.getAttribute("scopedTarget." + name));
+			bean.setAge(21);
+			assertEquals(21, bean.getAge());
+			requestAttributes.requestCompleted();
+
+			request = new MockHttpServletRequest();
+			RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+			assertEquals(0, bean.getAge());
+		}
+		finally {
+			RequestContextHolder.setRequestAttributes(null);
+		}
+	}
+
 	@Test
 	public void testDestructionAtRequestCompletion() throws Exception {
 		String name = "requestScopedDisposableObject";
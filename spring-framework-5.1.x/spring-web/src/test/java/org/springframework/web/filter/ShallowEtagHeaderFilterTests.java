@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -262,4 +262,70 @@ public class ShallowEtagHeaderFilterTests {
 		assertArrayEquals("Invalid content", responseBody, response.getContentAsByteArray());
 	}
 
+	@Test
+	public void filterWithinContentCacheLimit() throws Exception {
+		this.filter.setContentCacheLimit(11);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		request.addHeader("If-None-Match", "\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setStatus(HttpServletResponse.SC_OK);
+			filterResponse.getOutputStream().write("Hello ".getBytes("UTF-8"));
+			filterResponse.getWriter().write("World");
+			filterResponse.flushBuffer();
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertEquals("Invalid status", 304, response.getStatus());
+		assertEquals("Invalid ETag header", "\"0b10a8db164e0754105b7a99be72e3fe5\"", response.getHeader("ETag"));
+		assertArrayEquals("Invalid content", new byte[0], response.getContentAsByteArray());
+	}
+
+	@Test
+	public void filterBeyondContentCacheLimit() throws Exception {
+		this.filter.setContentCacheLimit(8);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		request.addHeader("If-None-Match", "\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setStatus(HttpServletResponse.SC_OK);
+			filterResponse.getOutputStream().write("Hello ".getBytes("UTF-8"));
+			assertArrayEquals(new byte[0], response.getContentAsByteArray());
+			filterResponse.getOutputStream().write("World".getBytes("UTF-8"));
+			assertArrayEquals("Hello World".getBytes("UTF-8"), response.getContentAsByteArray());
+			filterResponse.flushBuffer();
+			assertTrue(response.isCommitted());
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertEquals("Invalid status", 200, response.getStatus());
+		assertNull("Unexpected ETag header", response.getHeader("ETag"));
+		assertArrayEquals("Invalid content", "Hello World".getBytes("UTF-8"), response.getContentAsByteArray());
+	}
+
+	@Test
+	public void filterContentLengthBeyondContentCacheLimit() throws Exception {
+		this.filter.setContentCacheLimit(8);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setStatus(HttpServletResponse.SC_OK);
+			filterResponse.setContentLength(11);
+			assertEquals(11, response.getContentLength());
+			filterResponse.getWriter().write("Hello World");
+			assertArrayEquals(new byte[0], response.getContentAsByteArray());
+			filterResponse.getWriter().flush();
+			assertArrayEquals("Hello World".getBytes("UTF-8"), response.getContentAsByteArray());
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertEquals("Invalid status", 200, response.getStatus());
+		assertNull("Unexpected ETag header", response.getHeader("ETag"));
+		assertEquals("Invalid Content-Length header", 11, response.getContentLength());
+		assertArrayEquals("Invalid content", "Hello World".getBytes("UTF-8"), response.getContentAsByteArray());
+	}
+
 }
@@ -21,6 +21,7 @@ import java.lang.reflect.Method;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.MethodParameter;
 import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.mock.web.test.MockHttpServletResponse;
@@ -189,6 +190,53 @@ public class InvocableHandlerMethodTests {
 		}
 	}
 
+	@Test
+	public void resolveArgWithPlan() throws Exception {
+		this.composite.addResolver(new StubArgumentResolver(99));
+		this.composite.addResolver(new StubArgumentResolver("value"));
+		InvocableHandlerMethod handlerMethod = getInvocable(Integer.class, String.class);
+		HandlerMethodArgumentResolutionPlan plan = new HandlerMethodArgumentResolutionPlan(
+				handlerMethod, this.composite, new DefaultParameterNameDiscoverer());
+		this.composite.clear();
+
+		assertEquals(2, plan.getParameterCount());
+		assertSame(getInvocable(Integer.class, String.class).getMethod(), handlerMethod.getMethod());
+		handlerMethod.setArgumentResolutionPlan(plan);
+		assertEquals("99-value", handlerMethod.invokeForRequest(request, null));
+		assertEquals("2-value2", handlerMethod.invokeForRequest(request, null, 2, "value2"));
+		assertEquals("intArg", ((StubArgumentResolver) plan.getArgumentResolver(0))
+				.getResolvedParameters().get(0).getParameterName());
+	}
+
+	@Test
+	public void resolveArgWithPlanForOtherMethod() throws Exception {
+		this.composite.addResolver(new StubArgumentResolver(99));
+		this.composite.addResolver(new StubArgumentResolver("value"));
+		HandlerMethodArgumentResolutionPlan plan = new HandlerMethodArgumentResolutionPlan(
+				getInvocable(double.class), new HandlerMethodArgumentResolverComposite(),
+				new DefaultParameterNameDiscoverer());
+
+		InvocableHandlerMethod handlerMethod = getInvocable(Integer.class, String.class);
+		assertFalse(plan.isApplicableTo(handlerMethod));
+		assertNull(plan.getArgumentResolver(0));
+		handlerMethod.setArgumentResolutionPlan(plan);
+		assertEquals("99-value", handlerMethod.invokeForRequest(request, null));
+	}
+
+	@Test
+	public void cannotResolveArgWithPlan() throws Exception {
+		InvocableHandlerMethod handlerMethod = getInvocable(Integer.class, String.class);
+		handlerMethod.setArgumentResolutionPlan(new HandlerMethodArgumentResolutionPlan(
+				handlerMethod, this.composite, new DefaultParameterNameDiscoverer()));
+		try {
+			handlerMethod.invokeForRequest(request, null);
+			fail("Expected exception");
+		}
+		catch (IllegalStateException ex) {
+			assertTrue(ex.getMessage().contains("Could not resolve parameter [0]"));
+		}
+	}
+
 	private InvocableHandlerMethod getInvocable(Class<?>... argTypes) {
 		Method method = ResolvableMethod.on(Handler.class).argTypes(argTypes).resolveMethod();
 		InvocableHandlerMethod handlerMethod = new InvocableHandlerMethod(new Handler(), method);
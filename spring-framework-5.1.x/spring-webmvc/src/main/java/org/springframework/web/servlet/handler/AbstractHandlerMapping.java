@@ -49,6 +49,7 @@ import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Abstract base class for {@link org.springframework.web.servlet.HandlerMapping}
@@ -80,6 +81,9 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 	private final List<Object> interceptors = new ArrayList<>();
 
 	private final List<HandlerInterceptor> adaptedInterceptors = new ArrayList<>();
@@ -187,6 +191,35 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Enable matching against parsed
+	 * {@link org.springframework.web.util.pattern.PathPattern PathPatterns} instead of
+	 * String patterns with the configured {@link #setPathMatcher PathMatcher}.
+	 * <p>Patterns are parsed once at registration time; the lookup path of each
+	 * request is parsed once as well and matched against the pattern trees,
+	 * avoiding per-request tokenizing and regular expression matching.
+	 * Note that {@code PathPattern} syntax does not allow for "**" in the
+	 * middle of a pattern, and that lookup paths get decoded as UTF-8.
+	 * Suffix pattern matching is not applied to parsed patterns, and trailing
+	 * slash matching follows the parser's {@code matchOptionalTrailingSeparator}.
+	 * <p>By default this is not set, using String pattern matching.
+	 * @since 5.1.18
+	 * @see UrlPathHelper#getParsedLookupPath
+	 */
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+	}
+
+	/**
+	 * Return the {@link PathPatternParser} to use for parsing URL patterns,
+	 * or {@code null} if String pattern matching is used.
+	 * @since 5.1.18
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	/**
 	 * Set the interceptors to apply for all handlers mapped by this handler mapping.
 	 * <p>Supported interceptor types are HandlerInterceptor, WebRequestInterceptor, and MappedInterceptor.
@@ -401,6 +434,9 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	@Override
 	@Nullable
 	public final HandlerExecutionChain getHandler(HttpServletRequest request) throws Exception {
+		if (this.patternParser != null) {
+			this.urlPathHelper.parseAndCacheLookupPath(request);
+		}
 		Object handler = getHandlerInternal(request);
 		if (handler == null) {
 			handler = getDefaultHandler();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -77,6 +78,12 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	private static final String SCOPED_TARGET_NAME_PREFIX = "scopedTarget.";
 
+	/**
+	 * Maximum number of lookup paths for which pattern-based candidate
+	 * mappings are cached: 256.
+	 */
+	private static final int CANDIDATE_CACHE_LIMIT = 256;
+
 	private static final HandlerMethod PREFLIGHT_AMBIGUOUS_MATCH =
 			new HandlerMethod(new EmptyHandler(), ClassUtils.getMethod(EmptyHandler.class, "handle"));
 
@@ -388,8 +395,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			// Go through all mappings which may match the path according to their patterns...
+			addMatchingMappings(getCandidateMappings(request), matches, request);
 		}
 
 		if (!matches.isEmpty()) {
@@ -421,6 +428,40 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 	}
 
+	/**
+	 * Return the mappings to check for a request without direct path matches:
+	 * narrowed down by the path segment index if the subclass provides an
+	 * {@link #getIndexedLookupPath indexed lookup path}, or else all
+	 * registered mappings.
+	 */
+	private Collection<T> getCandidateMappings(HttpServletRequest request) {
+		String indexedLookupPath = getIndexedLookupPath(request);
+		if (indexedLookupPath != null) {
+			return this.mappingRegistry.getMappingsByPattern(indexedLookupPath);
+		}
+		else {
+			return this.mappingRegistry.getMappings().keySet();
+		}
+	}
+
+	/**
+	 * Return the lookup path of the given request for narrowing down the
+	 * mappings that may match it through an index over their
+	 * {@link #getMappingPathPatterns patterns}, or {@code null} to check
+	 * all mappings.
+	 * <p>A subclass may only return a path here if its mappings match their
+	 * patterns against exactly this path, segment by segment with "/" as
+	 * separator, following {@code AntPathMatcher} or {@code PathPattern}
+	 * semantics. The default implementation returns {@code null}.
+	 * @param request the current request
+	 * @return the lookup path to use for the index, or {@code null} if none
+	 * @since 5.1.18
+	 */
+	@Nullable
+	protected String getIndexedLookupPath(HttpServletRequest request) {
+		return null;
+	}
+
 	private void addMatchingMappings(Collection<T> mappings, List<Match> matches, HttpServletRequest request) {
 		for (T mapping : mappings) {
 			T match = getMatchingMapping(mapping, request);
@@ -528,6 +569,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final PathSegmentIndex<T> patternIndex = new PathSegmentIndex<>();
+
+		/** Cache of candidate mappings by lookup path, bounded without locking. */
+		private final Map<String, List<T>> candidateCache = new ConcurrentHashMap<>(CANDIDATE_CACHE_LIMIT);
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -551,6 +597,30 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings whose patterns may match the given lookup path,
+		 * as determined by the path segment index and cached per lookup path.
+		 * Not thread-safe with regard to concurrent registrations.
+		 * @param lookupPath the "/"-separated lookup path
+		 * @see #acquireReadLock()
+		 */
+		public List<T> getMappingsByPattern(String lookupPath) {
+			List<T> candidates = this.candidateCache.get(lookupPath);
+			if (candidates == null) {
+				candidates = this.patternIndex.getCandidates(PathSegmentIndex.tokenize(lookupPath));
+				if (this.candidateCache.size() >= CANDIDATE_CACHE_LIMIT) {
+					// Evict an arbitrary entry instead of tracking access order under a lock
+					Iterator<String> it = this.candidateCache.keySet().iterator();
+					if (it.hasNext()) {
+						it.next();
+						it.remove();
+					}
+				}
+				this.candidateCache.put(lookupPath, candidates);
+			}
+			return candidates;
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -591,6 +661,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				for (String url : directUrls) {
 					this.urlLookup.add(url, mapping);
 				}
+				this.patternIndex.add(mapping, getMappingPathPatterns(mapping));
+				this.candidateCache.clear();
 
 				String name = null;
 				if (getNamingStrategy() != null) {
@@ -668,6 +740,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				this.patternIndex.remove(definition.getMapping(), getMappingPathPatterns(definition.getMapping()));
+				this.candidateCache.clear();
+
 				removeMappingName(definition);
 
 				this.corsLookup.remove(definition.getHandlerMethod());
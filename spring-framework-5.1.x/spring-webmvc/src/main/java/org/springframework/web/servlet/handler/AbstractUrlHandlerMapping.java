@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,10 +28,13 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Abstract base class for URL-mapped {@link org.springframework.web.servlet.HandlerMapping}
@@ -63,6 +66,8 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 
 	private final Map<String, Object> handlerMap = new LinkedHashMap<>();
 
+	private final Map<String, PathPattern> pathPatterns = new LinkedHashMap<>();
+
 
 	/**
 	 * Set the root handler for this handler mapping, that is,
@@ -112,6 +117,21 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		this.lazyInitHandlers = lazyInitHandlers;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>URL paths registered before are parsed right away as well.
+	 */
+	@Override
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		super.setPatternParser(patternParser);
+		this.pathPatterns.clear();
+		if (patternParser != null) {
+			for (String urlPath : this.handlerMap.keySet()) {
+				this.pathPatterns.put(urlPath, patternParser.parse(urlPath));
+			}
+		}
+	}
+
 	/**
 	 * Look up a handler for the URL path of the given request.
 	 * @param request current HTTP request
@@ -173,6 +193,9 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		}
 
 		// Pattern match?
+		if (getPatternParser() != null) {
+			return lookupHandler(getUrlPathHelper().getParsedLookupPath(request), request);
+		}
 		List<String> matchingPatterns = new ArrayList<>();
 		for (String registeredPattern : this.handlerMap.keySet()) {
 			if (getPathMatcher().match(registeredPattern, urlPath)) {
@@ -233,6 +256,66 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		return null;
 	}
 
+	/**
+	 * Look up a handler instance for the given parsed lookup path,
+	 * matching it against the registered URL patterns in parsed form.
+	 * @see #setPatternParser
+	 */
+	@Nullable
+	private Object lookupHandler(PathContainer path, HttpServletRequest request) throws Exception {
+		PathPattern bestMatch = null;
+		PathPattern.PathMatchInfo bestMatchInfo = null;
+		List<PathPattern> matchingPatterns = (logger.isTraceEnabled() ? new ArrayList<>() : null);
+		for (PathPattern pattern : this.pathPatterns.values()) {
+			PathPattern.PathMatchInfo matchInfo = pattern.matchAndExtract(path);
+			if (matchInfo != null) {
+				if (bestMatch == null || PathPattern.SPECIFICITY_COMPARATOR.compare(pattern, bestMatch) < 0) {
+					bestMatch = pattern;
+					bestMatchInfo = matchInfo;
+				}
+				if (matchingPatterns != null) {
+					matchingPatterns.add(pattern);
+				}
+			}
+		}
+		if (bestMatch == null) {
+			return null;
+		}
+		if (matchingPatterns != null && matchingPatterns.size() > 1) {
+			logger.trace("Matching patterns " + matchingPatterns);
+		}
+
+		Object handler = this.handlerMap.get(bestMatch.getPatternString());
+		if (handler == null) {
+			throw new IllegalStateException("Could not find handler for best pattern match [" + bestMatch + "]");
+		}
+		// Bean name or resolved handler?
+		if (handler instanceof String) {
+			String handlerName = (String) handler;
+			handler = obtainApplicationContext().getBean(handlerName);
+		}
+		validateHandler(handler, request);
+		String pathWithinMapping = getDecodedPath(bestMatch.extractPathWithinPattern(path));
+		Map<String, String> uriTemplateVariables = bestMatchInfo.getUriVariables();
+		if (logger.isTraceEnabled() && uriTemplateVariables.size() > 0) {
+			logger.trace("URI variables " + uriTemplateVariables);
+		}
+		return buildPathExposingHandler(handler, bestMatch.getPatternString(), pathWithinMapping, uriTemplateVariables);
+	}
+
+	/**
+	 * Build the decoded form of the given path, without path parameters,
+	 * as exposed for a String pattern match with a default UrlPathHelper.
+	 */
+	private static String getDecodedPath(PathContainer path) {
+		StringBuilder sb = new StringBuilder();
+		for (PathContainer.Element element : path.elements()) {
+			sb.append(element instanceof PathContainer.PathSegment ?
+					((PathContainer.PathSegment) element).valueToMatch() : element.value());
+		}
+		return sb.toString();
+	}
+
 	/**
 	 * Validate the given handler against the current request.
 	 * <p>The default implementation is empty. Can be overridden in subclasses,
@@ -292,6 +375,15 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	@Override
 	@Nullable
 	public RequestMatchResult match(HttpServletRequest request, String pattern) {
+		PathPatternParser patternParser = getPatternParser();
+		if (patternParser != null) {
+			PathPattern pathPattern = this.pathPatterns.get(pattern);
+			if (pathPattern == null) {
+				pathPattern = patternParser.parse(pattern);
+			}
+			PathContainer path = getUrlPathHelper().getParsedLookupPath(request);
+			return (pathPattern.matches(path) ? new RequestMatchResult(pathPattern, path) : null);
+		}
 		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
 		if (getPathMatcher().match(pattern, lookupPath)) {
 			return new RequestMatchResult(pattern, lookupPath, getPathMatcher());
@@ -362,6 +454,10 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 				setDefaultHandler(resolvedHandler);
 			}
 			else {
+				PathPatternParser patternParser = getPatternParser();
+				if (patternParser != null) {
+					this.pathPatterns.put(urlPath, patternParser.parse(urlPath));
+				}
 				this.handlerMap.put(urlPath, resolvedHandler);
 				if (logger.isTraceEnabled()) {
 					logger.trace("Mapped [" + urlPath + "] onto " + getHandlerDescription(handler));
@@ -370,6 +466,34 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		}
 	}
 
+	/**
+	 * Remove the mapping for the handler registered for the given URL path.
+	 * @param urlPath the mapping to remove
+	 * @since 5.1.18
+	 */
+	public void unregisterHandler(String urlPath) {
+		Assert.notNull(urlPath, "URL path must not be null");
+		if (urlPath.equals("/")) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Removing root mapping: " + getRootHandler());
+			}
+			setRootHandler(null);
+		}
+		else if (urlPath.equals("/*")) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Removing default mapping: " + getDefaultHandler());
+			}
+			setDefaultHandler(null);
+		}
+		else {
+			Object mappedHandler = this.handlerMap.remove(urlPath);
+			this.pathPatterns.remove(urlPath);
+			if (mappedHandler != null && logger.isTraceEnabled()) {
+				logger.trace("Removed mapping for [" + urlPath + "]: " + getHandlerDescription(mappedHandler));
+			}
+		}
+	}
+
 	private String getHandlerDescription(Object handler) {
 		return (handler instanceof String ? "'" + handler + "'" : handler.toString());
 	}
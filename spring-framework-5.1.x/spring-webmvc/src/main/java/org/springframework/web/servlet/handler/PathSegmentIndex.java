@@ -0,0 +1,311 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Segment-based tree over URL patterns, narrowing down the mappings which
+ * may possibly match a given lookup path before their actual conditions
+ * get evaluated.
+ *
+ * <p>Each pattern is added under the path of its leading segments: literal
+ * segments become literal edges, and segments with wildcards or URI variables
+ * matching a single segment become wildcard edges. The last segment of a
+ * pattern is never indexed since it may match with a suffix or a trailing
+ * slash, and neither is anything from a segment onwards that may span multiple
+ * path segments (e.g. "**"). A lookup then collects the mappings of every node
+ * along all paths that the given path segments lead to.
+ *
+ * <p>The index is conservative: it may return mappings which turn out not to
+ * match, but never misses a mapping that matches according to
+ * {@link org.springframework.util.AntPathMatcher} or
+ * {@link org.springframework.web.util.pattern.PathPattern} semantics.
+ * Literal segments are compared case-insensitively, and request path segments
+ * which may need decoding or contain non-ASCII characters are compared against
+ * every literal edge.
+ *
+ * <p>Not thread-safe for modifications: {@link #add} and {@link #remove}
+ * need to be guarded against concurrent lookups by the caller.
+ *
+ * @author Tobias Lindqvist
+ * @since 5.1.18
+ * @param <T> the mapping type
+ */
+final class PathSegmentIndex<T> {
+
+	private final Node<T> root = new Node<>();
+
+	private int order;
+
+
+	/**
+	 * Add the given mapping under each of the given patterns.
+	 * A mapping without patterns is returned for every lookup path.
+	 * @param mapping the mapping to add
+	 * @param patterns the URL patterns of the mapping
+	 */
+	public void add(T mapping, Collection<String> patterns) {
+		IndexedMapping<T> indexedMapping = new IndexedMapping<>(mapping, this.order++);
+		if (patterns.isEmpty()) {
+			this.root.addMapping(indexedMapping);
+			return;
+		}
+		for (String pattern : patterns) {
+			Node<T> node = this.root;
+			List<String> segments = tokenize(pattern);
+			for (int i = 0; i < segments.size() - 1; i++) {
+				String segment = segments.get(i);
+				if (!isSingleSegment(segment)) {
+					break;
+				}
+				node = node.getOrCreateChild(isLiteral(segment) ? toLowerCase(segment) : null);
+			}
+			node.addMapping(indexedMapping);
+		}
+	}
+
+	/**
+	 * Remove the given mapping, previously added with the given patterns.
+	 * @param mapping the mapping to remove
+	 * @param patterns the URL patterns that the mapping has been added with
+	 */
+	public void remove(T mapping, Collection<String> patterns) {
+		if (patterns.isEmpty()) {
+			this.root.removeMapping(mapping);
+			return;
+		}
+		for (String pattern : patterns) {
+			Node<T> node = this.root;
+			List<String> segments = tokenize(pattern);
+			for (int i = 0; i < segments.size() - 1 && node != null; i++) {
+				String segment = segments.get(i);
+				if (!isSingleSegment(segment)) {
+					break;
+				}
+				node = node.getChild(isLiteral(segment) ? toLowerCase(segment) : null);
+			}
+			if (node != null) {
+				node.removeMapping(mapping);
+			}
+		}
+	}
+
+	/**
+	 * Return the mappings which may match the given path segments,
+	 * in the order in which they have been added.
+	 * @param pathSegments the (non-empty) segments of the lookup path
+	 * @return the candidate mappings (never {@code null})
+	 */
+	public List<T> getCandidates(List<String> pathSegments) {
+		List<IndexedMapping<T>> result = new ArrayList<>();
+		collect(this.root, pathSegments, 0, result);
+		if (result.isEmpty()) {
+			return Collections.emptyList();
+		}
+		result.sort(null);
+		List<T> candidates = new ArrayList<>(result.size());
+		IndexedMapping<T> previous = null;
+		for (IndexedMapping<T> indexedMapping : result) {
+			// A mapping with several patterns may have been collected more than once
+			if (indexedMapping != previous) {
+				candidates.add(indexedMapping.mapping);
+				previous = indexedMapping;
+			}
+		}
+		return candidates;
+	}
+
+	private void collect(Node<T> node, List<String> pathSegments, int index, List<IndexedMapping<T>> result) {
+		if (node.mappings != null) {
+			result.addAll(node.mappings);
+		}
+		if (index >= pathSegments.size()) {
+			return;
+		}
+		if (node.wildcardChild != null) {
+			collect(node.wildcardChild, pathSegments, index + 1, result);
+		}
+		Map<String, Node<T>> literalChildren = node.literalChildren;
+		if (literalChildren != null) {
+			String segment = pathSegments.get(index);
+			if (isComparable(segment)) {
+				Node<T> child = literalChildren.get(toLowerCase(segment));
+				if (child != null) {
+					collect(child, pathSegments, index + 1, result);
+				}
+			}
+			else {
+				for (Node<T> child : literalChildren.values()) {
+					collect(child, pathSegments, index + 1, result);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Split the given path into its non-empty segments, in line with
+	 * {@code AntPathMatcher} ignoring empty tokens between separators.
+	 * Segments are not trimmed, so whitespace-only segments are retained.
+	 */
+	static List<String> tokenize(String path) {
+		List<String> segments = new ArrayList<>();
+		int start = 0;
+		int length = path.length();
+		while (start < length) {
+			int end = path.indexOf('/', start);
+			if (end == -1) {
+				end = length;
+			}
+			String segment = path.substring(start, end);
+			if (!segment.isEmpty()) {
+				segments.add(segment);
+			}
+			start = end + 1;
+		}
+		return segments;
+	}
+
+	/**
+	 * Whether the given pattern segment matches exactly one path segment.
+	 */
+	private static boolean isSingleSegment(String segment) {
+		if (segment.contains("**") || segment.contains("{*")) {
+			return false;
+		}
+		// Unbalanced braces: a URI variable's regex spanning several segments
+		int depth = 0;
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '{') {
+				depth++;
+			}
+			else if (c == '}') {
+				depth--;
+			}
+		}
+		return (depth == 0);
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '*' || c == '?' || c == '{' || c == '}' || c == '\\' || c > 127) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isComparable(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '%' || c == ';' || c > 127) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String toLowerCase(String segment) {
+		return segment.toLowerCase(Locale.ENGLISH);
+	}
+
+
+	private static final class Node<T> {
+
+		@Nullable
+		private Map<String, Node<T>> literalChildren;
+
+		@Nullable
+		private Node<T> wildcardChild;
+
+		@Nullable
+		private List<IndexedMapping<T>> mappings;
+
+		/**
+		 * Return the child for the given literal segment, or the wildcard child
+		 * for a {@code null} segment, creating it if necessary.
+		 */
+		public Node<T> getOrCreateChild(@Nullable String literal) {
+			if (literal == null) {
+				if (this.wildcardChild == null) {
+					this.wildcardChild = new Node<>();
+				}
+				return this.wildcardChild;
+			}
+			if (this.literalChildren == null) {
+				this.literalChildren = new HashMap<>(4);
+			}
+			return this.literalChildren.computeIfAbsent(literal, key -> new Node<>());
+		}
+
+		@Nullable
+		public Node<T> getChild(@Nullable String literal) {
+			if (literal == null) {
+				return this.wildcardChild;
+			}
+			return (this.literalChildren != null ? this.literalChildren.get(literal) : null);
+		}
+
+		public void addMapping(IndexedMapping<T> mapping) {
+			if (this.mappings == null) {
+				this.mappings = new ArrayList<>(2);
+			}
+			if (!this.mappings.contains(mapping)) {
+				this.mappings.add(mapping);
+			}
+		}
+
+		public void removeMapping(T mapping) {
+			if (this.mappings != null) {
+				this.mappings.removeIf(indexedMapping -> indexedMapping.mapping.equals(mapping));
+				if (this.mappings.isEmpty()) {
+					this.mappings = null;
+				}
+			}
+		}
+	}
+
+
+	private static final class IndexedMapping<T> implements Comparable<IndexedMapping<T>> {
+
+		private final T mapping;
+
+		private final int order;
+
+		public IndexedMapping(T mapping, int order) {
+			this.mapping = mapping;
+			this.order = order;
+		}
+
+		@Override
+		public int compareTo(IndexedMapping<T> other) {
+			return Integer.compare(this.order, other.order);
+		}
+	}
+
+}
@@ -22,17 +22,23 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
 import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * A logical disjunction (' || ') request condition that matches a request
@@ -49,6 +55,12 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 
 	private final PathMatcher pathMatcher;
 
+	@Nullable
+	private final PathPatternParser patternParser;
+
+	@Nullable
+	private final Map<String, PathPattern> pathPatterns;
+
 	private final boolean useSuffixPatternMatch;
 
 	private final boolean useTrailingSlashMatch;
@@ -62,7 +74,7 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 * @param patterns 0 or more URL patterns; if 0 the condition will match to every request.
 	 */
 	public PatternsRequestCondition(String... patterns) {
-		this(Arrays.asList(patterns), null, null, true, true, null);
+		this(patterns, null, null, true, true, null);
 	}
 
 	/**
@@ -77,7 +89,7 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	public PatternsRequestCondition(String[] patterns, @Nullable UrlPathHelper urlPathHelper,
 			@Nullable PathMatcher pathMatcher, boolean useSuffixPatternMatch, boolean useTrailingSlashMatch) {
 
-		this(Arrays.asList(patterns), urlPathHelper, pathMatcher, useSuffixPatternMatch, useTrailingSlashMatch, null);
+		this(patterns, urlPathHelper, pathMatcher, useSuffixPatternMatch, useTrailingSlashMatch, null);
 	}
 
 	/**
@@ -94,20 +106,50 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 			@Nullable PathMatcher pathMatcher, boolean useSuffixPatternMatch,
 			boolean useTrailingSlashMatch, @Nullable List<String> fileExtensions) {
 
-		this(Arrays.asList(patterns), urlPathHelper, pathMatcher, useSuffixPatternMatch,
-				useTrailingSlashMatch, fileExtensions);
+		this(Arrays.asList(patterns), urlPathHelper, pathMatcher, null, null,
+				useSuffixPatternMatch, useTrailingSlashMatch, fileExtensions);
 	}
 
 	/**
-	 * Private constructor accepting a collection of patterns.
+	 * Variant of {@link #PatternsRequestCondition(String[], UrlPathHelper, PathMatcher,
+	 * boolean, boolean, List)} which matches requests against patterns parsed with the
+	 * given {@link PathPatternParser}, if any, rather than using the {@link PathMatcher}.
+	 * The request's lookup path gets parsed once as well.
+	 * <p>Suffix pattern matching does not apply to parsed patterns, and trailing slash
+	 * matching is determined by the parser's {@code matchOptionalTrailingSeparator}.
+	 * @param patterns the URL patterns to use; if 0, the condition will match to every request.
+	 * @param urlPathHelper a {@link UrlPathHelper} for determining the lookup path for a request
+	 * @param pathMatcher a {@link PathMatcher} for combining patterns
+	 * @param patternParser the parser for URL patterns, or {@code null} for using the PathMatcher
+	 * @param useSuffixPatternMatch whether to enable matching by suffix (".*")
+	 * @param useTrailingSlashMatch whether to match irrespective of a trailing slash
+	 * @param fileExtensions a list of file extensions to consider for path matching
+	 * @since 5.1.18
+	 * @see UrlPathHelper#getParsedLookupPath
+	 */
+	public PatternsRequestCondition(String[] patterns, @Nullable UrlPathHelper urlPathHelper,
+			@Nullable PathMatcher pathMatcher, @Nullable PathPatternParser patternParser,
+			boolean useSuffixPatternMatch, boolean useTrailingSlashMatch, @Nullable List<String> fileExtensions) {
+
+		this(Arrays.asList(patterns), urlPathHelper, pathMatcher, patternParser, null,
+				useSuffixPatternMatch, useTrailingSlashMatch, fileExtensions);
+	}
+
+	/**
+	 * Private constructor accepting a collection of patterns,
+	 * reusing already parsed patterns where available.
 	 */
 	private PatternsRequestCondition(Collection<String> patterns, @Nullable UrlPathHelper urlPathHelper,
-			@Nullable PathMatcher pathMatcher, boolean useSuffixPatternMatch,
+			@Nullable PathMatcher pathMatcher, @Nullable PathPatternParser patternParser,
+			@Nullable Map<String, PathPattern> parsedPatterns, boolean useSuffixPatternMatch,
 			boolean useTrailingSlashMatch, @Nullable List<String> fileExtensions) {
 
 		this.patterns = Collections.unmodifiableSet(prependLeadingSlash(patterns));
 		this.pathHelper = (urlPathHelper != null ? urlPathHelper : new UrlPathHelper());
 		this.pathMatcher = (pathMatcher != null ? pathMatcher : new AntPathMatcher());
+		this.patternParser = patternParser;
+		this.pathPatterns = (patternParser != null ?
+				parsePatterns(this.patterns, patternParser, parsedPatterns) : null);
 		this.useSuffixPatternMatch = useSuffixPatternMatch;
 		this.useTrailingSlashMatch = useTrailingSlashMatch;
 
@@ -133,10 +175,33 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		return result;
 	}
 
+	private static Map<String, PathPattern> parsePatterns(Set<String> patterns,
+			PathPatternParser patternParser, @Nullable Map<String, PathPattern> parsedPatterns) {
+
+		Map<String, PathPattern> result = new LinkedHashMap<>(patterns.size());
+		for (String pattern : patterns) {
+			PathPattern pathPattern = (parsedPatterns != null ? parsedPatterns.get(pattern) : null);
+			result.put(pattern, (pathPattern != null ? pathPattern : patternParser.parse(pattern)));
+		}
+		return result;
+	}
+
 	public Set<String> getPatterns() {
 		return this.patterns;
 	}
 
+	/**
+	 * Return the parsed form of the given pattern of this condition.
+	 * @param pattern one of the {@link #getPatterns() patterns} of this condition
+	 * @return the parsed pattern, or {@code null} if this condition does not
+	 * use a {@link PathPatternParser} or does not contain the given pattern
+	 * @since 5.1.18
+	 */
+	@Nullable
+	public PathPattern getPathPattern(String pattern) {
+		return (this.pathPatterns != null ? this.pathPatterns.get(pattern) : null);
+	}
+
 	@Override
 	protected Collection<String> getContent() {
 		return this.patterns;
@@ -176,8 +241,8 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		else {
 			result.add("");
 		}
-		return new PatternsRequestCondition(result, this.pathHelper, this.pathMatcher,
-				this.useSuffixPatternMatch, this.useTrailingSlashMatch, this.fileExtensions);
+		return new PatternsRequestCondition(result, this.pathHelper, this.pathMatcher, this.patternParser,
+				null, this.useSuffixPatternMatch, this.useTrailingSlashMatch, this.fileExtensions);
 	}
 
 	/**
@@ -202,11 +267,13 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		if (this.patterns.isEmpty()) {
 			return this;
 		}
-		String lookupPath = this.pathHelper.getLookupPathForRequest(request);
-		List<String> matches = getMatchingPatterns(lookupPath);
+		List<String> matches = (this.pathPatterns != null ?
+				getMatchingPathPatterns(this.pathHelper.getParsedLookupPath(request)) :
+				getMatchingPatterns(this.pathHelper.getLookupPathForRequest(request)));
 		return (!matches.isEmpty() ?
-				new PatternsRequestCondition(matches, this.pathHelper, this.pathMatcher,
-						this.useSuffixPatternMatch, this.useTrailingSlashMatch, this.fileExtensions) : null);
+				new PatternsRequestCondition(matches, this.pathHelper, this.pathMatcher, this.patternParser,
+						this.pathPatterns, this.useSuffixPatternMatch, this.useTrailingSlashMatch,
+						this.fileExtensions) : null);
 	}
 
 	/**
@@ -219,6 +286,9 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 * @return a collection of matching patterns sorted with the closest match at the top
 	 */
 	public List<String> getMatchingPatterns(String lookupPath) {
+		if (this.pathPatterns != null) {
+			return getMatchingPathPatterns(PathContainer.parsePath(lookupPath));
+		}
 		List<String> matches = new ArrayList<>();
 		for (String pattern : this.patterns) {
 			String match = getMatchingPattern(pattern, lookupPath);
@@ -232,6 +302,31 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		return matches;
 	}
 
+	private List<String> getMatchingPathPatterns(PathContainer lookupPath) {
+		Assert.state(this.pathPatterns != null, "No parsed patterns");
+		List<Map.Entry<String, PathPattern>> matches = null;
+		for (Map.Entry<String, PathPattern> entry : this.pathPatterns.entrySet()) {
+			if (entry.getValue().matches(lookupPath)) {
+				if (matches == null) {
+					matches = new ArrayList<>();
+				}
+				matches.add(entry);
+			}
+		}
+		if (matches == null) {
+			return Collections.emptyList();
+		}
+		if (matches.size() > 1) {
+			matches.sort((entry1, entry2) ->
+					PathPattern.SPECIFICITY_COMPARATOR.compare(entry1.getValue(), entry2.getValue()));
+		}
+		List<String> result = new ArrayList<>(matches.size());
+		for (Map.Entry<String, PathPattern> match : matches) {
+			result.add(match.getKey());
+		}
+		return result;
+	}
+
 	@Nullable
 	private String getMatchingPattern(String pattern, String lookupPath) {
 		if (pattern.equals(lookupPath)) {
@@ -276,8 +371,17 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 */
 	@Override
 	public int compareTo(PatternsRequestCondition other, HttpServletRequest request) {
-		String lookupPath = this.pathHelper.getLookupPathForRequest(request);
-		Comparator<String> patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
+		Comparator<String> patternComparator;
+		Map<String, PathPattern> pathPatterns = this.pathPatterns;
+		Map<String, PathPattern> otherPathPatterns = other.pathPatterns;
+		if (pathPatterns != null && otherPathPatterns != null) {
+			patternComparator = (pattern1, pattern2) -> PathPattern.SPECIFICITY_COMPARATOR.compare(
+					pathPatterns.get(pattern1), otherPathPatterns.get(pattern2));
+		}
+		else {
+			String lookupPath = this.pathHelper.getLookupPathForRequest(request);
+			patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
+		}
 		Iterator<String> iterator = this.patterns.iterator();
 		Iterator<String> iteratorOther = other.patterns.iterator();
 		while (iterator.hasNext() && iteratorOther.hasNext()) {
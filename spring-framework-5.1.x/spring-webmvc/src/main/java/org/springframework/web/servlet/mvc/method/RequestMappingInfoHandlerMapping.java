@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -46,6 +46,7 @@ import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.AbstractHandlerMethodMapping;
 import org.springframework.web.servlet.mvc.condition.NameValueExpression;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Abstract base class for classes for which {@link RequestMappingInfo} defines
@@ -114,6 +115,7 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 
 		String bestPattern;
 		Map<String, String> uriVariables;
+		PathPattern.PathMatchInfo pathMatchInfo = null;
 
 		Set<String> patterns = info.getPatternsCondition().getPatterns();
 		if (patterns.isEmpty()) {
@@ -122,18 +124,33 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		}
 		else {
 			bestPattern = patterns.iterator().next();
-			uriVariables = getPathMatcher().extractUriTemplateVariables(bestPattern, lookupPath);
+			PathPattern pathPattern = info.getPatternsCondition().getPathPattern(bestPattern);
+			if (pathPattern != null) {
+				pathMatchInfo = pathPattern.matchAndExtract(getUrlPathHelper().getParsedLookupPath(request));
+				uriVariables = (pathMatchInfo != null ? pathMatchInfo.getUriVariables() : Collections.emptyMap());
+			}
+			else {
+				uriVariables = getPathMatcher().extractUriTemplateVariables(bestPattern, lookupPath);
+			}
 		}
 
 		request.setAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE, bestPattern);
 
-		if (isMatrixVariableContentAvailable()) {
-			Map<String, MultiValueMap<String, String>> matrixVars = extractMatrixVariables(request, uriVariables);
-			request.setAttribute(HandlerMapping.MATRIX_VARIABLES_ATTRIBUTE, matrixVars);
+		if (pathMatchInfo != null) {
+			// Variables from a parsed lookup path: decoded already
+			if (isMatrixVariableContentAvailable()) {
+				request.setAttribute(HandlerMapping.MATRIX_VARIABLES_ATTRIBUTE, pathMatchInfo.getMatrixVariables());
+			}
+			request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, uriVariables);
+		}
+		else {
+			if (isMatrixVariableContentAvailable()) {
+				Map<String, MultiValueMap<String, String>> matrixVars = extractMatrixVariables(request, uriVariables);
+				request.setAttribute(HandlerMapping.MATRIX_VARIABLES_ATTRIBUTE, matrixVars);
+			}
+			Map<String, String> decodedUriVariables = getUrlPathHelper().decodePathVariables(request, uriVariables);
+			request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, decodedUriVariables);
 		}
-
-		Map<String, String> decodedUriVariables = getUrlPathHelper().decodePathVariables(request, uriVariables);
-		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, decodedUriVariables);
 
 		if (!info.getProducesCondition().getProducibleMediaTypes().isEmpty()) {
 			Set<MediaType> mediaTypes = info.getProducesCondition().getProducibleMediaTypes();
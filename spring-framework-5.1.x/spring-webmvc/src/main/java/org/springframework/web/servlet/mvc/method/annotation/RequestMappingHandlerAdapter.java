@@ -34,6 +34,7 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.ReactiveAdapterRegistry;
@@ -84,6 +85,7 @@ import org.springframework.web.method.annotation.RequestParamMapMethodArgumentRe
 import org.springframework.web.method.annotation.RequestParamMethodArgumentResolver;
 import org.springframework.web.method.annotation.SessionAttributesHandler;
 import org.springframework.web.method.annotation.SessionStatusMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolutionPlan;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
@@ -191,6 +193,9 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
 	private final Map<ControllerAdviceBean, Set<Method>> modelAttributeAdviceCache = new LinkedHashMap<>();
 
+	private final Map<MethodClassKey, HandlerMethodArgumentResolutionPlan> argumentResolutionPlanCache =
+			new ConcurrentHashMap<>(256);
+
 
 	public RequestMappingHandlerAdapter() {
 		StringHttpMessageConverter stringHttpMessageConverter = new StringHttpMessageConverter();
@@ -238,6 +243,7 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 			this.argumentResolvers = new HandlerMethodArgumentResolverComposite();
 			this.argumentResolvers.addResolvers(argumentResolvers);
 		}
+		this.argumentResolutionPlanCache.clear();
 	}
 
 	/**
@@ -857,6 +863,8 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 			ServletInvocableHandlerMethod invocableMethod = createInvocableHandlerMethod(handlerMethod);
 			if (this.argumentResolvers != null) {
 				invocableMethod.setHandlerMethodArgumentResolvers(this.argumentResolvers);
+				invocableMethod.setArgumentResolutionPlan(
+						getArgumentResolutionPlan(handlerMethod, this.argumentResolvers));
 			}
 			if (this.returnValueHandlers != null) {
 				invocableMethod.setHandlerMethodReturnValueHandlers(this.returnValueHandlers);
@@ -901,6 +909,22 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		}
 	}
 
+	/**
+	 * Return the {@link HandlerMethodArgumentResolutionPlan} for the given handler
+	 * method, binding its parameters to the given resolvers on first invocation.
+	 */
+	private HandlerMethodArgumentResolutionPlan getArgumentResolutionPlan(
+			HandlerMethod handlerMethod, HandlerMethodArgumentResolverComposite resolvers) {
+
+		MethodClassKey cacheKey = new MethodClassKey(handlerMethod.getMethod(), handlerMethod.getBeanType());
+		HandlerMethodArgumentResolutionPlan plan = this.argumentResolutionPlanCache.get(cacheKey);
+		if (plan == null) {
+			plan = new HandlerMethodArgumentResolutionPlan(handlerMethod, resolvers, this.parameterNameDiscoverer);
+			this.argumentResolutionPlanCache.put(cacheKey, plan);
+		}
+		return plan;
+	}
+
 	/**
 	 * Create a {@link ServletInvocableHandlerMethod} from the given {@link HandlerMethod} definition.
 	 * @param handlerMethod the {@link HandlerMethod} definition
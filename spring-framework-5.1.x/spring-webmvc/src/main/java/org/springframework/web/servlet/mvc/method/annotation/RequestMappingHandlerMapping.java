@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,10 +29,13 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.context.EmbeddedValueResolverAware;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.PathMatcher;
 import org.springframework.util.StringValueResolver;
 import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -44,9 +47,12 @@ import org.springframework.web.servlet.handler.MatchableHandlerMapping;
 import org.springframework.web.servlet.handler.RequestMatchResult;
 import org.springframework.web.servlet.mvc.condition.AbstractRequestCondition;
 import org.springframework.web.servlet.mvc.condition.CompositeRequestCondition;
+import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.RequestCondition;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Creates {@link RequestMappingInfo} instances from type and method-level
@@ -76,6 +82,8 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 
 	private RequestMappingInfo.BuilderConfiguration config = new RequestMappingInfo.BuilderConfiguration();
 
+	private boolean useIndexedLookupPath = false;
+
 
 	/**
 	 * Whether to use suffix pattern match (".*") when matching patterns to
@@ -157,10 +165,12 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 		this.config = new RequestMappingInfo.BuilderConfiguration();
 		this.config.setUrlPathHelper(getUrlPathHelper());
 		this.config.setPathMatcher(getPathMatcher());
+		this.config.setPatternParser(getPatternParser());
 		this.config.setSuffixPatternMatch(this.useSuffixPatternMatch);
 		this.config.setTrailingSlashMatch(this.useTrailingSlashMatch);
 		this.config.setRegisteredSuffixPatternMatch(this.useRegisteredSuffixPatternMatch);
 		this.config.setContentNegotiationManager(getContentNegotiationManager());
+		this.useIndexedLookupPath = (getPatternParser() != null || isSlashSeparatedAntPathMatcher(getPathMatcher()));
 
 		super.afterPropertiesSet();
 	}
@@ -341,8 +351,54 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 			return null;
 		}
 		Set<String> patterns = matchingInfo.getPatternsCondition().getPatterns();
+		String bestPattern = patterns.iterator().next();
+		PathPattern pathPattern = matchingInfo.getPatternsCondition().getPathPattern(bestPattern);
+		if (pathPattern != null) {
+			return new RequestMatchResult(pathPattern, getUrlPathHelper().getParsedLookupPath(request));
+		}
 		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		return new RequestMatchResult(patterns.iterator().next(), lookupPath, getPathMatcher());
+		return new RequestMatchResult(bestPattern, lookupPath, getPathMatcher());
+	}
+
+	/**
+	 * Expose the lookup path as resolved by the {@link PatternsRequestCondition}
+	 * of the mappings created here, for a PathPatternParser or a plain
+	 * AntPathMatcher with "/" as separator.
+	 * @since 5.1.18
+	 */
+	@Override
+	@Nullable
+	protected String getIndexedLookupPath(HttpServletRequest request) {
+		UrlPathHelper urlPathHelper = this.config.getUrlPathHelper();
+		if (!this.useIndexedLookupPath || urlPathHelper == null) {
+			return null;
+		}
+		if (this.config.getPatternParser() == null) {
+			return urlPathHelper.getLookupPathForRequest(request);
+		}
+		StringBuilder sb = new StringBuilder();
+		for (PathContainer.Element element : urlPathHelper.getParsedLookupPath(request).elements()) {
+			if (element instanceof PathContainer.PathSegment) {
+				String segment = ((PathContainer.PathSegment) element).valueToMatch();
+				if (segment.isEmpty() || segment.indexOf('/') != -1) {
+					// Segment boundaries differ from the decoded path
+					return null;
+				}
+				sb.append('/').append(segment);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Whether the given PathMatcher is a plain AntPathMatcher with the default
+	 * "/" separator and without trimming of path segments, neither of which it
+	 * exposes: only then "*" does not match across "/" separated segments and
+	 * segments with surrounding whitespace are compared as they are.
+	 */
+	private static boolean isSlashSeparatedAntPathMatcher(PathMatcher pathMatcher) {
+		return (pathMatcher.getClass() == AntPathMatcher.class &&
+				!pathMatcher.match("/*", "/a/b") && !pathMatcher.match("/a", "/ a"));
 	}
 
 	@Override
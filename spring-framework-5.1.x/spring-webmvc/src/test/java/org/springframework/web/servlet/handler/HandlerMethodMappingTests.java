@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,11 @@
 package org.springframework.web.servlet.handler;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
@@ -27,6 +29,7 @@ import javax.servlet.http.HttpServletRequest;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.stereotype.Controller;
@@ -42,6 +45,8 @@ import org.springframework.web.util.UrlPathHelper;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -169,6 +174,28 @@ public class HandlerMethodMappingTests {
 		assertEquals("http://" + handler.hashCode() + name2, config.getAllowedOrigins().get(0));
 	}
 
+	@Test
+	public void mappingsByPatternCached() throws Exception {
+		this.mapping.registerMapping("/fo*", this.handler, this.method1);
+		AbstractHandlerMethodMapping<String>.MappingRegistry registry = this.mapping.getMappingRegistry();
+
+		List<String> candidates = registry.getMappingsByPattern("/foo");
+		assertEquals(Collections.singletonList("/fo*"), candidates);
+		assertSame(candidates, registry.getMappingsByPattern("/foo"));
+
+		this.mapping.registerMapping("/f*", this.handler, this.method2);
+		assertEquals(Arrays.asList("/fo*", "/f*"), registry.getMappingsByPattern("/foo"));
+
+		for (int i = 0; i < 1000; i++) {
+			registry.getMappingsByPattern("/foo/" + i);
+		}
+		Map<?, ?> candidateCache = (Map<?, ?>) new DirectFieldAccessor(registry).getPropertyValue("candidateCache");
+		assertTrue(candidateCache.size() <= 256);
+
+		this.mapping.unregisterMapping("/fo*");
+		assertEquals(Collections.singletonList("/f*"), registry.getMappingsByPattern("/foo"));
+	}
+
 	@Test
 	public void registerMappingWithSameMethodAndTwoHandlerInstances() throws Exception {
 
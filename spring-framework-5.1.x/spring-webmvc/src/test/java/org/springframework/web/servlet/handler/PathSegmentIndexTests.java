@@ -0,0 +1,138 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.util.AntPathMatcher;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PathSegmentIndex}.
+ *
+ * @author Tobias Lindqvist
+ */
+public class PathSegmentIndexTests {
+
+	private final PathSegmentIndex<String> index = new PathSegmentIndex<>();
+
+
+	@Test
+	public void literalPrefixes() {
+		add("/api/users/{id}", "/api/orders/{id}", "/api/users/{id}/orders", "/other/{id}");
+
+		assertEquals(Collections.singletonList("/api/users/{id}"), candidates("/api/users"));
+		assertEquals(Arrays.asList("/api/users/{id}", "/api/users/{id}/orders"), candidates("/api/users/1"));
+		assertEquals(Arrays.asList("/api/users/{id}", "/api/users/{id}/orders"), candidates("/api/users/1/orders"));
+		assertEquals(Collections.singletonList("/api/orders/{id}"), candidates("/API/Orders/1"));
+		assertEquals(Collections.emptyList(), candidates("/api/items/1"));
+		assertEquals(Collections.emptyList(), candidates("/"));
+	}
+
+	@Test
+	public void variableSegments() {
+		add("/{tenant}/users/{id}", "/*/orders/{id}", "/t?/items/{id}", "/{tenant:[a-z]+}/tags/{id}");
+
+		assertEquals(Collections.singletonList("/{tenant}/users/{id}"), candidates("/acme/users/1"));
+		assertEquals(Collections.singletonList("/*/orders/{id}"), candidates("/acme/orders/1"));
+		assertEquals(Collections.singletonList("/t?/items/{id}"), candidates("/t1/items/1"));
+		assertEquals(Collections.singletonList("/{tenant:[a-z]+}/tags/{id}"), candidates("/acme/tags/1"));
+		assertEquals(Collections.emptyList(), candidates("/acme/other/1"));
+	}
+
+	@Test
+	public void lastSegmentAndMultiSegmentWildcardsNotIndexed() {
+		add("/api/users", "/api/**/users", "/api/{*path}", "/{path:.+/.+}/users", "/**", "", "/");
+
+		assertEquals(Arrays.asList("/api/users", "/api/**/users", "/api/{*path}",
+				"/{path:.+/.+}/users", "/**", "", "/"), candidates("/api/users.json"));
+		assertEquals(Arrays.asList("/{path:.+/.+}/users", "/**", "", "/"), candidates("/other/path"));
+	}
+
+	@Test
+	public void segmentsNotComparedLiterally() {
+		add("/api/users/{id}", "/api/other/{id}");
+
+		assertEquals(Arrays.asList("/api/users/{id}", "/api/other/{id}"), candidates("/api/us%65rs/1"));
+		assertEquals(Collections.singletonList("/api/users/{id}"), candidates("/api;v=1/users/1"));
+		assertEquals(Arrays.asList("/api/users/{id}", "/api/other/{id}"), candidates("/api/üsers/1"));
+		assertEquals(Collections.singletonList("/api/users/{id}"), candidates("/apı/users/1"));
+		assertEquals(Collections.emptyList(), candidates("/apı/items/1"));
+
+		add("/straße/{id}");
+		assertEquals(Collections.singletonList("/straße/{id}"), candidates("/STRASSE/1"));
+	}
+
+	@Test
+	public void registrationOrderWithoutDuplicates() {
+		this.index.add("m1", Arrays.asList("/b/{id}", "/a/{id}"));
+		this.index.add("m2", Collections.singletonList("/a/{id}"));
+		this.index.add("m3", Collections.emptyList());
+		this.index.add("m4", Arrays.asList("/a/{id}", "/{x}/{id}"));
+
+		assertEquals(Arrays.asList("m1", "m2", "m3", "m4"), candidates("/a/1"));
+		assertEquals(Arrays.asList("m1", "m3", "m4"), candidates("/b/1"));
+	}
+
+	@Test
+	public void remove() {
+		this.index.add("m1", Arrays.asList("/a/{id}", "/b/{id}"));
+		this.index.add("m2", Collections.emptyList());
+		this.index.add("m3", Collections.singletonList("/a/{id}"));
+
+		this.index.remove("m1", Arrays.asList("/a/{id}", "/b/{id}"));
+		this.index.remove("m2", Collections.emptyList());
+		assertEquals(Collections.singletonList("m3"), candidates("/a/1"));
+		assertEquals(Collections.emptyList(), candidates("/b/1"));
+	}
+
+	@Test
+	public void neverMissesAntPathMatcherMatch() {
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		List<String> patterns = Arrays.asList("/a/b", "/a/*", "/a/**", "/a/{x}/c", "/a/b*/c", "/{x}/b/{y}",
+				"/a/b/c/d", "/*.json", "/a//b/{x}", "/**/c", "/a/?/c", "/a/{x:\\d+}/c");
+		patterns.forEach(pattern -> this.index.add(pattern, Collections.singletonList(pattern)));
+		List<String> paths = Arrays.asList("/a/b", "/a/b/c", "/a/b/c/d", "/a/1/c", "/x/b/y", "/a//b/c",
+				"/a", "/", "/a.json", "/a/bx/c", "/b/c", "/a/b/");
+
+		for (String path : paths) {
+			List<String> candidates = candidates(path);
+			for (String pattern : patterns) {
+				if (pathMatcher.match(pattern, path)) {
+					assertTrue(pattern + " should be a candidate for " + path, candidates.contains(pattern));
+				}
+			}
+		}
+	}
+
+
+	private void add(String... patterns) {
+		for (String pattern : patterns) {
+			this.index.add(pattern, Collections.singletonList(pattern));
+		}
+	}
+
+	private List<String> candidates(String path) {
+		return this.index.getCandidates(PathSegmentIndex.tokenize(path));
+	}
+
+}
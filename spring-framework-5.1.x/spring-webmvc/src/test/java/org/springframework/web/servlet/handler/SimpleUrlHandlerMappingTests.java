@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.web.servlet.handler;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -31,6 +32,8 @@ import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
 
 import static org.junit.Assert.*;
 
@@ -90,6 +93,66 @@ public class SimpleUrlHandlerMappingTests {
 		assertSame(controller, hec.getHandler());
 	}
 
+	@Test
+	public void urlMappingWithPatternParser() throws Exception {
+		SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping();
+		handlerMapping.setPatternParser(new PathPatternParser());
+		Object exact = new Object();
+		Object resources = new Object();
+		Object fallback = new Object();
+		Map<String, Object> urlMap = new LinkedHashMap<>();
+		urlMap.put("/**", fallback);
+		urlMap.put("/resources/{version}/**", resources);
+		urlMap.put("/welcome.html", exact);
+		handlerMapping.setUrlMap(urlMap);
+		handlerMapping.setApplicationContext(new StaticApplicationContext());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/welcome.html");
+		HandlerExecutionChain hec = getHandler(handlerMapping, request);
+		assertSame(exact, hec.getHandler());
+
+		request = new MockHttpServletRequest("GET", "/resources/1.0/css/my%20style.css");
+		hec = getHandler(handlerMapping, request);
+		assertSame(resources, hec.getHandler());
+		assertEquals("/resources/{version}/**", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+		assertEquals("1.0/css/my style.css", request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE));
+		Map<?, ?> uriVariables = (Map<?, ?>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		assertEquals("1.0", uriVariables.get("version"));
+
+		request = new MockHttpServletRequest("GET", "/other/path");
+		hec = getHandler(handlerMapping, request);
+		assertSame(fallback, hec.getHandler());
+		assertEquals("other/path", request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE));
+	}
+
+	@Test(expected = PatternParseException.class)
+	public void invalidPatternRejectedOnRegistrationWithPatternParser() {
+		SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping();
+		handlerMapping.setPatternParser(new PathPatternParser());
+		handlerMapping.setUrlMap(Collections.singletonMap("/{*path}/favicon.ico", new Object()));
+		handlerMapping.setApplicationContext(new StaticApplicationContext());
+	}
+
+	@Test
+	public void unregisterHandlerWithPatternParser() throws Exception {
+		SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping();
+		handlerMapping.setPatternParser(new PathPatternParser());
+		Object handler = new Object();
+		handlerMapping.setUrlMap(Collections.singletonMap("/resources/**", handler));
+		handlerMapping.setApplicationContext(new StaticApplicationContext());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/resources/my.css");
+		assertSame(handler, getHandler(handlerMapping, request).getHandler());
+		RequestMatchResult matchResult = handlerMapping.match(request, "/{dir}/**");
+		assertNotNull(matchResult);
+		assertEquals("resources", matchResult.extractUriTemplateVariables().get("dir"));
+
+		handlerMapping.unregisterHandler("/resources/**");
+		request = new MockHttpServletRequest("GET", "/resources/my.css");
+		assertNull(handlerMapping.getHandler(request));
+		assertTrue(handlerMapping.getHandlerMap().isEmpty());
+	}
+
 	@SuppressWarnings("resource")
 	private void checkMappings(String beanName) throws Exception {
 		MockServletContext sc = new MockServletContext("");
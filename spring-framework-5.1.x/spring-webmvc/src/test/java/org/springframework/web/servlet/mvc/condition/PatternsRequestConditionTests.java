@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import javax.servlet.http.HttpServletRequest;
 import org.junit.Test;
 
 import org.springframework.mock.web.test.MockHttpServletRequest;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.junit.Assert.*;
 
@@ -184,6 +185,44 @@ public class PatternsRequestConditionTests {
 		assertNull(match);
 	}
 
+	@Test
+	public void matchWithPatternParser() {
+		PatternsRequestCondition condition = parsedCondition("/**", "/foo/{id}", "/foo/bar");
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/bar");
+		PatternsRequestCondition match = condition.getMatchingCondition(request);
+
+		assertNotNull(match);
+		assertEquals(Arrays.asList("/foo/bar", "/foo/{id}", "/**"), Arrays.asList(match.getPatterns().toArray()));
+		assertSame(condition.getPathPattern("/foo/{id}"), match.getPathPattern("/foo/{id}"));
+
+		request = new MockHttpServletRequest("GET", "/foo/a%20b;color=red");
+		match = condition.getMatchingCondition(request);
+
+		assertNotNull(match);
+		assertEquals(Arrays.asList("/foo/{id}", "/**"), Arrays.asList(match.getPatterns().toArray()));
+		assertNull(parsedCondition("/foo/{id}").getMatchingCondition(new MockHttpServletRequest("GET", "/bar/1")));
+	}
+
+	@Test
+	public void combineWithPatternParser() {
+		PatternsRequestCondition combined = parsedCondition("/type").combine(parsedCondition("/{id}"));
+
+		assertEquals(new PatternsRequestCondition("/type/{id}"), combined);
+		assertNotNull(combined.getPathPattern("/type/{id}"));
+		assertNotNull(combined.getMatchingCondition(new MockHttpServletRequest("GET", "/type/1")));
+	}
+
+	@Test
+	public void comparePatternSpecificityWithPatternParser() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/bar");
+		PatternsRequestCondition c1 = parsedCondition("/foo/*").getMatchingCondition(request);
+		PatternsRequestCondition c2 = parsedCondition("/foo/bar").getMatchingCondition(request);
+
+		assertTrue(c1.compareTo(c2, request) > 0);
+		assertTrue(c2.compareTo(c1, request) < 0);
+		assertEquals(0, c2.compareTo(parsedCondition("/foo/bar"), request));
+	}
+
 	@Test
 	public void compareEqualPatterns() {
 		PatternsRequestCondition c1 = new PatternsRequestCondition("/foo*");
@@ -213,4 +252,8 @@ public class PatternsRequestConditionTests {
 		assertEquals(1, match1.compareTo(match2, request));
 	}
 
+	private PatternsRequestCondition parsedCondition(String... patterns) {
+		return new PatternsRequestCondition(patterns, null, null, new PathPatternParser(), true, true, null);
+	}
+
 }
@@ -59,6 +59,7 @@ import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
 import org.springframework.web.servlet.mvc.condition.RequestMethodsRequestCondition;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -287,6 +288,38 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertEquals("a/b", uriVariables.get("identifier"));
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void handleMatchUriTemplateVariablesWithPatternParser() {
+		RequestMappingInfo.BuilderConfiguration config = new RequestMappingInfo.BuilderConfiguration();
+		config.setPatternParser(new PathPatternParser());
+		RequestMappingInfo key = RequestMappingInfo.paths("/{group}/{identifier}").options(config).build();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/group/a%2Fb;mvar=1;mvar=2");
+
+		this.handlerMapping.handleMatch(key, "/group/a/b", request);
+
+		Map<String, String> uriVariables = getUriTemplateVariables(request);
+		assertNotNull(uriVariables);
+		assertEquals("group", uriVariables.get("group"));
+		assertEquals("a/b", uriVariables.get("identifier"));
+		assertEquals(Arrays.asList("1", "2"), getMatrixVariables(request, "identifier").get("mvar"));
+		assertEquals("/{group}/{identifier}", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+	}
+
+	@Test
+	public void handleMatchMatrixVariablesWithPatternParserAndSemicolonContentRemoved() {
+		RequestMappingInfo.BuilderConfiguration config = new RequestMappingInfo.BuilderConfiguration();
+		config.setPatternParser(new PathPatternParser());
+		RequestMappingInfo key = RequestMappingInfo.paths("/{group}/{identifier}").options(config).build();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/group/a;mvar=1");
+
+		this.handlerMapping.setRemoveSemicolonContent(true);
+		this.handlerMapping.handleMatch(key, "/group/a", request);
+
+		assertNull(request.getAttribute(HandlerMapping.MATRIX_VARIABLES_ATTRIBUTE));
+		assertEquals("a", getUriTemplateVariables(request).get("identifier"));
+	}
+
 	@Test
 	public void handleMatchBestMatchingPatternAttribute() {
 		RequestMappingInfo key = RequestMappingInfo.paths("/{path1}/2", "/**").build();
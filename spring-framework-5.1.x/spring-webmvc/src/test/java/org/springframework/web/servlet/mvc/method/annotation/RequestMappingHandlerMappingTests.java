@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,7 @@ import org.springframework.core.annotation.AliasFor;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.accept.PathExtensionContentNegotiationStrategy;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -46,8 +47,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.HandlerTypePredicate;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.handler.RequestMatchResult;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -129,6 +134,62 @@ public class RequestMappingHandlerMappingTests {
 				this.handlerMapping.useSuffixPatternMatch());
 	}
 
+	@Test
+	public void matchWithPatternParser() {
+		this.handlerMapping.setPatternParser(new PathPatternParser());
+		this.handlerMapping.afterPropertiesSet();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/a/b");
+		RequestMatchResult matchResult = this.handlerMapping.match(request, "/foo/{*rest}");
+
+		assertNotNull(matchResult);
+		assertEquals("/a/b", matchResult.extractUriTemplateVariables().get("rest"));
+		assertNull(this.handlerMapping.match(request, "/bar/{*rest}"));
+	}
+
+	@Test
+	public void patternMatchWithCustomPathSeparator() throws Exception {
+		this.handlerMapping.setPathMatcher(new AntPathMatcher("."));
+		this.wac.registerSingleton("testController", SeparatorController.class);
+		this.wac.refresh();
+		this.handlerMapping.afterPropertiesSet();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/a/x/b/c/d");
+		HandlerExecutionChain chain = this.handlerMapping.getHandler(request);
+
+		assertNotNull(chain);
+		assertEquals("handle", ((HandlerMethod) chain.getHandler()).getMethod().getName());
+	}
+
+	@Test
+	public void patternMatchWithBlankPathSegment() throws Exception {
+		this.wac.registerSingleton("testController", BlankSegmentController.class);
+		this.wac.refresh();
+		this.handlerMapping.afterPropertiesSet();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/%20/x/y");
+		HandlerExecutionChain chain = this.handlerMapping.getHandler(request);
+
+		assertNotNull(chain);
+		assertEquals("handle", ((HandlerMethod) chain.getHandler()).getMethod().getName());
+	}
+
+	@Test
+	public void patternMatchWithTrimmedPathSegments() throws Exception {
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		pathMatcher.setTrimTokens(true);
+		this.handlerMapping.setPathMatcher(pathMatcher);
+		this.wac.registerSingleton("testController", BlankSegmentController.class);
+		this.wac.refresh();
+		this.handlerMapping.afterPropertiesSet();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/%20a/z");
+		HandlerExecutionChain chain = this.handlerMapping.getHandler(request);
+
+		assertNotNull(chain);
+		assertEquals("handleLiteral", ((HandlerMethod) chain.getHandler()).getMethod().getName());
+	}
+
 	@Test
 	public void resolveEmbeddedValuesInPatterns() {
 		this.handlerMapping.setEmbeddedValueResolver(
@@ -290,6 +351,28 @@ public class RequestMappingHandlerMappingTests {
 	}
 
 
+	@Controller
+	static class SeparatorController {
+
+		@RequestMapping("/a*b/c/d")
+		public void handle() {
+		}
+	}
+
+
+	@Controller
+	static class BlankSegmentController {
+
+		@RequestMapping("/{a}/x/{b}")
+		public void handle() {
+		}
+
+		@RequestMapping("/a/{b}")
+		public void handleLiteral() {
+		}
+	}
+
+
 	@RestController
 	@RequestMapping("/user")
 	static class UserController {